@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the lookup throughput of the {@link RepositoryCache}. Run
+ * {@link #main(String[])} to measure with 1 to 64 threads, or run
+ * {@code java -jar target/benchmarks.jar RepositoryCacheBenchmark -t <n>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryCacheBenchmark {
+
+	private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+	@Param({ "10", "80" })
+	int repositories;
+
+	private File root;
+
+	private RepositoryCache cache;
+
+	private File[] gitDirs;
+
+	private IPath[] locations;
+
+	/** Keeps the cached repositories from being garbage collected. */
+	private Repository[] handles;
+
+	/**
+	 * Per-thread position, so that threads look up different repositories.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int next = (int) Thread.currentThread().getId();
+
+		int next(int bound) {
+			next = (next + 7) % bound;
+			return next;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("egit-benchmark").toFile(); //$NON-NLS-1$
+		cache = new RepositoryCache();
+		gitDirs = new File[repositories];
+		locations = new IPath[repositories];
+		handles = new Repository[repositories];
+		for (int i = 0; i < repositories; i++) {
+			File workTree = new File(root, "repo" + i); //$NON-NLS-1$
+			File gitDir = new File(workTree, ".git"); //$NON-NLS-1$
+			try (Repository repository = FileRepositoryBuilder
+					.create(gitDir)) {
+				repository.create();
+			}
+			gitDirs[i] = gitDir;
+			locations[i] = new Path(workTree.getAbsolutePath())
+					.append("src/org/example/Example.java"); //$NON-NLS-1$
+			handles[i] = cache.lookupRepository(gitDir);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		// No cache.clear(): it would need the IndexDiffCache of a running
+		// plug-in. The JVM is discarded after the trial anyway.
+		handles = null;
+		FileUtils.delete(root, FileUtils.RECURSIVE | FileUtils.RETRY);
+	}
+
+	@Benchmark
+	public Repository lookupRepository(Cursor cursor) throws IOException {
+		return cache.lookupRepository(gitDirs[cursor.next(repositories)]);
+	}
+
+	@Benchmark
+	public Repository getRepositoryByGitDir(Cursor cursor) {
+		return cache.getRepository(gitDirs[cursor.next(repositories)]);
+	}
+
+	@Benchmark
+	public Repository getRepositoryByLocation(Cursor cursor) {
+		return cache.getRepository(locations[cursor.next(repositories)]);
+	}
+
+	@Benchmark
+	public Repository[] getAllRepositories() {
+		return cache.getAllRepositories();
+	}
+
+	/**
+	 * Runs all benchmarks of this class with 1, 2, 4, ... 64 threads.
+	 *
+	 * @param args
+	 *            ignored
+	 * @throws RunnerException
+	 *             if a benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		for (int threads : THREADS) {
+			Options options = new OptionsBuilder()
+					.include(RepositoryCacheBenchmark.class.getSimpleName())
+					.threads(threads).build();
+			new Runner(options).run();
+		}
+	}
+}
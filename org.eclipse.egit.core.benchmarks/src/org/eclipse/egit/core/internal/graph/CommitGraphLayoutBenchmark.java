@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.revplot.PlotCommitList;
+import org.eclipse.jgit.revplot.PlotLane;
+import org.eclipse.jgit.revplot.PlotWalk;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares laying out a synthetic history in a {@link PlotCommitList}, as the
+ * history view does by default, with laying it out in a
+ * {@link CompactCommitGraph}. Both walk the same in-memory repository in
+ * topological order without keeping the commit bodies, so the difference is
+ * the cost of the layout.
+ * <p>
+ * Run {@code java -jar target/benchmarks.jar CommitGraphLayoutBenchmark} for
+ * the times, and {@link #main(String[])} for the heap retained by each
+ * layout of one million commits.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx8g" })
+public class CommitGraphLayoutBenchmark {
+
+	/** Every that many commits on master a feature branch is forked. */
+	private static final int BRANCH_EVERY = 4;
+
+	/** Number of commits on a feature branch before it is merged. */
+	private static final int BRANCH_LENGTH = 12;
+
+	/** Number of feature branches in progress at the same time. */
+	private static final int PARALLEL_BRANCHES = 4;
+
+	@Param({ "100000", "1000000" })
+	int commits;
+
+	private InMemoryRepository repository;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		repository = createRepository(commits);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		repository.close();
+	}
+
+	@Benchmark
+	public PlotCommitList<PlotLane> plotCommitList() throws IOException {
+		return layoutPlotCommitList(repository);
+	}
+
+	@Benchmark
+	public CompactCommitGraph compactCommitGraph() throws IOException {
+		return layoutCompact(repository).graph;
+	}
+
+	private static PlotCommitList<PlotLane> layoutPlotCommitList(
+			InMemoryRepository repository) throws IOException {
+		try (PlotWalk walk = new PlotWalk(repository)) {
+			walk.setRetainBody(false);
+			walk.sort(RevSort.COMMIT_TIME_DESC, true);
+			walk.markStart(walk.parseCommit(repository
+					.exactRef(Constants.R_HEADS + Constants.MASTER)
+					.getObjectId()));
+			PlotCommitList<PlotLane> list = new PlotCommitList<>();
+			list.source(walk);
+			list.fillTo(Integer.MAX_VALUE);
+			return list;
+		}
+	}
+
+	/** The commits of a history and their {@link CompactCommitGraph}. */
+	private static class CompactLayout {
+
+		final List<RevCommit> rows;
+
+		final CompactCommitGraph graph;
+
+		CompactLayout(List<RevCommit> rows, CompactCommitGraph graph) {
+			this.rows = rows;
+			this.graph = graph;
+		}
+	}
+
+	private static CompactLayout layoutCompact(InMemoryRepository repository)
+			throws IOException {
+		try (RevWalk walk = new RevWalk(repository)) {
+			walk.setRetainBody(false);
+			walk.sort(RevSort.TOPO, true);
+			walk.sort(RevSort.COMMIT_TIME_DESC, true);
+			walk.markStart(walk.parseCommit(repository
+					.exactRef(Constants.R_HEADS + Constants.MASTER)
+					.getObjectId()));
+			List<RevCommit> rows = new ArrayList<>();
+			CompactCommitGraph graph = new CompactCommitGraph();
+			for (RevCommit commit : walk) {
+				rows.add(commit);
+				graph.add(commit, 0);
+			}
+			return new CompactLayout(rows, graph);
+		}
+	}
+
+	/**
+	 * Creates a repository with a master branch of the given number of
+	 * commits. Feature branches are forked off master regularly, overlap
+	 * each other and are merged back after a while, so that the layout needs
+	 * several lanes, forks and merges.
+	 */
+	static InMemoryRepository createRepository(int count) throws IOException {
+		InMemoryRepository repository = new InMemoryRepository(
+				new DfsRepositoryDescription("benchmark")); //$NON-NLS-1$
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			ObjectId tree = inserter.insert(new TreeFormatter());
+			ObjectId master = null;
+			ObjectId[] branches = new ObjectId[PARALLEL_BRANCHES];
+			int[] lengths = new int[PARALLEL_BRANCHES];
+			int time = 1500000000;
+			int masterCommits = 0;
+			for (int i = 0; i < count;) {
+				for (int slot = 0; slot < PARALLEL_BRANCHES
+						&& i < count; slot++) {
+					if (branches[slot] == null) {
+						continue;
+					}
+					if (lengths[slot] == BRANCH_LENGTH) {
+						master = insert(inserter, tree, time++, i++, master,
+								branches[slot]);
+						branches[slot] = null;
+					} else {
+						branches[slot] = insert(inserter, tree, time++, i++,
+								branches[slot]);
+						lengths[slot]++;
+					}
+				}
+				if (i == count) {
+					break;
+				}
+				master = master == null ? insert(inserter, tree, time++, i++)
+						: insert(inserter, tree, time++, i++, master);
+				if (++masterCommits % BRANCH_EVERY == 0) {
+					int slot = (masterCommits / BRANCH_EVERY)
+							% PARALLEL_BRANCHES;
+					if (branches[slot] == null) {
+						branches[slot] = master;
+						lengths[slot] = 0;
+					}
+				}
+			}
+			inserter.flush();
+			RefUpdate update = repository
+					.updateRef(Constants.R_HEADS + Constants.MASTER);
+			update.setNewObjectId(master);
+			update.setForceUpdate(true);
+			update.update();
+		}
+		return repository;
+	}
+
+	private static ObjectId insert(ObjectInserter inserter, ObjectId tree,
+			int time, int index, ObjectId... parents) throws IOException {
+		PersonIdent ident = new PersonIdent("A U Thor", //$NON-NLS-1$
+				"author@example.com", time * 1000L, 0); //$NON-NLS-1$
+		CommitBuilder commit = new CommitBuilder();
+		commit.setTreeId(tree);
+		commit.setParentIds(parents);
+		commit.setAuthor(ident);
+		commit.setCommitter(ident);
+		commit.setMessage("Commit " + index); //$NON-NLS-1$
+		return inserter.insert(commit);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Prints the heap retained by each layout of a synthetic history.
+	 *
+	 * @param args
+	 *            optionally the number of commits, by default one million
+	 * @throws IOException
+	 *             if the repository cannot be created or walked
+	 */
+	public static void main(String[] args) throws IOException {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		try (InMemoryRepository repository = createRepository(count)) {
+			long base = usedHeap();
+			PlotCommitList<PlotLane> list = layoutPlotCommitList(repository);
+			long plot = usedHeap() - base;
+			System.out.println(String.format(
+					"PlotCommitList:     %,d commits, %,d bytes retained", //$NON-NLS-1$
+					Integer.valueOf(list.size()), Long.valueOf(plot)));
+			list = null;
+			base = usedHeap();
+			CompactLayout layout = layoutCompact(repository);
+			long compact = usedHeap() - base;
+			System.out.println(String.format(
+					"CompactCommitGraph: %,d commits, %,d bytes retained (%,d in arrays, %d lanes)", //$NON-NLS-1$
+					Integer.valueOf(layout.rows.size()), Long.valueOf(compact),
+					Long.valueOf(layout.graph.getAllocatedBytes()),
+					Integer.valueOf(layout.graph.getWidth())));
+		}
+	}
+}
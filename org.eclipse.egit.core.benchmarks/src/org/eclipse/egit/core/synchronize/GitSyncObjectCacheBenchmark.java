@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.synchronize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.egit.core.synchronize.ThreeWayDiffEntry.ChangeType;
+import org.eclipse.egit.core.synchronize.ThreeWayDiffEntry.Direction;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheCheckout.CheckoutMetadata;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link GitSyncObjectCache} of a synthetic synchronization with
+ * the layout it had before: a node per path holding its name and a
+ * {@link HashMap} of its members, and an entry holding its ids as
+ * {@link AbbreviatedObjectId}s and checkout metadata of its own. That layout
+ * is rebuilt here by {@link LegacyNode} from the same scanned entries.
+ * <p>
+ * The local, base and remote trees differ in one file per folder, so that
+ * every folder is entered and all files end up in the model. Run
+ * {@code java -jar target/benchmarks.jar GitSyncObjectCacheBenchmark} for the
+ * times, and {@link #main(String[])} for the heap retained by each model of
+ * half a million files.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx8g" })
+public class GitSyncObjectCacheBenchmark {
+
+	/** Number of files per folder. */
+	private static final int FILES_PER_FOLDER = 100;
+
+	/** Number of folders per top-level folder. */
+	private static final int FOLDERS_PER_TOP = 10;
+
+	@Param({ "100000", "500000" })
+	int files;
+
+	private Trees trees;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		trees = createTrees(files);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		trees.repository.close();
+	}
+
+	@Benchmark
+	public LegacyNode legacyModel() throws IOException {
+		return buildLegacy(scan(trees));
+	}
+
+	@Benchmark
+	public GitSyncObjectCache compactModel() throws IOException {
+		return buildCompact(scan(trees));
+	}
+
+	/** A repository with a local, a base and a remote tree. */
+	private static class Trees {
+
+		final InMemoryRepository repository;
+
+		final ObjectId local;
+
+		final ObjectId base;
+
+		final ObjectId remote;
+
+		Trees(InMemoryRepository repository, ObjectId local, ObjectId base,
+				ObjectId remote) {
+			this.repository = repository;
+			this.local = local;
+			this.base = base;
+			this.remote = remote;
+		}
+	}
+
+	/**
+	 * Creates the trees of the given number of files. The remote tree
+	 * modifies the first file of each folder, the local tree the one in the
+	 * middle; blobs are not inserted, since the scan only compares ids.
+	 */
+	static Trees createTrees(int count) throws IOException {
+		InMemoryRepository repository = new InMemoryRepository(
+				new DfsRepositoryDescription("benchmark")); //$NON-NLS-1$
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			ObjectId base = insertTree(inserter, count, -1);
+			ObjectId local = insertTree(inserter, count,
+					FILES_PER_FOLDER / 2);
+			ObjectId remote = insertTree(inserter, count, 0);
+			inserter.flush();
+			return new Trees(repository, local, base, remote);
+		}
+	}
+
+	private static ObjectId insertTree(ObjectInserter inserter, int count,
+			int modified) throws IOException {
+		DirCache index = DirCache.newInCore();
+		DirCacheBuilder builder = index.builder();
+		for (int i = 0; i < count; i++) {
+			int file = i % FILES_PER_FOLDER;
+			int folder = i / FILES_PER_FOLDER;
+			String path = String.format("top%d/folder%d/File%d.java", //$NON-NLS-1$
+					Integer.valueOf(folder / FOLDERS_PER_TOP),
+					Integer.valueOf(folder % FOLDERS_PER_TOP),
+					Integer.valueOf(file));
+			String content = file == modified ? path + " modified" : path; //$NON-NLS-1$
+			DirCacheEntry entry = new DirCacheEntry(path);
+			entry.setFileMode(FileMode.REGULAR_FILE);
+			entry.setObjectId(inserter.idFor(Constants.OBJ_BLOB,
+					content.getBytes(StandardCharsets.UTF_8)));
+			builder.add(entry);
+		}
+		builder.finish();
+		return index.writeTree(inserter);
+	}
+
+	static List<ThreeWayDiffEntry> scan(Trees trees) throws IOException {
+		try (TreeWalk walk = new TreeWalk(trees.repository)) {
+			walk.addTree(trees.local);
+			walk.addTree(trees.base);
+			walk.addTree(trees.remote);
+			return ThreeWayDiffEntry.scan(walk);
+		}
+	}
+
+	static GitSyncObjectCache buildCompact(List<ThreeWayDiffEntry> entries) {
+		GitSyncObjectCache root = new GitSyncObjectCache(
+				new ThreeWayDiffEntry());
+		for (ThreeWayDiffEntry entry : entries) {
+			root.addMember(entry);
+		}
+		return root;
+	}
+
+	static LegacyNode buildLegacy(List<ThreeWayDiffEntry> entries) {
+		LegacyNode root = new LegacyNode("", null); //$NON-NLS-1$
+		for (ThreeWayDiffEntry entry : entries) {
+			root.addMember(new LegacyEntry(entry));
+		}
+		return root;
+	}
+
+	/** The former layout of a {@link ThreeWayDiffEntry}. */
+	static class LegacyEntry {
+
+		final ChangeType changeType;
+
+		final AbbreviatedObjectId baseId;
+
+		final AbbreviatedObjectId remoteId;
+
+		final String path;
+
+		final Direction direction;
+
+		final AbbreviatedObjectId localId;
+
+		final CheckoutMetadata metadata;
+
+		final boolean isTree;
+
+		LegacyEntry(ThreeWayDiffEntry entry) {
+			changeType = entry.getChangeType();
+			baseId = entry.getBaseId();
+			remoteId = entry.getRemoteId();
+			path = entry.getPath();
+			direction = entry.getDirection();
+			localId = entry.getLocalId();
+			// The scan used to create new metadata for every file
+			CheckoutMetadata shared = entry.getMetadata();
+			metadata = shared == null ? null
+					: new CheckoutMetadata(shared.eolStreamType,
+							shared.smudgeFilterCommand);
+			isTree = entry.isTree();
+		}
+	}
+
+	/** The former layout of a {@link GitSyncObjectCache}. */
+	static class LegacyNode {
+
+		final String name;
+
+		final LegacyEntry entry;
+
+		Map<String, LegacyNode> members;
+
+		LegacyNode(String name, LegacyEntry entry) {
+			this.name = name;
+			this.entry = entry;
+		}
+
+		void addMember(LegacyEntry member) {
+			String memberPath = member.path;
+			if (members == null) {
+				members = new HashMap<>();
+			}
+			Map<String, LegacyNode> parent = members;
+			int start = -1;
+			int separatorIdx = memberPath.indexOf('/');
+			while (separatorIdx > 0) {
+				LegacyNode node = parent
+						.get(memberPath.substring(start + 1, separatorIdx));
+				if (node.members == null) {
+					node.members = new HashMap<>();
+				}
+				parent = node.members;
+				start = separatorIdx;
+				separatorIdx = memberPath.indexOf('/', separatorIdx + 1);
+			}
+			String newName = memberPath.substring(start + 1);
+			parent.put(newName, new LegacyNode(newName, member));
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Prints the heap retained by each model of a synthetic synchronization.
+	 *
+	 * @param args
+	 *            optionally the number of files, by default half a million
+	 * @throws IOException
+	 *             if the trees cannot be created or walked
+	 */
+	public static void main(String[] args) throws IOException {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+		Trees trees = createTrees(count);
+		try {
+			long base = usedHeap();
+			LegacyNode legacy = buildLegacy(scan(trees));
+			long legacySize = usedHeap() - base;
+			System.out.println(String.format(
+					"HashMap nodes:      %,d top-level members, %,d bytes retained", //$NON-NLS-1$
+					Integer.valueOf(legacy.members.size()),
+					Long.valueOf(legacySize)));
+			legacy = null;
+			base = usedHeap();
+			GitSyncObjectCache compact = buildCompact(scan(trees));
+			long compactSize = usedHeap() - base;
+			System.out.println(String.format(
+					"GitSyncObjectCache: %,d top-level members, %,d bytes retained", //$NON-NLS-1$
+					Integer.valueOf(compact.membersCount()),
+					Long.valueOf(compactSize)));
+		} finally {
+			trees.repository.close();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Test;
+
+public class ChangedPathsTest {
+
+	private static ObjectId id(int i) {
+		return ObjectId.fromString(String.format("%040x", Integer.valueOf(i)));
+	}
+
+	private static byte[][] paths(int from, int to) {
+		byte[][] paths = new byte[to - from][];
+		for (int i = from; i < to; i++) {
+			paths[i - from] = Constants.encode("dir" + i % 10 + "/file" + i);
+		}
+		return paths;
+	}
+
+	@Test
+	public void testAddedPathsAreContained() {
+		byte[][] changed = paths(0, 100);
+		ChangedPaths.Builder builder = new ChangedPaths.Builder(null);
+		builder.add(id(1), id(2), ChangedPaths.createFilter(changed, 100));
+		ChangedPaths paths = builder.build();
+
+		int index = paths.find(id(1), id(2));
+		assertEquals(0, index);
+		for (byte[] path : changed) {
+			assertTrue(paths.mayContain(index, path));
+		}
+		int falsePositives = 0;
+		for (byte[] path : paths(100, 10100)) {
+			if (paths.mayContain(index, path)) {
+				falsePositives++;
+			}
+		}
+		// About 1% with 10 bits per path and 7 hashes
+		assertTrue(falsePositives < 300);
+	}
+
+	@Test
+	public void testFiltersAreKeyedByBothTrees() {
+		ChangedPaths.Builder builder = new ChangedPaths.Builder(null);
+		for (int i = 0; i < 1000; i++) {
+			builder.add(id(i), id(i + 1),
+					ChangedPaths.createFilter(paths(i, i + 1), 1));
+		}
+		ChangedPaths paths = builder.build();
+
+		assertEquals(1000, paths.size());
+		assertEquals(-1, paths.find(id(1), id(0)));
+		assertEquals(-1, paths.find(id(0), id(2)));
+		for (int i = 0; i < 1000; i++) {
+			int index = paths.find(id(i), id(i + 1));
+			assertEquals(i, index);
+			assertTrue(paths.mayContain(index, paths(i, i + 1)[0]));
+		}
+	}
+
+	@Test
+	public void testFilterWithoutBitsContainsAnything() {
+		ChangedPaths.Builder builder = new ChangedPaths.Builder(null);
+		builder.add(id(1), id(2), new long[0]);
+		builder.add(id(3), id(4), ChangedPaths.createFilter(paths(0, 1), 1));
+		ChangedPaths paths = builder.build();
+
+		assertTrue(paths.mayContain(0, Constants.encode("any/path")));
+		assertTrue(paths.mayContain(1, paths(0, 1)[0]));
+		assertFalse(paths.mayContain(1, Constants.encode("any/path")));
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.junit.LocalDiskRepositoryTestCase;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommitGraphCacheTest extends LocalDiskRepositoryTestCase {
+
+	private Repository db;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		db = createWorkRepository();
+	}
+
+	@Test
+	public void testGraphIsRebuiltWhenShallowCommitsChange()
+			throws Exception {
+		try (Git git = new Git(db)) {
+			RevCommit first = git.commit().setMessage("first").call();
+			RevCommit second = git.commit().setMessage("second").call();
+			RevCommit third = git.commit().setMessage("third").call();
+			File shallow = new File(db.getDirectory(), "shallow");
+			write(shallow, second.name() + '\n');
+
+			CommitGraph graph = CommitGraphCache.get(db).update(db, null);
+			assertEquals(2, graph.size());
+			assertEquals(-1, graph.find(first));
+			assertEquals(0, graph.getParentCount(graph.find(second)));
+
+			FileUtils.delete(shallow);
+			graph = CommitGraphCache.get(db).update(db, null);
+			assertEquals(3, graph.size());
+			int ordinal = graph.find(second);
+			assertEquals(1, graph.getParentCount(ordinal));
+			assertEquals(graph.find(first), graph.getParent(ordinal, 0));
+			assertEquals(graph.find(second),
+					graph.getParent(graph.find(third), 0));
+		}
+	}
+}
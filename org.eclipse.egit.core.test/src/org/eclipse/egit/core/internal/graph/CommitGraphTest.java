@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.Test;
+
+public class CommitGraphTest {
+
+	private static ObjectId id(int i) {
+		return ObjectId.fromString(String.format("%040x", Integer.valueOf(i)));
+	}
+
+	@Test
+	public void testParents() {
+		CommitGraph.Builder builder = new CommitGraph.Builder(null);
+		int root = builder.add(id(1), id(100), 1000, new int[0]);
+		int left = builder.add(id(2), id(100), 1001, new int[] { root });
+		int right = builder.add(id(3), id(100), 1002, new int[] { root });
+		int merge = builder.add(id(4), id(100), 1003,
+				new int[] { left, right });
+		int missing = builder.add(id(5), id(100), 1004, new int[] { -1 });
+		CommitGraph graph = builder.build();
+
+		assertEquals(0, graph.getParentCount(root));
+		assertEquals(1, graph.getParentCount(left));
+		assertEquals(root, graph.getParent(left, 0));
+		assertEquals(2, graph.getParentCount(merge));
+		assertEquals(left, graph.getParent(merge, 0));
+		assertEquals(right, graph.getParent(merge, 1));
+		assertEquals(-1, graph.getParent(missing, 0));
+		assertEquals(1004, graph.getCommitTime(missing));
+	}
+
+	@Test
+	public void testSnapshotIsNotChangedByLaterAdds() {
+		CommitGraph.Builder builder = new CommitGraph.Builder(null);
+		builder.add(id(1), id(101), 1001, new int[0]);
+		CommitGraph first = builder.build();
+		builder = new CommitGraph.Builder(first);
+		for (int i = 2; i <= 1000; i++) {
+			builder.add(id(i), id(100 + i), 1000 + i, new int[] { i - 2 });
+		}
+		CommitGraph second = builder.build();
+
+		assertEquals(1, first.size());
+		assertEquals(-1, first.find(id(2)));
+		assertEquals(1000, second.size());
+		for (int i = 1; i <= 1000; i++) {
+			int ordinal = second.find(id(i));
+			assertEquals(i - 1, ordinal);
+			assertEquals(id(i), second.getId(ordinal));
+			assertEquals(id(100 + i), second.getTree(ordinal));
+			assertEquals(1000 + i, second.getCommitTime(ordinal));
+		}
+		assertEquals(-1, second.find(id(1001)));
+	}
+
+	@Test
+	public void testHeadersParseAsCommit() throws IOException {
+		CommitGraph.Builder builder = new CommitGraph.Builder(null);
+		int first = builder.add(id(1), id(100), 1000, new int[0]);
+		int second = builder.add(id(2), id(100), 1001, new int[0]);
+		int merge = builder.add(id(3), id(101), 1500000000,
+				new int[] { first, second });
+		int shallow = builder.add(id(4), id(100), 1002, new int[] { -1 });
+		CommitGraph graph = builder.build();
+
+		try (RevWalk walk = new RevWalk((ObjectReader) null)) {
+			RevCommit commit = RevCommit.parse(walk,
+					graph.formatHeaders(merge));
+			assertEquals(id(101), commit.getTree());
+			assertEquals(2, commit.getParentCount());
+			assertEquals(id(1), commit.getParent(0));
+			assertEquals(id(2), commit.getParent(1));
+			assertEquals(1500000000, commit.getCommitTime());
+		}
+		assertNull(graph.formatHeaders(shallow));
+	}
+}
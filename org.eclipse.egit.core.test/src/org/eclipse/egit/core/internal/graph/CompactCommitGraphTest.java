@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactCommitGraphTest {
+
+	private RevWalk walk;
+
+	private int time = 1500000000;
+
+	@Before
+	public void setUp() {
+		// Commits are parsed from raw bytes; no repository is needed
+		walk = new RevWalk((ObjectReader) null);
+	}
+
+	@After
+	public void tearDown() {
+		walk.close();
+	}
+
+	private RevCommit commit(RevCommit... parents) throws IOException {
+		StringBuilder raw = new StringBuilder();
+		raw.append("tree ").append(ObjectId.zeroId().name()).append('\n');
+		for (RevCommit parent : parents) {
+			raw.append("parent ").append(parent.name()).append('\n');
+		}
+		String ident = "A U Thor <author@example.com> " + time++ + " +0000\n";
+		raw.append("author ").append(ident);
+		raw.append("committer ").append(ident);
+		raw.append('\n').append("Commit ").append(time).append('\n');
+		return RevCommit.parse(walk, Constants.encode(raw.toString()));
+	}
+
+	private static int[] passing(CompactCommitGraph graph, int row) {
+		int[] lanes = new int[graph.getPassingCount(row)];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = graph.getPassingLane(row, i);
+		}
+		return lanes;
+	}
+
+	private static int[] incoming(CompactCommitGraph graph, int row) {
+		int[] lanes = new int[graph.getIncomingCount(row)];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = graph.getIncomingLane(row, i);
+		}
+		return lanes;
+	}
+
+	private static int[] outgoing(CompactCommitGraph graph, int row) {
+		int[] lanes = new int[graph.getOutgoingCount(row)];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = graph.getOutgoingLane(row, i);
+		}
+		return lanes;
+	}
+
+	private static void assertLanes(int[] expected, int[] actual) {
+		assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+	}
+
+	@Test
+	public void testLinearHistoryUsesOneLane() throws IOException {
+		RevCommit first = commit();
+		RevCommit second = commit(first);
+		RevCommit third = commit(second);
+		CompactCommitGraph graph = new CompactCommitGraph();
+		assertEquals(0, graph.add(third, CompactCommitGraph.FLAG_REFS));
+		assertEquals(1, graph.add(second, 0));
+		assertEquals(2, graph.add(first, 0));
+
+		assertEquals(3, graph.size());
+		assertEquals(1, graph.getWidth());
+		for (int row = 0; row < 3; row++) {
+			assertEquals(0, graph.getLane(row));
+			assertLanes(new int[0], passing(graph, row));
+		}
+		assertEquals(CompactCommitGraph.FLAG_REFS, graph.getFlags(0));
+		assertEquals(0, graph.getFlags(1));
+		assertLanes(new int[0], incoming(graph, 0));
+		assertLanes(new int[] { 0 }, outgoing(graph, 0));
+		assertLanes(new int[] { 0 }, incoming(graph, 1));
+		assertEquals(0, graph.getChildRow(1, 0));
+		assertEquals(1, graph.getChildRow(2, 0));
+		assertLanes(new int[0], outgoing(graph, 2));
+	}
+
+	@Test
+	public void testBranchAndMerge() throws IOException {
+		RevCommit base = commit();
+		RevCommit side = commit(base);
+		RevCommit main = commit(base);
+		RevCommit merge = commit(main, side);
+		CompactCommitGraph graph = new CompactCommitGraph();
+		graph.add(merge, 0);
+		graph.add(main, 0);
+		graph.add(side, 0);
+		graph.add(base, 0);
+
+		assertEquals(2, graph.getWidth());
+		assertEquals(0, graph.getLane(0));
+		assertLanes(new int[] { 0, 1 }, outgoing(graph, 0));
+
+		assertEquals(0, graph.getLane(1));
+		assertLanes(new int[] { 0 }, incoming(graph, 1));
+		assertLanes(new int[] { 1 }, passing(graph, 1));
+		assertLanes(new int[] { 0 }, outgoing(graph, 1));
+
+		assertEquals(1, graph.getLane(2));
+		assertLanes(new int[] { 1 }, incoming(graph, 2));
+		assertEquals(0, graph.getChildRow(2, 0));
+		assertLanes(new int[] { 0 }, passing(graph, 2));
+		assertLanes(new int[] { 1 }, outgoing(graph, 2));
+
+		assertEquals(0, graph.getLane(3));
+		assertLanes(new int[] { 0, 1 }, incoming(graph, 3));
+		assertEquals(1, graph.getChildRow(3, 0));
+		assertEquals(2, graph.getChildRow(3, 1));
+		assertLanes(new int[0], passing(graph, 3));
+	}
+
+	@Test
+	public void testFreedLanesAreReused() throws IOException {
+		RevCommit root = commit();
+		RevCommit feature = commit(root);
+		RevCommit other = commit();
+		CompactCommitGraph graph = new CompactCommitGraph(1);
+		graph.add(feature, 0);
+		graph.add(root, 0);
+		graph.add(other, 0);
+
+		assertEquals(1, graph.getWidth());
+		assertEquals(0, graph.getLane(2));
+		assertLanes(new int[0], incoming(graph, 2));
+	}
+
+	@Test
+	public void testBoundaryCommitHasNoOutgoingEdges() throws IOException {
+		RevCommit parent = commit();
+		RevCommit boundary = commit(parent);
+		RevCommit tip = commit(boundary);
+		boundary.add(RevFlag.UNINTERESTING);
+		CompactCommitGraph graph = new CompactCommitGraph();
+		graph.add(tip, 0);
+		graph.add(boundary, 0);
+
+		assertEquals(CompactCommitGraph.FLAG_BOUNDARY, graph.getFlags(1));
+		assertLanes(new int[] { 0 }, incoming(graph, 1));
+		assertLanes(new int[0], outgoing(graph, 1));
+	}
+
+	@Test
+	public void testManyLanes() throws IOException {
+		RevCommit[] roots = new RevCommit[40];
+		for (int i = 0; i < roots.length; i++) {
+			roots[i] = commit();
+		}
+		RevCommit octopus = commit(roots);
+		CompactCommitGraph graph = new CompactCommitGraph();
+		graph.add(octopus, 0);
+		for (RevCommit root : roots) {
+			graph.add(root, 0);
+		}
+
+		assertEquals(40, graph.getWidth());
+		assertEquals(40, graph.getOutgoingCount(0));
+		assertEquals(39, graph.getOutgoingLane(0, 39));
+		for (int row = 1; row <= roots.length; row++) {
+			assertEquals(row - 1, graph.getLane(row));
+			assertEquals(0, graph.getChildRow(row, 0));
+			assertEquals(roots.length - row, graph.getPassingCount(row));
+			for (int i = 0; i < graph.getPassingCount(row); i++) {
+				assertEquals(row + i, graph.getPassingLane(row, i));
+			}
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRowBeyondSize() throws IOException {
+		CompactCommitGraph graph = new CompactCommitGraph();
+		graph.add(commit(), 0);
+		graph.getLane(1);
+	}
+}
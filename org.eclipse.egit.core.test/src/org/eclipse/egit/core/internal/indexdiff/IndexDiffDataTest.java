@@ -15,13 +15,25 @@
 import static org.eclipse.egit.core.internal.indexdiff.IndexDiffData.mergeIgnored;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.egit.core.test.GitTestCase;
+import org.eclipse.egit.core.test.TestRepository;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.IndexDiff;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.util.FileUtils;
 import org.junit.Test;
 
 public class IndexDiffDataTest extends GitTestCase {
@@ -47,6 +59,89 @@ public void testIsAnyPrefixOf() {
 		assertFalse(isAnyPrefixOf("a", possiblePrefixes));
 	}
 
+	@Test
+	public void testFolderState() {
+		List<Set<String>> sets = new IndexDiffData().getPathSets();
+		sets.set(0, Collections.singleton("a/b/added"));
+		sets.set(5, Collections.singleton("a/modified"));
+		sets.set(6, Collections.singleton("c/untracked"));
+		sets.set(8, Collections.singleton("a/b/conflict"));
+		sets.set(9, Collections.singleton("c/d"));
+		IndexDiffData data = IndexDiffData.fromPathSets(sets);
+
+		assertEquals(IndexDiffData.FOLDER_STAGED
+				| IndexDiffData.FOLDER_CONFLICTS, data.getFolderState("a/b/"));
+		assertEquals(IndexDiffData.FOLDER_STAGED
+				| IndexDiffData.FOLDER_CONFLICTS | IndexDiffData.FOLDER_DIRTY
+				| IndexDiffData.FOLDER_MODIFIED, data.getFolderState("a/"));
+		assertEquals(IndexDiffData.FOLDER_DIRTY
+				| IndexDiffData.FOLDER_UNTRACKED | IndexDiffData.FOLDER_IGNORED,
+				data.getFolderState("c/"));
+		assertEquals(0, data.getFolderState("b/"));
+		assertEquals(0, data.getFolderState("a/b/added/"));
+		assertEquals(data.getFolderState(""), data.getFolderState("/"));
+		assertEquals(0x3F, data.getFolderState(""));
+	}
+
+	@Test
+	public void testFolderStateIncremental() throws Exception {
+		TestRepository testRepository = new TestRepository(gitDir);
+		File folder = new File(gitDir.getParentFile(), "a");
+		try {
+			Repository repository = testRepository.getRepository();
+			File workTree = repository.getWorkTree();
+			File file = new File(workTree, "a/b/c.txt");
+			FileUtils.mkdirs(file.getParentFile(), true);
+			testRepository.appendFileContent(file, "content");
+			testRepository.appendFileContent(new File(workTree, "a/d.txt"),
+					"content");
+			IndexDiffData full = new IndexDiffData(diff(repository, null));
+			assertEquals(
+					IndexDiffData.FOLDER_DIRTY
+							| IndexDiffData.FOLDER_UNTRACKED,
+					full.getFolderState("a/b/"));
+
+			try (Git git = new Git(repository)) {
+				git.add().addFilepattern("a/b/c.txt").call();
+			}
+			List<String> changed = Collections.singletonList("a/b/c.txt");
+			IndexDiffData merged = new IndexDiffData(full, changed,
+					Collections.emptyList(), diff(repository, changed));
+			assertEquals(IndexDiffData.FOLDER_STAGED,
+					merged.getFolderState("a/b/"));
+			assertEquals(
+					IndexDiffData.FOLDER_STAGED | IndexDiffData.FOLDER_DIRTY
+							| IndexDiffData.FOLDER_UNTRACKED,
+					merged.getFolderState("a/"));
+			IndexDiffData recomputed = IndexDiffData
+					.fromPathSets(merged.getPathSets());
+			for (String path : asList("", "a/", "a/b/")) {
+				assertEquals(recomputed.getFolderState(path),
+						merged.getFolderState(path));
+			}
+
+			assertEquals(new HashSet<>(changed),
+					merged.getChangedPathsSince(full));
+			assertTrue(merged.getChangedPathsSince(merged).isEmpty());
+			assertNull(full.getChangedPathsSince(merged));
+			assertNull(recomputed.getChangedPathsSince(full));
+		} finally {
+			testRepository.dispose();
+			FileUtils.delete(folder, FileUtils.RECURSIVE | FileUtils.RETRY);
+		}
+	}
+
+	private static IndexDiff diff(Repository repository,
+			Collection<String> paths) throws Exception {
+		IndexDiff diff = new IndexDiff(repository, Constants.HEAD,
+				new FileTreeIterator(repository));
+		if (paths != null) {
+			diff.setFilter(PathFilterGroup.createFromStrings(paths));
+		}
+		diff.diff();
+		return diff;
+	}
+
 	@Test
 	public void testMergeIgnored() {
 		Set<String> result;
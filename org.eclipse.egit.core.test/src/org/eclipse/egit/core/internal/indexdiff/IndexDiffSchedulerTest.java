@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.indexdiff;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+public class IndexDiffSchedulerTest {
+
+	private final File a = new File("a");
+
+	private final File b = new File("b");
+
+	private final File c = new File("c");
+
+	@Test
+	public void testLimitFromProcessors() {
+		assertEquals(2, new IndexDiffScheduler(1).getLimit());
+		assertEquals(2, new IndexDiffScheduler(4).getLimit());
+		assertEquals(8, new IndexDiffScheduler(16).getLimit());
+	}
+
+	@Test
+	public void testCanceledWhileWaiting() throws Exception {
+		IndexDiffScheduler scheduler = new IndexDiffScheduler(1);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		IndexDiffScheduler.Permit first = scheduler.acquire(a, true, monitor);
+		IndexDiffScheduler.Permit second = scheduler.acquire(b, true,
+				monitor);
+		assertNotNull(first);
+		assertNotNull(second);
+		NullProgressMonitor canceled = new NullProgressMonitor();
+		canceled.setCanceled(true);
+		assertNull(scheduler.acquire(c, true, canceled));
+		scheduler.release(first);
+		assertNotNull(scheduler.acquire(c, true, monitor));
+	}
+
+	@Test
+	public void testPreferredRepositoryFirst() throws Exception {
+		IndexDiffScheduler scheduler = new IndexDiffScheduler(1);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		IndexDiffScheduler.Permit first = scheduler.acquire(a, true, monitor);
+		IndexDiffScheduler.Permit second = scheduler.acquire(a, true,
+				monitor);
+		List<File> order = new CopyOnWriteArrayList<>();
+		Thread waitingB = startWaiting(scheduler, b, order);
+		Thread waitingC = startWaiting(scheduler, c, order);
+		while (waitingB.getState() != Thread.State.TIMED_WAITING
+				|| waitingC.getState() != Thread.State.TIMED_WAITING) {
+			Thread.sleep(10);
+		}
+		scheduler.setPreferred(Collections.singleton(c));
+		scheduler.release(first);
+		waitingC.join(10000);
+		scheduler.release(second);
+		waitingB.join(10000);
+		assertEquals(2, order.size());
+		assertEquals(c, order.get(0));
+		assertEquals(b, order.get(1));
+	}
+
+	@Test
+	public void testIncrementalNotBehindFullReloads() throws Exception {
+		IndexDiffScheduler scheduler = new IndexDiffScheduler(1);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		IndexDiffScheduler.Permit first = scheduler.acquire(a, true, monitor);
+		IndexDiffScheduler.Permit second = scheduler.acquire(b, true,
+				monitor);
+		List<File> order = new CopyOnWriteArrayList<>();
+		Thread waitingFull = startWaiting(scheduler, c, true, order);
+		awaitWaiting(waitingFull);
+		// Runs beyond the limit without waiting for the full reloads
+		IndexDiffScheduler.Permit incremental = scheduler.acquire(a, false,
+				monitor);
+		assertNotNull(incremental);
+
+		// Only one beyond the limit, but ahead of the full reload
+		Thread waitingIncremental = startWaiting(scheduler, b, false, order);
+		awaitWaiting(waitingIncremental);
+		scheduler.release(first);
+		scheduler.release(incremental);
+		waitingIncremental.join(10000);
+		assertEquals(Collections.singletonList(b), order);
+		scheduler.release(second);
+		waitingFull.join(10000);
+		assertEquals(2, order.size());
+		assertEquals(c, order.get(1));
+	}
+
+	private static void awaitWaiting(Thread thread)
+			throws InterruptedException {
+		while (thread.getState() != Thread.State.TIMED_WAITING) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static Thread startWaiting(IndexDiffScheduler scheduler,
+			File gitDir, List<File> order) {
+		return startWaiting(scheduler, gitDir, true, order);
+	}
+
+	private static Thread startWaiting(IndexDiffScheduler scheduler,
+			File gitDir, boolean full, List<File> order) {
+		Thread thread = new Thread(() -> {
+			try {
+				scheduler.acquire(gitDir, full, new NullProgressMonitor());
+				order.add(gitDir);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		return thread;
+	}
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.indexdiff;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class PathSetTest {
+
+	@Test
+	public void testOfSortsAndRemovesDuplicates() {
+		PathSet set = PathSet.of(asList("b", "a/c", "a", "b"));
+		assertEquals(3, set.size());
+		assertEquals(asList("a", "a/c", "b"), new ArrayList<>(set));
+		assertSame(set, PathSet.of(set));
+		assertSame(PathSet.EMPTY, PathSet.of(new TreeSet<>()));
+	}
+
+	@Test
+	public void testWithAndWithoutKeepOriginal() {
+		PathSet original = PathSet.of(asList("a", "b", "c"));
+		PathSet added = original.with("d");
+		PathSet removed = original.without("b");
+
+		assertEquals(asList("a", "b", "c"), new ArrayList<>(original));
+		assertEquals(asList("a", "b", "c", "d"), new ArrayList<>(added));
+		assertEquals(asList("a", "c"), new ArrayList<>(removed));
+		assertSame(original, original.with("a"));
+		assertSame(original, original.without("x"));
+		assertSame(PathSet.EMPTY, PathSet.of(asList("a")).without("a"));
+	}
+
+	@Test
+	public void testContains() {
+		PathSet set = PathSet.EMPTY;
+		for (int i = 0; i < 1000; i++) {
+			set = set.with("file" + i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			set = set.without("file" + i);
+		}
+		assertEquals(500, set.size());
+		assertTrue(set.contains("file1"));
+		assertFalse(set.contains("file2"));
+		assertFalse(set.contains(Integer.valueOf(1)));
+	}
+
+	@Test
+	public void testStartingWith() {
+		PathSet set = PathSet
+				.of(asList("a", "a/b", "a/c/d", "ab", "b/a", "a/"));
+		List<String> result = new ArrayList<>();
+		for (String path : set.startingWith("a/")) {
+			result.add(path);
+		}
+		assertEquals(asList("a/", "a/b", "a/c/d"), result);
+		assertFalse(set.startingWith("c").iterator().hasNext());
+	}
+
+	@Test
+	public void testWithoutPrefix() {
+		PathSet set = PathSet.of(asList("a", "a/b", "a/c/d", "ab", "b/a"));
+		assertEquals(asList("a", "ab", "b/a"),
+				new ArrayList<>(set.withoutPrefix("a/")));
+		assertEquals(asList("b/a"), new ArrayList<>(set.withoutPrefix("a")));
+		assertSame(set, set.withoutPrefix("c"));
+		assertSame(PathSet.EMPTY, set.withoutPrefix(""));
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.util;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+public class WorkTreeTrieTest {
+
+	@Test
+	public void testFindPrefixesLongestFirst() {
+		WorkTreeTrie<String> trie = new WorkTreeTrie<>();
+		trie.put(new Path("/repos/outer"), "outer");
+		trie.put(new Path("/repos/outer/modules/inner"), "inner");
+		trie.put(new Path("/repos/other"), "other");
+
+		assertEquals(asList("inner", "outer"), trie.findPrefixes(
+				new Path("/repos/outer/modules/inner/src/A.java")));
+		assertEquals(asList("outer"),
+				trie.findPrefixes(new Path("/repos/outer/modules/in")));
+		assertEquals(asList("outer"),
+				trie.findPrefixes(new Path("/repos/outer")));
+		assertTrue(trie.findPrefixes(new Path("/repos")).isEmpty());
+		assertTrue(trie.findPrefixes(new Path("/repos/outerX")).isEmpty());
+	}
+
+	@Test
+	public void testRemoveOnlyExpectedValue() {
+		WorkTreeTrie<String> trie = new WorkTreeTrie<>();
+		trie.put(new Path("/a/b"), "b");
+		trie.put(new Path("/a/b/c"), "c");
+
+		trie.remove(new Path("/a/b"), "x");
+		assertEquals(asList("c", "b"), trie.findPrefixes(new Path("/a/b/c")));
+
+		trie.remove(new Path("/a/b"), "b");
+		assertEquals(asList("c"), trie.findPrefixes(new Path("/a/b/c/d")));
+		assertTrue(trie.findPrefixes(new Path("/a/b")).isEmpty());
+
+		trie.remove(new Path("/a/b/c"), "c");
+		assertTrue(trie.findPrefixes(new Path("/a/b/c")).isEmpty());
+	}
+
+	@Test
+	public void testPutReplaces() {
+		WorkTreeTrie<String> trie = new WorkTreeTrie<>();
+		trie.put(new Path("/a"), "1");
+		trie.put(new Path("/a"), "2");
+		assertEquals(asList("2"), trie.findPrefixes(new Path("/a/x")));
+		trie.clear();
+		assertTrue(trie.findPrefixes(new Path("/a/x")).isEmpty());
+	}
+}
@@ -185,6 +185,41 @@ public void shouldApplyPathFilter() throws Exception {
 				LEFT);
 	}
 
+	@Test
+	public void shouldApplyPathFilterToKnownChanges() throws Exception {
+		// given
+		Git git = new Git(db);
+		writeTrashFile(db, "folder/a.txt", "content");
+		writeTrashFile(db, "folder2/b.txt", "b content");
+		git.add().addFilepattern("folder/a.txt").call();
+		git.add().addFilepattern("folder2/b.txt").call();
+		RevCommit c1 = commit(git, "first commit");
+		writeTrashFile(db, "folder2/b.txt", "new b content");
+		commit(git, "second commit");
+		writeTrashFile(db, "folder/a.txt", "new content");
+		writeTrashFile(db, "folder2/b.txt", "newer b content");
+		RevCommit c3 = commit(git, "third commit");
+		List<Commit> unfiltered = GitCommitsModelCache.build(db,
+				initialTagId(), c3, null);
+
+		// when
+		PathFilter pathFilter = PathFilter.create("folder");
+		List<Commit> leftResult = GitCommitsModelCache.build(db,
+				initialTagId(), c3, pathFilter);
+		// then
+		assertThat(Integer.valueOf(unfiltered.size()), is(Integer.valueOf(3)));
+		assertThat(unfiltered.get(0).getChildren().size(), is(2));
+		assertThat(Integer.valueOf(leftResult.size()), is(Integer.valueOf(2)));
+		assertCommit(leftResult.get(0), c3, 1);
+		assertFileChange(c3, c1,
+				leftResult.get(0).getChildren().get("folder/a.txt"), "a.txt",
+				LEFT);
+		assertCommit(leftResult.get(1), c1, 1);
+		assertFileAddition(c1,
+				leftResult.get(1).getChildren().get("folder/a.txt"), "a.txt",
+				LEFT);
+	}
+
 	@Test
 	public void shouldListAdditionsOrDeletionsInsideFolderInCommit()
 			throws Exception {
@@ -401,6 +401,39 @@ public void shouldReturnTrueWhenShortContentIsDifferent() throws Exception {
 		assertTrue(grvc.compare(local, remote));
 	}
 
+	/**
+	 * A working tree file should be compared to a remote file by object id,
+	 * and should no longer be equal once it was changed.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void shouldCompareFileAndRemoteFileByObjectId() throws Exception {
+		// when
+		GitSynchronizeData data = new GitSynchronizeData(repo, HEAD, HEAD, true);
+		GitSynchronizeDataSet dataSet = new GitSynchronizeDataSet(data);
+		GitResourceVariantComparator grvc = new GitResourceVariantComparator(
+				dataSet, new WorkingTreeIdCache());
+
+		// given
+		File file = testRepo.createFile(iProject, "test-file");
+		RevCommit commit = testRepo.appendContentAndCommit(iProject, file,
+				"a", "initial commit");
+		String path = Repository.stripWorkDir(repo.getWorkTree(), file);
+		IFile local = testRepo.getIFile(iProject, file);
+		GitRemoteFile remote;
+		try (TreeWalk tw = TreeWalk.forPath(repo, path, commit.getTree())) {
+			remote = new GitRemoteFile(repo, commit, tw.getObjectId(0), path,
+					null);
+		}
+
+		// then
+		assertTrue(grvc.compare(local, remote));
+
+		testRepo.appendFileContent(file, "b");
+		assertFalse(grvc.compare(local, remote));
+	}
+
 	/**
 	 * Compare two 'large' files that have same content length and content
 	 * should return true.
@@ -10,12 +10,15 @@
  *******************************************************************************/
 package org.eclipse.egit.core.synchronize;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -125,6 +128,61 @@ public void testSyncBranchAndMaster() throws Exception {
 		assertVariantMatchCommit(actualRemote, commitMaster);
 	}
 
+	@Test
+	public void testChangedResourcesAfterCommit() throws Exception {
+		GitSynchronizeData gsd = new GitSynchronizeData(
+				testRepo.getRepository(), MASTER, BRANCH, false);
+		GitResourceVariantTreeSubscriber grvts = new GitResourceVariantTreeSubscriber(
+				new GitSynchronizeDataSet(gsd));
+		grvts.init(new NullProgressMonitor());
+
+		File file = testRepo.createFile(project.getProject(), "Other.java");
+		RevCommit commit = testRepo.appendContentAndCommit(
+				project.getProject(), file, "class Other {}", "fourth commit");
+		IFile otherFile = testRepo.getIFile(project.getProject(), file);
+		gsd.updateRevs();
+
+		IResource[] changed = grvts.getChangedResources(
+				testRepo.getRepository(), Collections.emptyList());
+		assertArrayEquals(new IResource[] { otherFile }, changed);
+		grvts.refresh(changed, IResource.DEPTH_INFINITE,
+				new NullProgressMonitor());
+		assertVariantMatchCommit(getSourceVariant(grvts, otherFile, false),
+				commit);
+
+		// Nothing changed since, so the cause is unknown
+		assertNull(grvts.getChangedResources(testRepo.getRepository(),
+				Collections.emptyList()));
+	}
+
+	@Test
+	public void testChangedResourcesOfLocalSync() throws Exception {
+		GitSynchronizeData gsd = new GitSynchronizeData(
+				testRepo.getRepository(), Constants.HEAD, MASTER, true);
+		GitResourceVariantTreeSubscriber grvts = new GitResourceVariantTreeSubscriber(
+				new GitSynchronizeDataSet(gsd));
+		grvts.init(new NullProgressMonitor());
+
+		File file = testRepo.createFile(project.getProject(), "Other.java");
+		testRepo.appendContentAndCommit(project.getProject(), file,
+				"class Other {}", "fourth commit");
+		IFile otherFile = testRepo.getIFile(project.getProject(), file);
+		gsd.updateRevs();
+
+		// The working tree may have changed anywhere
+		assertNull(grvts.getChangedResources(testRepo.getRepository(),
+				Collections.emptyList()));
+
+		testRepo.appendContentAndCommit(project.getProject(), file,
+				"// test 3", "fifth commit");
+		gsd.updateRevs();
+
+		IResource[] changed = grvts.getChangedResources(
+				testRepo.getRepository(),
+				Collections.singletonList(otherFile));
+		assertArrayEquals(new IResource[] { otherFile }, changed);
+	}
+
 	private void assertVariantIsLocal(IResourceVariant variant, IResource local) {
 		assertTrue(variant instanceof GitLocalResourceVariant);
 		assertEquals(local, ((GitLocalResourceVariant) variant).getResource());
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.synchronize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.egit.core.synchronize.dto.GitSynchronizeData;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.junit.LocalDiskRepositoryTestCase;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GitSyncCacheTest extends LocalDiskRepositoryTestCase {
+
+	private Repository db;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		db = createWorkRepository();
+		try (Git git = new Git(db)) {
+			write("a/one.txt", "one");
+			write("a/sub/two.txt", "two");
+			write("b/three.txt", "three");
+			write("c/four.txt", "four");
+			write("top1.txt", "top1");
+			write("top2.txt", "top2");
+			git.add().addFilepattern(".").call();
+			git.commit().setMessage("initial").call();
+
+			git.checkout().setCreateBranch(true).setName("other").call();
+			write("a/one.txt", "changed remotely");
+			new File(db.getWorkTree(), "b/three.txt").delete();
+			write("c/five.txt", "five");
+			write("top1.txt", "changed remotely");
+			git.add().addFilepattern(".").call();
+			git.add().setUpdate(true).addFilepattern(".").call();
+			git.commit().setMessage("remote").call();
+
+			git.checkout().setName(Constants.MASTER).call();
+			write("a/sub/two.txt", "changed locally");
+			write("d/six.txt", "six");
+			git.add().addFilepattern(".").call();
+			git.commit().setMessage("local").call();
+		}
+		// Changes in the working tree only
+		write("top2.txt", "not staged");
+		write("c/untracked.txt", "untracked");
+	}
+
+	@Test
+	public void testParallelScanMatchesSingleWalk() throws Exception {
+		assertSameAsSingleWalk(false, null);
+		assertSameAsSingleWalk(false, filter());
+	}
+
+	@Test
+	public void testParallelScanIncludingLocalMatchesSingleWalk()
+			throws Exception {
+		assertSameAsSingleWalk(true, null);
+		assertSameAsSingleWalk(true, filter());
+	}
+
+	private static TreeFilter filter() {
+		return PathFilterGroup.createFromStrings("a", "c", "top2.txt");
+	}
+
+	private void assertSameAsSingleWalk(boolean includeLocal,
+			TreeFilter filter) throws Exception {
+		GitSynchronizeData gsd = new GitSynchronizeData(db, Constants.HEAD,
+				Constants.R_HEADS + "other", includeLocal);
+		GitSyncObjectCache parallel = new GitSyncObjectCache(
+				new ThreeWayDiffEntry());
+		assertTrue(GitSyncCache.loadDataFromGit(gsd,
+				filter != null ? filter.clone() : null, parallel));
+		// Several top-level folders, so the partitions were scanned
+		assertTrue(parallel.membersCount() >= 2);
+
+		GitSyncObjectCache single = new GitSyncObjectCache(
+				new ThreeWayDiffEntry());
+		DirCache dirCache = includeLocal ? DirCache.read(db) : null;
+		for (ThreeWayDiffEntry entry : GitSyncCache.scan(gsd,
+				filter != null ? filter.clone() : null, dirCache, null)) {
+			single.addMember(entry);
+		}
+		assertEquals(describe(single), describe(parallel));
+	}
+
+	private static String describe(GitSyncObjectCache cache) {
+		StringBuilder builder = new StringBuilder();
+		describe(cache, builder);
+		return builder.toString();
+	}
+
+	private static void describe(GitSyncObjectCache cache,
+			StringBuilder builder) {
+		ThreeWayDiffEntry entry = cache.getDiffEntry();
+		builder.append(entry.getPath()).append(' ')
+				.append(entry.getChangeType()).append(' ')
+				.append(entry.getDirection()).append(' ')
+				.append(entry.isTree()).append(' ')
+				.append(entry.getLocalId()).append(' ')
+				.append(entry.getBaseId()).append(' ')
+				.append(entry.getRemoteId()).append('\n');
+		if (cache.members() != null) {
+			for (GitSyncObjectCache member : cache.members()) {
+				describe(member, builder);
+			}
+		}
+	}
+
+	private void write(String path, String content) throws Exception {
+		File file = new File(db.getWorkTree(), path);
+		file.getParentFile().mkdirs();
+		write(file, content);
+	}
+}
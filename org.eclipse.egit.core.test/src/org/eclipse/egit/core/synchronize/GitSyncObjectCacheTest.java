@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.synchronize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.egit.core.synchronize.ThreeWayDiffEntry.ChangeType;
+import org.junit.Test;
+
+public class GitSyncObjectCacheTest {
+
+	@Test
+	public void testOutOfOrderInserts() {
+		GitSyncObjectCache root = root();
+		add(root, "c", true);
+		add(root, "b.txt", false);
+		add(root, "a", true);
+		add(root, "c/z.txt", false);
+		add(root, "a/y.txt", false);
+		add(root, "c/m.txt", false);
+		add(root, "a/x.txt", false);
+		add(root, "aa.txt", false);
+
+		assertEquals(Arrays.asList("a", "aa.txt", "b.txt", "c"),
+				names(root));
+		assertEquals(Arrays.asList("x.txt", "y.txt"), names(root.get("a")));
+		assertEquals(Arrays.asList("m.txt", "z.txt"), names(root.get("c")));
+	}
+
+	@Test
+	public void testReplaceMember() {
+		GitSyncObjectCache root = root();
+		add(root, "a", true);
+		add(root, "a/x.txt", false);
+		add(root, "a/y.txt", false);
+		ThreeWayDiffEntry replacement = add(root, "a/x.txt", false);
+
+		assertEquals(Arrays.asList("x.txt", "y.txt"), names(root.get("a")));
+		assertSame(replacement, root.get("a/x.txt").getDiffEntry());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testAddWithoutParent() {
+		GitSyncObjectCache root = root();
+		add(root, "a", true);
+		add(root, "a/b/x.txt", false);
+	}
+
+	@Test
+	public void testGetNested() {
+		GitSyncObjectCache root = root();
+		add(root, "a", true);
+		add(root, "a/b", true);
+		ThreeWayDiffEntry file = add(root, "a/b/x.txt", false);
+		add(root, "ab", true);
+
+		assertSame(root, root.get(""));
+		assertSame(file, root.get("a/b/x.txt").getDiffEntry());
+		GitSyncObjectCache folder = root.get("a/b");
+		assertEquals("b", folder.getName());
+		assertSame(folder, folder.get("a/b"));
+		assertEquals("ab", root.get("ab").getName());
+		assertNull(root.get("a/c"));
+		assertNull(root.get("a/b/y.txt"));
+		assertNull(root.get("b/x.txt"));
+		assertNull(root.get("a/b/x.txt/y.txt"));
+		assertNull(root.get("ab/x.txt"));
+	}
+
+	@Test
+	public void testMergeOtherSideWithoutMembers() {
+		GitSyncObjectCache root = root();
+		ThreeWayDiffEntry a = add(root, "a", true);
+		ThreeWayDiffEntry x = add(root, "a/x.txt", false);
+		ThreeWayDiffEntry b = add(root, "b.txt", false);
+
+		root.merge(root(), new HashSet<>(Collections.singleton("a")));
+
+		assertEquals(ChangeType.IN_SYNC, a.changeType);
+		assertEquals(ChangeType.MODIFY, b.changeType);
+		// Only the direct members are marked
+		assertEquals(ChangeType.MODIFY, x.changeType);
+		assertEquals(Arrays.asList("a", "b.txt"), names(root));
+
+		root.merge(root(), new HashSet<>(Collections.singleton("")));
+
+		assertEquals(ChangeType.IN_SYNC, b.changeType);
+	}
+
+	@Test
+	public void testMergeThisSideWithoutMembers() {
+		GitSyncObjectCache root = root();
+		GitSyncObjectCache other = root();
+		ThreeWayDiffEntry a = add(other, "a", true);
+		add(other, "a/x.txt", false);
+		ThreeWayDiffEntry b = add(other, "b.txt", false);
+
+		root.merge(other, new HashSet<>(Arrays.asList("a", "b.txt")));
+
+		assertEquals(Arrays.asList("a", "b.txt"), names(root));
+		assertSame(a, root.get("a").getDiffEntry());
+		assertSame(b, root.get("b.txt").getDiffEntry());
+		assertEquals(ChangeType.MODIFY, a.changeType);
+		assertEquals(ChangeType.MODIFY, b.changeType);
+		assertEquals(Collections.singletonList("x.txt"),
+				names(root.get("a")));
+	}
+
+	@Test
+	public void testMergeMarksMembersMissingInOther() {
+		GitSyncObjectCache root = root();
+		add(root, "a", true);
+		ThreeWayDiffEntry x = add(root, "a/x.txt", false);
+		add(root, "a/y.txt", false);
+		ThreeWayDiffEntry z = add(root, "a/z.txt", false);
+		ThreeWayDiffEntry c = add(root, "c.txt", false);
+
+		GitSyncObjectCache other = root();
+		add(other, "a", true);
+		ThreeWayDiffEntry w = add(other, "a/w.txt", false);
+		ThreeWayDiffEntry y = add(other, "a/y.txt", false);
+
+		root.merge(other, new HashSet<>(Arrays.asList("a/x.txt", "a/y.txt")));
+
+		assertEquals(Arrays.asList("w.txt", "x.txt", "y.txt", "z.txt"),
+				names(root.get("a")));
+		assertEquals(Arrays.asList("a", "c.txt"), names(root));
+		// Gone in the other scan, and within its paths
+		assertEquals(ChangeType.IN_SYNC, x.changeType);
+		// Outside of the paths of the other scan
+		assertEquals(ChangeType.MODIFY, z.changeType);
+		assertEquals(ChangeType.MODIFY, c.changeType);
+		// Found by the other scan
+		assertSame(w, root.get("a/w.txt").getDiffEntry());
+		assertSame(y, root.get("a/y.txt").getDiffEntry());
+		assertEquals(ChangeType.MODIFY, y.changeType);
+	}
+
+	@Test
+	public void testMergeMarksMembersBelowFilterPath() {
+		GitSyncObjectCache root = root();
+		add(root, "a", true);
+		add(root, "a/b", true);
+		ThreeWayDiffEntry x = add(root, "a/b/x.txt", false);
+		ThreeWayDiffEntry y = add(root, "a/y.txt", false);
+
+		GitSyncObjectCache other = root();
+		add(other, "a", true);
+		add(other, "a/b", true);
+		add(other, "a/b/w.txt", false);
+		add(other, "a/w.txt", false);
+
+		root.merge(other, new HashSet<>(Collections.singleton("a/b")));
+
+		assertEquals(ChangeType.IN_SYNC, x.changeType);
+		assertEquals(ChangeType.MODIFY, y.changeType);
+	}
+
+	private static GitSyncObjectCache root() {
+		return new GitSyncObjectCache(new ThreeWayDiffEntry());
+	}
+
+	private static ThreeWayDiffEntry add(GitSyncObjectCache root, String path,
+			boolean isTree) {
+		ThreeWayDiffEntry entry = new ThreeWayDiffEntry(path, isTree);
+		entry.changeType = ChangeType.MODIFY;
+		root.addMember(entry);
+		return entry;
+	}
+
+	private static List<String> names(GitSyncObjectCache cache) {
+		List<String> names = new ArrayList<>();
+		for (GitSyncObjectCache member : cache.members()) {
+			names.add(member.getName());
+		}
+		return names;
+	}
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.test.op;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.egit.core.op.ExportOriginalCommitDatesOperation;
+import org.eclipse.egit.core.op.ExportOriginalCommitDatesOperation.Format;
+import org.eclipse.egit.core.op.ExportOriginalCommitDatesOperation.OriginalDateDecoder;
+import org.eclipse.egit.core.test.GitTestCase;
+import org.eclipse.egit.core.test.TestRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExportOriginalCommitDatesOperationTest extends GitTestCase {
+
+	/**
+	 * Stands in for the git-privacy encryption, which lives in the UI: the
+	 * original date is stored in the clear behind this prefix.
+	 */
+	private static final String ORIGINAL = "Original: ";
+
+	private static final ZoneOffset ZONE = ZoneOffset.ofHours(2);
+
+	private static final OriginalDateDecoder DECODER = commit -> {
+		String message = commit.getFullMessage();
+		int start = message.indexOf(ORIGINAL);
+		if (start < 0) {
+			return null;
+		}
+		long seconds = Long.parseLong(
+				message.substring(start + ORIGINAL.length()).trim());
+		ZonedDateTime authored = ZonedDateTime
+				.ofInstant(Instant.ofEpochSecond(seconds), ZONE);
+		return new ZonedDateTime[] { authored, authored.plusHours(1) };
+	};
+
+	private TestRepository testRepository;
+
+	private Repository repository;
+
+	private ObjectId emptyTree;
+
+	private File target;
+
+	private long time = 1_500_000_000L;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		testRepository = new TestRepository(gitDir);
+		repository = testRepository.getRepository();
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			emptyTree = inserter.insert(Constants.OBJ_TREE, new byte[0]);
+			inserter.flush();
+		}
+		target = File.createTempFile("original-dates", null);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(target.toPath());
+		testRepository.dispose();
+		super.tearDown();
+	}
+
+	@Test
+	public void testCsv() throws Exception {
+		ObjectId first = commit("first\n\nOriginal: 1000000000");
+		ObjectId second = commit("second", first);
+		ObjectId third = commit("third\n\nOriginal: 1000003600", second);
+		ObjectId side = commit("side\n\nOriginal: 1000007200", first);
+		setRef(Constants.R_HEADS + Constants.MASTER, third);
+		setRef(Constants.R_HEADS + "side", side);
+
+		ExportOriginalCommitDatesOperation operation = export(Format.CSV);
+
+		assertEquals(4, operation.getCommitCount());
+		assertEquals(3, operation.getRevealedCount());
+		List<String> lines = Files.readAllLines(target.toPath(),
+				StandardCharsets.UTF_8);
+		assertEquals(
+				"commit,original_authored_date,original_committed_date",
+				lines.get(0));
+		List<String> records = new ArrayList<>(
+				lines.subList(1, lines.size()));
+		Collections.sort(records);
+		List<String> expected = new ArrayList<>(Arrays.asList(
+				first.name()
+						+ ",2001-09-09T03:46:40+02:00,2001-09-09T04:46:40+02:00",
+				third.name()
+						+ ",2001-09-09T04:46:40+02:00,2001-09-09T05:46:40+02:00",
+				side.name()
+						+ ",2001-09-09T05:46:40+02:00,2001-09-09T06:46:40+02:00"));
+		Collections.sort(expected);
+		assertEquals(expected, records);
+	}
+
+	@Test
+	public void testJson() throws Exception {
+		ObjectId first = commit("first");
+		ObjectId second = commit("second\n\nOriginal: 1000000000", first);
+		setRef(Constants.R_HEADS + Constants.MASTER, second);
+
+		ExportOriginalCommitDatesOperation operation = export(Format.JSON);
+
+		assertEquals(2, operation.getCommitCount());
+		assertEquals(1, operation.getRevealedCount());
+		assertEquals("[\n  {\"commit\":\"" + second.name()
+				+ "\",\"authored\":\"2001-09-09T03:46:40+02:00\""
+				+ ",\"committed\":\"2001-09-09T04:46:40+02:00\"}\n]\n",
+				read());
+	}
+
+	@Test
+	public void testJsonWithoutOriginalDates() throws Exception {
+		setRef(Constants.R_HEADS + Constants.MASTER, commit("plain"));
+
+		ExportOriginalCommitDatesOperation operation = export(Format.JSON);
+
+		assertEquals(1, operation.getCommitCount());
+		assertEquals(0, operation.getRevealedCount());
+		assertEquals("[]\n", read());
+	}
+
+	@Test
+	public void testSeveralBatches() throws Exception {
+		// More commits than fit into two batches of the operation
+		ObjectId head = null;
+		int revealed = 0;
+		for (int i = 0; i < 2500; i++) {
+			String message = "commit " + i;
+			if (i % 3 == 0) {
+				message += "\n\nOriginal: " + (1_000_000_000L + i);
+				revealed++;
+			}
+			head = head == null ? commit(message) : commit(message, head);
+		}
+		setRef(Constants.R_HEADS + Constants.MASTER, head);
+
+		ExportOriginalCommitDatesOperation operation = export(Format.CSV);
+
+		assertEquals(2500, operation.getCommitCount());
+		assertEquals(revealed, operation.getRevealedCount());
+		List<String> lines = Files.readAllLines(target.toPath(),
+				StandardCharsets.UTF_8);
+		assertEquals(revealed + 1, lines.size());
+		// Written in walk order, newest first
+		assertEquals(head.name() + ",2001-09-09T04:28:19+02:00,"
+				+ "2001-09-09T05:28:19+02:00", lines.get(1));
+	}
+
+	@Test
+	public void testFailureDeletesTarget() throws Exception {
+		setRef(Constants.R_HEADS + Constants.MASTER,
+				commit("first\n\nOriginal: 1000000000"));
+		ExportOriginalCommitDatesOperation operation = new ExportOriginalCommitDatesOperation(
+				repository, target, Format.CSV, commit -> {
+					throw new IllegalStateException("Broken key");
+				});
+		try {
+			operation.execute(new NullProgressMonitor());
+			fail("Expected the failure of the decoder");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		assertFalse(target.exists());
+	}
+
+	private ExportOriginalCommitDatesOperation export(Format format)
+			throws Exception {
+		ExportOriginalCommitDatesOperation operation = new ExportOriginalCommitDatesOperation(
+				repository, target, format, DECODER);
+		operation.execute(new NullProgressMonitor());
+		return operation;
+	}
+
+	private String read() throws Exception {
+		return new String(Files.readAllBytes(target.toPath()),
+				StandardCharsets.UTF_8);
+	}
+
+	private ObjectId commit(String message, ObjectId... parents)
+			throws Exception {
+		// Distinct commit times keep the walk order stable
+		PersonIdent ident = new PersonIdent("A U Thor", "author@example.com",
+				(time++) * 1000, 0);
+		CommitBuilder builder = new CommitBuilder();
+		builder.setTreeId(emptyTree);
+		builder.setParentIds(parents);
+		builder.setAuthor(ident);
+		builder.setCommitter(ident);
+		builder.setMessage(message);
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			ObjectId id = inserter.insert(builder);
+			inserter.flush();
+			return id;
+		}
+	}
+
+	private void setRef(String name, ObjectId id) throws Exception {
+		RefUpdate update = repository.updateRef(name);
+		update.setNewObjectId(id);
+		update.setForceUpdate(true);
+		update.update();
+	}
+}
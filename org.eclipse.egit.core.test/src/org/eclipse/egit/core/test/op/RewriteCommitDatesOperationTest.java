@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.test.op;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.egit.core.op.RewriteCommitDatesOperation;
+import org.eclipse.egit.core.op.RewriteCommitDatesOperation.CommitRewriter;
+import org.eclipse.egit.core.test.GitTestCase;
+import org.eclipse.egit.core.test.TestRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.RawParseUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RewriteCommitDatesOperationTest extends GitTestCase {
+
+	private static final String MASTER = Constants.R_HEADS + Constants.MASTER;
+
+	private static final PersonIdent IDENT = new PersonIdent("A U Thor",
+			"author@example.com", 1_500_000_000_000L, 0);
+
+	/** Moves the committer date of every commit by an hour. */
+	private static final CommitRewriter REDATE = (commit, builder) -> builder
+			.setCommitter(new PersonIdent(commit.getCommitterIdent(),
+					new Date(commit.getCommitterIdent().getWhen().getTime()
+							+ 3_600_000L)));
+
+	private TestRepository testRepository;
+
+	private Repository repository;
+
+	private ObjectId emptyTree;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		testRepository = new TestRepository(gitDir);
+		repository = testRepository.getRepository();
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			emptyTree = inserter.insert(Constants.OBJ_TREE, new byte[0]);
+			inserter.flush();
+		}
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		testRepository.dispose();
+		super.tearDown();
+	}
+
+	@Test
+	public void testMergeParentsAreRemapped() throws Exception {
+		ObjectId base = commit("base");
+		ObjectId left = commit("left", base);
+		ObjectId right = commit("right", base);
+		ObjectId merge = commit("merge", left, right);
+		setRef(MASTER, merge);
+
+		assertEquals(4, rewrite(Collections.emptyList(), REDATE));
+
+		try (RevWalk walk = new RevWalk(repository)) {
+			RevCommit newMerge = walk.parseCommit(getRef(MASTER));
+			assertNotEquals(merge, newMerge);
+			assertEquals("merge", newMerge.getFullMessage());
+			assertEquals(2, newMerge.getParentCount());
+			RevCommit newLeft = walk.parseCommit(newMerge.getParent(0));
+			RevCommit newRight = walk.parseCommit(newMerge.getParent(1));
+			assertEquals("left", newLeft.getFullMessage());
+			assertEquals("right", newRight.getFullMessage());
+			assertNotEquals(left, newLeft);
+			assertNotEquals(right, newRight);
+			// Both sides share the one rewritten base
+			assertEquals(newLeft.getParent(0), newRight.getParent(0));
+			assertNotEquals(base, newLeft.getParent(0));
+		}
+	}
+
+	@Test
+	public void testBranchesIntoRangeAreUpdated() throws Exception {
+		ObjectId first = commit("first");
+		ObjectId second = commit("second", first);
+		ObjectId third = commit("third", second);
+		ObjectId unrelated = commit("unrelated");
+		setRef(MASTER, third);
+		setRef(Constants.R_HEADS + "side", second);
+		setRef(Constants.R_HEADS + "other", unrelated);
+
+		assertEquals(3, rewrite(Collections.emptyList(), REDATE));
+
+		try (RevWalk walk = new RevWalk(repository)) {
+			RevCommit newThird = walk.parseCommit(getRef(MASTER));
+			assertEquals(newThird.getParent(0),
+					getRef(Constants.R_HEADS + "side"));
+			assertNotEquals(second, getRef(Constants.R_HEADS + "side"));
+		}
+		assertEquals(unrelated, getRef(Constants.R_HEADS + "other"));
+	}
+
+	@Test
+	public void testExcludedCommitsAreKept() throws Exception {
+		ObjectId first = commit("first");
+		ObjectId second = commit("second", first);
+		ObjectId third = commit("third", second);
+		String remote = Constants.R_REMOTES + "origin/master";
+		setRef(MASTER, third);
+		setRef(remote, second);
+		setRef(Constants.R_HEADS + "pushed", first);
+
+		assertEquals(1,
+				rewrite(Collections.singletonList(second), REDATE));
+
+		try (RevWalk walk = new RevWalk(repository)) {
+			RevCommit newThird = walk.parseCommit(getRef(MASTER));
+			assertNotEquals(third, newThird);
+			assertEquals(second, newThird.getParent(0));
+		}
+		assertEquals(second, getRef(remote));
+		assertEquals(first, getRef(Constants.R_HEADS + "pushed"));
+	}
+
+	@Test
+	public void testNoOpRewriterKeepsAllIds() throws Exception {
+		ObjectId base = commit("base");
+		ObjectId left = commit("left", base);
+		ObjectId right = commit("right", base);
+		ObjectId merge = commit("merge", left, right);
+		// Not in the canonical spelling CommitBuilder would write
+		ObjectId latin1 = insertRaw("encoding latin1", "Grüße",
+				StandardCharsets.ISO_8859_1, merge);
+		setRef(MASTER, latin1);
+		setRef(Constants.R_HEADS + "side", left);
+		Map<String, ObjectId> before = getRefs();
+
+		assertEquals(0, rewrite(Collections.emptyList(), (commit, builder) -> {
+			// Leave everything as it is
+		}));
+
+		assertEquals(before, getRefs());
+	}
+
+	@Test
+	public void testNonUtf8EncodingIsKept() throws Exception {
+		ObjectId base = commit("base");
+		ObjectId latin1 = insertRaw("encoding ISO-8859-1", "Grüße",
+				StandardCharsets.ISO_8859_1, base);
+		setRef(MASTER, latin1);
+
+		assertEquals(2, rewrite(Collections.emptyList(), REDATE));
+
+		try (RevWalk walk = new RevWalk(repository)) {
+			RevCommit rewritten = walk.parseCommit(getRef(MASTER));
+			assertNotEquals(latin1, rewritten);
+			assertEquals(StandardCharsets.ISO_8859_1,
+					rewritten.getEncoding());
+			assertEquals("Grüße", rewritten.getFullMessage());
+			byte[] raw = rewritten.getRawBuffer();
+			int message = RawParseUtils.commitMessage(raw, 0);
+			assertArrayEquals(
+					"Grüße".getBytes(StandardCharsets.ISO_8859_1),
+					Arrays.copyOfRange(raw, message, raw.length));
+		}
+	}
+
+	private int rewrite(Collection<? extends ObjectId> excluded,
+			CommitRewriter rewriter) throws Exception {
+		RewriteCommitDatesOperation operation = new RewriteCommitDatesOperation(
+				repository, MASTER, excluded, rewriter);
+		operation.execute(new NullProgressMonitor());
+		return operation.getRewrittenCount();
+	}
+
+	private ObjectId commit(String message, ObjectId... parents)
+			throws Exception {
+		CommitBuilder builder = new CommitBuilder();
+		builder.setTreeId(emptyTree);
+		builder.setParentIds(parents);
+		builder.setAuthor(IDENT);
+		builder.setCommitter(IDENT);
+		builder.setMessage(message);
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			ObjectId id = inserter.insert(builder);
+			inserter.flush();
+			return id;
+		}
+	}
+
+	private ObjectId insertRaw(String encodingHeader, String message,
+			Charset charset, ObjectId parent)
+			throws Exception {
+		StringBuilder headers = new StringBuilder();
+		headers.append("tree ").append(emptyTree.name()).append('\n');
+		headers.append("parent ").append(parent.name()).append('\n');
+		headers.append("author ").append(IDENT.toExternalString())
+				.append('\n');
+		headers.append("committer ").append(IDENT.toExternalString())
+				.append('\n');
+		headers.append(encodingHeader).append("\n\n");
+		byte[] head = headers.toString().getBytes(StandardCharsets.US_ASCII);
+		byte[] body = message.getBytes(charset);
+		byte[] raw = Arrays.copyOf(head, head.length + body.length);
+		System.arraycopy(body, 0, raw, head.length, body.length);
+		try (ObjectInserter inserter = repository.newObjectInserter()) {
+			ObjectId id = inserter.insert(Constants.OBJ_COMMIT, raw);
+			inserter.flush();
+			return id;
+		}
+	}
+
+	private void setRef(String name, ObjectId id) throws Exception {
+		RefUpdate update = repository.updateRef(name);
+		update.setNewObjectId(id);
+		update.setForceUpdate(true);
+		update.update();
+	}
+
+	private ObjectId getRef(String name) throws Exception {
+		return repository.exactRef(name).getObjectId();
+	}
+
+	private Map<String, ObjectId> getRefs() throws Exception {
+		Map<String, ObjectId> refs = new HashMap<>();
+		for (Ref ref : repository.getRefDatabase().getRefs()) {
+			if (!ref.isSymbolic()) {
+				refs.put(ref.getName(), ref.getObjectId());
+			}
+		}
+		return refs;
+	}
+}
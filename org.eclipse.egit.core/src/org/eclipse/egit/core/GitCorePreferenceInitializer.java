@@ -39,6 +39,7 @@ public void initializeDefaultPreferences() {
 		p.putInt(GitCorePreferences.core_maxPullThreadsCount, 3);
 		p.put(GitCorePreferences.core_sshClient, "apache"); //$NON-NLS-1$
 		p.put(GitCorePreferences.core_httpClient, "apache"); //$NON-NLS-1$
+		p.putBoolean(GitCorePreferences.core_changedPathFilters, true);
 	}
 
 }
@@ -94,4 +94,11 @@ private GitCorePreferences() {
 	 */
 	public static final String core_sshClient = "core_ssh_client"; //$NON-NLS-1$
 
+	/**
+	 * if {@code true} the history of files and folders is computed with the
+	 * help of Bloom filters of the changed paths, which are kept in the
+	 * plugin state location and updated in the background
+	 */
+	public static final String core_changedPathFilters = "core_changed_path_filters"; //$NON-NLS-1$
+
 }
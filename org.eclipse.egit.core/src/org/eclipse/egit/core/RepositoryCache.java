@@ -16,19 +16,21 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.egit.core.internal.indexdiff.IndexDiffCache;
+import org.eclipse.egit.core.internal.util.WorkTreeTrie;
 import org.eclipse.jgit.errors.RepositoryNotFoundException;
 import org.eclipse.jgit.events.ConfigChangedEvent;
 import org.eclipse.jgit.events.IndexChangedEvent;
@@ -48,15 +50,28 @@ public class RepositoryCache {
 	// closes repository instances. Instead, this cache wraps any repository
 	// in a {@link RepositoryHandle} and returns that, and closes the wrapped
 	// repository once that handle is garbage collected.
+	//
+	// Lookups don't lock. A repository is opened inside computeIfAbsent(), so
+	// concurrent lookups of the same git directory open it only once, while
+	// lookups of other repositories proceed. Entries are only ever removed via
+	// remove(RepositoryReference), which closes the repository of the removed
+	// entry.
 
 	private final ReferenceQueue<RepositoryHandle> queue = new ReferenceQueue<>();
 
-	private final Map<File, RepositoryReference> repositoryCache = new HashMap<>();
+	private final ConcurrentHashMap<File, RepositoryReference> repositoryCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Working trees of the cached non-bare repositories, for lock-free lookups
+	 * in {@link #getRepository(IPath)}. Updated whenever
+	 * {@link #repositoryCache} is.
+	 */
+	private final WorkTreeTrie<RepositoryReference> workTrees = new WorkTreeTrie<>();
 
 	private final ListenerList globalListeners = new ListenerList();
 
 	RepositoryCache() {
-		new Closer(queue).start();
+		new Closer(queue, this::reap).start();
 		// Set up listeners on the JGit global listener list to be able to
 		// re-fire events with the correct repository.
 		ListenerList global = Repository.getGlobalListenerList();
@@ -135,34 +150,60 @@ public ListenerList getGlobalListenerList() {
 	public Repository lookupRepository(final File gitDir) throws IOException {
 		// Make sure we have a normalized path without .. segments here.
 		File normalizedGitDir = new Path(gitDir.getAbsolutePath()).toFile();
-		synchronized (repositoryCache) {
-			RepositoryReference r = repositoryCache.get(normalizedGitDir);
-			if (r == null) {
-				Repository inner = new Builder().setGitDir(normalizedGitDir)
-						.readEnvironment().setup().createRepository();
-				RepositoryHandle result = new RepositoryHandle(inner);
-				repositoryCache.put(normalizedGitDir,
-						new RepositoryReference(result, inner, queue));
-				return result;
-			} else {
-				Repository result = r.get();
-				if (result != null && result.getDirectory().exists()) {
-					return result;
-				} else {
-					Closer.closeReference(
-							repositoryCache.remove(normalizedGitDir));
+		return lookup(normalizedGitDir,
+				() -> new Builder().setGitDir(normalizedGitDir)
+						.readEnvironment().setup().createRepository());
+	}
+
+	/**
+	 * Opens a repository that is not in the cache yet.
+	 */
+	@FunctionalInterface
+	private interface RepositoryFactory {
+
+		Repository create() throws IOException;
+	}
+
+	private RepositoryHandle lookup(File gitDir, RepositoryFactory factory)
+			throws IOException {
+		for (;;) {
+			RepositoryReference reference = repositoryCache.get(gitDir);
+			if (reference == null) {
+				RepositoryHandle[] created = { null };
+				try {
+					reference = repositoryCache.computeIfAbsent(gitDir,
+							dir -> {
+								Repository inner;
+								try {
+									inner = factory.create();
+								} catch (IOException e) {
+									throw new UncheckedIOException(e);
+								}
+								created[0] = new RepositoryHandle(inner);
+								RepositoryReference newReference = new RepositoryReference(
+										dir, created[0], inner, queue);
+								IPath workTree = newReference.getWorkTree();
+								if (workTree != null) {
+									workTrees.put(workTree, newReference);
+								}
+								return newReference;
+							});
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+				if (created[0] != null) {
+					return created[0];
 				}
 			}
+			RepositoryHandle cached = reference.get();
+			if (cached != null && cached.getDirectory().exists()) {
+				return cached;
+			}
+			// Stale; remove it and try again.
+			if (remove(reference)) {
+				removeIndexDiffCaches(Collections.singletonList(gitDir));
+			}
 		}
-		// If we get here, we found a stale repository. We must remove
-		// a possibly still existing IndexDiffCache outside the synchronized
-		// block, otherwise we may run into a deadlock due to lock inversion
-		// between our repositoryCache and IndexDiffCache.entries.
-		IndexDiffCache cache = Activator.getDefault().getIndexDiffCache();
-		if (cache != null) {
-			cache.remove(normalizedGitDir);
-		}
-		return lookupRepository(gitDir);
 	}
 
 	/**
@@ -174,20 +215,39 @@ public Repository lookupRepository(final File gitDir) throws IOException {
 	private static class RepositoryReference
 			extends WeakReference<RepositoryHandle> {
 
-		private Repository inner;
+		private final File gitDir;
+
+		private final IPath workTree;
+
+		private volatile Repository inner;
 
-		public RepositoryReference(RepositoryHandle handle, Repository delegate,
-				ReferenceQueue<RepositoryHandle> queue) {
+		public RepositoryReference(File gitDir, RepositoryHandle handle,
+				Repository delegate, ReferenceQueue<RepositoryHandle> queue) {
 			super(handle, queue);
+			this.gitDir = gitDir;
+			this.workTree = delegate.isBare() ? null
+					: new Path(delegate.getWorkTree().getAbsolutePath());
 			inner = delegate;
 		}
 
-		public Repository getRepository() {
-			return inner;
+		public File getGitDir() {
+			return gitDir;
 		}
 
-		public void clearRepository() {
+		public IPath getWorkTree() {
+			return workTree;
+		}
+
+		/**
+		 * Clears the link to the real repository.
+		 *
+		 * @return the real repository if it was not yet cleared, otherwise
+		 *         {@code null}
+		 */
+		public synchronized Repository clearRepository() {
+			Repository result = inner;
 			inner = null;
+			return result;
 		}
 	}
 
@@ -222,37 +282,7 @@ public CachingRepository createRepository() throws IOException {
 		@Override
 		public RepositoryHandle build() throws IOException {
 			setup();
-			File gitDir = getGitDir();
-			RepositoryHandle result = null;
-			boolean removeCache = false;
-			try {
-				synchronized (repositoryCache) {
-					Reference<RepositoryHandle> r = repositoryCache.get(gitDir);
-					if (r != null) {
-						RepositoryHandle cached = r.get();
-						if (cached != null && cached.getDirectory().exists()) {
-							return cached;
-						} else {
-							Closer.closeReference(
-									repositoryCache.remove(gitDir));
-							removeCache = true;
-						}
-					}
-					CachingRepository inner = createRepository();
-					result = new RepositoryHandle(inner);
-					repositoryCache.put(gitDir,
-							new RepositoryReference(result, inner, queue));
-				}
-			} finally {
-				if (removeCache) {
-					IndexDiffCache indexCache = Activator.getDefault()
-							.getIndexDiffCache();
-					if (indexCache != null) {
-						indexCache.remove(gitDir);
-					}
-				}
-			}
-			return result;
+			return lookup(getGitDir(), this::createRepository);
 		}
 	}
 
@@ -306,20 +336,16 @@ public Repository getRepository(final File gitDir) {
 			return null;
 		}
 		File normalizedGitDir = new Path(gitDir.getAbsolutePath()).toFile();
-		synchronized (repositoryCache) {
-			RepositoryReference r = repositoryCache.get(normalizedGitDir);
-			if (r == null) {
-				return null;
-			}
-			Repository result = r.get();
-			if (result != null && result.getDirectory().exists()) {
-				return result;
-			}
-			Closer.closeReference(repositoryCache.remove(normalizedGitDir));
+		RepositoryReference r = repositoryCache.get(normalizedGitDir);
+		if (r == null) {
+			return null;
+		}
+		Repository result = r.get();
+		if (result != null && result.getDirectory().exists()) {
+			return result;
 		}
-		IndexDiffCache cache = Activator.getDefault().getIndexDiffCache();
-		if (cache != null) {
-			cache.remove(normalizedGitDir);
+		if (remove(r)) {
+			removeIndexDiffCaches(Collections.singletonList(normalizedGitDir));
 		}
 		return null;
 	}
@@ -330,18 +356,14 @@ public Repository getRepository(final File gitDir) {
 	public Repository[] getAllRepositories() {
 		List<Repository> repositories = new ArrayList<>();
 		List<File> toRemove = new ArrayList<>();
-		synchronized (repositoryCache) {
-			for (Iterator<Map.Entry<File, RepositoryReference>> i = repositoryCache
-					.entrySet().iterator(); i.hasNext();) {
-				Map.Entry<File, RepositoryReference> entry = i.next();
-				Repository repository = entry.getValue().get();
-				if (repository == null || !repository.getDirectory().exists()) {
-					i.remove();
-					Closer.closeReference(entry.getValue());
-					toRemove.add(entry.getKey());
-				} else {
-					repositories.add(repository);
+		for (RepositoryReference reference : repositoryCache.values()) {
+			Repository repository = reference.get();
+			if (repository == null || !repository.getDirectory().exists()) {
+				if (remove(reference)) {
+					toRemove.add(reference.getGitDir());
 				}
+			} else {
+				repositories.add(repository);
 			}
 		}
 		removeIndexDiffCaches(toRemove);
@@ -380,37 +402,23 @@ public Repository getRepository(final IPath location) {
 			return null;
 		}
 		Repository repository = null;
-		int largestSegmentCount = 0;
 		List<File> toRemove = new ArrayList<>();
-		synchronized (repositoryCache) {
-			for (Iterator<Map.Entry<File, RepositoryReference>> i = repositoryCache
-					.entrySet().iterator(); i.hasNext();) {
-				Map.Entry<File, RepositoryReference> entry = i.next();
-				Repository repo = entry.getValue().get();
-				if (repo == null) {
-					i.remove();
-					Closer.closeReference(entry.getValue());
-					toRemove.add(entry.getKey());
-					continue;
-				}
-				if (repo.isBare()) {
-					continue;
-				}
-				IPath repoPath = new Path(repo.getWorkTree().getAbsolutePath());
-				if (repoPath.isPrefixOf(location)) {
-					if (repository == null
-							|| repoPath.segmentCount() > largestSegmentCount) {
-						if (!repo.getDirectory().exists()) {
-							i.remove();
-							Closer.closeReference(entry.getValue());
-							toRemove.add(entry.getKey());
-							continue;
-						}
-						repository = repo;
-						largestSegmentCount = repoPath.segmentCount();
-					}
+		// Longest working tree first. Garbage collected handles are removed
+		// by the Closer.
+		for (RepositoryReference reference : workTrees
+				.findPrefixes(location)) {
+			Repository repo = reference.get();
+			if (repo == null) {
+				continue;
+			}
+			if (!repo.getDirectory().exists()) {
+				if (remove(reference)) {
+					toRemove.add(reference.getGitDir());
 				}
+				continue;
 			}
+			repository = repo;
+			break;
 		}
 		removeIndexDiffCaches(toRemove);
 		return repository;
@@ -420,15 +428,42 @@ public Repository getRepository(final IPath location) {
 	 * Removes all cached repositories and their IndexDiffCache entries.
 	 */
 	public void clear() {
-		List<File> gitDirs;
-		List<RepositoryReference> references;
-		synchronized (repositoryCache) {
-			gitDirs = new ArrayList<>(repositoryCache.keySet());
-			references = new ArrayList<>(repositoryCache.values());
-			repositoryCache.clear();
+		List<File> gitDirs = new ArrayList<>();
+		for (RepositoryReference reference : repositoryCache.values()) {
+			if (remove(reference)) {
+				gitDirs.add(reference.getGitDir());
+			}
 		}
 		removeIndexDiffCaches(gitDirs);
-		references.forEach(Closer::closeReference);
+	}
+
+	/**
+	 * Removes and closes a reference if it still is the cached one for its git
+	 * directory.
+	 *
+	 * @return whether the reference was removed
+	 */
+	private boolean remove(RepositoryReference reference) {
+		if (!repositoryCache.remove(reference.getGitDir(), reference)) {
+			return false;
+		}
+		IPath workTree = reference.getWorkTree();
+		if (workTree != null) {
+			workTrees.remove(workTree, reference);
+		}
+		Closer.closeReference(reference);
+		return true;
+	}
+
+	/**
+	 * Called by the {@link Closer} for references whose handle was garbage
+	 * collected.
+	 */
+	private void reap(RepositoryReference reference) {
+		if (remove(reference) && Activator.getDefault() != null) {
+			removeIndexDiffCaches(
+					Collections.singletonList(reference.getGitDir()));
+		}
 	}
 
 	private void removeIndexDiffCaches(List<File> gitDirs) {
@@ -444,14 +479,19 @@ private void removeIndexDiffCaches(List<File> gitDirs) {
 
 	/**
 	 * Closes the real repository behind the {@link RepositoryHandle}s handed
-	 * out by this cache when the handle is garbage collected.
+	 * out by this cache when the handle is garbage collected, and removes the
+	 * stale entry from the cache.
 	 */
 	private static class Closer extends Thread {
 
 		private final ReferenceQueue<RepositoryHandle> queue;
 
-		public Closer(ReferenceQueue<RepositoryHandle> queue) {
+		private final Consumer<RepositoryReference> reaper;
+
+		public Closer(ReferenceQueue<RepositoryHandle> queue,
+				Consumer<RepositoryReference> reaper) {
 			this.queue = queue;
+			this.reaper = reaper;
 			setDaemon(true);
 			setName("Git Repository Closer"); //$NON-NLS-1$
 		}
@@ -462,7 +502,9 @@ public void run() {
 				for (;;) {
 					Reference<?> stale = queue.remove();
 					if (stale instanceof RepositoryReference) {
-						closeReference((RepositoryReference) stale);
+						RepositoryReference reference = (RepositoryReference) stale;
+						closeReference(reference);
+						reaper.accept(reference);
 					}
 				}
 			} catch (InterruptedException e) {
@@ -471,11 +513,10 @@ public void run() {
 		}
 
 		public static void closeReference(RepositoryReference stale) {
-			Repository repository = stale.getRepository();
+			Repository repository = stale.clearRepository();
 			if (repository != null) {
 				repository.close();
 			}
-			stale.clearRepository();
 		}
 	}
 }
@@ -72,9 +72,18 @@ public class CoreText extends NLS {
 	/** */
 	public static String CachingRepository_cacheLevelZero;
 
+	/** */
+	public static String ChangedPathCache_jobName;
+
+	/** */
+	public static String ChangedPathCache_updateFailed;
+
 	/** */
 	public static String CherryPickOperation_cherryPicking;
 
+	/** */
+	public static String CommitChangesCache_saveFailed;
+
 	/** */
 	public static String CommitFileRevision_errorLookingUpPath;
 
@@ -84,6 +93,12 @@ public class CoreText extends NLS {
 	/** */
 	public static String CommitFileRevision_pathNotIn;
 
+	/** */
+	public static String CommitGraphCache_jobName;
+
+	/** */
+	public static String CommitGraphCache_updateFailed;
+
 	/** */
 	public static String CommitOperation_ParseCherryPickCommitFailed;
 
@@ -165,6 +180,15 @@ public class CoreText extends NLS {
 	/** */
 	public static String DisconnectProviderOperation_disconnecting;
 
+	/** */
+	public static String ExportOriginalCommitDatesOperation_Failed;
+
+	/** */
+	public static String ExportOriginalCommitDatesOperation_Progress;
+
+	/** */
+	public static String ExportOriginalCommitDatesOperation_TaskName;
+
 	/** */
 	public static String BlobStorage_blobNotFound;
 
@@ -402,6 +426,18 @@ public class CoreText extends NLS {
 	/** */
 	public static String RewordCommitOperation_rewording;
 
+	/** */
+	public static String RewriteCommitDatesOperation_Progress;
+
+	/** */
+	public static String RewriteCommitDatesOperation_RefNotFound;
+
+	/** */
+	public static String RewriteCommitDatesOperation_RefUpdateFailed;
+
+	/** */
+	public static String RewriteCommitDatesOperation_TaskName;
+
 	/** */
 	public static String EditCommitOperation_editing;
 
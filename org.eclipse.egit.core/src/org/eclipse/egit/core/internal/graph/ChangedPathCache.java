@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * Keeps the {@link ChangedPaths} of a repository in the plugin state location
+ * next to its {@link CommitGraphCache}, and extends them in a background job
+ * with the changes of the commits added to the commit graph since.
+ * <p>
+ * For each commit with a parent, the top-level directories that differ from
+ * the first parent are diffed, and a filter is added for each pair of trees
+ * not indexed yet. The filters are appended to {@value #PATHS} as the two tree
+ * ids followed by the bits. {@value #STATE} holds the number of valid filters,
+ * the valid length of that file, and the number of commits of the commit
+ * graph indexed so far. Since a filter is only looked up by the trees it was
+ * computed from, missing or lost filters never make a lookup wrong; they just
+ * make it useless.
+ * </p>
+ */
+public final class ChangedPathCache {
+
+	private static final int MAGIC = 0x45474350; // "EGCP"
+
+	private static final int VERSION = 1;
+
+	private static final String PATHS = "paths"; //$NON-NLS-1$
+
+	private static final String STATE = "paths-state"; //$NON-NLS-1$
+
+	/**
+	 * Beyond this number of changed paths under a directory the filter is
+	 * recorded as containing everything, as git does.
+	 */
+	private static final int MAX_PATHS = 512;
+
+	/**
+	 * Number of commits after which the filters computed so far are published
+	 * and saved.
+	 */
+	private static final int CHECKPOINT = 10000;
+
+	private static final long[] ANY_PATH = new long[0];
+
+	private static final ConcurrentHashMap<File, ChangedPathCache> CACHES = new ConcurrentHashMap<>();
+
+	private final File directory;
+
+	private volatile SoftReference<ChangedPaths> paths = new SoftReference<>(
+			null);
+
+	private volatile Job job;
+
+	private int indexedCommits;
+
+	private int filterCount;
+
+	private long pathsLength;
+
+	private ChangedPathCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Retrieves the cache of a repository. Does not load anything.
+	 *
+	 * @param repository
+	 *            to get the cache of
+	 * @return the cache
+	 */
+	public static ChangedPathCache get(Repository repository) {
+		File gitDir = repository.getDirectory();
+		return CACHES.computeIfAbsent(gitDir.getAbsoluteFile(),
+				dir -> new ChangedPathCache(
+						CommitGraphCache.getDirectory(dir)));
+	}
+
+	/**
+	 * Retrieves the filters as of the last checkpoint of an update, without
+	 * reading anything.
+	 *
+	 * @return the filters, or {@code null} if they are not loaded
+	 */
+	ChangedPaths getPaths() {
+		return paths.get();
+	}
+
+	/**
+	 * Schedules a background job to {@link #update(Repository, IProgressMonitor)
+	 * update} the filters, unless one is pending already.
+	 *
+	 * @param repository
+	 *            to update the filters from
+	 */
+	public void scheduleUpdate(Repository repository) {
+		Job current = job;
+		if (current != null && current.getState() != Job.NONE) {
+			return;
+		}
+		String name = MessageFormat.format(CoreText.ChangedPathCache_jobName,
+				Activator.getDefault().getRepositoryUtil()
+						.getRepositoryName(repository));
+		Job update = new Job(name) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(repository, monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (IOException e) {
+					Activator.logError(MessageFormat.format(
+							CoreText.ChangedPathCache_updateFailed,
+							Activator.getDefault().getRepositoryUtil()
+									.getRepositoryName(repository)),
+							e);
+				}
+				return monitor.isCanceled() ? Status.CANCEL_STATUS
+						: Status.OK_STATUS;
+			}
+		};
+		update.setSystem(true);
+		update.setPriority(Job.DECORATE);
+		job = update;
+		update.schedule();
+	}
+
+	/**
+	 * Brings the commit graph of the repository up to date, loads the
+	 * filters if needed and adds the filters for the commits not indexed
+	 * yet. When cancelled, the filters computed so far are kept.
+	 *
+	 * @param repository
+	 *            to update the filters from
+	 * @param monitor
+	 *            for progress reporting and cancellation, may be {@code null}
+	 * @return the updated filters
+	 * @throws IOException
+	 *             if the repository cannot be read or the filters cannot be
+	 *             written
+	 */
+	public synchronized ChangedPaths update(Repository repository,
+			IProgressMonitor monitor) throws IOException {
+		CommitGraph graph = CommitGraphCache.get(repository)
+				.update(repository, monitor);
+		ChangedPaths current = paths.get();
+		if (current == null) {
+			current = load();
+			paths = new SoftReference<>(current);
+		}
+		if (indexedCommits > graph.size()) {
+			// The commit graph was rebuilt; index it again
+			indexedCommits = 0;
+		}
+		SubMonitor progress = SubMonitor.convert(monitor,
+				graph.size() - indexedCommits);
+		if (indexedCommits == graph.size()) {
+			return current;
+		}
+		ChangedPaths.Builder builder = new ChangedPaths.Builder(current);
+		FileUtils.mkdirs(directory, true);
+		try (ObjectReader reader = repository.newObjectReader();
+				FileChannel channel = FileChannel.open(
+						new File(directory, PATHS).toPath(),
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(pathsLength);
+			channel.position(pathsLength);
+			DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Channels.newOutputStream(channel)));
+			TreeWalk roots = new TreeWalk(reader);
+			roots.setFilter(TreeFilter.ANY_DIFF);
+			TreeWalk changes = new TreeWalk(reader);
+			changes.setFilter(TreeFilter.ANY_DIFF);
+			byte[][] changed = new byte[MAX_PATHS][];
+			while (indexedCommits < graph.size() && !progress.isCanceled()) {
+				index(graph, indexedCommits++, roots, changes, changed,
+						builder, out);
+				progress.worked(1);
+				if (indexedCommits % CHECKPOINT == 0
+						|| indexedCommits == graph.size()
+						|| progress.isCanceled()) {
+					out.flush();
+					channel.force(false);
+					pathsLength = channel.position();
+					current = builder.build();
+					filterCount = current.size();
+					paths = new SoftReference<>(current);
+					writeState();
+				}
+			}
+		}
+		return current;
+	}
+
+	private void index(CommitGraph graph, int commit, TreeWalk roots,
+			TreeWalk changes, byte[][] changed, ChangedPaths.Builder builder,
+			DataOutputStream out) throws IOException {
+		if (graph.getParentCount(commit) == 0) {
+			return;
+		}
+		int parent = graph.getParent(commit, 0);
+		if (parent < 0) {
+			return;
+		}
+		ObjectId oldRoot = graph.getTree(parent);
+		ObjectId newRoot = graph.getTree(commit);
+		if (oldRoot.equals(newRoot)) {
+			return;
+		}
+		roots.reset(oldRoot, newRoot);
+		while (roots.next()) {
+			if (roots.getRawMode(0) != FileMode.TYPE_TREE
+					|| roots.getRawMode(1) != FileMode.TYPE_TREE) {
+				continue;
+			}
+			ObjectId oldTree = roots.getObjectId(0);
+			ObjectId newTree = roots.getObjectId(1);
+			if (builder.find(oldTree, newTree) >= 0) {
+				continue;
+			}
+			long[] filter = computeFilter(changes, oldTree, newTree,
+					changed);
+			builder.add(oldTree, newTree, filter);
+			oldTree.copyRawTo(out);
+			newTree.copyRawTo(out);
+			CommitGraphCache.writeVarInt(out, filter.length);
+			for (long word : filter) {
+				out.writeLong(word);
+			}
+		}
+	}
+
+	private static long[] computeFilter(TreeWalk changes, ObjectId oldTree,
+			ObjectId newTree, byte[][] changed) throws IOException {
+		changes.reset(oldTree, newTree);
+		int count = 0;
+		while (changes.next()) {
+			if (count == MAX_PATHS) {
+				return ANY_PATH;
+			}
+			changed[count++] = changes.getRawPath();
+			if (changes.isSubtree()) {
+				changes.enterSubtree();
+			}
+		}
+		return ChangedPaths.createFilter(changed, count);
+	}
+
+	/**
+	 * Loads the filters; missing or damaged filters are recomputed by the
+	 * update, so any failure just yields no filters.
+	 */
+	private ChangedPaths load() {
+		reset();
+		try (DataInputStream in = open(STATE)) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return reset();
+			}
+			indexedCommits = in.readInt();
+			filterCount = in.readInt();
+			pathsLength = in.readLong();
+		} catch (IOException e) {
+			return reset();
+		}
+		ChangedPaths.Builder builder = new ChangedPaths.Builder(null);
+		try (DataInputStream in = open(PATHS)) {
+			for (int i = 0; i < filterCount; i++) {
+				ObjectId oldTree = CommitGraphCache.readId(in);
+				ObjectId newTree = CommitGraphCache.readId(in);
+				long[] filter = new long[CommitGraphCache.readVarInt(in)];
+				for (int j = 0; j < filter.length; j++) {
+					filter[j] = in.readLong();
+				}
+				builder.add(oldTree, newTree, filter);
+			}
+		} catch (IOException e) {
+			return reset();
+		}
+		return builder.build();
+	}
+
+	private ChangedPaths reset() {
+		indexedCommits = 0;
+		filterCount = 0;
+		pathsLength = 0;
+		return new ChangedPaths.Builder(null).build();
+	}
+
+	private void writeState() throws IOException {
+		File file = new File(directory, STATE);
+		File tmp = File.createTempFile(STATE, null, directory);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(tmp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(indexedCommits);
+				out.writeInt(filterCount);
+				out.writeLong(pathsLength);
+			}
+			FileUtils.rename(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private DataInputStream open(String name) throws IOException {
+		return new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(new File(directory, name).toPath())));
+	}
+}
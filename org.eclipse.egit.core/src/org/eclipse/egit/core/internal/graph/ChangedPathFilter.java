@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.GitCorePreferences;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * A {@link TreeFilter} for a {@link org.eclipse.jgit.revwalk.RevWalk RevWalk}
+ * limited to the commits changing some paths, equivalent to
+ * {@link PathFilterGroup} and {@link TreeFilter#ANY_DIFF}. When a commit
+ * changes a top-level directory containing some of the paths, the
+ * {@link ChangedPaths} of the repository are asked first whether any of
+ * these paths changed, and the directory is only descended into if they may
+ * have. Without filters for a directory, it is diffed as usual.
+ * <p>
+ * Only diffs against a single parent are shortcut; diffs of merge commits
+ * are not.
+ * </p>
+ */
+public final class ChangedPathFilter extends TreeFilter {
+
+	private final ChangedPathCache cache;
+
+	private final TreeFilter delegate;
+
+	/** Per path its top-level directory, or the path itself. */
+	private final String[] tops;
+
+	/**
+	 * Per path the rest of the path below its top-level directory, or
+	 * {@code null} if it is a top-level path.
+	 */
+	private final byte[][] rests;
+
+	private ChangedPaths changedPaths;
+
+	/**
+	 * Creates a filter for the commits changing any of the given paths. If
+	 * enabled in the preferences, the result consults the changed paths of
+	 * the repository, and an update of them is scheduled.
+	 *
+	 * @param repository
+	 *            to filter the commits of
+	 * @param paths
+	 *            repository-relative paths of files or folders; must not be
+	 *            empty
+	 * @return the filter
+	 */
+	public static TreeFilter create(Repository repository,
+			Collection<String> paths) {
+		TreeFilter filter = AndTreeFilter.create(
+				PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF);
+		if (!Platform.getPreferencesService().getBoolean(
+				Activator.getPluginId(),
+				GitCorePreferences.core_changedPathFilters, true, null)) {
+			return filter;
+		}
+		ChangedPathCache cache = ChangedPathCache.get(repository);
+		cache.scheduleUpdate(repository);
+		String[] tops = new String[paths.size()];
+		byte[][] rests = new byte[tops.length][];
+		int i = 0;
+		for (String path : paths) {
+			int slash = path.indexOf('/');
+			if (slash < 0) {
+				tops[i] = path;
+			} else {
+				tops[i] = path.substring(0, slash);
+				rests[i] = Constants.encode(path.substring(slash + 1));
+			}
+			i++;
+		}
+		return new ChangedPathFilter(cache, filter, tops, rests);
+	}
+
+	private ChangedPathFilter(ChangedPathCache cache, TreeFilter delegate,
+			String[] tops, byte[][] rests) {
+		this.cache = cache;
+		this.delegate = delegate;
+		this.tops = tops;
+		this.rests = rests;
+	}
+
+	@Override
+	public boolean include(TreeWalk walker) throws MissingObjectException,
+			IncorrectObjectTypeException, IOException {
+		if (walker.getDepth() == 0 && walker.getTreeCount() == 2
+				&& walker.getRawMode(0) == FileMode.TYPE_TREE
+				&& walker.getRawMode(1) == FileMode.TYPE_TREE
+				&& !walker.idEqual(0, 1) && !mayHaveChanged(walker)) {
+			return false;
+		}
+		return delegate.include(walker);
+	}
+
+	private boolean mayHaveChanged(TreeWalk walker) {
+		ChangedPaths latest = cache.getPaths();
+		if (latest != null) {
+			changedPaths = latest;
+		}
+		if (changedPaths == null) {
+			return true;
+		}
+		String name = walker.getNameString();
+		int index = -1;
+		for (int i = 0; i < tops.length; i++) {
+			if (!tops[i].equals(name)) {
+				continue;
+			}
+			if (rests[i] == null) {
+				return true;
+			}
+			if (index < 0) {
+				index = changedPaths.find(walker.getObjectId(0),
+						walker.getObjectId(1));
+				if (index < 0) {
+					return true;
+				}
+			}
+			if (changedPaths.mayContain(index, rests[i])) {
+				return true;
+			}
+		}
+		// Either all paths below this directory certainly did not change,
+		// or none is below it and the delegate would exclude it anyway
+		return false;
+	}
+
+	@Override
+	public boolean shouldBeRecursive() {
+		return delegate.shouldBeRecursive();
+	}
+
+	@Override
+	public TreeFilter clone() {
+		return new ChangedPathFilter(cache, delegate.clone(), tops, rests);
+	}
+
+	@Override
+	public String toString() {
+		return "CHANGED_PATHS(" + delegate + ')'; //$NON-NLS-1$
+	}
+}
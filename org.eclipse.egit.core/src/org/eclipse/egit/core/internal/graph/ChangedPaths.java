@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.util.Arrays;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+
+/**
+ * Immutable snapshot of Bloom filters of changed paths, as maintained by a
+ * {@link ChangedPathCache}.
+ * <p>
+ * A filter is keyed by a pair of tree ids: the two versions of a top-level
+ * directory in a commit and its first parent. It contains the paths, relative
+ * to that directory, of all files and directories that differ between the
+ * two trees. Since the paths changed between two trees depend only on the
+ * trees, a filter is valid for every commit changing that directory the same
+ * way, and there is no need to know which commit is being looked at.
+ * </p>
+ * <p>
+ * A filter without bits stands for more changes than are worth recording;
+ * it may contain any path.
+ * </p>
+ */
+final class ChangedPaths {
+
+	/** Number of bits set in a filter per path, as in git. */
+	static final int HASHES = 7;
+
+	/** Number of filter bits per path, as in git. */
+	static final int BITS_PER_PATH = 10;
+
+	private static final int WORDS = Constants.OBJECT_ID_LENGTH / 4;
+
+	private final int count;
+
+	/** Per filter the two tree ids. */
+	private final int[] keys;
+
+	private final int[] bitsStart;
+
+	private final long[] bits;
+
+	/** Open addressing hash table of index + 1, 0 marking empty slots. */
+	private final int[] table;
+
+	private ChangedPaths(Builder builder) {
+		count = builder.count;
+		keys = builder.keys;
+		bitsStart = builder.bitsStart;
+		bits = builder.bits;
+		table = builder.table;
+	}
+
+	/**
+	 * @return the number of filters
+	 */
+	int size() {
+		return count;
+	}
+
+	/**
+	 * @param oldTree
+	 *            id of the tree in the parent
+	 * @param newTree
+	 *            id of the tree in the commit
+	 * @return the index of the filter for the two trees, or -1 if there is
+	 *         none
+	 */
+	int find(AnyObjectId oldTree, AnyObjectId newTree) {
+		return find(keys, table, count, oldTree, newTree);
+	}
+
+	private static int find(int[] keys, int[] table, int count,
+			AnyObjectId oldTree, AnyObjectId newTree) {
+		int[] raw = new int[2 * WORDS];
+		oldTree.copyRawTo(raw, 0);
+		newTree.copyRawTo(raw, WORDS);
+		int mask = table.length - 1;
+		for (int slot = hash(raw, 0) & mask;; slot = (slot + 1) & mask) {
+			int index = table[slot] - 1;
+			if (index < 0) {
+				return -1;
+			}
+			if (index < count && equals(keys, index, raw)) {
+				return index;
+			}
+		}
+	}
+
+	private static int hash(int[] key, int offset) {
+		// Second words of the ids, as AnyObjectId.hashCode()
+		return key[offset + 1] * 31 + key[offset + WORDS + 1];
+	}
+
+	private static boolean equals(int[] keys, int index, int[] raw) {
+		int offset = index * 2 * WORDS;
+		for (int i = 0; i < raw.length; i++) {
+			if (keys[offset + i] != raw[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether a path may have changed.
+	 *
+	 * @param index
+	 *            of the filter
+	 * @param path
+	 *            relative to the directory of the filter, without leading or
+	 *            trailing slash
+	 * @return {@code false} if the path certainly did not change,
+	 *         {@code true} if it may have
+	 */
+	boolean mayContain(int index, byte[] path) {
+		int start = bitsStart[index];
+		int words = bitsStart[index + 1] - start;
+		if (words == 0) {
+			return true;
+		}
+		return mayContain(bits, start, words, path);
+	}
+
+	private static boolean mayContain(long[] bits, int start, int words,
+			byte[] path) {
+		long size = words * 64L;
+		int h1 = murmur(path);
+		int h2 = fnv(path);
+		for (int i = 0; i < HASHES; i++) {
+			int bit = (int) (((h1 + (long) i * h2) & 0xFFFFFFFFL) % size);
+			if ((bits[start + (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates the bits of a filter.
+	 *
+	 * @param paths
+	 *            to add
+	 * @param count
+	 *            number of valid entries in {@code paths}
+	 * @return the bits
+	 */
+	static long[] createFilter(byte[][] paths, int count) {
+		int words = Math.max(1, (count * BITS_PER_PATH + 63) / 64);
+		long[] filter = new long[words];
+		long size = words * 64L;
+		for (int p = 0; p < count; p++) {
+			int h1 = murmur(paths[p]);
+			int h2 = fnv(paths[p]);
+			for (int i = 0; i < HASHES; i++) {
+				int bit = (int) (((h1 + (long) i * h2) & 0xFFFFFFFFL) % size);
+				filter[bit >>> 6] |= 1L << bit;
+			}
+		}
+		return filter;
+	}
+
+	private static int murmur(byte[] data) {
+		int h = 0x293ae76f;
+		int i = 0;
+		for (; i + 4 <= data.length; i += 4) {
+			int k = (data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8
+					| (data[i + 2] & 0xFF) << 16 | (data[i + 3] & 0xFF) << 24;
+			h ^= mixK(k);
+			h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+		}
+		int k = 0;
+		for (int shift = 0; i < data.length; i++, shift += 8) {
+			k |= (data[i] & 0xFF) << shift;
+		}
+		h ^= mixK(k);
+		h ^= data.length;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		return h ^ (h >>> 16);
+	}
+
+	private static int mixK(int k) {
+		return Integer.rotateLeft(k * 0xcc9e2d51, 15) * 0x1b873593;
+	}
+
+	private static int fnv(byte[] data) {
+		int h = 0x811c9dc5;
+		for (byte b : data) {
+			h = (h ^ (b & 0xFF)) * 0x01000193;
+		}
+		// Odd, so that the probes of double hashing do not repeat early
+		return h | 1;
+	}
+
+	/**
+	 * Appends filters. The arrays of the snapshot started from are shared
+	 * and only written beyond its size, or copied when they grow, so that
+	 * the snapshot stays valid. Not thread-safe; there must be only one
+	 * builder per snapshot.
+	 */
+	static final class Builder {
+
+		int count;
+
+		int[] keys;
+
+		int[] bitsStart;
+
+		long[] bits;
+
+		int[] table;
+
+		Builder(ChangedPaths paths) {
+			if (paths == null) {
+				keys = new int[16 * 2 * WORDS];
+				bitsStart = new int[17];
+				bits = new long[16];
+				table = new int[32];
+			} else {
+				count = paths.count;
+				keys = paths.keys;
+				bitsStart = paths.bitsStart;
+				bits = paths.bits;
+				table = paths.table;
+			}
+		}
+
+		int size() {
+			return count;
+		}
+
+		int find(AnyObjectId oldTree, AnyObjectId newTree) {
+			return ChangedPaths.find(keys, table, count, oldTree, newTree);
+		}
+
+		/**
+		 * Appends a filter.
+		 *
+		 * @param oldTree
+		 *            id of the tree in the parent
+		 * @param newTree
+		 *            id of the tree in the commit; the pair must not be
+		 *            known yet
+		 * @param filter
+		 *            bits of the filter, empty if it may contain any path
+		 */
+		void add(AnyObjectId oldTree, AnyObjectId newTree, long[] filter) {
+			if (count + 1 == bitsStart.length) {
+				int capacity = count + (count >> 1) + 16;
+				keys = Arrays.copyOf(keys, capacity * 2 * WORDS);
+				bitsStart = Arrays.copyOf(bitsStart, capacity + 1);
+			}
+			int used = bitsStart[count];
+			if (used + filter.length > bits.length) {
+				bits = Arrays.copyOf(bits, Math.max(used + filter.length,
+						bits.length + (bits.length >> 1) + 16));
+			}
+			int index = count;
+			oldTree.copyRawTo(keys, index * 2 * WORDS);
+			newTree.copyRawTo(keys, index * 2 * WORDS + WORDS);
+			System.arraycopy(filter, 0, bits, used, filter.length);
+			bitsStart[index + 1] = used + filter.length;
+			count++;
+			if (2 * count > table.length) {
+				int[] newTable = new int[table.length * 2];
+				for (int i = 0; i < count; i++) {
+					insert(newTable, i);
+				}
+				table = newTable;
+			} else {
+				insert(table, index);
+			}
+		}
+
+		private void insert(int[] into, int index) {
+			int mask = into.length - 1;
+			int slot = hash(keys, index * 2 * WORDS) & mask;
+			while (into[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			into[slot] = index + 1;
+		}
+
+		ChangedPaths build() {
+			return new ChangedPaths(this);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.util.RawParseUtils;
+
+/**
+ * The files changed by a commit against its first parent, or against the
+ * empty tree for a root commit, as found by a recursive
+ * {@link org.eclipse.jgit.treewalk.filter.TreeFilter#ANY_DIFF ANY_DIFF} walk.
+ * Per file its path and its blob ids in the commit and in the parent are
+ * kept; a side not containing the file has the zero id.
+ */
+public final class CommitChanges {
+
+	private static final int ID_LENGTH = Constants.OBJECT_ID_LENGTH;
+
+	private final ObjectId commit;
+
+	private final byte[][] paths;
+
+	/** Per file its new and its old id. */
+	private final byte[] ids;
+
+	CommitChanges(ObjectId commit, byte[][] paths, byte[] ids) {
+		this.commit = commit;
+		this.paths = paths;
+		this.ids = ids;
+	}
+
+	/**
+	 * @return the id of the commit
+	 */
+	public ObjectId getCommit() {
+		return commit;
+	}
+
+	/**
+	 * @return the number of changed files
+	 */
+	public int size() {
+		return paths.length;
+	}
+
+	/**
+	 * @param index
+	 *            of a changed file
+	 * @return the repository-relative path of the file
+	 */
+	public String getPath(int index) {
+		return RawParseUtils.decode(paths[index]);
+	}
+
+	/**
+	 * @param index
+	 *            of a changed file
+	 * @return the id of the file in the commit, or the zero id if it was
+	 *         deleted
+	 */
+	public ObjectId getNewId(int index) {
+		return ObjectId.fromRaw(ids, 2 * index * ID_LENGTH);
+	}
+
+	/**
+	 * @param index
+	 *            of a changed file
+	 * @return the id of the file in the parent, or the zero id if it was
+	 *         added
+	 */
+	public ObjectId getOldId(int index) {
+		return ObjectId.fromRaw(ids, (2 * index + 1) * ID_LENGTH);
+	}
+
+	byte[] getRawPath(int index) {
+		return paths[index];
+	}
+
+	byte[] getRawIds() {
+		return ids;
+	}
+}
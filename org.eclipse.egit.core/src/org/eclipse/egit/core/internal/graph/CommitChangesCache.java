@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * Keeps the {@link CommitChanges} of the commits of a repository that were
+ * asked for in the plugin state location next to its {@link CommitGraphCache}.
+ * <p>
+ * The changes of a commit never change, so they are computed once, the ones
+ * missing in a request in parallel, and appended to {@value #CHANGES} as the
+ * commit id, the number of files, and per file its path and its new and old
+ * ids. {@value #STATE} holds the number of valid records and the valid length
+ * of that file. Once the file grows beyond 32 MB, it is started over,
+ * together with the changes in memory. The loaded changes are only softly
+ * referenced; missing or damaged files just make all changes be computed
+ * again.
+ * </p>
+ */
+public final class CommitChangesCache {
+
+	private static final int MAGIC = 0x45474343; // "EGCC"
+
+	private static final int VERSION = 1;
+
+	private static final String CHANGES = "changes"; //$NON-NLS-1$
+
+	private static final String STATE = "changes-state"; //$NON-NLS-1$
+
+	/** Length of {@value #CHANGES} beyond which it is started over. */
+	private static final long MAX_LENGTH = 32 << 20;
+
+	/** Number of commits computed per parallel task. */
+	private static final int CHUNK_SIZE = 32;
+
+	private static final ConcurrentHashMap<File, CommitChangesCache> CACHES = new ConcurrentHashMap<>();
+
+	private final File directory;
+
+	private volatile SoftReference<Map<ObjectId, CommitChanges>> changes = new SoftReference<>(
+			null);
+
+	private int commitCount;
+
+	private long changesLength;
+
+	private CommitChangesCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Retrieves the cache of a repository. Does not load anything.
+	 *
+	 * @param repository
+	 *            to get the cache of
+	 * @return the cache
+	 */
+	public static CommitChangesCache get(Repository repository) {
+		File gitDir = repository.getDirectory();
+		return CACHES.computeIfAbsent(gitDir.getAbsoluteFile(),
+				dir -> new CommitChangesCache(
+						CommitGraphCache.getDirectory(dir)));
+	}
+
+	/**
+	 * Retrieves the changes of some commits, loading the known changes if
+	 * needed. The changes of the commits not known yet are computed in
+	 * parallel and saved.
+	 *
+	 * @param repository
+	 *            containing the commits
+	 * @param commits
+	 *            ids of the commits
+	 * @return per commit its changes, in the order of the commits
+	 * @throws IOException
+	 *             if the repository cannot be read
+	 */
+	public List<CommitChanges> getChanges(Repository repository,
+			List<? extends ObjectId> commits) throws IOException {
+		Map<ObjectId, CommitChanges> known = getKnown();
+		Set<ObjectId> missing = new LinkedHashSet<>();
+		for (ObjectId commit : commits) {
+			if (!known.containsKey(commit)) {
+				missing.add(commit.copy());
+			}
+		}
+		List<CommitChanges> computed = compute(repository,
+				new ArrayList<>(missing));
+		for (CommitChanges commitChanges : computed) {
+			known.put(commitChanges.getCommit(), commitChanges);
+		}
+		List<CommitChanges> result = new ArrayList<>(commits.size());
+		for (ObjectId commit : commits) {
+			result.add(known.get(commit));
+		}
+		if (!computed.isEmpty()) {
+			try {
+				save(computed);
+			} catch (IOException e) {
+				Activator.logError(MessageFormat.format(
+						CoreText.CommitChangesCache_saveFailed,
+						Activator.getDefault().getRepositoryUtil()
+								.getRepositoryName(repository)),
+						e);
+			}
+		}
+		return result;
+	}
+
+	private static List<CommitChanges> compute(Repository repository,
+			List<ObjectId> commits) throws IOException {
+		List<CompletableFuture<List<CommitChanges>>> chunks = new ArrayList<>();
+		for (int from = 0; from < commits.size(); from += CHUNK_SIZE) {
+			List<ObjectId> chunk = commits.subList(from,
+					Math.min(from + CHUNK_SIZE, commits.size()));
+			chunks.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return computeChunk(repository, chunk);
+				} catch (IOException e) {
+					throw new CompletionException(e);
+				}
+			}));
+		}
+		List<CommitChanges> result = new ArrayList<>(commits.size());
+		try {
+			for (CompletableFuture<List<CommitChanges>> chunk : chunks) {
+				result.addAll(chunk.join());
+			}
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw e;
+		}
+		return result;
+	}
+
+	private static List<CommitChanges> computeChunk(Repository repository,
+			List<ObjectId> commits) throws IOException {
+		List<CommitChanges> result = new ArrayList<>(commits.size());
+		try (ObjectReader reader = repository.newObjectReader();
+				RevWalk walk = new RevWalk(reader);
+				TreeWalk treeWalk = new TreeWalk(reader)) {
+			treeWalk.setRecursive(true);
+			treeWalk.setFilter(TreeFilter.ANY_DIFF);
+			for (ObjectId id : commits) {
+				RevCommit commit = walk.parseCommit(id);
+				treeWalk.reset();
+				treeWalk.addTree(commit.getTree());
+				if (commit.getParentCount() > 0) {
+					treeWalk.addTree(
+							walk.parseCommit(commit.getParent(0)).getTree());
+				} else {
+					treeWalk.addTree(new EmptyTreeIterator());
+				}
+				List<byte[]> paths = new ArrayList<>();
+				ByteArrayOutputStream ids = new ByteArrayOutputStream();
+				byte[] raw = new byte[Constants.OBJECT_ID_LENGTH];
+				while (treeWalk.next()) {
+					paths.add(treeWalk.getRawPath());
+					treeWalk.getObjectId(0).copyRawTo(raw, 0);
+					ids.write(raw, 0, raw.length);
+					treeWalk.getObjectId(1).copyRawTo(raw, 0);
+					ids.write(raw, 0, raw.length);
+				}
+				result.add(new CommitChanges(id,
+						paths.toArray(new byte[0][]), ids.toByteArray()));
+			}
+		}
+		return result;
+	}
+
+	private synchronized Map<ObjectId, CommitChanges> getKnown() {
+		Map<ObjectId, CommitChanges> known = changes.get();
+		if (known == null) {
+			known = load();
+			changes = new SoftReference<>(known);
+		}
+		return known;
+	}
+
+	private synchronized void save(List<CommitChanges> computed)
+			throws IOException {
+		if (changesLength > MAX_LENGTH) {
+			Map<ObjectId, CommitChanges> known = changes.get();
+			if (known != null) {
+				known.clear();
+				for (CommitChanges commitChanges : computed) {
+					known.put(commitChanges.getCommit(), commitChanges);
+				}
+			}
+			commitCount = 0;
+			changesLength = 0;
+		}
+		FileUtils.mkdirs(directory, true);
+		try (FileChannel channel = FileChannel.open(
+				new File(directory, CHANGES).toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(changesLength);
+			channel.position(changesLength);
+			DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Channels.newOutputStream(channel)));
+			for (CommitChanges commitChanges : computed) {
+				write(out, commitChanges);
+			}
+			out.flush();
+			channel.force(false);
+			changesLength = channel.position();
+			commitCount += computed.size();
+		}
+		writeState();
+	}
+
+	private static void write(DataOutputStream out,
+			CommitChanges commitChanges) throws IOException {
+		commitChanges.getCommit().copyRawTo(out);
+		CommitGraphCache.writeVarInt(out, commitChanges.size());
+		for (int i = 0; i < commitChanges.size(); i++) {
+			byte[] path = commitChanges.getRawPath(i);
+			CommitGraphCache.writeVarInt(out, path.length);
+			out.write(path);
+		}
+		out.write(commitChanges.getRawIds());
+	}
+
+	/**
+	 * Loads the known changes; any failure just yields none, the changes
+	 * being computed again when asked for.
+	 */
+	private Map<ObjectId, CommitChanges> load() {
+		Map<ObjectId, CommitChanges> known = new ConcurrentHashMap<>();
+		commitCount = 0;
+		changesLength = 0;
+		int count;
+		long length;
+		try (DataInputStream in = open(STATE)) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return known;
+			}
+			count = in.readInt();
+			length = in.readLong();
+		} catch (IOException e) {
+			return known;
+		}
+		try (DataInputStream in = open(CHANGES)) {
+			for (int i = 0; i < count; i++) {
+				ObjectId commit = CommitGraphCache.readId(in);
+				byte[][] paths = new byte[CommitGraphCache
+						.readVarInt(in)][];
+				for (int j = 0; j < paths.length; j++) {
+					paths[j] = new byte[CommitGraphCache.readVarInt(in)];
+					in.readFully(paths[j]);
+				}
+				byte[] ids = new byte[2 * paths.length
+						* Constants.OBJECT_ID_LENGTH];
+				in.readFully(ids);
+				known.put(commit, new CommitChanges(commit, paths, ids));
+			}
+		} catch (IOException e) {
+			known.clear();
+			return known;
+		}
+		commitCount = count;
+		changesLength = length;
+		return known;
+	}
+
+	private void writeState() throws IOException {
+		File file = new File(directory, STATE);
+		File tmp = File.createTempFile(STATE, null, directory);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(tmp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(commitCount);
+				out.writeLong(changesLength);
+			}
+			FileUtils.rename(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private DataInputStream open(String name) throws IOException {
+		return new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(new File(directory, name).toPath())));
+	}
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.util.Arrays;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Immutable snapshot of the topology of the commits of a repository, as
+ * maintained by a {@link CommitGraphCache}: per commit its id, tree id,
+ * commit time and the ordinals of its parents. Commits are numbered in the
+ * order they were added, parents always before their children.
+ */
+public final class CommitGraph {
+
+	private static final int WORDS = Constants.OBJECT_ID_LENGTH / 4;
+
+	/** Marks a parent that is not in the graph. */
+	private static final int MISSING = -1;
+
+	private static final int HEX_LENGTH = Constants.OBJECT_ID_STRING_LENGTH;
+
+	private static final byte[] HEX = Constants
+			.encodeASCII("0123456789abcdef"); //$NON-NLS-1$
+
+	private static final byte[] TREE = Constants.encodeASCII("tree "); //$NON-NLS-1$
+
+	private static final byte[] PARENT = Constants.encodeASCII("parent "); //$NON-NLS-1$
+
+	private static final byte[] COMMITTER = Constants
+			.encodeASCII("committer <> "); //$NON-NLS-1$
+
+	private static final byte[] TIME_ZONE = Constants
+			.encodeASCII(" +0000\n\n"); //$NON-NLS-1$
+
+	private final int count;
+
+	private final int[] ids;
+
+	private final int[] trees;
+
+	private final int[] times;
+
+	private final int[] parentStart;
+
+	private final int[] parents;
+
+	/** Open addressing hash table of ordinal + 1, 0 marking empty slots. */
+	private final int[] table;
+
+	private CommitGraph(Builder builder) {
+		count = builder.count;
+		ids = builder.ids;
+		trees = builder.trees;
+		times = builder.times;
+		parentStart = builder.parentStart;
+		parents = builder.parents;
+		table = builder.table;
+	}
+
+	/**
+	 * @return the number of commits
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * @param id
+	 *            of the commit to find
+	 * @return the ordinal of the commit, or -1 if it is not in the graph
+	 */
+	public int find(AnyObjectId id) {
+		return find(ids, table, count, id);
+	}
+
+	private static int find(int[] ids, int[] table, int count,
+			AnyObjectId id) {
+		int[] raw = new int[WORDS];
+		id.copyRawTo(raw, 0);
+		int mask = table.length - 1;
+		for (int slot = id.hashCode() & mask;; slot = (slot + 1) & mask) {
+			int ordinal = table[slot] - 1;
+			if (ordinal < 0) {
+				return -1;
+			}
+			if (ordinal < count && equals(ids, ordinal, raw)) {
+				return ordinal;
+			}
+		}
+	}
+
+	private static boolean equals(int[] ids, int ordinal, int[] raw) {
+		int offset = ordinal * WORDS;
+		for (int i = 0; i < WORDS; i++) {
+			if (ids[offset + i] != raw[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param ordinal
+	 *            of the commit
+	 * @return the id of the commit
+	 */
+	public ObjectId getId(int ordinal) {
+		return ObjectId.fromRaw(ids, checkOrdinal(ordinal) * WORDS);
+	}
+
+	/**
+	 * @param ordinal
+	 *            of the commit
+	 * @return the id of the tree of the commit
+	 */
+	public ObjectId getTree(int ordinal) {
+		return ObjectId.fromRaw(trees, checkOrdinal(ordinal) * WORDS);
+	}
+
+	/**
+	 * @param ordinal
+	 *            of the commit
+	 * @return the commit time in seconds since the epoch
+	 */
+	public int getCommitTime(int ordinal) {
+		return times[checkOrdinal(ordinal)];
+	}
+
+	/**
+	 * @param ordinal
+	 *            of the commit
+	 * @return the number of parents of the commit
+	 */
+	public int getParentCount(int ordinal) {
+		checkOrdinal(ordinal);
+		return parentStart[ordinal + 1] - parentStart[ordinal];
+	}
+
+	/**
+	 * @param ordinal
+	 *            of the commit
+	 * @param index
+	 *            of the parent, less than {@link #getParentCount(int)}
+	 * @return the ordinal of the parent, or -1 if the parent is not in the
+	 *         graph
+	 */
+	public int getParent(int ordinal, int index) {
+		return parents[parentStart[checkOrdinal(ordinal)] + index];
+	}
+
+	/**
+	 * Formats the headers of a commit as far as a {@code RevWalk} parses them
+	 * without the body: tree, parents and committer time.
+	 *
+	 * @param ordinal
+	 *            of the commit
+	 * @return the headers, or {@code null} if a parent is not in the graph
+	 */
+	byte[] formatHeaders(int ordinal) {
+		int parentCount = getParentCount(ordinal);
+		int start = parentStart[ordinal];
+		for (int i = 0; i < parentCount; i++) {
+			if (parents[start + i] == MISSING) {
+				return null;
+			}
+		}
+		byte[] time = Constants
+				.encodeASCII(Integer.toString(times[ordinal]));
+		byte[] headers = new byte[TREE.length + HEX_LENGTH + 1
+				+ parentCount * (PARENT.length + HEX_LENGTH + 1)
+				+ COMMITTER.length + time.length + TIME_ZONE.length];
+		int offset = put(headers, 0, TREE);
+		offset = putHex(headers, offset, trees, ordinal);
+		headers[offset++] = '\n';
+		for (int i = 0; i < parentCount; i++) {
+			offset = put(headers, offset, PARENT);
+			offset = putHex(headers, offset, ids, parents[start + i]);
+			headers[offset++] = '\n';
+		}
+		offset = put(headers, offset, COMMITTER);
+		offset = put(headers, offset, time);
+		put(headers, offset, TIME_ZONE);
+		return headers;
+	}
+
+	private static int put(byte[] to, int offset, byte[] bytes) {
+		System.arraycopy(bytes, 0, to, offset, bytes.length);
+		return offset + bytes.length;
+	}
+
+	private static int putHex(byte[] to, int offset, int[] words,
+			int ordinal) {
+		int pos = offset;
+		for (int i = 0; i < WORDS; i++) {
+			int word = words[ordinal * WORDS + i];
+			for (int shift = 28; shift >= 0; shift -= 4) {
+				to[pos++] = HEX[(word >>> shift) & 0xF];
+			}
+		}
+		return pos;
+	}
+
+	private int checkOrdinal(int ordinal) {
+		if (ordinal < 0 || ordinal >= count) {
+			throw new IndexOutOfBoundsException(Integer.toString(ordinal));
+		}
+		return ordinal;
+	}
+
+	/**
+	 * Appends commits to a graph. The arrays of the snapshot started from are
+	 * shared and only written beyond its size, or copied when they grow, so
+	 * that the snapshot stays valid. Not thread-safe; there must be only one
+	 * builder per snapshot.
+	 */
+	static final class Builder {
+
+		int count;
+
+		int[] ids;
+
+		int[] trees;
+
+		int[] times;
+
+		int[] parentStart;
+
+		int[] parents;
+
+		int[] table;
+
+		private int parentCount;
+
+		Builder(CommitGraph graph) {
+			if (graph == null) {
+				ids = new int[16 * WORDS];
+				trees = new int[16 * WORDS];
+				times = new int[16];
+				parentStart = new int[17];
+				parents = new int[16];
+				table = new int[32];
+			} else {
+				count = graph.count;
+				ids = graph.ids;
+				trees = graph.trees;
+				times = graph.times;
+				parentStart = graph.parentStart;
+				parents = graph.parents;
+				table = graph.table;
+				parentCount = parentStart[count];
+			}
+		}
+
+		int size() {
+			return count;
+		}
+
+		int find(AnyObjectId id) {
+			return CommitGraph.find(ids, table, count, id);
+		}
+
+		/**
+		 * Appends a commit.
+		 *
+		 * @param id
+		 *            of the commit; must not be in the graph yet
+		 * @param tree
+		 *            id of the tree of the commit
+		 * @param time
+		 *            commit time
+		 * @param parentOrdinals
+		 *            ordinals of the parents, -1 for parents not in the graph
+		 * @return the ordinal of the commit
+		 */
+		int add(AnyObjectId id, AnyObjectId tree, int time,
+				int[] parentOrdinals) {
+			if (count == times.length) {
+				int capacity = count + (count >> 1) + 16;
+				ids = Arrays.copyOf(ids, capacity * WORDS);
+				trees = Arrays.copyOf(trees, capacity * WORDS);
+				times = Arrays.copyOf(times, capacity);
+				parentStart = Arrays.copyOf(parentStart, capacity + 1);
+			}
+			if (parentCount + parentOrdinals.length > parents.length) {
+				parents = Arrays.copyOf(parents, Math.max(
+						parentCount + parentOrdinals.length,
+						parents.length + (parents.length >> 1) + 16));
+			}
+			int ordinal = count;
+			id.copyRawTo(ids, ordinal * WORDS);
+			tree.copyRawTo(trees, ordinal * WORDS);
+			times[ordinal] = time;
+			System.arraycopy(parentOrdinals, 0, parents, parentCount,
+					parentOrdinals.length);
+			parentCount += parentOrdinals.length;
+			parentStart[ordinal + 1] = parentCount;
+			count++;
+			if (2 * count > table.length) {
+				rehash();
+			} else {
+				insert(table, ordinal);
+			}
+			return ordinal;
+		}
+
+		private void rehash() {
+			int[] newTable = new int[table.length * 2];
+			for (int i = 0; i < count; i++) {
+				insert(newTable, i);
+			}
+			table = newTable;
+		}
+
+		private void insert(int[] into, int ordinal) {
+			int mask = into.length - 1;
+			// hashCode() of an AnyObjectId is its second word
+			int slot = ids[ordinal * WORDS + 1] & mask;
+			while (into[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			into[slot] = ordinal + 1;
+		}
+
+		CommitGraph build() {
+			return new CommitGraph(this);
+		}
+	}
+}
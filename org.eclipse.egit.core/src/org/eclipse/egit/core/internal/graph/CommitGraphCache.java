@@ -0,0 +1,492 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * Keeps a {@link CommitGraph} of a repository in the plugin state location
+ * and brings it up to date with the refs of the repository on
+ * {@link #update(Repository, IProgressMonitor)}.
+ * <p>
+ * The graph is closed under ancestry: an update walks from the ref tips that
+ * are not in the graph yet only down to commits already in it, and appends
+ * parents before their children. It is stored in two files:
+ * <ul>
+ * <li>{@value #GRAPH}: per commit its id, its tree id, its commit time and
+ * the ordinals of its parents,</li>
+ * <li>{@value #STATE}: the number of valid records, the valid length of the
+ * graph file, the tips the graph was last updated to and the shallow commits
+ * of the repository at that time.</li>
+ * </ul>
+ * Data beyond the length recorded in the state file is left over from an
+ * interrupted update and is truncated by the next one. Shallow commits are
+ * stored without parents, as a {@code RevWalk} sees them; since commits are
+ * never revisited, the graph is built anew once the shallow commits change,
+ * for instance after a fetch deepened the history. The loaded graph is only
+ * softly referenced. Since building the graph of a big repository from
+ * scratch takes a while, readers that can do without it take the graph as
+ * last updated and {@link #scheduleUpdate(Repository) schedule} an update in
+ * the background.
+ * </p>
+ */
+public final class CommitGraphCache {
+
+	private static final int MAGIC = 0x45474347; // "EGCG"
+
+	private static final int VERSION = 2;
+
+	private static final String FOLDER = "commitgraph"; //$NON-NLS-1$
+
+	private static final String GRAPH = "graph"; //$NON-NLS-1$
+
+	private static final String STATE = "state"; //$NON-NLS-1$
+
+	/**
+	 * Tips are only used to cut the walk of an update short, so any subset of
+	 * the commits in the graph will do.
+	 */
+	private static final int MAX_TIPS = 1000;
+
+	private static final ConcurrentHashMap<File, CommitGraphCache> CACHES = new ConcurrentHashMap<>();
+
+	private final File directory;
+
+	private volatile SoftReference<CommitGraph> graph = new SoftReference<>(
+			null);
+
+	private final List<ObjectId> tips = new ArrayList<>();
+
+	private final Set<ObjectId> shallowCommits = new HashSet<>();
+
+	/** The shallow commits {@link #graph} was built with. */
+	private volatile Set<ObjectId> graphShallowCommits = Collections
+			.emptySet();
+
+	private volatile Job job;
+
+	private long graphLength;
+
+	private CommitGraphCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Retrieves the cache of a repository. Does not load anything.
+	 *
+	 * @param repository
+	 *            to get the cache of
+	 * @return the cache
+	 */
+	public static CommitGraphCache get(Repository repository) {
+		File gitDir = repository.getDirectory();
+		return CACHES.computeIfAbsent(gitDir.getAbsoluteFile(),
+				dir -> new CommitGraphCache(getDirectory(dir)));
+	}
+
+	/**
+	 * @param gitDir
+	 *            of a repository
+	 * @return the directory for files about that repository in the state
+	 *         location
+	 */
+	public static File getDirectory(File gitDir) {
+		byte[] digest = Constants.newMessageDigest().digest(
+				gitDir.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return Activator.getDefault().getStateLocation().append(FOLDER)
+				.append(ObjectId.fromRaw(digest).name()).toFile();
+	}
+
+	/**
+	 * Retrieves the graph as last updated, without reading anything.
+	 *
+	 * @param repository
+	 *            the graph is for
+	 * @return the graph, or {@code null} if it is not loaded or was built for
+	 *         other shallow commits than the current ones of the repository
+	 * @throws IOException
+	 *             if the shallow commits cannot be read
+	 */
+	public CommitGraph getGraph(Repository repository) throws IOException {
+		Set<ObjectId> builtFor = graphShallowCommits;
+		CommitGraph current = graph.get();
+		if (current == null) {
+			return null;
+		}
+		try (ObjectReader reader = repository.newObjectReader()) {
+			return reader.getShallowCommits().equals(builtFor) ? current
+					: null;
+		}
+	}
+
+	/**
+	 * Schedules a background job to {@link #update(Repository, IProgressMonitor)
+	 * update} the graph, unless one is pending already.
+	 *
+	 * @param repository
+	 *            to update the graph from
+	 */
+	public void scheduleUpdate(Repository repository) {
+		Job current = job;
+		if (current != null && current.getState() != Job.NONE) {
+			return;
+		}
+		String name = MessageFormat.format(CoreText.CommitGraphCache_jobName,
+				Activator.getDefault().getRepositoryUtil()
+						.getRepositoryName(repository));
+		Job update = new Job(name) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(repository, monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (IOException e) {
+					Activator.logError(MessageFormat.format(
+							CoreText.CommitGraphCache_updateFailed,
+							Activator.getDefault().getRepositoryUtil()
+									.getRepositoryName(repository)),
+							e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		update.setSystem(true);
+		update.setPriority(Job.DECORATE);
+		job = update;
+		update.schedule();
+	}
+
+	/**
+	 * Loads the graph if needed and adds all commits reachable from the refs
+	 * of the repository that are not in it yet.
+	 *
+	 * @param repository
+	 *            to update the graph from
+	 * @param monitor
+	 *            for progress reporting and cancellation, may be {@code null}
+	 * @return the updated graph
+	 * @throws IOException
+	 *             if the repository cannot be read or the graph cannot be
+	 *             written
+	 */
+	public synchronized CommitGraph update(Repository repository,
+			IProgressMonitor monitor) throws IOException {
+		CommitGraph current = graph.get();
+		if (current == null) {
+			current = load();
+		}
+		CommitGraph updated = update(repository, current,
+				SubMonitor.convert(monitor));
+		graphShallowCommits = Collections
+				.unmodifiableSet(new HashSet<>(shallowCommits));
+		graph = new SoftReference<>(updated);
+		return updated;
+	}
+
+	/**
+	 * Loads the graph; a missing or damaged graph is rebuilt from scratch by
+	 * the update, so any failure just yields an empty graph.
+	 */
+	private CommitGraph load() {
+		reset();
+		int count;
+		try (DataInputStream in = open(STATE)) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return reset();
+			}
+			count = in.readInt();
+			graphLength = in.readLong();
+			int tipCount = in.readInt();
+			for (int i = 0; i < tipCount; i++) {
+				tips.add(readId(in));
+			}
+			int shallowCount = in.readInt();
+			for (int i = 0; i < shallowCount; i++) {
+				shallowCommits.add(readId(in));
+			}
+		} catch (IOException e) {
+			return reset();
+		}
+		CommitGraph.Builder builder = new CommitGraph.Builder(null);
+		try (DataInputStream in = open(GRAPH)) {
+			for (int i = 0; i < count; i++) {
+				ObjectId id = readId(in);
+				ObjectId tree = readId(in);
+				int time = in.readInt();
+				int[] parents = new int[readVarInt(in)];
+				for (int j = 0; j < parents.length; j++) {
+					parents[j] = readVarInt(in) - 1;
+					if (parents[j] >= i) {
+						return reset();
+					}
+				}
+				builder.add(id, tree, time, parents);
+			}
+		} catch (IOException e) {
+			return reset();
+		}
+		return builder.build();
+	}
+
+	private CommitGraph reset() {
+		tips.clear();
+		shallowCommits.clear();
+		graphLength = 0;
+		return new CommitGraph.Builder(null).build();
+	}
+
+	private CommitGraph update(Repository repository, CommitGraph loaded,
+			SubMonitor progress) throws IOException {
+		Set<ObjectId> refTips = new LinkedHashSet<>();
+		CommitGraph current = loaded;
+		CommitGraph.Builder builder;
+		try (RevWalk walk = new RevWalk(repository)) {
+			Set<ObjectId> shallow = walk.getObjectReader().getShallowCommits();
+			if (!shallow.equals(shallowCommits)) {
+				current = reset();
+				shallowCommits.addAll(shallow);
+			}
+			builder = new CommitGraph.Builder(current);
+			walk.setRetainBody(false);
+			walk.sort(RevSort.TOPO);
+			walk.sort(RevSort.REVERSE, true);
+			boolean changed = false;
+			for (Ref ref : repository.getRefDatabase().getRefs()) {
+				Ref leaf = ref.getLeaf();
+				ObjectId id = leaf.getPeeledObjectId() != null
+						? leaf.getPeeledObjectId() : leaf.getObjectId();
+				if (id == null) {
+					continue;
+				}
+				if (current.find(id) >= 0) {
+					// Avoid reading the object
+					refTips.add(id);
+					continue;
+				}
+				RevCommit commit = parseCommit(walk, id);
+				if (commit == null) {
+					continue;
+				}
+				refTips.add(commit.copy());
+				if (current.find(commit) < 0) {
+					walk.markStart(commit);
+					changed = true;
+				}
+			}
+			if (!changed) {
+				return current;
+			}
+			for (ObjectId tip : tips) {
+				RevCommit commit = parseCommit(walk, tip);
+				if (commit != null) {
+					walk.markUninteresting(commit);
+				}
+			}
+			FileUtils.mkdirs(directory, true);
+			try (FileChannel channel = FileChannel.open(
+					new File(directory, GRAPH).toPath(),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+				channel.truncate(graphLength);
+				channel.position(graphLength);
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(
+								Channels.newOutputStream(channel)));
+				RevCommit commit;
+				while ((commit = walk.next()) != null) {
+					if (progress.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (builder.find(commit) < 0) {
+						append(builder, commit, out);
+					}
+				}
+				out.flush();
+				channel.force(false);
+				graphLength = channel.position();
+			}
+		}
+		Set<ObjectId> newTips = new LinkedHashSet<>(refTips);
+		newTips.addAll(tips);
+		tips.clear();
+		for (ObjectId tip : newTips) {
+			if (tips.size() == MAX_TIPS) {
+				break;
+			}
+			tips.add(tip);
+		}
+		CommitGraph updated = builder.build();
+		writeState(updated.size());
+		return updated;
+	}
+
+	private static RevCommit parseCommit(RevWalk walk, ObjectId id)
+			throws IOException {
+		try {
+			RevObject object = walk.peel(walk.parseAny(id));
+			return object instanceof RevCommit ? (RevCommit) object : null;
+		} catch (MissingObjectException | IncorrectObjectTypeException e) {
+			// Ref to a pruned object; ignore it
+			return null;
+		}
+	}
+
+	private static void append(CommitGraph.Builder builder, RevCommit commit,
+			DataOutputStream out) throws IOException {
+		int[] parents = new int[commit.getParentCount()];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = builder.find(commit.getParent(i));
+		}
+		commit.copyRawTo(out);
+		commit.getTree().copyRawTo(out);
+		out.writeInt(commit.getCommitTime());
+		writeVarInt(out, parents.length);
+		for (int parent : parents) {
+			writeVarInt(out, parent + 1);
+		}
+		builder.add(commit, commit.getTree(), commit.getCommitTime(),
+				parents);
+	}
+
+	private void writeState(int count) throws IOException {
+		File file = new File(directory, STATE);
+		File tmp = File.createTempFile(STATE, null, directory);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(tmp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(count);
+				out.writeLong(graphLength);
+				out.writeInt(tips.size());
+				for (ObjectId tip : tips) {
+					tip.copyRawTo(out);
+				}
+				out.writeInt(shallowCommits.size());
+				for (ObjectId shallow : shallowCommits) {
+					shallow.copyRawTo(out);
+				}
+			}
+			FileUtils.rename(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private DataInputStream open(String name) throws IOException {
+		return new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(new File(directory, name).toPath())));
+	}
+
+	/**
+	 * Reads an object id as written by {@link ObjectId#copyRawTo}.
+	 *
+	 * @param in
+	 *            to read from
+	 * @return the id
+	 * @throws IOException
+	 *             if the id cannot be read
+	 */
+	public static ObjectId readId(DataInputStream in) throws IOException {
+		byte[] raw = new byte[Constants.OBJECT_ID_LENGTH];
+		in.readFully(raw);
+		return ObjectId.fromRaw(raw);
+	}
+
+	/**
+	 * Writes a non-negative number in seven bit groups, least significant
+	 * first, with the high bit set on all but the last one.
+	 *
+	 * @param out
+	 *            to write to
+	 * @param value
+	 *            to write
+	 * @throws IOException
+	 *             if the number cannot be written
+	 */
+	public static void writeVarInt(DataOutputStream out, int value)
+			throws IOException {
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.writeByte(v);
+	}
+
+	/**
+	 * Reads a number as written by {@link #writeVarInt}.
+	 *
+	 * @param in
+	 *            to read from
+	 * @return the number
+	 * @throws IOException
+	 *             if the number cannot be read or is invalid
+	 */
+	public static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value < 0) {
+					throw new EOFException();
+				}
+				return value;
+			}
+		}
+		throw new EOFException();
+	}
+}
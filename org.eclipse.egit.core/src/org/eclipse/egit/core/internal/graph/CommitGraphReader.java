@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.BitmapIndex;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+
+/**
+ * An {@link ObjectReader} that answers requests for commits in a
+ * {@link CommitGraph} with just the headers a walk not retaining bodies
+ * parses, instead of reading the commits from the object database.
+ * Everything else is read by the wrapped reader.
+ */
+class CommitGraphReader extends ObjectReader {
+
+	private final ObjectReader delegate;
+
+	private final CommitGraphRepository repository;
+
+	CommitGraphReader(ObjectReader delegate,
+			CommitGraphRepository repository) {
+		this.delegate = delegate;
+		this.repository = repository;
+	}
+
+	@Override
+	public ObjectReader newReader() {
+		return new CommitGraphReader(delegate.newReader(), repository);
+	}
+
+	@Override
+	public Collection<ObjectId> resolve(AbbreviatedObjectId id)
+			throws IOException {
+		return delegate.resolve(id);
+	}
+
+	@Override
+	public boolean has(AnyObjectId objectId, int typeHint) throws IOException {
+		return delegate.has(objectId, typeHint);
+	}
+
+	@Override
+	public ObjectLoader open(AnyObjectId objectId, int typeHint)
+			throws MissingObjectException, IncorrectObjectTypeException,
+			IOException {
+		if (typeHint == Constants.OBJ_COMMIT || typeHint == OBJ_ANY) {
+			CommitGraph graph = repository.getGraphForHeaders();
+			int ordinal = graph != null ? graph.find(objectId) : -1;
+			if (ordinal >= 0) {
+				byte[] headers = graph.formatHeaders(ordinal);
+				if (headers != null) {
+					return new ObjectLoader.SmallObject(Constants.OBJ_COMMIT,
+							headers);
+				}
+			}
+		}
+		return delegate.open(objectId, typeHint);
+	}
+
+	@Override
+	public long getObjectSize(AnyObjectId objectId, int typeHint)
+			throws MissingObjectException, IncorrectObjectTypeException,
+			IOException {
+		return delegate.getObjectSize(objectId, typeHint);
+	}
+
+	@Override
+	public Set<ObjectId> getShallowCommits() throws IOException {
+		return delegate.getShallowCommits();
+	}
+
+	@Override
+	public BitmapIndex getBitmapIndex() throws IOException {
+		return delegate.getBitmapIndex();
+	}
+
+	@Override
+	public void setAvoidUnreachableObjects(boolean avoid) {
+		delegate.setAvoidUnreachableObjects(avoid);
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jgit.attributes.AttributesNodeProvider;
+import org.eclipse.jgit.errors.NoWorkTreeException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.ReflogReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.FS;
+
+/**
+ * A {@link Repository} to construct a {@link RevWalk} on that parses commit
+ * headers from the {@link CommitGraph} of the wrapped repository, for walks
+ * like the {@link org.eclipse.jgit.revplot.PlotWalk PlotWalk} that can only be
+ * created on a repository, not on an {@link ObjectReader}. Everything but the
+ * object readers is forwarded to the wrapped repository.
+ * <p>
+ * Until {@link #useGraph()} has been called, and for commits not in the graph
+ * taken then, commits are read from the wrapped repository. The graph is only
+ * used while the walk set with {@link #setWalk(RevWalk)} neither retains
+ * commit bodies nor has a filter needing them, since the headers lack author,
+ * committer and message. Such a walk must not be used to parse commit
+ * bodies.
+ * </p>
+ */
+public final class CommitGraphRepository extends Repository {
+
+	private final Repository delegate;
+
+	private volatile CommitGraph graph;
+
+	private volatile RevWalk walk;
+
+	/**
+	 * Creates a new {@link CommitGraphRepository}.
+	 *
+	 * @param delegate
+	 *            to wrap
+	 */
+	public CommitGraphRepository(Repository delegate) {
+		super(new RepositoryBuilder());
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Keeps the graph of the wrapped repository as last updated, if it is
+	 * loaded, for the lifetime of this repository, and schedules an update of
+	 * the {@link CommitGraphCache} in the background. Does not wait for the
+	 * update, which may walk the whole history.
+	 *
+	 * @throws IOException
+	 *             if the shallow commits of the repository cannot be read
+	 */
+	public void useGraph() throws IOException {
+		CommitGraphCache cache = CommitGraphCache.get(delegate);
+		graph = cache.getGraph(delegate);
+		cache.scheduleUpdate(delegate);
+	}
+
+	/**
+	 * Sets the walk whose settings determine whether commit headers may be
+	 * taken from the graph.
+	 *
+	 * @param walk
+	 *            created on this repository
+	 */
+	public void setWalk(RevWalk walk) {
+		this.walk = walk;
+	}
+
+	CommitGraph getGraphForHeaders() {
+		RevWalk current = walk;
+		if (current == null || current.isRetainBody()
+				|| current.getRevFilter().requiresCommitBody()) {
+			return null;
+		}
+		return graph;
+	}
+
+	@Override
+	public ObjectReader newObjectReader() {
+		return new CommitGraphReader(delegate.newObjectReader(), this);
+	}
+
+	@Override
+	protected void doClose() {
+		// The wrapped repository is not ours to close
+	}
+
+	@Override
+	public String toString() {
+		return '[' + getClass().getSimpleName() + ':' + delegate.toString()
+				+ ']';
+	}
+
+	// Forward everything else to the delegate
+
+	@Override
+	public void create(boolean bare) throws IOException {
+		delegate.create(bare);
+	}
+
+	@Override
+	public File getDirectory() {
+		return delegate.getDirectory();
+	}
+
+	@Override
+	public String getIdentifier() {
+		return delegate.getIdentifier();
+	}
+
+	@Override
+	public ObjectDatabase getObjectDatabase() {
+		return delegate.getObjectDatabase();
+	}
+
+	@Override
+	public ObjectInserter newObjectInserter() {
+		return delegate.newObjectInserter();
+	}
+
+	@Override
+	public RefDatabase getRefDatabase() {
+		return delegate.getRefDatabase();
+	}
+
+	@Override
+	public StoredConfig getConfig() {
+		return delegate.getConfig();
+	}
+
+	@Override
+	public AttributesNodeProvider createAttributesNodeProvider() {
+		return delegate.createAttributesNodeProvider();
+	}
+
+	@Override
+	public FS getFS() {
+		return delegate.getFS();
+	}
+
+	@Override
+	public Set<ObjectId> getAdditionalHaves() {
+		return delegate.getAdditionalHaves();
+	}
+
+	@Override
+	public Map<AnyObjectId, Set<Ref>> getAllRefsByPeeledObjectId() {
+		return delegate.getAllRefsByPeeledObjectId();
+	}
+
+	@Override
+	public boolean isBare() {
+		return delegate.isBare();
+	}
+
+	@Override
+	public File getWorkTree() throws NoWorkTreeException {
+		return delegate.getWorkTree();
+	}
+
+	@Override
+	public File getIndexFile() throws NoWorkTreeException {
+		return delegate.getIndexFile();
+	}
+
+	@Override
+	public void scanForRepoChanges() throws IOException {
+		delegate.scanForRepoChanges();
+	}
+
+	@Override
+	public void notifyIndexChanged(boolean internal) {
+		delegate.notifyIndexChanged(internal);
+	}
+
+	@Override
+	public ReflogReader getReflogReader(String refName) throws IOException {
+		return delegate.getReflogReader(refName);
+	}
+}
@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+
+/**
+ * Lane layout of a commit history kept in parallel {@code int} arrays, as a
+ * compact alternative to a {@code PlotCommitList} for huge histories. A
+ * {@code PlotCommitList} keeps lane objects, arrays of passing, forking and
+ * merging lanes and an array of children in every commit; here a row costs a
+ * handful of {@code int}s.
+ * <p>
+ * Commits must be added children first, as a topologically sorted walk
+ * returns them. Every edge from a child to a parent gets a lane of its own,
+ * from the child's row down to the parent's row, where all edges to the
+ * parent converge into its dot. The first parent continues in the lane of
+ * the commit. Lanes are identified by their position, starting at zero.
+ * </p>
+ * <p>
+ * Rows are only appended, and the data of a row never changes once it has
+ * been added. One thread may add commits while others read rows below
+ * {@link #size()}.
+ * </p>
+ */
+public final class CompactCommitGraph {
+
+	/** Flag of a row whose commit has refs. */
+	public static final int FLAG_REFS = 1;
+
+	/** Flag of a row whose commit is a boundary commit. */
+	public static final int FLAG_BOUNDARY = 1 << 1;
+
+	private static final int MASK_LANES = 31;
+
+	/**
+	 * Growable {@code int} array. The array is replaced, never modified in
+	 * place below the size, and published through a volatile field, so
+	 * readers always see complete values.
+	 */
+	private static final class Ints {
+
+		private volatile int[] data;
+
+		private int size;
+
+		Ints(int capacity) {
+			data = new int[capacity];
+		}
+
+		void add(int value) {
+			int[] current = data;
+			if (size == current.length) {
+				current = Arrays.copyOf(current, size + (size >> 1) + 16);
+				current[size++] = value;
+				data = current;
+			} else {
+				current[size++] = value;
+				data = current;
+			}
+		}
+
+		int get(int index) {
+			return data[index];
+		}
+
+		int size() {
+			return size;
+		}
+
+		long bytes() {
+			return 4L * data.length;
+		}
+	}
+
+	private final Ints lanes;
+
+	private final Ints flags;
+
+	/**
+	 * Per row a bit mask of its passing lanes if all of them are less than
+	 * {@link #MASK_LANES}, otherwise {@code -1 - offset} of the number of
+	 * passing lanes in {@link #passingLanes}, followed by the lanes.
+	 */
+	private final Ints passing;
+
+	private final Ints passingLanes;
+
+	/** Per row the start of its incoming edges; one more entry than rows. */
+	private final Ints incomingStart;
+
+	private final Ints incomingLanes;
+
+	/** Row of the child of each incoming edge. */
+	private final Ints childRows;
+
+	/** Per row the start of its outgoing edges; one more entry than rows. */
+	private final Ints outgoingStart;
+
+	private final Ints outgoingLanes;
+
+	private volatile int size;
+
+	private volatile int width;
+
+	// Layout state, only used by the thread adding commits
+
+	private RevCommit[] laneTargets = new RevCommit[16];
+
+	private int[] laneChildren = new int[16];
+
+	private final BitSet occupied = new BitSet();
+
+	/**
+	 * Creates an empty graph.
+	 */
+	public CompactCommitGraph() {
+		this(256);
+	}
+
+	/**
+	 * Creates an empty graph.
+	 *
+	 * @param expectedRows
+	 *            number of rows to allocate space for up front
+	 */
+	public CompactCommitGraph(int expectedRows) {
+		int capacity = Math.max(16, expectedRows);
+		lanes = new Ints(capacity);
+		flags = new Ints(capacity);
+		passing = new Ints(capacity);
+		passingLanes = new Ints(16);
+		incomingStart = new Ints(capacity + 1);
+		incomingLanes = new Ints(capacity);
+		childRows = new Ints(capacity);
+		outgoingStart = new Ints(capacity + 1);
+		outgoingLanes = new Ints(capacity);
+		incomingStart.add(0);
+		outgoingStart.add(0);
+	}
+
+	/**
+	 * Adds the next commit as a new row at the bottom.
+	 *
+	 * @param commit
+	 *            to add; all of its children in the graph must have been
+	 *            added before
+	 * @param rowFlags
+	 *            flags of the row, like {@link #FLAG_REFS};
+	 *            {@link #FLAG_BOUNDARY} is determined from the commit
+	 * @return the row of the commit
+	 */
+	public int add(@NonNull RevCommit commit, int rowFlags) {
+		int row = size;
+		// Edges from children converge into the dot of this commit
+		int lane = -1;
+		int incomingFrom = incomingLanes.size();
+		for (int l = occupied.nextSetBit(0); l >= 0; l = occupied
+				.nextSetBit(l + 1)) {
+			if (laneTargets[l] == commit) {
+				incomingLanes.add(l);
+				childRows.add(laneChildren[l]);
+				if (lane < 0) {
+					lane = l;
+				}
+			}
+		}
+		for (int i = incomingFrom; i < incomingLanes.size(); i++) {
+			release(incomingLanes.get(i));
+		}
+		if (lane < 0) {
+			lane = occupied.nextClearBit(0);
+		}
+		int maxLane = Math.max(lane, occupied.length() - 1);
+		if (maxLane < MASK_LANES) {
+			int mask = 0;
+			for (int l = occupied.nextSetBit(0); l >= 0; l = occupied
+					.nextSetBit(l + 1)) {
+				mask |= 1 << l;
+			}
+			passing.add(mask);
+		} else {
+			passing.add(-1 - passingLanes.size());
+			passingLanes.add(occupied.cardinality());
+			for (int l = occupied.nextSetBit(0); l >= 0; l = occupied
+					.nextSetBit(l + 1)) {
+				passingLanes.add(l);
+			}
+		}
+		boolean boundary = commit.has(RevFlag.UNINTERESTING);
+		if (!boundary) {
+			for (int i = 0; i < commit.getParentCount(); i++) {
+				int out = i == 0 ? lane : occupied.nextClearBit(0);
+				occupy(out, commit.getParent(i), row);
+				outgoingLanes.add(out);
+				maxLane = Math.max(maxLane, out);
+			}
+		}
+		lanes.add(lane);
+		flags.add(boundary ? rowFlags | FLAG_BOUNDARY : rowFlags);
+		incomingStart.add(incomingLanes.size());
+		outgoingStart.add(outgoingLanes.size());
+		if (maxLane >= width) {
+			width = maxLane + 1;
+		}
+		size = row + 1;
+		return row;
+	}
+
+	private void occupy(int lane, RevCommit target, int child) {
+		if (lane >= laneTargets.length) {
+			int length = Math.max(lane + 1, laneTargets.length * 2);
+			laneTargets = Arrays.copyOf(laneTargets, length);
+			laneChildren = Arrays.copyOf(laneChildren, length);
+		}
+		laneTargets[lane] = target;
+		laneChildren[lane] = child;
+		occupied.set(lane);
+	}
+
+	private void release(int lane) {
+		laneTargets[lane] = null;
+		occupied.clear(lane);
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of lanes needed to draw all rows
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @param row
+	 *            to get the lane of
+	 * @return the lane of the commit's dot
+	 */
+	public int getLane(int row) {
+		return lanes.get(checkRow(row));
+	}
+
+	/**
+	 * @param row
+	 *            to get the flags of
+	 * @return the flags of the row
+	 */
+	public int getFlags(int row) {
+		return flags.get(checkRow(row));
+	}
+
+	/**
+	 * @param row
+	 *            to get the number of passing lanes of
+	 * @return the number of lanes passing the row from top to bottom
+	 */
+	public int getPassingCount(int row) {
+		int mask = passing.get(checkRow(row));
+		if (mask >= 0) {
+			return Integer.bitCount(mask);
+		}
+		return passingLanes.get(-1 - mask);
+	}
+
+	/**
+	 * @param row
+	 *            of the lane
+	 * @param index
+	 *            of the lane, less than {@link #getPassingCount(int)}
+	 * @return the lane
+	 */
+	public int getPassingLane(int row, int index) {
+		int mask = passing.get(checkRow(row));
+		if (mask < 0) {
+			return passingLanes.get(-1 - mask + 1 + index);
+		}
+		for (int i = 0; i < index; i++) {
+			mask &= mask - 1;
+		}
+		if (mask == 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return Integer.numberOfTrailingZeros(mask);
+	}
+
+	/**
+	 * @param row
+	 *            to get the number of incoming edges of
+	 * @return the number of edges from children converging into the dot,
+	 *         which equals the number of children
+	 */
+	public int getIncomingCount(int row) {
+		checkRow(row);
+		return incomingStart.get(row + 1) - incomingStart.get(row);
+	}
+
+	/**
+	 * @param row
+	 *            of the edge
+	 * @param index
+	 *            of the edge, less than {@link #getIncomingCount(int)}
+	 * @return the lane the edge comes in from the top of the row
+	 */
+	public int getIncomingLane(int row, int index) {
+		return incomingLanes.get(incomingStart.get(checkRow(row)) + index);
+	}
+
+	/**
+	 * @param row
+	 *            of the edge
+	 * @param index
+	 *            of the edge, less than {@link #getIncomingCount(int)}
+	 * @return the row of the child the edge comes from
+	 */
+	public int getChildRow(int row, int index) {
+		return childRows.get(incomingStart.get(checkRow(row)) + index);
+	}
+
+	/**
+	 * @param row
+	 *            to get the number of outgoing edges of
+	 * @return the number of edges to parents leaving the dot
+	 */
+	public int getOutgoingCount(int row) {
+		checkRow(row);
+		return outgoingStart.get(row + 1) - outgoingStart.get(row);
+	}
+
+	/**
+	 * @param row
+	 *            of the edge
+	 * @param index
+	 *            of the edge, less than {@link #getOutgoingCount(int)}
+	 * @return the lane the edge leaves the bottom of the row in
+	 */
+	public int getOutgoingLane(int row, int index) {
+		return outgoingLanes.get(outgoingStart.get(checkRow(row)) + index);
+	}
+
+	/**
+	 * @return the number of bytes allocated for the rows
+	 */
+	public long getAllocatedBytes() {
+		return lanes.bytes() + flags.bytes() + passing.bytes()
+				+ passingLanes.bytes() + incomingStart.bytes()
+				+ incomingLanes.bytes() + childRows.bytes()
+				+ outgoingStart.bytes() + outgoingLanes.bytes();
+	}
+
+	private int checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException(Integer.toString(row));
+		}
+		return row;
+	}
+}
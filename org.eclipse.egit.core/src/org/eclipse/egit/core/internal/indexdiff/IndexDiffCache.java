@@ -15,6 +15,7 @@
 
 import java.io.File;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -269,6 +270,19 @@ private void notifyListeners(Repository repository,
 		}
 	}
 
+	/**
+	 * Sets the repositories the user is currently looking at. Index diff
+	 * calculations for these repositories are started before those of other
+	 * repositories.
+	 *
+	 * @param gitDirs
+	 *            of the repositories to prefer; replaces any previously set
+	 *            ones
+	 */
+	public void setPreferredRepositories(@NonNull Collection<File> gitDirs) {
+		IndexDiffScheduler.INSTANCE.setPreferred(gitDirs);
+	}
+
 	/**
 	 * Used by {@link Activator}
 	 */
@@ -282,6 +296,7 @@ public void dispose() {
 			}
 		}
 		for (IndexDiffCacheEntry entry : entries.values()) {
+			entry.persist();
 			entry.dispose();
 		}
 		Job.getJobManager().cancel(JobFamilies.INDEX_DIFF_CACHE_UPDATE);
@@ -302,8 +317,15 @@ public void remove(@NonNull File gitDir) {
 		synchronized (entries) {
 			IndexDiffCacheEntry cachedEntry = entries.remove(gitDir);
 			if (cachedEntry != null) {
+				if (gitDir.exists()) {
+					cachedEntry.persist();
+				}
 				cachedEntry.dispose();
 			}
+			if (!gitDir.exists()) {
+				IndexDiffSnapshot.delete(gitDir);
+				IndexDiffScheduler.INSTANCE.forget(gitDir);
+			}
 		}
 	}
 
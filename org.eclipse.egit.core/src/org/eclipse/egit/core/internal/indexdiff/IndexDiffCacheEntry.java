@@ -26,7 +26,6 @@
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.resources.IProject;
@@ -91,6 +90,19 @@ public class IndexDiffCacheEntry {
 
 	private volatile IndexDiffData indexDiffData;
 
+	/** The repository state {@link #indexDiffData} was computed for. */
+	private IndexDiffSnapshot.Key indexDiffKey;
+
+	private volatile boolean snapshotDirty;
+
+	/**
+	 * Whether the persisted snapshot still has to be loaded; done by the
+	 * reload job rather than the constructor, which may run in the UI thread.
+	 */
+	private volatile boolean snapshotPending;
+
+	private final Job saveJob;
+
 	private Job reloadJob;
 
 	private volatile boolean reloadJobIsInitializing;
@@ -137,7 +149,7 @@ public void onRefsChanged(RefsChangedEvent event) {
 
 	private IResourceChangeListener resourceChangeListener;
 
-	private static Semaphore parallelism = new Semaphore(2);
+	private static final long SNAPSHOT_SAVE_DELAY = 10000;
 
 	/**
 	 * @param repository
@@ -149,9 +161,11 @@ public IndexDiffCacheEntry(Repository repository,
 		this.repositoryGitDir = repository.getDirectory();
 		this.repositoryName = Activator.getDefault().getRepositoryUtil()
 				.getRepositoryName(repository);
+		this.saveJob = createSaveJob();
 		if (listener != null) {
 			addIndexDiffChangedListener(listener);
 		}
+		snapshotPending = !repository.isBare();
 
 		listenerHandles.add(repository.getListenerList()
 				.addIndexChangedListener(indexChangedListener));
@@ -400,6 +414,13 @@ protected void scheduleReloadJob(final String trigger) {
 		reloadJob = new Job(getReloadJobName()) {
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
+				if (snapshotPending) {
+					snapshotPending = false;
+					Repository repository = getRepository();
+					if (repository != null) {
+						loadSnapshot(repository);
+					}
+				}
 				try {
 					reloadJobIsInitializing = true;
 					waitForWorkspaceLock(monitor);
@@ -407,22 +428,31 @@ protected IStatus run(IProgressMonitor monitor) {
 					reloadJobIsInitializing = false;
 				}
 				lock.lock();
+				IndexDiffScheduler.Permit permit = null;
 				try {
 					if (monitor.isCanceled()) {
 						return Status.CANCEL_STATUS;
 					}
-					parallelism.acquire();
+					permit = IndexDiffScheduler.INSTANCE
+							.acquire(repositoryGitDir, true, monitor);
+					if (permit == null) {
+						return Status.CANCEL_STATUS;
+					}
 					long startTime = System.currentTimeMillis();
 					Repository repository = getRepository();
 					if (repository == null) {
 						return Status.CANCEL_STATUS;
 					}
+					IndexDiffSnapshot.Key key = IndexDiffSnapshot
+							.currentKey(repository);
 					IndexDiffData result = calcIndexDiffDataFull(monitor,
 							getName(), repository);
 					if (monitor.isCanceled() || (result == null)) {
 						return Status.CANCEL_STATUS;
 					}
 					indexDiffData = result;
+					indexDiffKey = key;
+					scheduleSave();
 					if (GitTraceLocation.INDEXDIFFCACHE.isActive()) {
 						long time = System.currentTimeMillis() - startTime;
 						StringBuilder message = new StringBuilder(
@@ -445,8 +475,10 @@ protected IStatus run(IProgressMonitor monitor) {
 				} catch (InterruptedException e) {
 					return Status.CANCEL_STATUS;
 				} finally {
+					if (permit != null) {
+						IndexDiffScheduler.INSTANCE.release(permit);
+					}
 					lock.unlock();
-					parallelism.release();
 				}
 			}
 
@@ -546,18 +578,28 @@ protected IStatus updateIndexDiff(Collection<String> files,
 					return Status.CANCEL_STATUS;
 				}
 				lock.lock();
+				IndexDiffScheduler.Permit permit = null;
 				try {
+					permit = IndexDiffScheduler.INSTANCE
+							.acquire(repositoryGitDir, false, monitor);
+					if (permit == null) {
+						return Status.CANCEL_STATUS;
+					}
 					long startTime = System.currentTimeMillis();
 					Repository repository = getRepository();
 					if (repository == null) {
 						return Status.CANCEL_STATUS;
 					}
+					IndexDiffSnapshot.Key key = IndexDiffSnapshot
+							.currentKey(repository);
 					IndexDiffData result = calcIndexDiffDataIncremental(monitor,
 							getName(), repository, files, resources);
 					if (monitor.isCanceled() || (result == null)) {
 						return Status.CANCEL_STATUS;
 					}
 					indexDiffData = result;
+					indexDiffKey = key;
+					scheduleSave();
 					if (GitTraceLocation.INDEXDIFFCACHE.isActive()) {
 						long time = System.currentTimeMillis() - startTime;
 						StringBuilder message = new StringBuilder(
@@ -579,7 +621,12 @@ protected IStatus updateIndexDiff(Collection<String> files,
 								"Calculating IndexDiff failed", e); //$NON-NLS-1$
 					}
 					return Status.OK_STATUS;
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
 				} finally {
+					if (permit != null) {
+						IndexDiffScheduler.INSTANCE.release(permit);
+					}
 					lock.unlock();
 				}
 			}
@@ -664,6 +711,104 @@ private List<String> calcTreeFilterPaths(Collection<String> filesToUpdate) {
 		return paths;
 	}
 
+	/**
+	 * Publishes the persisted {@link IndexDiffData} of the repository if it
+	 * was computed for the current HEAD and index, and no diff has been
+	 * computed yet. Called by the reload job before it computes the full
+	 * diff, which is still needed since the working tree may have changed
+	 * while the workbench was not running.
+	 *
+	 * @param repository
+	 *            to load the snapshot of
+	 */
+	private void loadSnapshot(Repository repository) {
+		long startTime = System.currentTimeMillis();
+		IndexDiffSnapshot.Key key;
+		try {
+			key = IndexDiffSnapshot.currentKey(repository);
+		} catch (IOException e) {
+			return;
+		}
+		IndexDiffData snapshot = IndexDiffSnapshot.load(repositoryGitDir,
+				key);
+		if (snapshot == null) {
+			return;
+		}
+		lock.lock();
+		try {
+			if (indexDiffData != null) {
+				return;
+			}
+			indexDiffData = snapshot;
+			indexDiffKey = key;
+		} finally {
+			lock.unlock();
+		}
+		if (GitTraceLocation.INDEXDIFFCACHE.isActive()) {
+			long time = System.currentTimeMillis() - startTime;
+			GitTraceLocation.getTrace().trace(
+					GitTraceLocation.INDEXDIFFCACHE.getLocation(),
+					NLS.bind(
+							"\nLoaded IndexDiffData snapshot in {0} ms\nRepository: {1}\n", //$NON-NLS-1$
+							Long.valueOf(time), repositoryGitDir)
+							+ snapshot.toString());
+		}
+		notifyListeners(repository);
+	}
+
+	private Job createSaveJob() {
+		Job job = new Job(getReloadJobName()) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				persist();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		return job;
+	}
+
+	private void scheduleSave() {
+		snapshotDirty = true;
+		saveJob.schedule(SNAPSHOT_SAVE_DELAY);
+	}
+
+	/**
+	 * Writes the current {@link IndexDiffData} to disk if it changed since it
+	 * was last written. Does nothing while a calculation is running; that one
+	 * schedules another save when done.
+	 */
+	void persist() {
+		if (!snapshotDirty || !lock.tryLock()) {
+			return;
+		}
+		IndexDiffData data;
+		IndexDiffSnapshot.Key key;
+		try {
+			data = indexDiffData;
+			key = indexDiffKey;
+			snapshotDirty = false;
+		} finally {
+			lock.unlock();
+		}
+		if (data == null || key == null) {
+			return;
+		}
+		try {
+			IndexDiffSnapshot.save(repositoryGitDir, key, data);
+		} catch (IOException e) {
+			if (GitTraceLocation.INDEXDIFFCACHE.isActive()) {
+				GitTraceLocation.getTrace().trace(
+						GitTraceLocation.INDEXDIFFCACHE.getLocation(),
+						"Saving IndexDiffData snapshot failed", e); //$NON-NLS-1$
+			}
+		}
+	}
+
 	private void notifyListeners(Repository repository) {
 		for (IndexDiffChangedListener listener : listeners) {
 			SafeRunnable.run(
@@ -802,6 +947,8 @@ public void dispose() {
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeListener);
 		}
 		listeners.clear();
+		saveJob.cancel();
+		snapshotDirty = false;
 		if (reloadJob != null) {
 			reloadJob.cancel();
 			reloadJob = null;
@@ -10,9 +10,15 @@
  *******************************************************************************/
 package org.eclipse.egit.core.internal.indexdiff;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
@@ -23,10 +29,63 @@
 /**
  * This immutable class is used to store the data of an {@link IndexDiff}
  * object.
- *
+ * <p>
+ * The path sets are {@link PathSet}s, so deriving an instance for a few
+ * changed files shares almost all of its data with the base instance instead
+ * of copying every set.
+ * </p>
+ * <p>
+ * For every folder with changes below it, the kinds of these changes are
+ * rolled up into a bit mask available through {@link #getFolderState(String)}
+ * in constant time. The masks are computed once per instance when first
+ * asked for, or derived from those of the base instance for the changed files
+ * only.
+ * </p>
  */
 public class IndexDiffData {
 
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file below the folder is
+	 * modified, missing or untracked.
+	 */
+	public static final int FOLDER_DIRTY = 1;
+
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file below the folder is
+	 * added, changed or removed in the index.
+	 */
+	public static final int FOLDER_STAGED = 1 << 1;
+
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file below the folder has
+	 * conflicts.
+	 */
+	public static final int FOLDER_CONFLICTS = 1 << 2;
+
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file below the folder is
+	 * untracked.
+	 */
+	public static final int FOLDER_UNTRACKED = 1 << 3;
+
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file or folder below the
+	 * folder is ignored.
+	 */
+	public static final int FOLDER_IGNORED = 1 << 4;
+
+	/**
+	 * Bit of {@link #getFolderState(String)}: a file below the folder is
+	 * modified; implies {@link #FOLDER_DIRTY}.
+	 */
+	public static final int FOLDER_MODIFIED = 1 << 5;
+
+	/** Bits contributed by the sets of {@link #getRollupSets()}. */
+	private static final int[] ROLLUP_BITS = { FOLDER_STAGED, FOLDER_STAGED,
+			FOLDER_STAGED, FOLDER_DIRTY | FOLDER_MODIFIED, FOLDER_DIRTY,
+			FOLDER_DIRTY | FOLDER_UNTRACKED, FOLDER_CONFLICTS,
+			FOLDER_IGNORED };
+
 	private static final String NEW_LINE = "\n"; //$NON-NLS-1$
 
 	private final Set<String> added;
@@ -55,53 +114,110 @@ public class IndexDiffData {
 
 	private final Collection<IResource> changedResources;
 
+	/**
+	 * The instance this one was merged from, if it was created incrementally;
+	 * only weakly referenced so that instances do not keep all their
+	 * predecessors alive.
+	 */
+	private final WeakReference<IndexDiffData> base;
+
+	/** The files and folders updated when merging from {@link #base}. */
+	private final Collection<String> changedFiles;
+
+	/**
+	 * Non-zero rollup bits per folder path ending with a slash, the root
+	 * being the empty string; {@code null} until needed.
+	 */
+	private volatile Map<String, Integer> folderStates;
+
 	/**
 	 * Empty, immutable data
 	 */
 	public IndexDiffData() {
-		added = Collections.emptySet();
-		assumeUnchanged = Collections.emptySet();
-		changed = Collections.emptySet();
-		removed = Collections.emptySet();
-		missing = Collections.emptySet();
-		modified = Collections.emptySet();
-		untracked = Collections.emptySet();
-		untrackedFolders = Collections.emptySet();
-		conflicts = Collections.emptySet();
-		ignored = Collections.emptySet();
-		symlinks = Collections.emptySet();
-		submodules = Collections.emptySet();
+		added = PathSet.EMPTY;
+		assumeUnchanged = PathSet.EMPTY;
+		changed = PathSet.EMPTY;
+		removed = PathSet.EMPTY;
+		missing = PathSet.EMPTY;
+		modified = PathSet.EMPTY;
+		untracked = PathSet.EMPTY;
+		untrackedFolders = PathSet.EMPTY;
+		conflicts = PathSet.EMPTY;
+		ignored = PathSet.EMPTY;
+		symlinks = PathSet.EMPTY;
+		submodules = PathSet.EMPTY;
 		changedResources = Collections.emptySet();
+		base = null;
+		changedFiles = Collections.emptySet();
 	}
 
 	/**
 	 * @param indexDiff
 	 */
 	public IndexDiffData(IndexDiff indexDiff) {
-		added = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getAdded()));
-		assumeUnchanged = Collections.unmodifiableSet(
-				new HashSet<>(indexDiff.getAssumeUnchanged()));
-		changed = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getChanged()));
-		removed = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getRemoved()));
-		missing = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getMissing()));
-		modified = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getModified()));
-		untracked = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getUntracked()));
-		untrackedFolders = Collections.unmodifiableSet(getUntrackedFolders(indexDiff));
-		conflicts = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getConflicting()));
-		ignored = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getIgnoredNotInIndex()));
-		symlinks = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getPathsWithIndexMode(FileMode.SYMLINK)));
-		submodules = Collections.unmodifiableSet(new HashSet<>(indexDiff
-				.getPathsWithIndexMode(FileMode.GITLINK)));
+		added = PathSet.of(indexDiff.getAdded());
+		assumeUnchanged = PathSet.of(indexDiff.getAssumeUnchanged());
+		changed = PathSet.of(indexDiff.getChanged());
+		removed = PathSet.of(indexDiff.getRemoved());
+		missing = PathSet.of(indexDiff.getMissing());
+		modified = PathSet.of(indexDiff.getModified());
+		untracked = PathSet.of(indexDiff.getUntracked());
+		untrackedFolders = PathSet.of(getUntrackedFolders(indexDiff));
+		conflicts = PathSet.of(indexDiff.getConflicting());
+		ignored = PathSet.of(indexDiff.getIgnoredNotInIndex());
+		symlinks = PathSet.of(
+				indexDiff.getPathsWithIndexMode(FileMode.SYMLINK));
+		submodules = PathSet.of(
+				indexDiff.getPathsWithIndexMode(FileMode.GITLINK));
 		changedResources = Collections.emptySet();
+		base = null;
+		changedFiles = Collections.emptySet();
+	}
+
+	private IndexDiffData(List<Set<String>> sets) {
+		int i = 0;
+		added = PathSet.of(sets.get(i++));
+		assumeUnchanged = PathSet.of(sets.get(i++));
+		changed = PathSet.of(sets.get(i++));
+		removed = PathSet.of(sets.get(i++));
+		missing = PathSet.of(sets.get(i++));
+		modified = PathSet.of(sets.get(i++));
+		untracked = PathSet.of(sets.get(i++));
+		untrackedFolders = PathSet.of(sets.get(i++));
+		conflicts = PathSet.of(sets.get(i++));
+		ignored = PathSet.of(sets.get(i++));
+		symlinks = PathSet.of(sets.get(i++));
+		submodules = PathSet.of(sets.get(i++));
+		changedResources = Collections.emptySet();
+		base = null;
+		changedFiles = Collections.emptySet();
+	}
+
+	/**
+	 * Recreates an instance from the sets returned by {@link #getPathSets()}.
+	 *
+	 * @param sets
+	 *            in the order of {@link #getPathSets()}
+	 * @return the new instance
+	 * @throws IllegalArgumentException
+	 *             if the number of sets does not match
+	 */
+	static IndexDiffData fromPathSets(List<Set<String>> sets) {
+		if (sets.size() != 12) {
+			throw new IllegalArgumentException(
+					"Expected 12 path sets, got " + sets.size()); //$NON-NLS-1$
+		}
+		return new IndexDiffData(sets);
+	}
+
+	/**
+	 * @return all path sets of this instance in a fixed order, for
+	 *         persisting them
+	 */
+	List<Set<String>> getPathSets() {
+		return Arrays.asList(added, assumeUnchanged, changed, removed, missing,
+				modified, untracked, untrackedFolders, conflicts, ignored,
+				symlinks, submodules);
 	}
 
 	private Set<String> getUntrackedFolders(IndexDiff indexDiff) {
@@ -114,7 +230,8 @@ private Set<String> getUntrackedFolders(IndexDiff indexDiff) {
 	/**
 	 * This constructor merges the existing IndexDiffData object baseDiff with a
 	 * new IndexDiffData object that was calculated for a subset of files
-	 * (changedFiles).
+	 * (changedFiles). Only the entries for the changed files are touched; the
+	 * rest is shared with baseDiff.
 	 *
 	 * @param baseDiff
 	 * @param changedFiles
@@ -128,84 +245,190 @@ public IndexDiffData(IndexDiffData baseDiff,
 			IndexDiff diffForChangedFiles) {
 		this.changedResources = Collections
 				.unmodifiableCollection(new HashSet<>(changedResources));
-		Set<String> added2 = new HashSet<>(baseDiff.getAdded());
-		Set<String> assumeUnchanged2 = new HashSet<>(
-				baseDiff.getAssumeUnchanged());
-		Set<String> changed2 = new HashSet<>(baseDiff.getChanged());
-		Set<String> removed2 = new HashSet<>(baseDiff.getRemoved());
-		Set<String> missing2 = new HashSet<>(baseDiff.getMissing());
-		Set<String> modified2 = new HashSet<>(baseDiff.getModified());
-		Set<String> untracked2 = new HashSet<>(baseDiff.getUntracked());
-		Set<String> conflicts2 = new HashSet<>(baseDiff.getConflicting());
-		Set<String> symlinks2 = new HashSet<>(baseDiff.getSymlinks());
-		Set<String> submodules2 = new HashSet<>(baseDiff.getSubmodules());
-
-		mergeList(added2, changedFiles, diffForChangedFiles.getAdded());
-		mergeList(assumeUnchanged2, changedFiles,
+		this.base = new WeakReference<>(baseDiff);
+		this.changedFiles = Collections
+				.unmodifiableCollection(new ArrayList<>(changedFiles));
+		added = mergeList(baseDiff.added, changedFiles,
+				diffForChangedFiles.getAdded());
+		assumeUnchanged = mergeList(baseDiff.assumeUnchanged, changedFiles,
 				diffForChangedFiles.getAssumeUnchanged());
-		mergeList(changed2, changedFiles, diffForChangedFiles.getChanged());
-		mergeList(removed2, changedFiles, diffForChangedFiles.getRemoved());
-		mergeList(missing2, changedFiles, diffForChangedFiles.getMissing());
-		mergeList(modified2, changedFiles, diffForChangedFiles.getModified());
-		mergeList(untracked2, changedFiles, diffForChangedFiles.getUntracked());
-		mergeList(symlinks2, changedFiles,
+		changed = mergeList(baseDiff.changed, changedFiles,
+				diffForChangedFiles.getChanged());
+		removed = mergeList(baseDiff.removed, changedFiles,
+				diffForChangedFiles.getRemoved());
+		missing = mergeList(baseDiff.missing, changedFiles,
+				diffForChangedFiles.getMissing());
+		modified = mergeList(baseDiff.modified, changedFiles,
+				diffForChangedFiles.getModified());
+		untracked = mergeList(baseDiff.untracked, changedFiles,
+				diffForChangedFiles.getUntracked());
+		symlinks = mergeList(baseDiff.symlinks, changedFiles,
 				diffForChangedFiles.getPathsWithIndexMode(FileMode.SYMLINK));
-		mergeList(submodules2, changedFiles,
+		submodules = mergeList(baseDiff.submodules, changedFiles,
 				diffForChangedFiles.getPathsWithIndexMode(FileMode.GITLINK));
-		Set<String> untrackedFolders2 = mergeUntrackedFolders(
-				baseDiff.getUntrackedFolders(), changedFiles,
+		untrackedFolders = mergeUntrackedFolders(
+				PathSet.of(baseDiff.untrackedFolders), changedFiles,
 				getUntrackedFolders(diffForChangedFiles));
-		mergeList(conflicts2, changedFiles,
+		conflicts = mergeList(baseDiff.conflicts, changedFiles,
 				diffForChangedFiles.getConflicting());
-		Set<String> ignored2 = mergeIgnored(baseDiff.getIgnoredNotInIndex(), changedFiles,
-				diffForChangedFiles.getIgnoredNotInIndex());
-
-		added = Collections.unmodifiableSet(added2);
-		assumeUnchanged = Collections.unmodifiableSet(assumeUnchanged2);
-		changed = Collections.unmodifiableSet(changed2);
-		removed = Collections.unmodifiableSet(removed2);
-		missing = Collections.unmodifiableSet(missing2);
-		modified = Collections.unmodifiableSet(modified2);
-		untracked = Collections.unmodifiableSet(untracked2);
-		untrackedFolders = Collections.unmodifiableSet(untrackedFolders2);
-		conflicts = Collections.unmodifiableSet(conflicts2);
-		ignored = Collections.unmodifiableSet(ignored2);
-		symlinks = Collections.unmodifiableSet(symlinks2);
-		submodules = Collections.unmodifiableSet(submodules2);
-	}
-
-	private void mergeList(Set<String> baseList,
+		ignored = mergeIgnoredPaths(PathSet.of(baseDiff.ignored),
+				changedFiles, diffForChangedFiles.getIgnoredNotInIndex());
+		Map<String, Integer> baseStates = baseDiff.folderStates;
+		if (baseStates != null) {
+			folderStates = updateFolderStates(baseStates,
+					PathSet.of(baseDiff.ignored), changedFiles,
+					diffForChangedFiles.getIgnoredNotInIndex());
+		}
+	}
+
+	private static PathSet mergeList(Set<String> baseList,
 			Collection<String> changedFiles, Set<String> listForChangedFiles) {
+		PathSet merged = PathSet.of(baseList);
 		for (String file : changedFiles) {
-			if (baseList.contains(file)) {
-				if (!listForChangedFiles.contains(file))
-					baseList.remove(file);
+			if (listForChangedFiles.contains(file)) {
+				merged = merged.with(file);
 			} else {
-				if (listForChangedFiles.contains(file))
-					baseList.add(file);
+				merged = merged.without(file);
 			}
 		}
+		return merged;
 	}
 
-	private static Set<String> mergeUntrackedFolders(Set<String> oldUntrackedFolders,
+	private static PathSet mergeUntrackedFolders(PathSet oldUntrackedFolders,
 			Collection<String> changedFiles, Set<String> newUntrackedFolders) {
-		Set<String> merged = new HashSet<>();
-		for (String oldUntrackedFolder : oldUntrackedFolders) {
-			boolean changeInUntrackedFolder = isAnyFileContainedInFolder(
-					oldUntrackedFolder, changedFiles);
-			if (!changeInUntrackedFolder)
-				merged.add(oldUntrackedFolder);
+		PathSet merged = oldUntrackedFolders;
+		if (!merged.isEmpty()) {
+			// Drop every old folder that is a prefix of a changed file,
+			// i.e. the file itself if it is a folder and all its ancestors
+			for (String file : changedFiles) {
+				int slash = file.indexOf('/');
+				while (slash >= 0 && !merged.isEmpty()) {
+					merged = merged.without(file.substring(0, slash + 1));
+					slash = file.indexOf('/', slash + 1);
+				}
+			}
 		}
-		merged.addAll(newUntrackedFolders);
-		return merged;
+		return merged.withAll(newUntrackedFolders);
 	}
 
-	private static boolean isAnyFileContainedInFolder(String folder,
-			Collection<String> files) {
-		for (String file : files)
-			if (file.startsWith(folder))
-				return true;
-		return false;
+	/**
+	 * Determines what kinds of changes there are below a folder.
+	 *
+	 * @param folder
+	 *            repository-relative path of the folder ending with a slash;
+	 *            the empty string or a single slash for the root of the
+	 *            working tree
+	 * @return a combination of {@link #FOLDER_DIRTY}, {@link #FOLDER_STAGED},
+	 *         {@link #FOLDER_CONFLICTS}, {@link #FOLDER_UNTRACKED},
+	 *         {@link #FOLDER_IGNORED} and {@link #FOLDER_MODIFIED}; 0 if there
+	 *         are no changes below the folder
+	 */
+	public int getFolderState(String folder) {
+		Map<String, Integer> states = folderStates;
+		if (states == null) {
+			states = computeFolderStates();
+			folderStates = states;
+		}
+		Integer state = states.get("/".equals(folder) ? "" : folder); //$NON-NLS-1$ //$NON-NLS-2$
+		return state == null ? 0 : state.intValue();
+	}
+
+	/**
+	 * @return the sets contributing to the folder states, in the order of
+	 *         {@link #ROLLUP_BITS}
+	 */
+	private PathSet[] getRollupSets() {
+		return new PathSet[] { PathSet.of(added), PathSet.of(changed),
+				PathSet.of(removed), PathSet.of(modified), PathSet.of(missing),
+				PathSet.of(untracked), PathSet.of(conflicts),
+				PathSet.of(ignored) };
+	}
+
+	private Map<String, Integer> computeFolderStates() {
+		Map<String, Integer> states = new HashMap<>();
+		PathSet[] sets = getRollupSets();
+		for (int i = 0; i < sets.length; i++) {
+			for (String path : sets[i]) {
+				addToFolders(states, path, ROLLUP_BITS[i]);
+			}
+		}
+		return states;
+	}
+
+	/**
+	 * Adds bits to all folders containing a path, deepest first. A folder
+	 * having the bits already implies that its ancestors have them, too.
+	 */
+	private static void addToFolders(Map<String, Integer> states, String path,
+			int bits) {
+		int slash = path.lastIndexOf('/');
+		while (true) {
+			String folder = path.substring(0, slash + 1);
+			Integer old = states.get(folder);
+			int oldBits = old == null ? 0 : old.intValue();
+			if ((oldBits & bits) == bits) {
+				return;
+			}
+			states.put(folder, Integer.valueOf(oldBits | bits));
+			if (slash < 0) {
+				return;
+			}
+			slash = path.lastIndexOf('/', slash - 1);
+		}
+	}
+
+	/**
+	 * Derives the folder states from those of the base instance. Only the
+	 * folders containing a path added to or removed from a set can have
+	 * different states; they are recomputed by looking up the sorted sets.
+	 * The merged sets differ from the base sets only in the changed paths,
+	 * except for the ignored paths, where all paths starting with a changed
+	 * path are dropped and the new ones are added.
+	 */
+	private Map<String, Integer> updateFolderStates(
+			Map<String, Integer> baseStates, PathSet oldIgnored,
+			Collection<String> changedFiles, Set<String> newIgnoredPaths) {
+		Set<String> affected = new HashSet<>();
+		affected.add(""); //$NON-NLS-1$
+		for (String file : changedFiles) {
+			addFolders(affected, file);
+			for (String path : oldIgnored.startingWith(file)) {
+				addFolders(affected, path);
+			}
+		}
+		for (String path : newIgnoredPaths) {
+			addFolders(affected, path);
+		}
+		PathSet[] sets = getRollupSets();
+		Map<String, Integer> states = new HashMap<>(baseStates);
+		for (String folder : affected) {
+			int state = 0;
+			for (int i = 0; i < sets.length; i++) {
+				if (hasPathIn(sets[i], folder)) {
+					state |= ROLLUP_BITS[i];
+				}
+			}
+			if (state == 0) {
+				states.remove(folder);
+			} else {
+				states.put(folder, Integer.valueOf(state));
+			}
+		}
+		return states;
+	}
+
+	private static void addFolders(Set<String> folders, String path) {
+		for (int slash = path.indexOf('/'); slash >= 0; slash = path
+				.indexOf('/', slash + 1)) {
+			folders.add(path.substring(0, slash + 1));
+		}
+	}
+
+	private static boolean hasPathIn(PathSet set, String folder) {
+		if (folder.isEmpty()) {
+			return !set.isEmpty();
+		}
+		return set.startingWith(folder).iterator().hasNext();
 	}
 
 	/**
@@ -218,15 +441,29 @@ private static boolean isAnyFileContainedInFolder(String folder,
 	 */
 	protected static Set<String> mergeIgnored(Set<String> oldIgnoredPaths,
 			Collection<String> changedPaths, Set<String> newIgnoredPaths) {
-		Set<String> merged = new HashSet<>();
-		for (String oldIgnoredPath : oldIgnoredPaths) {
-			boolean changed = isAnyPrefixOf(oldIgnoredPath, changedPaths);
-			if (!changed) {
-				merged.add(oldIgnoredPath);
+		return mergeIgnoredPaths(PathSet.of(oldIgnoredPaths), changedPaths,
+				newIgnoredPaths);
+	}
+
+	/**
+	 * Removes the old ignored paths for which
+	 * {@link #isAnyPrefixOf(String, Collection)} holds, looking them up in the
+	 * sorted set instead of testing every old path.
+	 */
+	private static PathSet mergeIgnoredPaths(PathSet oldIgnoredPaths,
+			Collection<String> changedPaths, Set<String> newIgnoredPaths) {
+		PathSet merged = oldIgnoredPaths;
+		for (String changedPath : changedPaths) {
+			if (merged.isEmpty()) {
+				break;
+			}
+			merged = merged.withoutPrefix(changedPath);
+			int length = changedPath.length();
+			if (length > 0 && changedPath.charAt(length - 1) == '/') {
+				merged = merged.without(changedPath.substring(0, length - 1));
 			}
 		}
-		merged.addAll(newIgnoredPaths);
-		return merged;
+		return merged.withAll(newIgnoredPaths);
 	}
 
 	/**
@@ -257,7 +494,7 @@ protected static boolean isAnyPrefixOf(String pathToCheck,
 	 */
 	@NonNull
 	public Set<String> getAdded() {
-		return Collections.unmodifiableSet(added);
+		return added;
 	}
 
 	/**
@@ -265,7 +502,7 @@ public Set<String> getAdded() {
 	 */
 	@NonNull
 	public Set<String> getAssumeUnchanged() {
-		return Collections.unmodifiableSet(assumeUnchanged);
+		return assumeUnchanged;
 	}
 
 	/**
@@ -372,6 +609,34 @@ public Collection<IResource> getChangedResources() {
 		return changedResources;
 	}
 
+	/**
+	 * Determines the paths whose state may differ between an earlier instance
+	 * and this one, if this one was merged from it in one or more incremental
+	 * updates.
+	 *
+	 * @param earlier
+	 *            instance of the same repository
+	 * @return repository-relative paths of the files and folders updated
+	 *         since, folders ending with a slash; {@code null} if they are not
+	 *         known, for instance because the data was reloaded completely
+	 *         meanwhile
+	 */
+	public Collection<String> getChangedPathsSince(IndexDiffData earlier) {
+		Set<String> paths = new HashSet<>();
+		IndexDiffData current = this;
+		while (current != earlier) {
+			IndexDiffData previous = current.base != null
+					? current.base.get()
+					: null;
+			if (previous == null) {
+				return null;
+			}
+			paths.addAll(current.changedFiles);
+			current = previous;
+		}
+		return paths;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.indexdiff;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.egit.core.internal.trace.GitTraceLocation;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.annotations.Nullable;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Limits how many index diffs are computed at the same time.
+ * <p>
+ * The limit starts at half the number of processors and adapts to how long
+ * the computations take: each repository keeps moving averages of its own
+ * full and incremental computation times. If a computation takes much longer
+ * than usual while others run concurrently, the disk is most likely the
+ * bottleneck and the limit is lowered. If computations take about as long as
+ * usual and others are waiting, the limit is raised again, up to the number
+ * of processors.
+ * </p>
+ * <p>
+ * Incremental computations, which follow the saves of the user, are started
+ * before full ones, and one of them may run beyond the limit, so that they
+ * never queue behind full reloads of other repositories. Among the waiting
+ * computations of the same kind, those for repositories set via
+ * {@link #setPreferred(Collection)}, typically those shown in visible editors
+ * or the staging view, are started first; otherwise they are started in the
+ * order they asked for a permit.
+ * </p>
+ */
+class IndexDiffScheduler {
+
+	/** The scheduler shared by all {@link IndexDiffCacheEntry}s. */
+	static final IndexDiffScheduler INSTANCE = new IndexDiffScheduler(
+			Runtime.getRuntime().availableProcessors());
+
+	/** Computations faster than this are ignored when adapting the limit. */
+	private static final long MIN_SIGNIFICANT_MILLIS = 50;
+
+	/** Slow-down against the average that indicates contention. */
+	private static final double CONTENTION_RATIO = 2.0;
+
+	/** Slow-down against the average that is still considered normal. */
+	private static final double NORMAL_RATIO = 1.25;
+
+	/** Weight of a new computation time in the moving average. */
+	private static final double AVERAGE_WEIGHT = 0.3;
+
+	private static final long POLL_MILLIS = 100;
+
+	/**
+	 * A permit to compute an index diff, to be given back through
+	 * {@link IndexDiffScheduler#release(Permit)}.
+	 */
+	static final class Permit {
+
+		final File gitDir;
+
+		final boolean full;
+
+		final long sequence;
+
+		long start;
+
+		int concurrency;
+
+		Permit(File gitDir, boolean full, long sequence) {
+			this.gitDir = gitDir;
+			this.full = full;
+			this.sequence = sequence;
+		}
+	}
+
+	private final int maxLimit;
+
+	private final List<Permit> waiting = new ArrayList<>();
+
+	private final Map<File, Double> fullMillis = new HashMap<>();
+
+	private final Map<File, Double> incrementalMillis = new HashMap<>();
+
+	private Set<File> preferred = Collections.emptySet();
+
+	private int limit;
+
+	private int running;
+
+	private int runningIncremental;
+
+	private long nextSequence;
+
+	/**
+	 * @param processors
+	 *            number of processors to size the limit from
+	 */
+	IndexDiffScheduler(int processors) {
+		this.maxLimit = Math.max(2, processors);
+		this.limit = Math.max(2, processors / 2);
+	}
+
+	/**
+	 * Waits until an index diff for the given repository may be computed.
+	 *
+	 * @param gitDir
+	 *            of the repository
+	 * @param full
+	 *            whether a full or an incremental index diff is computed
+	 * @param monitor
+	 *            checked for cancellation while waiting
+	 * @return the permit, or {@code null} if {@code monitor} was canceled
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	@Nullable
+	synchronized Permit acquire(@NonNull File gitDir, boolean full,
+			@NonNull IProgressMonitor monitor) throws InterruptedException {
+		Permit permit = new Permit(gitDir, full, nextSequence++);
+		waiting.add(permit);
+		trace(NLS.bind("IndexDiff queued for {0}; running: {1}, waiting: {2}, limit: {3}", //$NON-NLS-1$
+				new Object[] { gitDir, Integer.valueOf(running),
+						Integer.valueOf(waiting.size()),
+						Integer.valueOf(limit) }));
+		try {
+			while (!mayStart(permit)) {
+				if (monitor.isCanceled()) {
+					return null;
+				}
+				wait(POLL_MILLIS);
+			}
+		} finally {
+			if (waiting.remove(permit)) {
+				notifyAll();
+			}
+		}
+		running++;
+		if (!full) {
+			runningIncremental++;
+		}
+		permit.concurrency = running;
+		permit.start = System.currentTimeMillis();
+		return permit;
+	}
+
+	/**
+	 * Gives back a permit and adapts the limit to the time the computation
+	 * took.
+	 *
+	 * @param permit
+	 *            obtained from
+	 *            {@link #acquire(File, boolean, IProgressMonitor)}
+	 */
+	synchronized void release(@NonNull Permit permit) {
+		running--;
+		if (!permit.full) {
+			runningIncremental--;
+		}
+		long millis = System.currentTimeMillis() - permit.start;
+		adapt(permit, millis);
+		trace(NLS.bind("IndexDiff for {0} took {1} ms; running: {2}, waiting: {3}, limit: {4}", //$NON-NLS-1$
+				new Object[] { permit.gitDir, Long.valueOf(millis),
+						Integer.valueOf(running),
+						Integer.valueOf(waiting.size()),
+						Integer.valueOf(limit) }));
+		notifyAll();
+	}
+
+	/**
+	 * Sets the repositories whose index diffs are computed first.
+	 *
+	 * @param gitDirs
+	 *            of the preferred repositories
+	 */
+	synchronized void setPreferred(@NonNull Collection<File> gitDirs) {
+		preferred = new HashSet<>(gitDirs);
+		notifyAll();
+	}
+
+	/**
+	 * Forgets the statistics of a repository.
+	 *
+	 * @param gitDir
+	 *            of the repository
+	 */
+	synchronized void forget(@NonNull File gitDir) {
+		fullMillis.remove(gitDir);
+		incrementalMillis.remove(gitDir);
+	}
+
+	/**
+	 * @return the current number of index diffs that may run at the same time
+	 */
+	synchronized int getLimit() {
+		return limit;
+	}
+
+	private boolean mayStart(Permit permit) {
+		if (next() != permit) {
+			return false;
+		}
+		// One incremental computation may always run
+		return running < limit || (!permit.full && runningIncremental == 0);
+	}
+
+	private Permit next() {
+		Permit best = null;
+		for (Permit candidate : waiting) {
+			if (best == null || isBefore(candidate, best)) {
+				best = candidate;
+			}
+		}
+		return best;
+	}
+
+	private boolean isBefore(Permit a, Permit b) {
+		if (a.full != b.full) {
+			return !a.full;
+		}
+		boolean aPreferred = preferred.contains(a.gitDir);
+		if (aPreferred != preferred.contains(b.gitDir)) {
+			return aPreferred;
+		}
+		return a.sequence < b.sequence;
+	}
+
+	private void adapt(Permit permit, long millis) {
+		Map<File, Double> averageMillis = permit.full ? fullMillis
+				: incrementalMillis;
+		Double average = averageMillis.get(permit.gitDir);
+		if (average == null) {
+			averageMillis.put(permit.gitDir, Double.valueOf(millis));
+			return;
+		}
+		double avg = average.doubleValue();
+		averageMillis.put(permit.gitDir, Double.valueOf(
+				avg + AVERAGE_WEIGHT * (millis - avg)));
+		if (millis < MIN_SIGNIFICANT_MILLIS) {
+			return;
+		}
+		double ratio = millis / Math.max(avg, 1.0);
+		if (ratio > CONTENTION_RATIO && permit.concurrency > 1) {
+			limit = Math.max(1, limit - 1);
+		} else if (ratio < NORMAL_RATIO && !waiting.isEmpty()) {
+			limit = Math.min(maxLimit, limit + 1);
+		}
+	}
+
+	private static void trace(String message) {
+		if (GitTraceLocation.INDEXDIFFCACHE.isActive()) {
+			GitTraceLocation.getTrace().trace(
+					GitTraceLocation.INDEXDIFFCACHE.getLocation(), message);
+		}
+	}
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.indexdiff;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.egit.core.Activator;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.annotations.Nullable;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * Persists {@link IndexDiffData} in the plugin state location so that it can
+ * be shown right away on the next start, long before a full index diff of a
+ * large repository has been computed.
+ * <p>
+ * A snapshot is tagged with the id of HEAD and the checksum of the index it
+ * was computed for, see {@link Key}. It is only used again if both still
+ * match. The file format is a small header followed by the path sets, each
+ * path front-coded against its predecessor.
+ * </p>
+ */
+class IndexDiffSnapshot {
+
+	private static final int MAGIC = 0x45474944; // "EGID"
+
+	private static final int VERSION = 1;
+
+	private static final String FOLDER = "indexdiff"; //$NON-NLS-1$
+
+	private static final String SUFFIX = ".snapshot"; //$NON-NLS-1$
+
+	private IndexDiffSnapshot() {
+		// Utility class
+	}
+
+	/**
+	 * Identifies the repository state an {@link IndexDiffData} belongs to.
+	 */
+	static final class Key {
+
+		private final ObjectId head;
+
+		private final ObjectId index;
+
+		Key(@NonNull ObjectId head, @NonNull ObjectId index) {
+			this.head = head;
+			this.index = index;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return head.equals(other.head) && index.equals(other.index);
+		}
+
+		@Override
+		public int hashCode() {
+			return head.hashCode() * 31 + index.hashCode();
+		}
+	}
+
+	/**
+	 * Determines the current HEAD id and index checksum of a repository. This
+	 * reads only the last bytes of the index file.
+	 *
+	 * @param repository
+	 *            to get the key for
+	 * @return the key
+	 * @throws IOException
+	 *             if HEAD or the index cannot be read
+	 */
+	@NonNull
+	static Key currentKey(@NonNull Repository repository) throws IOException {
+		Ref head = repository.exactRef(Constants.HEAD);
+		ObjectId headId = head != null ? head.getObjectId() : null;
+		ObjectId indexId = ObjectId.zeroId();
+		File indexFile = repository.getIndexFile();
+		try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) { //$NON-NLS-1$
+			long length = file.length();
+			if (length >= Constants.OBJECT_ID_LENGTH) {
+				// The index ends with the SHA-1 of its content
+				byte[] checksum = new byte[Constants.OBJECT_ID_LENGTH];
+				file.seek(length - checksum.length);
+				file.readFully(checksum);
+				indexId = ObjectId.fromRaw(checksum);
+			}
+		} catch (FileNotFoundException e) {
+			// No index yet
+		}
+		return new Key(headId != null ? headId.copy() : ObjectId.zeroId(),
+				indexId);
+	}
+
+	/**
+	 * Loads the snapshot of a repository if it was written for the given key.
+	 *
+	 * @param gitDir
+	 *            of the repository
+	 * @param key
+	 *            the current key of the repository
+	 * @return the persisted data, or {@code null} if there is none or it
+	 *         belongs to a different key
+	 */
+	@Nullable
+	static IndexDiffData load(@NonNull File gitDir, @NonNull Key key) {
+		File file = getFile(gitDir);
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			Key stored = new Key(readId(in), readId(in));
+			if (!stored.equals(key)) {
+				return null;
+			}
+			int count = in.readUnsignedByte();
+			List<Set<String>> sets = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				sets.add(readPaths(in));
+			}
+			return IndexDiffData.fromPathSets(sets);
+		} catch (IOException | IllegalArgumentException e) {
+			// Corrupt or from an incompatible version; recompute
+			delete(gitDir);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the snapshot of a repository, replacing an existing one.
+	 *
+	 * @param gitDir
+	 *            of the repository
+	 * @param key
+	 *            the repository state {@code data} was computed for
+	 * @param data
+	 *            to persist
+	 * @throws IOException
+	 *             if the snapshot cannot be written
+	 */
+	static void save(@NonNull File gitDir, @NonNull Key key,
+			@NonNull IndexDiffData data) throws IOException {
+		File file = getFile(gitDir);
+		if (file == null) {
+			return;
+		}
+		FileUtils.mkdirs(file.getParentFile(), true);
+		File tmp = File.createTempFile(file.getName(), null,
+				file.getParentFile());
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(tmp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				key.head.copyRawTo(out);
+				key.index.copyRawTo(out);
+				List<Set<String>> sets = data.getPathSets();
+				out.writeByte(sets.size());
+				for (Set<String> paths : sets) {
+					writePaths(out, paths);
+				}
+			}
+			FileUtils.rename(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	/**
+	 * Deletes the snapshot of a repository, if any.
+	 *
+	 * @param gitDir
+	 *            of the repository
+	 */
+	static void delete(@NonNull File gitDir) {
+		File file = getFile(gitDir);
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException e) {
+				Activator.logError(e.getMessage(), e);
+			}
+		}
+	}
+
+	@Nullable
+	private static File getFile(File gitDir) {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		byte[] digest = Constants.newMessageDigest().digest(
+				gitDir.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return activator.getStateLocation().append(FOLDER)
+				.append(ObjectId.fromRaw(digest).name() + SUFFIX).toFile();
+	}
+
+	private static ObjectId readId(DataInputStream in) throws IOException {
+		byte[] raw = new byte[Constants.OBJECT_ID_LENGTH];
+		in.readFully(raw);
+		return ObjectId.fromRaw(raw);
+	}
+
+	private static void writePaths(DataOutputStream out, Set<String> paths)
+			throws IOException {
+		writeVarInt(out, paths.size());
+		byte[] previous = new byte[0];
+		for (String path : paths) {
+			byte[] current = path.getBytes(StandardCharsets.UTF_8);
+			int shared = 0;
+			int max = Math.min(previous.length, current.length);
+			while (shared < max && previous[shared] == current[shared]) {
+				shared++;
+			}
+			writeVarInt(out, shared);
+			writeVarInt(out, current.length - shared);
+			out.write(current, shared, current.length - shared);
+			previous = current;
+		}
+	}
+
+	private static Set<String> readPaths(DataInputStream in)
+			throws IOException {
+		int size = readVarInt(in);
+		List<String> paths = new ArrayList<>(size);
+		byte[] buffer = new byte[256];
+		int length = 0;
+		for (int i = 0; i < size; i++) {
+			int shared = readVarInt(in);
+			int suffix = readVarInt(in);
+			if (shared > length) {
+				throw new IOException("Invalid snapshot"); //$NON-NLS-1$
+			}
+			length = shared + suffix;
+			if (length > buffer.length) {
+				byte[] larger = new byte[Math.max(length, buffer.length * 2)];
+				System.arraycopy(buffer, 0, larger, 0, shared);
+				buffer = larger;
+			}
+			in.readFully(buffer, shared, suffix);
+			paths.add(new String(buffer, 0, length, StandardCharsets.UTF_8));
+		}
+		return PathSet.of(paths);
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value)
+			throws IOException {
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.writeByte(v);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value < 0) {
+					throw new EOFException();
+				}
+				return value;
+			}
+		}
+		throw new IOException("Invalid snapshot"); //$NON-NLS-1$
+	}
+}
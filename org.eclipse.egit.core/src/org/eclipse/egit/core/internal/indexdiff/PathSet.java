@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.indexdiff;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, sorted set of repository-relative paths that supports cheap
+ * modified copies.
+ * <p>
+ * The set is a persistent AVL tree: {@link #with(String)} and
+ * {@link #without(String)} copy only the O(log n) nodes on the path to the
+ * changed element and share everything else with the original set. An
+ * {@link IndexDiffData} derived from another one for a handful of changed
+ * files thus costs a few tree paths instead of a copy of every set, and
+ * snapshots handed out earlier stay valid.
+ * </p>
+ * <p>
+ * Because the paths are sorted, all paths starting with a given prefix, i.e.
+ * everything below a folder, form a contiguous range that can be found in
+ * O(log n).
+ * </p>
+ */
+final class PathSet extends AbstractSet<String> {
+
+	/** The empty set. */
+	static final PathSet EMPTY = new PathSet(null);
+
+	private final Node root;
+
+	private PathSet(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param paths
+	 *            to put into the set
+	 * @return a set containing the given paths; {@code paths} itself if it
+	 *         already is a {@link PathSet}
+	 */
+	static PathSet of(Collection<String> paths) {
+		if (paths instanceof PathSet) {
+			return (PathSet) paths;
+		}
+		if (paths.isEmpty()) {
+			return EMPTY;
+		}
+		String[] sorted = paths.toArray(new String[0]);
+		Arrays.sort(sorted);
+		int size = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (size == 0 || !sorted[i].equals(sorted[size - 1])) {
+				sorted[size++] = sorted[i];
+			}
+		}
+		return new PathSet(build(sorted, 0, size));
+	}
+
+	private static Node build(String[] sorted, int from, int to) {
+		if (from >= to) {
+			return null;
+		}
+		int middle = (from + to) >>> 1;
+		return new Node(build(sorted, from, middle), sorted[middle],
+				build(sorted, middle + 1, to));
+	}
+
+	/**
+	 * @param path
+	 *            to add
+	 * @return a set containing the elements of this set and {@code path};
+	 *         this set if it already contains {@code path}
+	 */
+	PathSet with(String path) {
+		Node newRoot = insert(root, path);
+		return newRoot == root ? this : new PathSet(newRoot);
+	}
+
+	/**
+	 * @param path
+	 *            to remove
+	 * @return a set containing the elements of this set except {@code path};
+	 *         this set if it does not contain {@code path}
+	 */
+	PathSet without(String path) {
+		Node newRoot = remove(root, path);
+		if (newRoot == root) {
+			return this;
+		}
+		return newRoot == null ? EMPTY : new PathSet(newRoot);
+	}
+
+	/**
+	 * @param paths
+	 *            to add
+	 * @return a set containing the elements of this set and {@code paths}
+	 */
+	PathSet withAll(Collection<String> paths) {
+		if (isEmpty()) {
+			return of(paths);
+		}
+		Node newRoot = root;
+		for (String path : paths) {
+			newRoot = insert(newRoot, path);
+		}
+		return newRoot == root ? this : new PathSet(newRoot);
+	}
+
+	/**
+	 * @param prefix
+	 *            to remove the paths starting with
+	 * @return a set containing the elements of this set that do not start
+	 *         with {@code prefix}; this set if there are none
+	 */
+	PathSet withoutPrefix(String prefix) {
+		if (prefix.isEmpty()) {
+			return EMPTY;
+		}
+		List<String> matches = new ArrayList<>();
+		for (String path : startingWith(prefix)) {
+			matches.add(path);
+		}
+		PathSet result = this;
+		for (String path : matches) {
+			result = result.without(path);
+		}
+		return result;
+	}
+
+	/**
+	 * @param prefix
+	 *            of the paths to iterate over
+	 * @return the paths of this set starting with {@code prefix}, in sorted
+	 *         order
+	 */
+	Iterable<String> startingWith(String prefix) {
+		return () -> new PathIterator(root, prefix);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof String)) {
+			return false;
+		}
+		String path = (String) o;
+		Node node = root;
+		while (node != null) {
+			int c = path.compareTo(node.path);
+			if (c == 0) {
+				return true;
+			}
+			node = c < 0 ? node.left : node.right;
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new PathIterator(root, null);
+	}
+
+	private static Node insert(Node node, String path) {
+		if (node == null) {
+			return new Node(null, path, null);
+		}
+		int c = path.compareTo(node.path);
+		if (c < 0) {
+			Node left = insert(node.left, path);
+			return left == node.left ? node
+					: balance(left, node.path, node.right);
+		} else if (c > 0) {
+			Node right = insert(node.right, path);
+			return right == node.right ? node
+					: balance(node.left, node.path, right);
+		}
+		return node;
+	}
+
+	private static Node remove(Node node, String path) {
+		if (node == null) {
+			return null;
+		}
+		int c = path.compareTo(node.path);
+		if (c < 0) {
+			Node left = remove(node.left, path);
+			return left == node.left ? node
+					: balance(left, node.path, node.right);
+		} else if (c > 0) {
+			Node right = remove(node.right, path);
+			return right == node.right ? node
+					: balance(node.left, node.path, right);
+		}
+		if (node.left == null) {
+			return node.right;
+		}
+		if (node.right == null) {
+			return node.left;
+		}
+		Node min = node.right;
+		while (min.left != null) {
+			min = min.left;
+		}
+		return balance(node.left, min.path, remove(node.right, min.path));
+	}
+
+	private static Node balance(Node left, String path, Node right) {
+		int leftHeight = height(left);
+		int rightHeight = height(right);
+		if (leftHeight > rightHeight + 1) {
+			if (height(left.left) >= height(left.right)) {
+				return new Node(left.left, left.path,
+						new Node(left.right, path, right));
+			}
+			Node pivot = left.right;
+			return new Node(new Node(left.left, left.path, pivot.left),
+					pivot.path, new Node(pivot.right, path, right));
+		} else if (rightHeight > leftHeight + 1) {
+			if (height(right.right) >= height(right.left)) {
+				return new Node(new Node(left, path, right.left), right.path,
+						right.right);
+			}
+			Node pivot = right.left;
+			return new Node(new Node(left, path, pivot.left), pivot.path,
+					new Node(pivot.right, right.path, right.right));
+		}
+		return new Node(left, path, right);
+	}
+
+	private static int height(Node node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static final class Node {
+
+		final Node left;
+
+		final String path;
+
+		final Node right;
+
+		final int height;
+
+		final int size;
+
+		Node(Node left, String path, Node right) {
+			this.left = left;
+			this.path = path;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+			this.size = size(left) + size(right) + 1;
+		}
+	}
+
+	private static final class PathIterator implements Iterator<String> {
+
+		private final Deque<Node> stack = new ArrayDeque<>();
+
+		private final String prefix;
+
+		private String next;
+
+		PathIterator(Node root, String prefix) {
+			this.prefix = prefix;
+			Node node = root;
+			while (node != null) {
+				if (prefix == null || node.path.compareTo(prefix) >= 0) {
+					stack.push(node);
+					node = node.left;
+				} else {
+					node = node.right;
+				}
+			}
+			advance();
+		}
+
+		private void advance() {
+			Node node = stack.poll();
+			if (node == null
+					|| prefix != null && !node.path.startsWith(prefix)) {
+				next = null;
+				stack.clear();
+				return;
+			}
+			next = node.path;
+			for (Node child = node.right; child != null; child = child.left) {
+				stack.push(child);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			String result = next;
+			advance();
+			return result;
+		}
+	}
+}
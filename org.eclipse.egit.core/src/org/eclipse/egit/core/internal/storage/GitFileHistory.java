@@ -23,6 +23,7 @@
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.egit.core.Activator;
 import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.egit.core.internal.graph.ChangedPathFilter;
 import org.eclipse.egit.core.project.RepositoryMapping;
 import org.eclipse.egit.core.synchronize.GitRemoteResource;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
@@ -33,8 +34,6 @@
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
-import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.history.IFileHistoryProvider;
@@ -81,9 +80,8 @@ class GitFileHistory extends FileHistory implements IAdaptable {
 			if (gitPath == null || gitPath.length() == 0) {
 				walk.setTreeFilter(TreeFilter.ANY_DIFF);
 			} else {
-				walk.setTreeFilter(AndTreeFilter.create(PathFilterGroup
-						.createFromStrings(Collections.singleton(gitPath)),
-						TreeFilter.ANY_DIFF));
+				walk.setTreeFilter(ChangedPathFilter.create(db,
+						Collections.singleton(gitPath)));
 			}
 		}
 
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.internal.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jgit.annotations.NonNull;
+
+/**
+ * Maps absolute file system paths, typically the working trees of
+ * repositories, to values and finds the values of the paths that are prefixes
+ * of a given location in O(depth of the location).
+ * <p>
+ * The trie is keyed by path segments and copied on write: {@link #put} and
+ * {@link #remove} replace the nodes on the path to the changed entry and
+ * publish the new root, so lookups never lock and always see a consistent
+ * trie. Updates are serialized among themselves.
+ * </p>
+ *
+ * @param <T>
+ *            type of the values
+ */
+public final class WorkTreeTrie<T> {
+
+	private static final class Node<T> {
+
+		final T value;
+
+		final Map<String, Node<T>> children;
+
+		Node(T value, Map<String, Node<T>> children) {
+			this.value = value;
+			this.children = children;
+		}
+
+		Node<T> with(String segment, Node<T> child) {
+			Map<String, Node<T>> newChildren = new HashMap<>(children);
+			if (child == null) {
+				newChildren.remove(segment);
+			} else {
+				newChildren.put(segment, child);
+			}
+			return create(value, newChildren);
+		}
+
+		static <T> Node<T> create(T value, Map<String, Node<T>> children) {
+			if (value == null && children.isEmpty()) {
+				return null;
+			}
+			return new Node<>(value, children.isEmpty()
+					? Collections.emptyMap() : children);
+		}
+	}
+
+	private volatile Map<String, Node<T>> roots = Collections.emptyMap();
+
+	/**
+	 * Sets the value of a path, replacing any previous value.
+	 *
+	 * @param path
+	 *            absolute path
+	 * @param value
+	 *            to set
+	 */
+	public synchronized void put(@NonNull IPath path, @NonNull T value) {
+		String device = getDeviceKey(path);
+		Node<T> root = update(roots.get(device), path, 0, value, null);
+		Map<String, Node<T>> newRoots = new HashMap<>(roots);
+		newRoots.put(device, root);
+		roots = newRoots;
+	}
+
+	/**
+	 * Removes the value of a path if it is the given one.
+	 *
+	 * @param path
+	 *            absolute path
+	 * @param value
+	 *            expected current value
+	 */
+	public synchronized void remove(@NonNull IPath path, @NonNull T value) {
+		String device = getDeviceKey(path);
+		Node<T> root = roots.get(device);
+		if (root == null) {
+			return;
+		}
+		Node<T> newRoot = update(root, path, 0, null, value);
+		if (newRoot == root) {
+			return;
+		}
+		Map<String, Node<T>> newRoots = new HashMap<>(roots);
+		if (newRoot == null) {
+			newRoots.remove(device);
+		} else {
+			newRoots.put(device, newRoot);
+		}
+		roots = newRoots;
+	}
+
+	private Node<T> update(Node<T> node, IPath path, int index, T value,
+			T expected) {
+		if (index == path.segmentCount()) {
+			Map<String, Node<T>> children = node != null ? node.children
+					: Collections.emptyMap();
+			if (expected != null) {
+				// Removal
+				if (node == null || node.value != expected) {
+					return node;
+				}
+				return Node.create(null, children);
+			}
+			return Node.create(value, children);
+		}
+		String segment = path.segment(index);
+		Node<T> child = node != null ? node.children.get(segment) : null;
+		Node<T> newChild = update(child, path, index + 1, value, expected);
+		if (newChild == child) {
+			return node;
+		}
+		if (node == null) {
+			return Node.create(null,
+					Collections.singletonMap(segment, newChild));
+		}
+		return node.with(segment, newChild);
+	}
+
+	/**
+	 * Finds the values of all paths that are prefixes of the given location,
+	 * including the location itself.
+	 *
+	 * @param location
+	 *            absolute path
+	 * @return the values, the one of the longest path first
+	 */
+	@NonNull
+	public List<T> findPrefixes(@NonNull IPath location) {
+		Node<T> node = roots.get(getDeviceKey(location));
+		if (node == null) {
+			return Collections.emptyList();
+		}
+		List<T> result = new ArrayList<>(2);
+		int segmentCount = location.segmentCount();
+		for (int i = 0; node != null; i++) {
+			if (node.value != null) {
+				result.add(0, node.value);
+			}
+			if (i == segmentCount) {
+				break;
+			}
+			node = node.children.get(location.segment(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		roots = Collections.emptyMap();
+	}
+
+	private static String getDeviceKey(IPath path) {
+		// IPath.isPrefixOf() compares devices ignoring case
+		String device = path.getDevice();
+		return device == null ? "" : device.toLowerCase(Locale.ROOT); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.op;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Operation that reveals the original (pre-redaction) authored and committed
+ * dates of all commits reachable from any ref of a repository and writes them
+ * to a CSV or JSON file.
+ * <p>
+ * The commits are walked in batches. While one batch is being walked, the
+ * previous one is decrypted in parallel on a fork-join pool; results are then
+ * written in walk order and the commit bodies are dropped again, so memory use
+ * does not grow with the size of the history beyond what the {@link RevWalk}
+ * itself needs.
+ * </p>
+ */
+public class ExportOriginalCommitDatesOperation implements IEGitOperation {
+
+	/**
+	 * Decrypts the original dates of a commit. Implementations must be
+	 * thread-safe; they are called concurrently for different commits.
+	 */
+	@FunctionalInterface
+	public interface OriginalDateDecoder {
+
+		/**
+		 * @param commit
+		 *            with its body parsed
+		 * @return an array containing the original authored date and the
+		 *         original committed date, or {@code null} if the commit has
+		 *         no original dates that can be decrypted
+		 */
+		ZonedDateTime[] decode(@NonNull RevCommit commit);
+	}
+
+	/**
+	 * Supported output formats.
+	 */
+	public enum Format {
+		/** Comma-separated values with a header line. */
+		CSV,
+		/** A JSON array of objects. */
+		JSON
+	}
+
+	private static final int BATCH_SIZE = 1024;
+
+	/** Below this many commits a decode task is not split further. */
+	private static final int SPLIT_THRESHOLD = 32;
+
+	private final Repository repository;
+
+	private final File target;
+
+	private final Format format;
+
+	private final OriginalDateDecoder decoder;
+
+	private int commitCount;
+
+	private int revealedCount;
+
+	/**
+	 * @param repository
+	 *            to export the original commit dates of
+	 * @param target
+	 *            file to write; overwritten if it exists
+	 * @param format
+	 *            of the file
+	 * @param decoder
+	 *            to decrypt the original dates with
+	 */
+	public ExportOriginalCommitDatesOperation(@NonNull Repository repository,
+			@NonNull File target, @NonNull Format format,
+			@NonNull OriginalDateDecoder decoder) {
+		this.repository = repository;
+		this.target = target;
+		this.format = format;
+		this.decoder = decoder;
+	}
+
+	@Override
+	public void execute(IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor,
+				NLS.bind(CoreText.ExportOriginalCommitDatesOperation_TaskName,
+						target.getName()),
+				100);
+		commitCount = 0;
+		revealedCount = 0;
+		boolean success = false;
+		try (RevWalk walk = new RevWalk(repository);
+				Writer out = new BufferedWriter(new OutputStreamWriter(
+						Files.newOutputStream(target.toPath()),
+						StandardCharsets.UTF_8))) {
+			walk.setRetainBody(true);
+			markStart(walk);
+			writeHeader(out);
+			ForkJoinPool pool = ForkJoinPool.commonPool();
+			ZonedDateTime[][] results = new ZonedDateTime[BATCH_SIZE][];
+			ZonedDateTime[][] nextResults = new ZonedDateTime[BATCH_SIZE][];
+			RevCommit[] batch = new RevCommit[BATCH_SIZE];
+			RevCommit[] nextBatch = new RevCommit[BATCH_SIZE];
+			int size = fill(walk, batch);
+			while (size > 0) {
+				if (progress.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				ForkJoinTask<Void> task = pool
+						.submit(new DecodeTask(batch, results, 0, size));
+				// Walk the next batch while this one is being decrypted.
+				int nextSize = fill(walk, nextBatch);
+				task.join();
+				write(out, batch, results, size);
+				commitCount += size;
+				progress.setWorkRemaining(100);
+				progress.worked(1);
+				progress.subTask(NLS.bind(
+						CoreText.ExportOriginalCommitDatesOperation_Progress,
+						Integer.valueOf(commitCount),
+						Integer.valueOf(revealedCount)));
+
+				RevCommit[] tmpBatch = batch;
+				batch = nextBatch;
+				nextBatch = tmpBatch;
+				ZonedDateTime[][] tmpResults = results;
+				results = nextResults;
+				nextResults = tmpResults;
+				size = nextSize;
+			}
+			writeFooter(out);
+			success = true;
+		} catch (IOException e) {
+			throw new CoreException(Activator.error(NLS.bind(
+					CoreText.ExportOriginalCommitDatesOperation_Failed,
+					target), e));
+		} finally {
+			if (!success) {
+				try {
+					Files.deleteIfExists(target.toPath());
+				} catch (IOException e) {
+					Activator.logError(e.getMessage(), e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of commits examined by the last execution
+	 */
+	public int getCommitCount() {
+		return commitCount;
+	}
+
+	/**
+	 * @return the number of commits whose original dates were written by the
+	 *         last execution
+	 */
+	public int getRevealedCount() {
+		return revealedCount;
+	}
+
+	@Override
+	public ISchedulingRule getSchedulingRule() {
+		// Only reads the repository
+		return null;
+	}
+
+	private void markStart(RevWalk walk) throws IOException {
+		for (Ref ref : repository.getRefDatabase().getRefs()) {
+			ObjectId id = ref.getObjectId();
+			if (id == null) {
+				continue;
+			}
+			try {
+				RevObject object = walk.peel(walk.parseAny(id));
+				if (object instanceof RevCommit) {
+					walk.markStart((RevCommit) object);
+				}
+			} catch (MissingObjectException e) {
+				// Broken ref; skip it
+			}
+		}
+	}
+
+	private static int fill(RevWalk walk, RevCommit[] batch)
+			throws IOException {
+		int size = 0;
+		RevCommit commit;
+		while (size < batch.length && (commit = walk.next()) != null) {
+			batch[size++] = commit;
+		}
+		return size;
+	}
+
+	private void writeHeader(Writer out) throws IOException {
+		if (format == Format.CSV) {
+			out.write("commit,original_authored_date,original_committed_date\n"); //$NON-NLS-1$
+		} else {
+			out.write('[');
+		}
+	}
+
+	private void writeFooter(Writer out) throws IOException {
+		if (format == Format.JSON) {
+			out.write(revealedCount > 0 ? "\n]\n" : "]\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void write(Writer out, RevCommit[] batch,
+			ZonedDateTime[][] results, int size) throws IOException {
+		DateTimeFormatter iso = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+		for (int i = 0; i < size; i++) {
+			ZonedDateTime[] dates = results[i];
+			RevCommit commit = batch[i];
+			results[i] = null;
+			batch[i] = null;
+			commit.disposeBody();
+			if (dates == null) {
+				continue;
+			}
+			if (format == Format.CSV) {
+				out.write(commit.name());
+				out.write(',');
+				out.write(iso.format(dates[0]));
+				out.write(',');
+				out.write(iso.format(dates[1]));
+				out.write('\n');
+			} else {
+				out.write(revealedCount > 0 ? ",\n" : "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				out.write("  {\"commit\":\""); //$NON-NLS-1$
+				out.write(commit.name());
+				out.write("\",\"authored\":\""); //$NON-NLS-1$
+				out.write(iso.format(dates[0]));
+				out.write("\",\"committed\":\""); //$NON-NLS-1$
+				out.write(iso.format(dates[1]));
+				out.write("\"}"); //$NON-NLS-1$
+			}
+			revealedCount++;
+		}
+	}
+
+	private class DecodeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient RevCommit[] commits;
+
+		private final transient ZonedDateTime[][] results;
+
+		private final int from;
+
+		private final int to;
+
+		DecodeTask(RevCommit[] commits, ZonedDateTime[][] results, int from,
+				int to) {
+			this.commits = commits;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SPLIT_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					results[i] = decoder.decode(commits[i]);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new DecodeTask(commits, results, from, middle),
+					new DecodeTask(commits, results, middle, to));
+		}
+	}
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.op;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.internal.CoreText;
+import org.eclipse.egit.core.internal.job.RuleUtil;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.lib.BatchRefUpdate;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Rewrites the commits of a branch that are not reachable from a set of
+ * excluded commits, typically to redate them or to re-encrypt their original
+ * dates with a new key.
+ * <p>
+ * The trees of the commits are not touched, so neither the index nor the
+ * working tree need to be updated. All commits are written through a single
+ * {@link ObjectInserter} that is flushed once at the end; in a repository on
+ * disk it writes them into one new pack instead of a loose object each. The
+ * branch as well as all other local branches pointing into the rewritten
+ * range are updated in one atomic {@link BatchRefUpdate}. Signatures of
+ * rewritten commits are dropped. Commits the rewriter leaves alone keep their
+ * ids, unless one of their parents was rewritten.
+ * </p>
+ */
+public class RewriteCommitDatesOperation implements IEGitOperation {
+
+	/**
+	 * Changes a commit that is about to be rewritten.
+	 */
+	@FunctionalInterface
+	public interface CommitRewriter {
+
+		/**
+		 * @param commit
+		 *            the original commit, with its body parsed
+		 * @param builder
+		 *            preset with the tree, the rewritten parents, the author,
+		 *            the committer, the message and the encoding of the
+		 *            original commit; implementations change it as needed
+		 */
+		void rewrite(@NonNull RevCommit commit,
+				@NonNull CommitBuilder builder);
+	}
+
+	private static final String REFLOG_MESSAGE = "rewrite commit dates"; //$NON-NLS-1$
+
+	private final Repository repository;
+
+	private final String refName;
+
+	private final Collection<? extends ObjectId> excluded;
+
+	private final CommitRewriter rewriter;
+
+	private int rewrittenCount;
+
+	/**
+	 * @param repository
+	 *            to rewrite commits in
+	 * @param refName
+	 *            full name of the branch to rewrite
+	 * @param excluded
+	 *            commits that are not rewritten, nor any commit reachable
+	 *            from them; usually the tips of remote-tracking branches
+	 * @param rewriter
+	 *            to apply to each commit
+	 */
+	public RewriteCommitDatesOperation(@NonNull Repository repository,
+			@NonNull String refName,
+			@NonNull Collection<? extends ObjectId> excluded,
+			@NonNull CommitRewriter rewriter) {
+		this.repository = repository;
+		this.refName = refName;
+		this.excluded = excluded;
+		this.rewriter = rewriter;
+	}
+
+	@Override
+	public void execute(IProgressMonitor monitor) throws CoreException {
+		IWorkspaceRunnable action = new IWorkspaceRunnable() {
+
+			@Override
+			public void run(IProgressMonitor actMonitor) throws CoreException {
+				try {
+					rewrite(actMonitor);
+				} catch (IOException e) {
+					throw new CoreException(Activator.error(e.getMessage(), e));
+				}
+			}
+		};
+		ResourcesPlugin.getWorkspace().run(action, getSchedulingRule(),
+				IWorkspace.AVOID_UPDATE, monitor);
+	}
+
+	/**
+	 * @return the number of commits that got a new id in the last execution
+	 */
+	public int getRewrittenCount() {
+		return rewrittenCount;
+	}
+
+	@Override
+	public ISchedulingRule getSchedulingRule() {
+		return RuleUtil.getRule(repository);
+	}
+
+	private void rewrite(IProgressMonitor monitor)
+			throws IOException, CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor,
+				NLS.bind(CoreText.RewriteCommitDatesOperation_TaskName,
+						Repository.shortenRefName(refName)),
+				100);
+		rewrittenCount = 0;
+		Ref ref = repository.exactRef(refName);
+		if (ref == null || ref.getObjectId() == null) {
+			throw new CoreException(Activator.error(NLS.bind(
+					CoreText.RewriteCommitDatesOperation_RefNotFound, refName),
+					null));
+		}
+		Map<ObjectId, ObjectId> rewritten = new HashMap<>();
+		try (RevWalk walk = new RevWalk(repository);
+				ObjectInserter inserter = newInserter()) {
+			walk.setRetainBody(true);
+			walk.sort(RevSort.TOPO);
+			walk.sort(RevSort.REVERSE, true);
+			RevCommit tip = walk.parseCommit(ref.getObjectId());
+			walk.markStart(tip);
+			for (ObjectId id : excluded) {
+				try {
+					walk.markUninteresting(walk.parseCommit(id));
+				} catch (MissingObjectException
+						| IncorrectObjectTypeException e) {
+					// Not a commit in this repository; nothing to exclude
+				}
+			}
+
+			int count = 0;
+			RevCommit commit;
+			while ((commit = walk.next()) != null) {
+				if (progress.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				ObjectId newId = rewrite(commit, rewritten, inserter);
+				if (!newId.equals(commit)) {
+					rewritten.put(commit.copy(), newId);
+					rewrittenCount++;
+				}
+				commit.disposeBody();
+				if (++count % 100 == 0) {
+					progress.setWorkRemaining(100);
+					progress.worked(1);
+					progress.subTask(NLS.bind(
+							CoreText.RewriteCommitDatesOperation_Progress,
+							Integer.valueOf(count)));
+				}
+			}
+			if (rewritten.isEmpty()) {
+				return;
+			}
+			inserter.flush();
+			updateRefs(walk, rewritten);
+		}
+	}
+
+	private ObjectInserter newInserter() {
+		ObjectDatabase database = repository.getObjectDatabase();
+		if (database instanceof ObjectDirectory) {
+			return ((ObjectDirectory) database).newPackInserter();
+		}
+		return database.newInserter();
+	}
+
+	private ObjectId rewrite(RevCommit commit,
+			Map<ObjectId, ObjectId> rewritten, ObjectInserter inserter)
+			throws IOException {
+		CommitBuilder builder = new CommitBuilder();
+		builder.setTreeId(commit.getTree());
+		ObjectId[] parents = new ObjectId[commit.getParentCount()];
+		boolean parentsRewritten = false;
+		for (int i = 0; i < parents.length; i++) {
+			ObjectId parent = commit.getParent(i);
+			ObjectId newParent = rewritten.get(parent);
+			parents[i] = newParent != null ? newParent : parent;
+			parentsRewritten |= newParent != null;
+		}
+		builder.setParentIds(parents);
+		PersonIdent author = commit.getAuthorIdent();
+		PersonIdent committer = commit.getCommitterIdent();
+		builder.setAuthor(author);
+		builder.setCommitter(committer);
+		try {
+			builder.setEncoding(commit.getEncoding());
+		} catch (IllegalCharsetNameException
+				| UnsupportedCharsetException e) {
+			// Keep the default; the message has been decoded leniently
+		}
+		Charset encoding = builder.getEncoding();
+		String message = commit.getFullMessage();
+		builder.setMessage(message);
+		rewriter.rewrite(commit, builder);
+		if (!parentsRewritten && builder.getAuthor() == author
+				&& builder.getCommitter() == committer
+				&& message.equals(builder.getMessage())
+				&& encoding.equals(builder.getEncoding())
+				&& commit.getTree().equals(builder.getTreeId())
+				&& Arrays.equals(parents, builder.getParentIds())) {
+			// Building the commit again would re-encode its message and
+			// identities and normalize the name of its encoding, which need
+			// not reproduce its bytes, and hence its id
+			return commit;
+		}
+		return inserter.insert(Constants.OBJ_COMMIT, builder.build());
+	}
+
+	private void updateRefs(RevWalk walk, Map<ObjectId, ObjectId> rewritten)
+			throws IOException, CoreException {
+		BatchRefUpdate update = repository.getRefDatabase().newBatchUpdate();
+		update.setAtomic(true);
+		update.setAllowNonFastForwards(true);
+		update.setRefLogMessage(REFLOG_MESSAGE, false);
+		for (Ref branch : repository.getRefDatabase()
+				.getRefsByPrefix(Constants.R_HEADS)) {
+			ObjectId oldId = branch.getObjectId();
+			ObjectId newId = oldId != null ? rewritten.get(oldId) : null;
+			if (newId != null && !branch.isSymbolic()) {
+				update.addCommand(new ReceiveCommand(oldId, newId,
+						branch.getName(),
+						ReceiveCommand.Type.UPDATE_NONFASTFORWARD));
+			}
+		}
+		update.execute(walk, NullProgressMonitor.INSTANCE);
+		for (ReceiveCommand command : update.getCommands()) {
+			if (command.getResult() != ReceiveCommand.Result.OK) {
+				throw new CoreException(Activator.error(NLS.bind(
+						CoreText.RewriteCommitDatesOperation_RefUpdateFailed,
+						command.getRefName(), command.getResult()), null));
+			}
+		}
+	}
+}
@@ -17,10 +17,19 @@
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+
+import org.eclipse.egit.core.internal.graph.CommitChanges;
+import org.eclipse.egit.core.internal.graph.CommitChangesCache;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.MutableObjectId;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
@@ -355,7 +364,9 @@ public static List<Commit> build(Repository repo, ObjectId srcId,
 			if (pathFilter != null)
 				rw.setTreeFilter(pathFilter);
 
-			List<Commit> result = new ArrayList<>();
+			List<Commit> commits = new ArrayList<>();
+			List<RevCommit> revCommits = new ArrayList<>();
+			List<RevCommit> parentCommits = new ArrayList<>();
 			for (RevCommit revCommit : rw) {
 				if (revCommit.hasAll(allFlags))
 					break;
@@ -367,7 +378,6 @@ public static List<Commit> build(Repository repo, ObjectId srcId,
 				commit.committerName = revCommit.getCommitterIdent().getName();
 				commit.commitDate = revCommit.getAuthorIdent().getWhen();
 
-				RevCommit parentCommit = getParentCommit(revCommit);
 				if (revCommit.has(localFlag))
 					// Outgoing
 					commit.direction = RIGHT;
@@ -377,8 +387,19 @@ else if (revCommit.has(remoteFlag))
 				else
 					throw new GitCommitsModelDirectionException();
 
-				commit.children = getChangedObjects(repo, revCommit,
-						parentCommit, pathFilter, commit.direction);
+				commits.add(commit);
+				revCommits.add(revCommit);
+				parentCommits.add(getParentCommit(revCommit));
+			}
+
+			List<CommitChanges> changes = CommitChangesCache.get(repo)
+					.getChanges(repo, revCommits);
+			List<Commit> result = new ArrayList<>();
+			for (int i = 0; i < commits.size(); i++) {
+				Commit commit = commits.get(i);
+				commit.children = getChangedObjects(repo, changes.get(i),
+						revCommits.get(i), parentCommits.get(i), pathFilter,
+						commit.direction);
 
 				if (commit.children != null)
 					result.add(commit);
@@ -395,6 +416,76 @@ private static RevCommit getParentCommit(RevCommit commit) {
 			return null;
 	}
 
+	/**
+	 * Creates the changes of a commit from its changes against its first
+	 * parent. With a path filter, the parent may have been rewritten by the
+	 * walk to an ancestor; since the filtered paths are the same in both, only
+	 * the id of the parent commit differs.
+	 */
+	private static Map<String, Change> getChangedObjects(Repository repo,
+			CommitChanges changes, RevCommit commit, RevCommit parentCommit,
+			TreeFilter pathFilter, final int direction) throws IOException {
+		if (changes.size() == 0)
+			return null;
+		Set<String> included = null;
+		if (pathFilter != null) {
+			try {
+				included = filter(repo, changes, pathFilter);
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				// A path not valid in an index, or a file replaced by a
+				// folder: walk the trees of the commit instead
+				return getChangedObjects(repo, commit, parentCommit,
+						pathFilter, direction);
+			}
+		}
+
+		final Map<String, Change> result = new HashMap<>();
+		final AbbreviatedObjectId commitId = getAbbreviatedObjectId(commit);
+		final AbbreviatedObjectId parentCommitId = getAbbreviatedObjectId(parentCommit);
+		for (int i = 0; i < changes.size(); i++) {
+			String path = changes.getPath(i);
+			if (included != null && !included.contains(path))
+				continue;
+
+			Change change = new Change();
+			change.commitId = commitId;
+			change.remoteCommitId = parentCommitId;
+			change.name = path.substring(path.lastIndexOf('/') + 1);
+			change.objectId = AbbreviatedObjectId
+					.fromObjectId(changes.getNewId(i));
+			change.remoteObjectId = AbbreviatedObjectId
+					.fromObjectId(changes.getOldId(i));
+
+			calculateAndSetChangeKind(direction, change);
+
+			result.put(path, change);
+		}
+
+		return result.size() > 0 ? result : null;
+	}
+
+	private static Set<String> filter(Repository repo, CommitChanges changes,
+			TreeFilter pathFilter) throws IOException {
+		DirCache index = DirCache.newInCore();
+		DirCacheBuilder builder = index.builder();
+		for (int i = 0; i < changes.size(); i++) {
+			DirCacheEntry entry = new DirCacheEntry(changes.getPath(i));
+			entry.setFileMode(FileMode.REGULAR_FILE);
+			builder.add(entry);
+		}
+		builder.finish();
+
+		Set<String> result = new HashSet<>();
+		try (final TreeWalk tw = new TreeWalk(repo)) {
+			tw.addTree(new DirCacheIterator(index));
+			tw.setRecursive(true);
+			tw.setFilter(pathFilter);
+			while (tw.next())
+				result.add(tw.getPathString());
+		}
+		return result;
+	}
+
 	private static Map<String, Change> getChangedObjects(Repository repo,
 			RevCommit commit, RevCommit parentCommit,
 			TreeFilter pathFilter, final int direction) throws IOException {
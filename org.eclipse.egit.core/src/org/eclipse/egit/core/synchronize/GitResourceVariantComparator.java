@@ -23,11 +23,15 @@
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.egit.core.Activator;
+import org.eclipse.egit.core.project.RepositoryMapping;
 import org.eclipse.egit.core.synchronize.dto.GitSynchronizeDataSet;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.core.variants.IResourceVariantComparator;
@@ -36,8 +40,16 @@ class GitResourceVariantComparator implements IResourceVariantComparator {
 
 	private final GitSynchronizeDataSet gsd;
 
+	private final WorkingTreeIdCache idCache;
+
 	GitResourceVariantComparator(GitSynchronizeDataSet dataSet) {
+		this(dataSet, new WorkingTreeIdCache());
+	}
+
+	GitResourceVariantComparator(GitSynchronizeDataSet dataSet,
+			WorkingTreeIdCache idCache) {
 		gsd = dataSet;
+		this.idCache = idCache;
 	}
 
 	@Override
@@ -51,6 +63,11 @@ public boolean compare(IResource local, IResourceVariant remote) {
 				return false;
 			}
 
+			Boolean sameId = compareIds((IFile) local, remote);
+			if (sameId != null) {
+				return sameId.booleanValue();
+			}
+
 			InputStream stream = null;
 			InputStream remoteStream = null;
 			try {
@@ -107,6 +124,42 @@ public boolean compare(IResourceVariant base, IResourceVariant remote) {
 		return equalType && exists && equalSha1;
 	}
 
+	/**
+	 * Compares the id of the blob of a remote variant with the id of the
+	 * working tree file, without reading the blob.
+	 *
+	 * @return whether the ids are equal, or {@code null} if the contents have
+	 *         to be compared
+	 */
+	private Boolean compareIds(IFile local, IResourceVariant remote) {
+		if (!(remote instanceof GitRemoteResource)) {
+			return null;
+		}
+		GitRemoteResource gitRemote = (GitRemoteResource) remote;
+		ObjectId remoteId = gitRemote.getObjectId();
+		if (!gitRemote.exists() || ObjectId.zeroId().equals(remoteId)) {
+			return null;
+		}
+		IPath location = local.getLocation();
+		if (location == null) {
+			return null;
+		}
+		RepositoryMapping mapping = RepositoryMapping.getMapping(local);
+		if (mapping == null) {
+			return null;
+		}
+		Repository repository = mapping.getRepository();
+		String path = mapping.getRepoRelativePath(local);
+		if (repository == null || path == null) {
+			return null;
+		}
+		ObjectId localId = idCache.get(repository, path, location.toFile());
+		if (localId == null) {
+			return null;
+		}
+		return Boolean.valueOf(localId.equals(remoteId));
+	}
+
 	@Override
 	public boolean isThreeWay() {
 		return true;
@@ -17,10 +17,14 @@
 
 import static org.eclipse.jgit.lib.Repository.stripWorkDir;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -33,12 +37,18 @@
 import org.eclipse.egit.core.Activator;
 import org.eclipse.egit.core.internal.CoreText;
 import org.eclipse.egit.core.internal.storage.WorkspaceFileRevision;
+import org.eclipse.egit.core.internal.util.ResourceUtil;
 import org.eclipse.egit.core.project.RepositoryMapping;
 import org.eclipse.egit.core.synchronize.dto.GitSynchronizeData;
 import org.eclipse.egit.core.synchronize.dto.GitSynchronizeDataSet;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.core.diff.IDiff;
@@ -61,6 +71,12 @@
 public class GitResourceVariantTreeSubscriber extends
 		ResourceVariantTreeSubscriber {
 
+	/**
+	 * Beyond this number of changed paths a repository change refreshes the
+	 * whole scope.
+	 */
+	private static final int MAX_CHANGED_PATHS = 1000;
+
 	/** A resource variant tree of the source branch. */
 	private GitSourceResourceVariantTree sourceTree;
 
@@ -82,6 +98,15 @@ public class GitResourceVariantTreeSubscriber extends
 
 	private GitSyncInfoToDiffConverter syncInfoConverter = new GitSyncInfoToDiffConverter();
 
+	private final WorkingTreeIdCache idCache = new WorkingTreeIdCache();
+
+	/**
+	 * Per synchronize data the source, base and destination trees the cache
+	 * is up to date with; the source tree is zero if the working tree is
+	 * compared instead.
+	 */
+	private final Map<GitSynchronizeData, ObjectId[]> scannedTrees = new ConcurrentHashMap<>();
+
 	/**
 	 * @param data
 	 */
@@ -102,6 +127,7 @@ public void init(IProgressMonitor monitor) {
 				gsds.size());
 		try {
 			cache = GitSyncCache.getAllData(gsds, monitor);
+			rememberTrees();
 		} finally {
 			monitor.done();
 		}
@@ -198,6 +224,7 @@ public void refresh(IResource[] resources, int depth,
 			if (resource.getType() == IResource.ROOT) {
 				// refresh entire cache
 				cache = GitSyncCache.getAllData(gsds, monitor);
+				rememberTrees();
 				super.refresh(resources, depth, monitor);
 				return;
 			}
@@ -253,12 +280,135 @@ public IResource[] roots() {
 	 * @param data
 	 */
 	public void reset(GitSynchronizeDataSet data) {
+		if (data != gsds)
+			scannedTrees.clear();
 		gsds = data;
 
 		roots = null;
 		sourceTree = null;
 		baseTree = null;
 		remoteTree = null;
+		// The ids are keyed by the stat data of the files and the index is
+		// checked on every access, so they stay valid across refreshes
+	}
+
+	/**
+	 * Determines the resources whose synchronization state may have changed
+	 * with a change of a repository, and considers the cache up to date with
+	 * the current revisions of the repository afterwards. Must be called after
+	 * the revisions of its {@link GitSynchronizeData} were updated, and be
+	 * followed by a refresh of the returned resources, or of the whole scope
+	 * if there are none.
+	 * <p>
+	 * These are the files that differ between the trees the cache was built
+	 * from and the current ones, plus the resources changed in the working
+	 * tree. If the working tree is compared and its changes are unknown, the
+	 * whole scope has to be refreshed: a checkout, reset or pull that moved
+	 * the compared revisions may have changed any file in it.
+	 * </p>
+	 *
+	 * @param repository
+	 *            that changed
+	 * @param changedResources
+	 *            resources changed in the working tree as reported by the
+	 *            index diff; empty if unknown
+	 * @return the resources to refresh, or {@code null} if the whole scope
+	 *         has to be refreshed
+	 */
+	public IResource[] getChangedResources(Repository repository,
+			Collection<IResource> changedResources) {
+		Set<IResource> result = new LinkedHashSet<>(changedResources);
+		boolean complete = true;
+		boolean treesChanged = false;
+		boolean local = false;
+		for (GitSynchronizeData gsd : gsds) {
+			if (!repository.equals(gsd.getRepository()))
+				continue;
+			local |= gsd.shouldIncludeLocal();
+			ObjectId[] trees = getTrees(gsd);
+			ObjectId[] previous = scannedTrees.put(gsd, trees);
+			if (previous == null) {
+				complete = false;
+				continue;
+			}
+			for (int i = 0; i < trees.length && complete; i++) {
+				if (!previous[i].equals(trees[i])) {
+					treesChanged = true;
+					complete = addChangedFiles(repository, previous[i],
+							trees[i], result);
+				}
+			}
+		}
+		// Without any change known the cause is unknown, too
+		if (!complete
+				|| ((!treesChanged || local) && changedResources.isEmpty())
+				|| result.size() > MAX_CHANGED_PATHS)
+			return null;
+		for (IResource resource : result) {
+			if (isFilterFile(resource.getName()))
+				return null;
+		}
+		return result.toArray(new IResource[0]);
+	}
+
+	private static boolean addChangedFiles(Repository repository,
+			ObjectId oldTree, ObjectId newTree, Set<IResource> result) {
+		try (TreeWalk tw = new TreeWalk(repository)) {
+			addTree(tw, oldTree);
+			addTree(tw, newTree);
+			tw.setRecursive(true);
+			tw.setFilter(TreeFilter.ANY_DIFF);
+			int count = 0;
+			while (tw.next()) {
+				if (++count > MAX_CHANGED_PATHS
+						|| isFilterFile(tw.getNameString()))
+					return false;
+				IFile file = ResourceUtil.getFileForLocation(repository,
+						tw.getPathString(), false);
+				// Files outside of the workspace are not synchronized
+				if (file != null)
+					result.add(file);
+			}
+		} catch (IOException e) {
+			Activator.logError(e.getMessage(), e);
+			return false;
+		}
+		return true;
+	}
+
+	private static void addTree(TreeWalk tw, ObjectId tree)
+			throws IOException {
+		if (ObjectId.zeroId().equals(tree))
+			tw.addTree(new EmptyTreeIterator());
+		else
+			tw.addTree(tree);
+	}
+
+	/**
+	 * @return whether a file of this name may change the state of other
+	 *         files, which the differences of the trees do not reveal
+	 */
+	private static boolean isFilterFile(String name) {
+		return Constants.DOT_GIT_IGNORE.equals(name)
+				|| Constants.DOT_GIT_ATTRIBUTES.equals(name);
+	}
+
+	private void rememberTrees() {
+		scannedTrees.clear();
+		for (GitSynchronizeData gsd : gsds)
+			scannedTrees.put(gsd, getTrees(gsd));
+	}
+
+	private static ObjectId[] getTrees(GitSynchronizeData gsd) {
+		RevCommit src = gsd.shouldIncludeLocal() ? null
+				: gsd.getSrcRevCommit();
+		return new ObjectId[] { getTree(src),
+				getTree(gsd.getCommonAncestorRev()),
+				getTree(gsd.getDstRevCommit()) };
+	}
+
+	private static ObjectId getTree(RevCommit commit) {
+		return commit != null ? commit.getTree().copy() : ObjectId.zeroId();
 	}
 
 	/**
@@ -271,6 +421,8 @@ public void dispose() {
 			baseTree.dispose();
 		if (remoteTree != null)
 			remoteTree.dispose();
+		idCache.clear();
+		scannedTrees.clear();
 		gsds.dispose();
 	}
 
@@ -527,7 +679,7 @@ public String getName() {
 
 	@Override
 	public IResourceVariantComparator getResourceComparator() {
-		return new GitResourceVariantComparator(gsds);
+		return new GitResourceVariantComparator(gsds, idCache);
 	}
 
 	/**
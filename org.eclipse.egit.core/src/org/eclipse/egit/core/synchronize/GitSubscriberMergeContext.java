@@ -63,7 +63,8 @@ public GitSubscriberMergeContext(final GitResourceVariantTreeSubscriber subscrib
 
 
 		indexChangeListener = (repository,
-				indexDiffData) -> handleRepositoryChange(repository);
+				indexDiffData) -> handleRepositoryChange(repository,
+						indexDiffData.getChangedResources());
 		resourceChangeListener = event -> {
 			IResourceDelta delta = event.getDelta();
 			if (delta != null) {
@@ -124,7 +125,8 @@ public void dispose() {
 		super.dispose();
 	}
 
-	private void handleRepositoryChange(Repository which) {
+	private void handleRepositoryChange(Repository which,
+			Collection<IResource> changedResources) {
 		boolean shouldRefresh = false;
 		for (GitSynchronizeData gsd : gsds) {
 			if (which.equals(gsd.getRepository())) {
@@ -137,9 +139,17 @@ private void handleRepositoryChange(Repository which) {
 			return;
 
 		subscriber.reset(this.gsds);
-		ResourceTraversal[] traversals = getScopeManager().getScope()
-				.getTraversals();
+		IResource[] changed = subscriber.getChangedResources(which,
+				changedResources);
 		try {
+			if (changed != null) {
+				if (changed.length > 0)
+					subscriber.refresh(changed, IResource.DEPTH_INFINITE,
+							new NullProgressMonitor());
+				return;
+			}
+			ResourceTraversal[] traversals = getScopeManager().getScope()
+					.getTraversals();
 			subscriber.refresh(traversals, new NullProgressMonitor());
 		} catch (TeamException e) {
 			Activator.logError(
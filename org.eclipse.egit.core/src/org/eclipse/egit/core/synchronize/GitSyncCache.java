@@ -11,6 +11,8 @@
 package org.eclipse.egit.core.synchronize;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -19,6 +21,8 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
@@ -27,7 +31,6 @@
 import org.eclipse.egit.core.synchronize.dto.GitSynchronizeDataSet;
 import org.eclipse.jgit.dircache.DirCache;
 import org.eclipse.jgit.dircache.DirCacheIterator;
-import org.eclipse.jgit.lib.AbbreviatedObjectId;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
@@ -67,11 +70,31 @@ public static void mergeAllDataIntoCache(
 			IProgressMonitor monitor, GitSyncCache cache) {
 		SubMonitor m = SubMonitor.convert(monitor, updateRequests.size());
 
+		// Repositories are scanned concurrently, but merged one by one
+		List<CompletableFuture<GitSyncCache>> partialCaches = new ArrayList<>();
+		List<Collection<String>> partialPaths = new ArrayList<>();
 		for (Entry<GitSynchronizeData, Collection<String>> entry : updateRequests
 				.entrySet()) {
+			GitSynchronizeData gsd = entry.getKey();
 			Collection<String> paths = entry.getValue();
-			GitSyncCache partialCache = getAllData(entry.getKey(), paths);
-			cache.merge(partialCache, new HashSet<>(paths));
+			partialCaches.add(CompletableFuture
+					.supplyAsync(() -> getAllData(gsd, paths)));
+			partialPaths.add(paths);
+		}
+		for (int i = 0; i < partialCaches.size(); i++) {
+			GitSyncCache partialCache;
+			try {
+				partialCache = partialCaches.get(i).join();
+			} catch (CompletionException e) {
+				// Surface failures as if the scan had run in this thread
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw e;
+			}
+			cache.merge(partialCache, new HashSet<>(partialPaths.get(i)));
 			m.worked(1);
 		}
 
@@ -108,11 +131,115 @@ private static TreeFilter createPathFilter(Collection<String> paths) {
 		return PathFilterGroup.createFromStrings(paths);
 	}
 
+	/**
+	 * Scans the differences of a repository into {@code repoCache}. If there
+	 * are several top-level folders, each of them is scanned with a walk of
+	 * its own in parallel, and the top-level files with another one; the
+	 * entries are then added one partition after the other, each partition
+	 * listing parents before their children.
+	 *
+	 * @param gsd
+	 *            to scan
+	 * @param filter
+	 *            to restrict the scan to, may be {@code null}
+	 * @param repoCache
+	 *            to add the entries to
+	 * @return {@code true} if the scan succeeded, {@code false} otherwise
+	 */
 	static boolean loadDataFromGit(GitSynchronizeData gsd,
 			TreeFilter filter, GitSyncObjectCache repoCache) {
 		Repository repo = gsd.getRepository();
 
-		try (TreeWalk tw = new TreeWalk(repo)) {
+		try {
+			DirCache dirCache = null;
+			if (gsd.shouldIncludeLocal())
+				dirCache = DirCache.read(repo);
+
+			List<String> files = new ArrayList<>();
+			List<String> folders = new ArrayList<>();
+			// This first walk also builds the cache tree of the DirCache,
+			// which the walks of the partitions then share
+			try (TreeWalk tw = createWalk(gsd, filter, dirCache)) {
+				while (tw.next()) {
+					if (tw.isSubtree())
+						folders.add(tw.getPathString());
+					else
+						files.add(tw.getPathString());
+				}
+			}
+
+			if (folders.size() < 2) {
+				for (ThreeWayDiffEntry diffEntry : scan(gsd, filter, dirCache,
+						null))
+					repoCache.addMember(diffEntry);
+				return true;
+			}
+
+			List<List<String>> partitions = new ArrayList<>();
+			if (!files.isEmpty())
+				partitions.add(files);
+			for (String folder : folders)
+				partitions.add(Collections.singletonList(folder));
+
+			DirCache index = dirCache;
+			List<CompletableFuture<List<ThreeWayDiffEntry>>> scans = new ArrayList<>();
+			for (List<String> partition : partitions)
+				scans.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return scan(gsd, filter, index, partition);
+					} catch (IOException e) {
+						throw new CompletionException(e);
+					}
+				}));
+			for (CompletableFuture<List<ThreeWayDiffEntry>> scan : scans)
+				for (ThreeWayDiffEntry diffEntry : scan.join())
+					repoCache.addMember(diffEntry);
+		} catch (CompletionException e) {
+			Activator.logError(e.getCause().getMessage(), e.getCause());
+			return false;
+		} catch (Exception e) {
+			Activator.logError(e.getMessage(), e);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Scans the differences of a repository with a single walk.
+	 *
+	 * @param gsd
+	 *            to scan
+	 * @param filter
+	 *            to restrict the scan to, may be {@code null}
+	 * @param dirCache
+	 *            the index if local changes are included, {@code null}
+	 *            otherwise
+	 * @param partition
+	 *            paths to restrict the scan to in addition, may be
+	 *            {@code null}
+	 * @return the entries, parents before their children
+	 * @throws IOException
+	 *             if the trees cannot be read
+	 */
+	static List<ThreeWayDiffEntry> scan(GitSynchronizeData gsd,
+			TreeFilter filter, DirCache dirCache, List<String> partition)
+			throws IOException {
+		TreeFilter partitionFilter = filter;
+		if (partition != null) {
+			TreeFilter paths = PathFilterGroup.createFromStrings(partition);
+			partitionFilter = filter != null
+					? AndTreeFilter.create(paths, filter) : paths;
+		}
+		try (TreeWalk tw = createWalk(gsd, partitionFilter, dirCache)) {
+			return ThreeWayDiffEntry.scan(tw, gsd);
+		}
+	}
+
+	private static TreeWalk createWalk(GitSynchronizeData gsd,
+			TreeFilter filter, DirCache dirCache) throws IOException {
+		Repository repo = gsd.getRepository();
+		TreeWalk tw = new TreeWalk(repo);
+		try {
 			if (filter != null)
 				tw.setFilter(filter);
 			// setup local tree
@@ -142,21 +269,15 @@ static boolean loadDataFromGit(GitSynchronizeData gsd,
 			else
 				tw.addTree(new EmptyTreeIterator());
 
-			DirCacheIterator dci = null;
 			if (fti != null) {
-				dci = new DirCacheIterator(DirCache.read(repo));
-				tw.addTree(dci);
+				tw.addTree(new DirCacheIterator(dirCache));
 				fti.setDirCacheIterator(tw, 3);
 			}
-			List<ThreeWayDiffEntry> diffEntrys = ThreeWayDiffEntry
-					.scan(tw, gsd);
-			for (ThreeWayDiffEntry diffEntry : diffEntrys)
-				repoCache.addMember(diffEntry);
-		} catch (Exception e) {
-			Activator.logError(e.getMessage(), e);
-			return false;
+		} catch (IOException | RuntimeException e) {
+			tw.close();
+			throw e;
 		}
-		return true;
+		return tw;
 	}
 
 	private static ObjectId getTree(RevCommit commit) {
@@ -214,9 +335,8 @@ public String toString() {
 	private GitSyncObjectCache put(Repository repo, ObjectId baseTree,
 			ObjectId remoteTree) {
 		ThreeWayDiffEntry entry = new ThreeWayDiffEntry();
-		entry.baseId = AbbreviatedObjectId.fromObjectId(baseTree);
-		entry.remoteId = AbbreviatedObjectId.fromObjectId(remoteTree);
-		GitSyncObjectCache objectCache = new GitSyncObjectCache("", entry); //$NON-NLS-1$
+		entry.setBaseAndRemoteId(baseTree, remoteTree);
+		GitSyncObjectCache objectCache = new GitSyncObjectCache(entry);
 		cache.put(repo.getDirectory(), objectCache);
 
 		return objectCache;
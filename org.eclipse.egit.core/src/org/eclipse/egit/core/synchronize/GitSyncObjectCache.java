@@ -10,10 +10,9 @@
  *******************************************************************************/
 package org.eclipse.egit.core.synchronize;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Collections;
 import java.util.Set;
 
 import org.eclipse.egit.core.internal.CoreText;
@@ -23,25 +22,31 @@
 /**
  * Thin cache object. It contains list of object members, object name and
  * {@link ThreeWayDiffEntry} data.
+ * <p>
+ * To keep the cache small for large repositories, a node stores neither its
+ * name nor a map of its members: the name is the last segment of the path of
+ * its entry, and the members are kept in an array sorted by name and looked
+ * up by binary search.
+ * </p>
  */
 class GitSyncObjectCache {
 
-	private final String name;
+	private static final GitSyncObjectCache[] NO_MEMBERS = {};
 
 	private ThreeWayDiffEntry diffEntry;
 
-	private Map<String, GitSyncObjectCache> members;
+	/** Members sorted by name, followed by unused slots. */
+	private GitSyncObjectCache[] members;
+
+	private int memberCount;
 
 	/**
 	 * Creates node and leaf element
 	 *
-	 * @param name
-	 *            entry name
 	 * @param diffEntry
-	 *            entry meta data
+	 *            entry meta data; the root has an entry without path
 	 */
-	GitSyncObjectCache(String name, ThreeWayDiffEntry diffEntry) {
-		this.name = name;
+	GitSyncObjectCache(ThreeWayDiffEntry diffEntry) {
 		this.diffEntry = diffEntry;
 	}
 
@@ -49,7 +54,10 @@ class GitSyncObjectCache {
 	 * @return name of this object
 	 */
 	public String getName() {
-		return name;
+		String path = diffEntry.getPath();
+		if (path == null)
+			return ""; //$NON-NLS-1$
+		return path.substring(nameStart(path));
 	}
 
 	/**
@@ -74,34 +82,31 @@ public void addMember(ThreeWayDiffEntry entry) {
 		String memberPath = entry.getPath();
 
 		if (members == null)
-			members = new HashMap<>();
+			members = NO_MEMBERS;
 
-		int start = -1;
-		Map<String, GitSyncObjectCache> parent = members;
-		int separatorIdx = memberPath.indexOf("/"); //$NON-NLS-1$
+		int start = 0;
+		GitSyncObjectCache parent = this;
+		int separatorIdx = memberPath.indexOf('/');
 		while (separatorIdx > 0) {
-			String key = memberPath.substring(start + 1, separatorIdx);
-			GitSyncObjectCache cacheObject = parent.get(key);
-			if (cacheObject == null)
+			int index = parent.find(memberPath, start, separatorIdx);
+			if (index < 0)
 				throw new RuntimeException(NLS.bind(
-						CoreText.GitSyncObjectCache_noData, key));
-
-			start = separatorIdx;
-			separatorIdx = memberPath.indexOf("/", separatorIdx + 1); //$NON-NLS-1$
-			if (cacheObject.members == null)
-				cacheObject.members = new HashMap<>();
+						CoreText.GitSyncObjectCache_noData,
+						memberPath.substring(start, separatorIdx)));
 
-			parent = cacheObject.members;
+			parent = parent.members[index];
+			if (parent.members == null)
+				parent.members = NO_MEMBERS;
+			start = separatorIdx + 1;
+			separatorIdx = memberPath.indexOf('/', start);
 		}
 
-		String newName;
-		if (start > 0)
-			newName = memberPath.substring(start + 1);
+		GitSyncObjectCache obj = new GitSyncObjectCache(entry);
+		int index = parent.find(memberPath, start, memberPath.length());
+		if (index >= 0)
+			parent.members[index] = obj;
 		else
-			newName = memberPath;
-
-		GitSyncObjectCache obj = new GitSyncObjectCache(newName, entry);
-		parent.put(newName, obj);
+			parent.insert(-(index + 1), obj);
 	}
 
 	/**
@@ -113,38 +118,36 @@ public void addMember(ThreeWayDiffEntry entry) {
 	public GitSyncObjectCache get(String childPath) {
 		if (childPath.length() == 0)
 			return this;
-		if (childPath
-				.substring(childPath.lastIndexOf("/") + 1, childPath.length()).equals(name)) //$NON-NLS-1$
+		int nameStart = nameStart(childPath);
+		if (hasName(childPath, nameStart))
 			return this;
 		if (members == null)
 			return null;
 
-		int start = -1;
-		Map<String, GitSyncObjectCache> parent = members;
-		int separatorIdx = childPath.indexOf("/"); //$NON-NLS-1$
+		int start = 0;
+		GitSyncObjectCache parent = this;
+		int separatorIdx = childPath.indexOf('/');
 		while (separatorIdx > 0) {
-			String key = childPath.substring(start + 1, separatorIdx);
-
-			GitSyncObjectCache childObject = parent.get(key);
-			if (childObject == null)
+			int index = parent.find(childPath, start, separatorIdx);
+			if (index < 0)
 				return null;
 
-			start = separatorIdx;
-			separatorIdx = childPath.indexOf("/", separatorIdx + 1); //$NON-NLS-1$
-			parent = childObject.members;
-			if (parent == null)
+			parent = parent.members[index];
+			if (parent.members == null)
 				return null;
+			start = separatorIdx + 1;
+			separatorIdx = childPath.indexOf('/', start);
 		}
 
-		return parent.get(childPath.subSequence(
-				childPath.lastIndexOf("/") + 1, childPath.length())); //$NON-NLS-1$
+		int index = parent.find(childPath, nameStart, childPath.length());
+		return index >= 0 ? parent.members[index] : null;
 	}
 
 	/**
 	 * @return number of cached members
 	 */
 	public int membersCount() {
-		return members != null ? members.size() : 0;
+		return memberCount;
 	}
 
 	/**
@@ -152,7 +155,10 @@ public int membersCount() {
 	 *         doesn't contain members
 	 */
 	public Collection<GitSyncObjectCache> members() {
-		return members != null ? members.values() : null;
+		if (members == null)
+			return null;
+		return Collections.unmodifiableList(
+				Arrays.asList(members).subList(0, memberCount));
 	}
 
 	@Override
@@ -161,8 +167,8 @@ public String toString() {
 		builder.append("entry: ").append(diffEntry).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
 		if (members != null) {
 			builder.append("members: "); //$NON-NLS-1$
-			for (GitSyncObjectCache obj : members.values())
-				builder.append(obj.toString()).append("\n"); //$NON-NLS-1$
+			for (int i = 0; i < memberCount; i++)
+				builder.append(members[i].toString()).append("\n"); //$NON-NLS-1$
 		}
 
 		return builder.toString();
@@ -170,31 +176,39 @@ public String toString() {
 
 	void merge(GitSyncObjectCache other, Set<String> filterPaths) {
 		if (other.members != null) {
-			if (members == null)
-				members = new HashMap<>();
+			// Both member arrays are sorted, so they are merged in one pass
+			GitSyncObjectCache[] merged = new GitSyncObjectCache[memberCount
+					+ other.memberCount];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < memberCount || j < other.memberCount) {
+				int cmp;
+				if (i == memberCount)
+					cmp = 1;
+				else if (j == other.memberCount)
+					cmp = -1;
+				else
+					cmp = members[i].compareName(other.members[j]);
 
-			for (Entry<String, GitSyncObjectCache> entry : members.entrySet()) {
-				String key = entry.getKey();
-				if (!other.members.containsKey(key)) {
-					GitSyncObjectCache obj = entry.getValue();
+				if (cmp < 0) {
+					GitSyncObjectCache obj = members[i++];
 					String entryPath = obj.getDiffEntry().getPath();
 					if (containsPathOrParent(filterPaths, entryPath))
 						obj.getDiffEntry().changeType = ChangeType.IN_SYNC;
-				}
-			}
-
-			for (Entry<String, GitSyncObjectCache> entry : other.members
-					.entrySet()) {
-				String key = entry.getKey();
-				GitSyncObjectCache obj = entry.getValue();
-				if (members.containsKey(key)) {
-					members.get(key).merge(obj, filterPaths);
+					merged[n++] = obj;
+				} else if (cmp > 0) {
+					merged[n++] = other.members[j++];
 				} else {
-					members.put(key, obj);
+					members[i].merge(other.members[j++], filterPaths);
+					merged[n++] = members[i++];
 				}
 			}
+			members = merged;
+			memberCount = n;
 		} else if (members != null) {
-			for (GitSyncObjectCache obj : members.values()) {
+			for (int i = 0; i < memberCount; i++) {
+				GitSyncObjectCache obj = members[i];
 				String entryPath = obj.getDiffEntry().getPath();
 				if (containsPathOrParent(filterPaths, entryPath))
 					obj.getDiffEntry().changeType = ChangeType.IN_SYNC;
@@ -206,6 +220,81 @@ void merge(GitSyncObjectCache other, Set<String> filterPaths) {
 		}
 	}
 
+	/**
+	 * Finds the member with the given name.
+	 *
+	 * @return the index of the member, or {@code -(insertion point + 1)}
+	 */
+	private int find(String path, int start, int end) {
+		if (members == null)
+			return -1;
+		int low = 0;
+		int high = memberCount - 1;
+		// Members are mostly added in order, so try the last one first
+		if (high >= 0) {
+			int cmp = members[high].compareName(path, start, end);
+			if (cmp < 0)
+				return -(memberCount + 1);
+			if (cmp == 0)
+				return high;
+		}
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = members[mid].compareName(path, start, end);
+			if (cmp < 0)
+				low = mid + 1;
+			else if (cmp > 0)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+	private void insert(int index, GitSyncObjectCache obj) {
+		if (memberCount == members.length)
+			members = Arrays.copyOf(members, Math.max(4, memberCount * 2));
+		System.arraycopy(members, index, members, index + 1,
+				memberCount - index);
+		members[index] = obj;
+		memberCount++;
+	}
+
+	private int compareName(GitSyncObjectCache other) {
+		String otherPath = other.diffEntry.getPath();
+		return compareName(otherPath, nameStart(otherPath),
+				otherPath.length());
+	}
+
+	/**
+	 * Compares the name of this node with {@code key.substring(start, end)}.
+	 */
+	private int compareName(String key, int start, int end) {
+		String path = diffEntry.getPath();
+		int i = nameStart(path);
+		int j = start;
+		while (i < path.length() && j < end) {
+			int cmp = path.charAt(i++) - key.charAt(j++);
+			if (cmp != 0)
+				return cmp;
+		}
+		return (path.length() - i) - (end - j);
+	}
+
+	private boolean hasName(String key, int start) {
+		String path = diffEntry.getPath();
+		if (path == null)
+			return start == key.length();
+		int nameStart = nameStart(path);
+		return path.length() - nameStart == key.length() - start
+				&& path.regionMatches(nameStart, key, start,
+						key.length() - start);
+	}
+
+	private static int nameStart(String path) {
+		return path.lastIndexOf('/') + 1;
+	}
+
 	private static boolean containsPathOrParent(Set<String> filterPaths,
 			String pathToTest) {
 		if (filterPaths.contains(pathToTest))
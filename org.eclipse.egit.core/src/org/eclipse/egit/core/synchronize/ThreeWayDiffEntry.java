@@ -13,8 +13,10 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
@@ -24,7 +26,9 @@
 import org.eclipse.jgit.annotations.NonNull;
 import org.eclipse.jgit.dircache.DirCacheCheckout.CheckoutMetadata;
 import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.AnyObjectId;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.CoreConfig.EolStreamType;
 import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.MutableObjectId;
 import org.eclipse.jgit.lib.ObjectId;
@@ -36,9 +40,11 @@
  */
 public final class ThreeWayDiffEntry {
 
-	/** Magical SHA1 used for file adds or deletes */
-	private static final AbbreviatedObjectId A_ZERO = AbbreviatedObjectId
-			.fromObjectId(ObjectId.zeroId());
+	private static final int LOCAL = 0;
+
+	private static final int BASE = 1;
+
+	private static final int REMOTE = 2;
 
 	/** General type of change a single file-level patch describes. */
 	public static enum ChangeType {
@@ -75,6 +81,19 @@ public static enum Direction {
 		// reduce the visibility of the default constructor
 	}
 
+	/**
+	 * Creates an entry without ids; used to build caches in tests.
+	 *
+	 * @param path
+	 *            repository relative path of the entry
+	 * @param isTree
+	 *            whether the entry is a folder
+	 */
+	ThreeWayDiffEntry(String path, boolean isTree) {
+		this.path = path;
+		this.isTree = isTree;
+	}
+
 	/**
 	 * Convert the TreeWalk into {@link ThreeWayDiffEntry} instances.
 	 *
@@ -125,29 +144,36 @@ public static enum Direction {
 		List<ThreeWayDiffEntry> r = new ArrayList<>();
 		MutableObjectId idBuf = new MutableObjectId();
 		NeedEntry needEntry = new NeedEntry(gsd);
+		// Most files share the same checkout metadata
+		Map<EolStreamType, CheckoutMetadata> unfiltered = new EnumMap<>(
+				EolStreamType.class);
 		while (walk.next()) {
 			ThreeWayDiffEntry e = new ThreeWayDiffEntry();
 
 			walk.getObjectId(idBuf, 0);
-			e.localId = AbbreviatedObjectId.fromObjectId(idBuf);
+			e.setId(LOCAL, idBuf);
 
 			walk.getObjectId(idBuf, 1);
-			e.baseId = AbbreviatedObjectId.fromObjectId(idBuf);
+			e.setId(BASE, idBuf);
 
 			walk.getObjectId(idBuf, 2);
-			e.remoteId = AbbreviatedObjectId.fromObjectId(idBuf);
+			e.setId(REMOTE, idBuf);
 
 			if (!walk.isSubtree()) {
-				e.metadata = new CheckoutMetadata(
-						walk.getEolStreamType(
-								TreeWalk.OperationType.CHECKOUT_OP),
-						walk.getFilterCommand(
-								Constants.ATTR_FILTER_TYPE_SMUDGE));
+				EolStreamType eol = walk
+						.getEolStreamType(TreeWalk.OperationType.CHECKOUT_OP);
+				String smudge = walk
+						.getFilterCommand(Constants.ATTR_FILTER_TYPE_SMUDGE);
+				if (smudge != null || eol == null)
+					e.metadata = new CheckoutMetadata(eol, smudge);
+				else
+					e.metadata = unfiltered.computeIfAbsent(eol,
+							type -> new CheckoutMetadata(type, null));
 			}
 
-			boolean localSameAsBase = e.localId.equals(e.baseId);
-			if (!A_ZERO.equals(e.localId) && localSameAsBase
-					&& e.baseId.equals(e.remoteId)) {
+			boolean localSameAsBase = e.sameId(LOCAL, BASE);
+			if (!e.isZero(LOCAL) && localSameAsBase
+					&& e.sameId(BASE, REMOTE)) {
 				if (needEntry.apply(walk.getPathString())) {
 					e.direction = Direction.INCOMING;
 					e.changeType = ChangeType.IN_SYNC;
@@ -180,10 +206,10 @@ public static enum Direction {
 					e.changeType = ChangeType.MODIFY;
 				}
 			} else {
-				if (localSameAsBase && !e.localId.equals(e.remoteId))
+				if (localSameAsBase && !e.sameId(LOCAL, REMOTE))
 					e.direction = Direction.INCOMING;
-				else if (e.remoteId.equals(e.baseId)
-						&& !e.remoteId.equals(e.localId))
+				else if (e.sameId(REMOTE, BASE)
+						&& !e.sameId(REMOTE, LOCAL))
 					e.direction = Direction.OUTGOING;
 				else
 					e.direction = Direction.CONFLICTING;
@@ -203,25 +229,70 @@ else if (e.remoteId.equals(e.baseId)
 
 	ChangeType changeType;
 
-	AbbreviatedObjectId baseId;
-
-	AbbreviatedObjectId remoteId;
-
 	private String path;
 
 	private Direction direction;
 
-	private AbbreviatedObjectId localId;
+	/**
+	 * The raw local, base and remote ids one after the other; {@code null}
+	 * until one is set.
+	 */
+	private byte[] ids;
+
+	/** Bit mask of the ids set. */
+	private byte idsSet;
 
 	private CheckoutMetadata metadata;
 
 	private boolean isTree = false;
 
+	/**
+	 * Sets the base and remote ids, leaving the local one unset.
+	 *
+	 * @param baseId
+	 * @param remoteId
+	 */
+	void setBaseAndRemoteId(AnyObjectId baseId, AnyObjectId remoteId) {
+		setId(BASE, baseId);
+		setId(REMOTE, remoteId);
+	}
+
+	private void setId(int which, AnyObjectId id) {
+		if (ids == null)
+			ids = new byte[3 * Constants.OBJECT_ID_LENGTH];
+		id.copyRawTo(ids, which * Constants.OBJECT_ID_LENGTH);
+		idsSet |= 1 << which;
+	}
+
+	private AbbreviatedObjectId getId(int which) {
+		if ((idsSet & (1 << which)) == 0)
+			return null;
+		return AbbreviatedObjectId.fromObjectId(ObjectId.fromRaw(ids,
+				which * Constants.OBJECT_ID_LENGTH));
+	}
+
+	private boolean sameId(int a, int b) {
+		int offsetA = a * Constants.OBJECT_ID_LENGTH;
+		int offsetB = b * Constants.OBJECT_ID_LENGTH;
+		for (int i = 0; i < Constants.OBJECT_ID_LENGTH; i++)
+			if (ids[offsetA + i] != ids[offsetB + i])
+				return false;
+		return true;
+	}
+
+	private boolean isZero(int which) {
+		int offset = which * Constants.OBJECT_ID_LENGTH;
+		for (int i = 0; i < Constants.OBJECT_ID_LENGTH; i++)
+			if (ids[offset + i] != 0)
+				return false;
+		return true;
+	}
+
 	/**
 	 * @return base id
 	 */
 	public AbbreviatedObjectId getBaseId() {
-		return baseId;
+		return getId(BASE);
 	}
 
 	/**
@@ -249,7 +320,7 @@ public ChangeType getChangeType() {
 	 * @return the object id; null if there is no index line
 	 */
 	public AbbreviatedObjectId getLocalId() {
-		return localId;
+		return getId(LOCAL);
 	}
 
 	/**
@@ -258,7 +329,7 @@ public AbbreviatedObjectId getLocalId() {
 	 * @return the object id; null if there is no index line
 	 */
 	public AbbreviatedObjectId getRemoteId() {
-		return remoteId;
+		return getId(REMOTE);
 	}
 
 	/**
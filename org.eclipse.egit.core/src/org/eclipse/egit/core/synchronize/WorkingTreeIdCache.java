@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.core.synchronize;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.CoreConfig.AutoCRLF;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.WorkingTreeOptions;
+
+/**
+ * Determines the blob ids of files in the working tree, so that they can be
+ * compared to remote variants by id instead of by content.
+ * <p>
+ * If the stat data of a file match its entry in the index, the id is taken
+ * from the index. Otherwise the file is hashed once, and the id is remembered
+ * together with the size and modification time of the file.
+ * </p>
+ * <p>
+ * Ids are only provided for repositories without content filters: with
+ * core.autocrlf or any attributes, the content of a remote variant is the
+ * smudged blob, which may differ from the blob even if the ids are equal.
+ * </p>
+ */
+class WorkingTreeIdCache {
+
+	/**
+	 * Files modified less than this number of milliseconds ago might be
+	 * modified again without changing their modification time, so their ids
+	 * are not remembered.
+	 */
+	private static final long RACY_MILLIS = 2000;
+
+	private final Map<File, CachedId> ids = new ConcurrentHashMap<>();
+
+	private final Map<File, IndexState> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Determines the blob id of a file.
+	 *
+	 * @param repository
+	 *            containing the file
+	 * @param path
+	 *            repository-relative path of the file
+	 * @param file
+	 *            in the working tree
+	 * @return the id of the content of the file as a blob, or {@code null} if
+	 *         it cannot be determined or may not be compared to remote
+	 *         variants
+	 */
+	ObjectId get(Repository repository, String path, File file) {
+		IndexState index = getIndex(repository);
+		if (index == null || index.filtered) {
+			return null;
+		}
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(file.toPath(),
+					BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch (IOException e) {
+			return null;
+		}
+		if (!attributes.isRegularFile()) {
+			return null;
+		}
+		long length = attributes.size();
+		Instant modified = attributes.lastModifiedTime().toInstant();
+		CachedId cached = ids.get(file);
+		if (cached != null && cached.length == length
+				&& cached.modified.equals(modified)) {
+			return cached.id;
+		}
+		ObjectId id = getFromIndex(index.dirCache.getEntry(path),
+				index.modified, length, modified);
+		if (id == null) {
+			try (InputStream in = Files.newInputStream(file.toPath());
+					ObjectInserter.Formatter formatter = new ObjectInserter.Formatter()) {
+				id = formatter.idFor(Constants.OBJ_BLOB, length, in);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+		if (modified.toEpochMilli() < System.currentTimeMillis()
+				- RACY_MILLIS) {
+			ids.put(file, new CachedId(length, modified, id));
+		}
+		return id;
+	}
+
+	/**
+	 * Forgets all ids.
+	 */
+	void clear() {
+		ids.clear();
+		indexes.clear();
+	}
+
+	private static ObjectId getFromIndex(DirCacheEntry entry,
+			Instant indexModified, long length, Instant modified) {
+		if (entry == null || entry.getStage() != DirCacheEntry.STAGE_0
+				|| entry.isAssumeValid() || entry.isSkipWorkTree()
+				|| entry.isSmudged() || length > Integer.MAX_VALUE) {
+			return null;
+		}
+		FileMode mode = entry.getFileMode();
+		if (mode != FileMode.REGULAR_FILE && mode != FileMode.EXECUTABLE_FILE) {
+			return null;
+		}
+		if (entry.getLength() != length
+				|| !entry.getLastModifiedInstant().equals(modified)
+				|| entry.mightBeRacilyClean(indexModified)) {
+			return null;
+		}
+		return entry.getObjectId();
+	}
+
+	private IndexState getIndex(Repository repository) {
+		if (repository.isBare()) {
+			return null;
+		}
+		File indexFile = repository.getIndexFile();
+		IndexState index = indexes.get(indexFile);
+		DirCache dirCache;
+		Instant modified;
+		try {
+			if (index != null && !index.dirCache.isOutdated()) {
+				return index;
+			}
+			// Taken before reading: an older time only makes more entries
+			// racily clean
+			modified = Files.getLastModifiedTime(indexFile.toPath())
+					.toInstant();
+			dirCache = DirCache.read(repository);
+		} catch (IOException e) {
+			return null;
+		}
+		index = new IndexState(dirCache, modified,
+				isFiltered(repository, dirCache));
+		indexes.put(indexFile, index);
+		return index;
+	}
+
+	private static boolean isFiltered(Repository repository,
+			DirCache dirCache) {
+		WorkingTreeOptions options = repository.getConfig()
+				.get(WorkingTreeOptions.KEY);
+		if (options.getAutoCRLF() != AutoCRLF.FALSE) {
+			return true;
+		}
+		if (repository.getConfig().getString(
+				ConfigConstants.CONFIG_CORE_SECTION, null,
+				ConfigConstants.CONFIG_KEY_ATTRIBUTESFILE) != null) {
+			return true;
+		}
+		if (new File(repository.getDirectory(), Constants.INFO_ATTRIBUTES)
+				.exists()) {
+			return true;
+		}
+		String nested = '/' + Constants.DOT_GIT_ATTRIBUTES;
+		for (int i = 0; i < dirCache.getEntryCount(); i++) {
+			String entryPath = dirCache.getEntry(i).getPathString();
+			if (entryPath.equals(Constants.DOT_GIT_ATTRIBUTES)
+					|| entryPath.endsWith(nested)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class CachedId {
+
+		final long length;
+
+		final Instant modified;
+
+		final ObjectId id;
+
+		CachedId(long length, Instant modified, ObjectId id) {
+			this.length = length;
+			this.modified = modified;
+			this.id = id;
+		}
+	}
+
+	private static class IndexState {
+
+		final DirCache dirCache;
+
+		final Instant modified;
+
+		final boolean filtered;
+
+		IndexState(DirCache dirCache, Instant modified, boolean filtered) {
+			this.dirCache = dirCache;
+			this.modified = modified;
+			this.filtered = filtered;
+		}
+	}
+}
@@ -17,6 +17,8 @@
 import static org.eclipse.jgit.junit.JGitTestUtil.write;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -183,6 +185,58 @@ public void testDecorationIgnoredFile() throws Exception {
 		assertArrayEquals(expectedDRs, actualDRs);
 	}
 
+	@Test
+	public void testDecorationBatch() throws Exception {
+		write(new File(project.getLocation().toFile(), "Test.dat"), "Something");
+		write(new File(project.getLocation().toFile(), "Test"), "Something");
+		write(new File(project.getLocation().toFile(), ".gitignore"), "Test");
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+		IResource file = project.findMember("Test.dat");
+		IResource gitignore = project.findMember(".gitignore");
+		IResource test = project.findMember("Test");
+		IDecoratableResource[] expectedDRs = new IDecoratableResource[] {
+				new TestDecoratableResource(gitignore),
+				new TestDecoratableResource(file),
+				new TestDecoratableResource(test).ignored() };
+		waitForIndexDiffUpdate(true);
+		IndexDiffData indexDiffData = indexDiffCacheEntry.getIndexDiff();
+		DecorationBatch batch = new DecorationBatch();
+		IDecoratableResource first = batch.get(indexDiffData, gitignore);
+		IDecoratableResource[] actualDRs = { first,
+				batch.get(indexDiffData, file),
+				batch.get(indexDiffData, test) };
+
+		assertArrayEquals(expectedDRs, actualDRs);
+		// Computed once for all members of the project
+		assertSame(first, batch.get(indexDiffData, gitignore));
+	}
+
+	@Test
+	public void testDecorationBatchAfterIncrementalUpdate() throws Exception {
+		write(new File(project.getLocation().toFile(), "Test.dat"), "Something");
+		write(new File(project.getLocation().toFile(), "Other.dat"), "Other");
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+		IResource file = project.findMember("Test.dat");
+		IResource other = project.findMember("Other.dat");
+		waitForIndexDiffUpdate(true);
+		IndexDiffData indexDiffData = indexDiffCacheEntry.getIndexDiff();
+		DecorationBatch batch = new DecorationBatch();
+		IDecoratableResource fileDR = batch.get(indexDiffData, file);
+		IDecoratableResource otherDR = batch.get(indexDiffData, other);
+
+		write(new File(project.getLocation().toFile(), "Test.dat"), "Changed");
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+		waitForIndexDiffUpdate(false);
+		IndexDiffData updated = indexDiffCacheEntry.getIndexDiff();
+		assertNotSame(indexDiffData, updated);
+
+		// Only the changed file is recomputed
+		assertSame(otherDR, batch.get(updated, other));
+		IDecoratableResource changedDR = batch.get(updated, file);
+		assertNotSame(fileDR, changedDR);
+		assertEquals(new TestDecoratableResource(file), changedDR);
+	}
+
 	@Test
 	public void testDecorationFileInIgnoredFolder() throws Exception {
 		// Create new file
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.egit.core.internal.graph.CommitGraphCache;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.junit.LocalDiskRepositoryTestCase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommitSearchIndexTest extends LocalDiskRepositoryTestCase {
+
+	private Repository db;
+
+	private File text;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		db = createWorkRepository();
+		text = new File(CommitGraphCache.getDirectory(db.getDirectory()),
+				"search");
+	}
+
+	private List<String> search(RevCommit... starts) throws IOException {
+		List<String> messages = new ArrayList<>();
+		assertTrue(CommitSearchIndex.search(db, Arrays.asList(starts),
+				commit -> messages.add(commit.getMessage()),
+				new NullProgressMonitor()));
+		return messages;
+	}
+
+	@Test
+	public void testIncrementalUpdate() throws Exception {
+		try (Git git = new Git(db)) {
+			RevCommit first = git.commit().setMessage("first").call();
+			RevCommit second = git.commit().setMessage("second").call();
+			assertEquals(Arrays.asList("first", "second"), search(second));
+			long length = text.length();
+
+			RevCommit third = git.commit().setMessage("third").call();
+			assertEquals(Arrays.asList("first", "second", "third"),
+					search(third));
+			assertTrue(text.length() > length);
+			assertEquals(Collections.singletonList("first"), search(first));
+		}
+	}
+
+	@Test
+	public void testOnlyReachableCommitsArePassedOn() throws Exception {
+		try (Git git = new Git(db)) {
+			RevCommit base = git.commit().setMessage("base").call();
+			RevCommit master = git.commit().setMessage("master").call();
+			git.checkout().setCreateBranch(true).setName("side")
+					.setStartPoint(base).call();
+			RevCommit side = git.commit().setMessage("side").call();
+
+			assertEquals(Arrays.asList("base", "master"), search(master));
+			assertEquals(Arrays.asList("base", "side"), search(side));
+			List<String> both = search(master, side);
+			assertEquals(3, both.size());
+			assertEquals("base", both.get(0));
+		}
+	}
+
+	@Test
+	public void testHalfWrittenUpdateIsTruncated() throws Exception {
+		try (Git git = new Git(db)) {
+			git.commit().setMessage("first").call();
+			RevCommit second = git.commit().setMessage("second").call();
+			assertEquals(Arrays.asList("first", "second"), search(second));
+
+			Files.write(text.toPath(), new byte[] { 1, 2, 3 },
+					StandardOpenOption.APPEND);
+			RevCommit third = git.commit().setMessage("third").call();
+			assertEquals(Arrays.asList("first", "second", "third"),
+					search(third));
+		}
+	}
+
+	@Test
+	public void testDamagedIndexIsRebuilt() throws Exception {
+		try (Git git = new Git(db)) {
+			git.commit().setMessage("first").call();
+			RevCommit second = git.commit().setMessage("second").call();
+			assertEquals(Arrays.asList("first", "second"), search(second));
+
+			byte[] garbage = new byte[(int) text.length()];
+			Arrays.fill(garbage, (byte) 0xFF);
+			Files.write(text.toPath(), garbage);
+			assertEquals(Arrays.asList("first", "second"), search(second));
+			assertEquals(Arrays.asList("first", "second"), search(second));
+		}
+	}
+
+	@Test
+	public void testTruncatedIndexIsRebuilt() throws Exception {
+		try (Git git = new Git(db)) {
+			git.commit().setMessage("first").call();
+			RevCommit second = git.commit().setMessage("second").call();
+			assertEquals(Arrays.asList("first", "second"), search(second));
+
+			byte[] content = Files.readAllBytes(text.toPath());
+			Files.write(text.toPath(),
+					Arrays.copyOf(content, content.length - 3));
+			assertEquals(Arrays.asList("first", "second"), search(second));
+		}
+	}
+
+	@Test
+	public void testUnknownStartIsNotSearched() throws Exception {
+		try (Git git = new Git(db)) {
+			git.commit().setMessage("first").call();
+			assertFalse(CommitSearchIndex.search(db,
+					Collections.singletonList(ObjectId.zeroId()),
+					commit -> {
+						// Nothing expected
+					}, new NullProgressMonitor()));
+		}
+	}
+}
@@ -50,7 +50,10 @@
 import org.eclipse.egit.ui.internal.RepositoryCacheRule;
 import org.eclipse.egit.ui.internal.UIIcons;
 import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.egit.ui.internal.commit.GitPrivacyKeyCache;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
 import org.eclipse.egit.ui.internal.credentials.EGitCredentialsProvider;
+import org.eclipse.egit.ui.internal.selection.IndexDiffPriorityTracker;
 import org.eclipse.egit.ui.internal.selection.SelectionRepositoryStateCache;
 import org.eclipse.egit.ui.internal.trace.GitTraceLocation;
 import org.eclipse.egit.ui.internal.variables.GitTemplateVariableResolver;
@@ -345,6 +348,9 @@ public void start(final BundleContext context) throws Exception {
 				props);
 
 		SelectionRepositoryStateCache.INSTANCE.initialize();
+		GitPrivacyKeyCache.INSTANCE.initialize();
+		OriginalCommitDateCache.INSTANCE.initialize();
+		IndexDiffPriorityTracker.INSTANCE.initialize();
 		setupRepoChangeScanner();
 		setupFocusHandling();
 		setupCredentialsProvider();
@@ -901,6 +907,9 @@ private void setupRepoChangeScanner() {
 	@Override
 	public void stop(final BundleContext context) throws Exception {
 		SelectionRepositoryStateCache.INSTANCE.dispose();
+		IndexDiffPriorityTracker.INSTANCE.dispose();
+		OriginalCommitDateCache.INSTANCE.dispose();
+		GitPrivacyKeyCache.INSTANCE.dispose();
 
 		if (focusListener != null) {
 			if (PlatformUI.isWorkbenchRunning()) {
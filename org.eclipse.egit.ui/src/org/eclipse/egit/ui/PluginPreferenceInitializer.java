@@ -73,8 +73,13 @@ public void initializeDefaultPreferences() {
 				false);
 		store.setDefault(UIPreferences.RESOURCEHISTORY_FOLLOW_RENAMES, true);
 		store.setDefault(UIPreferences.RESOURCEHISTORY_COMPARE_MODE, true);
+		store.setDefault(UIPreferences.RESOURCEHISTORY_LAZY_COMMIT_BODIES,
+				true);
+		store.setDefault(UIPreferences.RESOURCEHISTORY_COMPACT_GRAPH, false);
+		store.setDefault(UIPreferences.RESOURCEHISTORY_COMMIT_GRAPH, true);
 
 		store.setDefault(UIPreferences.DECORATOR_RECOMPUTE_ANCESTORS, true);
+		store.setDefault(UIPreferences.DECORATOR_BATCH_DECORATION, true);
 		store.setDefault(UIPreferences.DECORATOR_FILETEXT_DECORATION,
 				GitLightweightDecorator.DecorationHelper.FILE_FORMAT_DEFAULT);
 		store.setDefault(UIPreferences.DECORATOR_FOLDERTEXT_DECORATION,
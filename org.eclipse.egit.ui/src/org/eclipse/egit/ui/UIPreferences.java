@@ -65,6 +65,21 @@ public class UIPreferences {
 	public static final String RESOURCEHISTORY_FOLLOW_RENAMES = "resourcehistory_follow_renames"; //$NON-NLS-1$
 	/** */
 	public final static String RESOURCEHISTORY_COMPARE_MODE = "resourcehistory_compare_mode"; //$NON-NLS-1$
+	/**
+	 * Whether the history table keeps only the bodies of the commits around
+	 * the visible rows loaded.
+	 */
+	public static final String RESOURCEHISTORY_LAZY_COMMIT_BODIES = "resourcehistory_lazy_commit_bodies"; //$NON-NLS-1$
+	/**
+	 * Whether the history table lays out the lanes of the commit graph in
+	 * compact arrays instead of in the commits.
+	 */
+	public static final String RESOURCEHISTORY_COMPACT_GRAPH = "resourcehistory_compact_graph"; //$NON-NLS-1$
+	/**
+	 * Whether the history walk parses commit headers from a commit graph
+	 * persisted in the workspace metadata.
+	 */
+	public static final String RESOURCEHISTORY_COMMIT_GRAPH = "resourcehistory_commit_graph"; //$NON-NLS-1$
 	/** */
 	public final static String FINDTOOLBAR_IGNORE_CASE = "findtoolbar_ignore_case"; //$NON-NLS-1$
 	/** */
@@ -155,6 +170,11 @@ public class UIPreferences {
 	public final static String DECORATOR_SHOW_ASSUME_UNCHANGED_ICON = "decorator_show_assume_valid_icon"; //$NON-NLS-1$
 	/** */
 	public final static String DECORATOR_SHOW_DIRTY_ICON = "decorator_show_dirty_icon"; //$NON-NLS-1$
+	/**
+	 * Whether the decorator computes the states of all members of a folder at
+	 * once when one of them is decorated.
+	 */
+	public static final String DECORATOR_BATCH_DECORATION = "decorator_batch_decoration"; //$NON-NLS-1$
 	/** */
 	public final static String SYNC_VIEW_CHANGESET_LABEL_FORMAT = "sync_view_changeset_pattern"; //$NON-NLS-1$
 	/** */
@@ -5478,6 +5478,9 @@ public class UIText extends NLS {
 	/** */
 	public static String CommitSearchPage_UncheckAll;
 
+	/** */
+	public static String CommitSearchPage_UseIndex;
+
 	/** */
 	public static String CommitSearchQuery_Label;
 
@@ -6117,6 +6120,36 @@ public class UIText extends NLS {
 	/** */
 	public static Object GitPrivacy_original_authored_date;
 
+	/** */
+	public static String GitPrivacy_deriveKeyJobName;
+
+	/** */
+	public static String OriginalDateDecryptor_JobName;
+
+	/** */
+	public static String ExportOriginalCommitDatesCommand_DialogTitle;
+
+	/** */
+	public static String ExportOriginalCommitDatesCommand_JobName;
+
+	/** */
+	public static String ExportOriginalCommitDatesCommand_Failed;
+
+	/** */
+	public static String RewriteCommitDatesCommand_Title;
+
+	/** */
+	public static String RewriteCommitDatesCommand_Confirm;
+
+	/** */
+	public static String RewriteCommitDatesCommand_NoBranch;
+
+	/** */
+	public static String RewriteCommitDatesCommand_JobName;
+
+	/** */
+	public static String RewriteCommitDatesCommand_Failed;
+
 
 
 	static {
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.commit;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+
+import org.eclipse.egit.core.op.RewriteCommitDatesOperation.CommitRewriter;
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.UIPreferences;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ * Redates existing commits according to the current privacy preferences and
+ * re-encrypts their original dates with the current key.
+ * <p>
+ * The original dates of a commit are taken from its {@code GitPrivacy:} line
+ * if that can be decrypted with the current key or any key used earlier in
+ * this session, and from the commit itself otherwise. A line that cannot be
+ * decrypted is left alone so that no original dates are lost.
+ * </p>
+ */
+public class CommitDateRewriter implements CommitRewriter {
+
+	private final ProvidesCommitDate providesCommitDate = new ProvidesCommitDate();
+
+	private final OriginalCommitDateEncoder encoder;
+
+	private final List<OriginalCommitDateEncoder> decoders = new ArrayList<>();
+
+	private final boolean saveOriginalDates;
+
+	/**
+	 * Creates a rewriter for the current preferences. May derive the current
+	 * key, so it should not be called in the UI thread.
+	 */
+	public CommitDateRewriter() {
+		GitPrivacyKeyCache keyCache = GitPrivacyKeyCache.INSTANCE;
+		encoder = keyCache.createSnapshotEncoder();
+		decoders.add(encoder);
+		decoders.addAll(keyCache.createPreviousKeyEncoders());
+		saveOriginalDates = Activator.getDefault().getPreferenceStore()
+				.getBoolean(UIPreferences.SAVE_ORIGINAL_COMMIT_DATE);
+	}
+
+	@Override
+	public void rewrite(RevCommit commit, CommitBuilder builder) {
+		PersonIdent author = commit.getAuthorIdent();
+		PersonIdent committer = commit.getCommitterIdent();
+		boolean hasOriginalDates = hasOriginalDates(commit);
+		Optional<DecodedDates> decoded = Optional.empty();
+		int keyIndex = 0;
+		if (hasOriginalDates) {
+			for (; keyIndex < decoders.size(); keyIndex++) {
+				decoded = decoders.get(keyIndex).decode(commit);
+				if (decoded.isPresent()) {
+					break;
+				}
+			}
+		}
+		ZonedDateTime authoredDate = decoded
+				.map(DecodedDates::getAuthoredDateTime)
+				.orElseGet(() -> toZonedDateTime(author));
+		ZonedDateTime committedDate = decoded
+				.map(DecodedDates::getCommittedDateTime)
+				.orElseGet(() -> toZonedDateTime(committer));
+
+		builder.setAuthor(
+				withDate(author, providesCommitDate.redate(authoredDate)));
+		builder.setCommitter(
+				withDate(committer, providesCommitDate.redate(committedDate)));
+		// A line already encrypted with the current key is kept as is, so
+		// that rewriting twice does not change the commit again.
+		if (saveOriginalDates && (!hasOriginalDates
+				|| decoded.isPresent() && keyIndex > 0)) {
+			builder.setMessage(encoder.encode(commit.getFullMessage(),
+					authoredDate, committedDate));
+		}
+	}
+
+	private static boolean hasOriginalDates(RevCommit commit) {
+		byte[] buffer = commit.getRawBuffer();
+		return OriginalCommitDateEncoder.findPayload(buffer, 0,
+				buffer.length) >= 0;
+	}
+
+	private static ZonedDateTime toZonedDateTime(PersonIdent ident) {
+		return ZonedDateTime.ofInstant(ident.getWhen().toInstant(),
+				ident.getTimeZone().toZoneId());
+	}
+
+	private static PersonIdent withDate(PersonIdent ident,
+			ZonedDateTime date) {
+		return new PersonIdent(ident, Date.from(date.toInstant()),
+				TimeZone.getTimeZone(date.getZone()));
+	}
+}
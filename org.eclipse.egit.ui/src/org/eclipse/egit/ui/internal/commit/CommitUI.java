@@ -117,7 +117,7 @@ public CommitUI(Shell shell, Repository repo,
 				selectedResources.length);
 		this.preselectAll = preselectAll;
 		providesCommitDate = new ProvidesCommitDate();
-		originalCommitDateEncoder = new OriginalCommitDateEncoder();
+		originalCommitDateEncoder = GitPrivacyKeyCache.INSTANCE.createEncoder();
 	}
 
 	/**
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.egit.ui.internal.commit;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import com.goterl.lazycode.lazysodium.LazySodiumJava;
@@ -36,9 +37,26 @@ public class Crypto {
 
 	private static final SodiumJava sodiumJava = new SodiumJava();
 
+	/**
+	 * Number of base64 characters encoding the nonce. The 24 nonce bytes are
+	 * exactly 32 characters, so the nonce can be decoded on its own.
+	 */
+	private static final int NONCE_BASE64_LENGTH = SecretBox.NONCEBYTES / 3
+			* 4;
+
+	private static final byte[] BASE64 = new byte[256];
+
+	private static final ThreadLocal<PlainText> SCRATCH = ThreadLocal
+			.withInitial(PlainText::new);
+
 	static {
 		encoder = new Base64MessageEncoder();
 		lazySodium = new LazySodiumJava(sodiumJava, encoder);
+		Arrays.fill(BASE64, (byte) -1);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"; //$NON-NLS-1$
+		for (int i = 0; i < alphabet.length(); i++) {
+			BASE64[alphabet.charAt(i)] = (byte) i;
+		}
 	}
 
 	/**
@@ -49,11 +67,40 @@ public class Crypto {
 	 *
 	 */
 	public Crypto(String password, String salt) {
+		this(deriveKey(password, salt));
+	}
+
+	/**
+	 * Creates a {@link Crypto} for an already derived key. This is cheap,
+	 * unlike {@link #Crypto(String, String)}, which runs the scrypt key
+	 * derivation.
+	 *
+	 * @param key
+	 *            derived via {@link #deriveKey(String, String)}
+	 */
+	public Crypto(Key key) {
 		secretBox = lazySodium;
-		key = buildKey(password, salt, lazySodium);
+		this.key = key;
 	}
 
-	private Key buildKey(String password, String salt, Scrypt.Native scryt) {
+	/**
+	 * Derives the secret box key from a password and a salt. This is
+	 * deliberately expensive (scrypt with interactive limits, about 16 MB of
+	 * memory), so callers should cache the result; see
+	 * {@link GitPrivacyKeyCache}.
+	 *
+	 * @param password
+	 *            for crypto operations
+	 * @param salt
+	 *            base64 encoded salt for crypto operations
+	 * @return the derived key
+	 */
+	public static Key deriveKey(String password, String salt) {
+		return buildKey(password, salt, lazySodium);
+	}
+
+	private static Key buildKey(String password, String salt,
+			Scrypt.Native scryt) {
 		byte[] pwHash = new byte[SecretBox.KEYBYTES];
 		byte[] pass = password.getBytes();
 		boolean pwHashWorked = scryt.cryptoPwHashScryptSalsa208Sha256(
@@ -76,7 +123,7 @@ private Key buildKey(String password, String salt, Scrypt.Native scryt) {
 	public String encrypt(String toEncrypt) {
 		byte[] nonceBytes = lazySodium.nonce(SecretBox.NONCEBYTES);
 
-		byte[] date = toEncrypt.getBytes();
+		byte[] date = toEncrypt.getBytes(StandardCharsets.UTF_8);
 		byte[] cipherBytes = new byte[SecretBox.MACBYTES + date.length];
 		boolean encryptionWorked = secretBox.cryptoSecretBoxEasy(cipherBytes,
 				date, date.length, nonceBytes, key.getAsBytes());
@@ -88,8 +135,7 @@ public String encrypt(String toEncrypt) {
 		System.arraycopy(cipherBytes, 0, noncePlusCipherBytes,
 				nonceBytes.length, cipherBytes.length);
 
-		String noncePlusCypher = encoder.encode(noncePlusCipherBytes);
-		return noncePlusCypher;
+		return encoder.encode(noncePlusCipherBytes);
 	}
 
 	/**
@@ -97,24 +143,138 @@ public String encrypt(String toEncrypt) {
 	 * @return decrypted message
 	 */
 	public String decrypt(String encrypted) {
-		byte[] noncePlusCipherBytes = encoder.decode(encrypted);
-		byte[] nonceBytes = new byte[SecretBox.NONCEBYTES];
-		System.arraycopy(noncePlusCipherBytes, 0, nonceBytes, 0,
-				SecretBox.NONCEBYTES);
-		byte[] cipherBytes = new byte[noncePlusCipherBytes.length
-				- SecretBox.NONCEBYTES];
-		System.arraycopy(noncePlusCipherBytes, SecretBox.NONCEBYTES,
-				cipherBytes,
-				0, noncePlusCipherBytes.length - SecretBox.NONCEBYTES);
-		byte[] decrypted = new byte[cipherBytes.length - SecretBox.MACBYTES];
-		boolean decryptionWorked = secretBox
-				.cryptoSecretBoxOpenEasy(decrypted, cipherBytes,
-						cipherBytes.length, nonceBytes, key.getAsBytes());
-		if (!decryptionWorked) {
+		byte[] encoded = encrypted.getBytes(StandardCharsets.US_ASCII);
+		PlainText plainText = decrypt(encoded, 0, encoded.length);
+		if (plainText == null) {
 			return ""; //$NON-NLS-1$
 		}
+		return new String(plainText.getBytes(), 0, plainText.getLength(),
+				StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decrypts a base64 encoded nonce and cipher text directly from a byte
+	 * buffer, for instance the raw buffer of a commit. Decoding and decryption
+	 * use thread-local scratch buffers, so this does not allocate anything
+	 * once the buffers have grown to the needed size.
+	 *
+	 * @param encoded
+	 *            buffer containing the base64 encoded nonce and cipher text
+	 * @param start
+	 *            of the encoded text in {@code encoded}, inclusive
+	 * @param end
+	 *            of the encoded text in {@code encoded}, exclusive
+	 * @return the thread-local {@link PlainText}, valid until the next call of
+	 *         this method in the same thread, or {@code null} if the text
+	 *         could not be decoded or decrypted
+	 */
+	public PlainText decrypt(byte[] encoded, int start, int end) {
+		PlainText buffers = SCRATCH.get();
+		int maxDecoded = (end - start) / 4 * 3;
+		if (maxDecoded < SecretBox.NONCEBYTES + SecretBox.MACBYTES) {
+			return null;
+		}
+		byte[] cipher = buffers.cipher(maxDecoded);
+		// The nonce must be an array of its own; decode it separately.
+		int nonceEnd = start + NONCE_BASE64_LENGTH;
+		if (decodeBase64(encoded, start, nonceEnd, buffers.nonce,
+				0) != SecretBox.NONCEBYTES) {
+			return null;
+		}
+		int cipherLength = decodeBase64(encoded, nonceEnd, end, cipher, 0);
+		if (cipherLength < SecretBox.MACBYTES) {
+			return null;
+		}
+		byte[] message = buffers.message(cipherLength - SecretBox.MACBYTES);
+		if (!secretBox.cryptoSecretBoxOpenEasy(message, cipher, cipherLength,
+				buffers.nonce, key.getAsBytes())) {
+			return null;
+		}
+		buffers.length = cipherLength - SecretBox.MACBYTES;
+		return buffers;
+	}
 
-		return new String(decrypted);
+	/**
+	 * Decodes standard base64 with padding.
+	 *
+	 * @return the number of bytes written to {@code dst}, or -1 if the input
+	 *         is not valid base64 or does not fit
+	 */
+	private static int decodeBase64(byte[] src, int start, int end,
+			byte[] dst, int offset) {
+		if ((end - start) % 4 != 0) {
+			return -1;
+		}
+		int d = offset;
+		for (int i = start; i < end; i += 4) {
+			boolean pad2 = src[i + 2] == '=';
+			boolean pad3 = src[i + 3] == '=';
+			int b0 = BASE64[src[i] & 0xff];
+			int b1 = BASE64[src[i + 1] & 0xff];
+			int b2 = pad2 ? 0 : BASE64[src[i + 2] & 0xff];
+			int b3 = pad3 ? 0 : BASE64[src[i + 3] & 0xff];
+			if ((b0 | b1 | b2 | b3) < 0 || pad2 && !pad3) {
+				return -1;
+			}
+			int bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+			int n = pad2 ? 1 : pad3 ? 2 : 3;
+			if (n < 3 && i + 4 != end || d + n > dst.length) {
+				return -1;
+			}
+			dst[d++] = (byte) (bits >> 16);
+			if (n > 1) {
+				dst[d++] = (byte) (bits >> 8);
+			}
+			if (n > 2) {
+				dst[d++] = (byte) bits;
+			}
+		}
+		return d - offset;
+	}
+
+	/**
+	 * The plain text produced by {@link Crypto#decrypt(byte[], int, int)}.
+	 * Instances are thread-local scratch buffers and are reused by the next
+	 * decryption in the same thread.
+	 */
+	public static final class PlainText {
+
+		final byte[] nonce = new byte[SecretBox.NONCEBYTES];
+
+		private byte[] cipher = new byte[64];
+
+		private byte[] message = new byte[64];
+
+		int length;
+
+		byte[] cipher(int size) {
+			if (cipher.length < size) {
+				cipher = new byte[Math.max(size, 2 * cipher.length)];
+			}
+			return cipher;
+		}
+
+		byte[] message(int size) {
+			if (message.length < size) {
+				message = new byte[Math.max(size, 2 * message.length)];
+			}
+			return message;
+		}
+
+		/**
+		 * @return the buffer holding the plain text; only the first
+		 *         {@link #getLength()} bytes are valid
+		 */
+		public byte[] getBytes() {
+			return message;
+		}
+
+		/**
+		 * @return the number of valid bytes in {@link #getBytes()}
+		 */
+		public int getLength() {
+			return length;
+		}
 	}
 
 	/**
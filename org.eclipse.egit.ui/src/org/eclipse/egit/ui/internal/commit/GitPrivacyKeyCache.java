@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.commit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.UIPreferences;
+import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+
+/**
+ * A process-wide cache of the git-privacy key derived from the password and
+ * salt preferences.
+ * <p>
+ * Deriving the key runs scrypt, which is expensive by design. This cache
+ * derives it once per password/salt pair, preferably in a background job, and
+ * hands out {@link OriginalCommitDateEncoder}s that all share that key. When
+ * the password or the salt change, the cached key is dropped and a new one is
+ * derived. The keys used before are remembered for the rest of the session, so
+ * that existing original dates can still be decrypted and re-encrypted with
+ * the new key.
+ * </p>
+ */
+public class GitPrivacyKeyCache {
+
+	/** The singleton instance of the {@link GitPrivacyKeyCache}. */
+	public static final GitPrivacyKeyCache INSTANCE = new GitPrivacyKeyCache();
+
+	/** Maximum number of previous keys remembered. */
+	private static final int MAX_PREVIOUS_KEYS = 4;
+
+	private final Object lock = new Object();
+
+	private final IPropertyChangeListener listener = this::propertyChange;
+
+	private final List<Runnable> keyChangeListeners = new CopyOnWriteArrayList<>();
+
+	private IPreferenceStore store;
+
+	// guarded by lock
+	private KeyEntry current;
+
+	// guarded by lock; most recent first
+	private final Deque<KeyEntry> previous = new ArrayDeque<>();
+
+	private GitPrivacyKeyCache() {
+		// No creation from outside
+	}
+
+	/**
+	 * Starts listening to preference changes and, if any git-privacy feature
+	 * that needs the key is enabled, derives the key in the background.
+	 */
+	public void initialize() {
+		store = Activator.getDefault().getPreferenceStore();
+		store.addPropertyChangeListener(listener);
+		if (isKeyNeeded()) {
+			prefetch();
+		}
+	}
+
+	/**
+	 * Stops listening to preference changes and forgets the cached key.
+	 */
+	public void dispose() {
+		if (store != null) {
+			store.removePropertyChangeListener(listener);
+		}
+		synchronized (lock) {
+			current = null;
+			previous.clear();
+		}
+	}
+
+	/**
+	 * Registers a listener that is notified whenever the password or the salt,
+	 * and thus the key, change. Caches of decrypted data use this to
+	 * invalidate themselves.
+	 *
+	 * @param keyChangeListener
+	 *            to add
+	 */
+	public void addKeyChangeListener(Runnable keyChangeListener) {
+		keyChangeListeners.add(keyChangeListener);
+	}
+
+	/**
+	 * @param keyChangeListener
+	 *            to remove
+	 */
+	public void removeKeyChangeListener(Runnable keyChangeListener) {
+		keyChangeListeners.remove(keyChangeListener);
+	}
+
+	/**
+	 * @return a new lightweight encoder using the cached key
+	 */
+	public OriginalCommitDateEncoder createEncoder() {
+		return new OriginalCommitDateEncoder(this::getCrypto);
+	}
+
+	/**
+	 * Creates an encoder bound to the current key, deriving it first if
+	 * necessary. Unlike {@link #createEncoder()} the encoder does not pick up
+	 * later password or salt changes, but it also does not look up the key
+	 * on each use, which makes it the better choice for bulk operations.
+	 *
+	 * @return a new encoder using the current key
+	 */
+	public OriginalCommitDateEncoder createSnapshotEncoder() {
+		Crypto crypto = getCrypto();
+		return new OriginalCommitDateEncoder(() -> crypto);
+	}
+
+	/**
+	 * Creates encoders for the keys that were in use earlier in this session,
+	 * most recent first. The keys are derived lazily on first use of the
+	 * respective encoder.
+	 *
+	 * @return new encoders using previous keys; may be empty
+	 */
+	public List<OriginalCommitDateEncoder> createPreviousKeyEncoders() {
+		List<OriginalCommitDateEncoder> encoders = new ArrayList<>();
+		synchronized (lock) {
+			for (KeyEntry entry : previous) {
+				encoders.add(new OriginalCommitDateEncoder(entry::getCrypto));
+			}
+		}
+		return encoders;
+	}
+
+	/**
+	 * Retrieves the {@link Crypto} for the current password and salt. If the
+	 * key has not been derived yet, it is derived in the calling thread.
+	 *
+	 * @return the {@link Crypto} for the current key
+	 */
+	public Crypto getCrypto() {
+		return getEntry().getCrypto();
+	}
+
+	private KeyEntry getEntry() {
+		IPreferenceStore preferences = getStore();
+		String password = preferences
+				.getString(UIPreferences.GIT_PRIVACY_PASSWORD);
+		String salt = preferences
+				.getString(UIPreferences.GIT_PRIVACY_PASSWORD_SALT);
+		synchronized (lock) {
+			if (current == null || !current.matches(password, salt)) {
+				retire(current);
+				current = new KeyEntry(password, salt);
+			}
+			return current;
+		}
+	}
+
+	// call with lock held
+	private void retire(KeyEntry entry) {
+		if (entry == null) {
+			return;
+		}
+		previous.removeIf(
+				other -> other.matches(entry.password, entry.salt));
+		previous.addFirst(entry);
+		while (previous.size() > MAX_PREVIOUS_KEYS) {
+			previous.removeLast();
+		}
+	}
+
+	private IPreferenceStore getStore() {
+		if (store == null) {
+			return Activator.getDefault().getPreferenceStore();
+		}
+		return store;
+	}
+
+	private boolean isKeyNeeded() {
+		return store.getBoolean(UIPreferences.SAVE_ORIGINAL_COMMIT_DATE)
+				|| store.getBoolean(
+						UIPreferences.GIT_PRIVACY_HISTORY_COLUMN_ORIGINAL_DATE)
+				|| store.getBoolean(
+						UIPreferences.GIT_PRIVACY_COMMIT_MESSAGE_ORIGINAL_DATE);
+	}
+
+	private void propertyChange(PropertyChangeEvent event) {
+		String property = event.getProperty();
+		if (UIPreferences.GIT_PRIVACY_PASSWORD.equals(property)
+				|| UIPreferences.GIT_PRIVACY_PASSWORD_SALT.equals(property)) {
+			synchronized (lock) {
+				retire(current);
+				current = null;
+			}
+			for (Runnable keyChangeListener : keyChangeListeners) {
+				keyChangeListener.run();
+			}
+			if (isKeyNeeded()) {
+				prefetch();
+			}
+		} else if (Boolean.parseBoolean(String.valueOf(event.getNewValue()))
+				&& (UIPreferences.SAVE_ORIGINAL_COMMIT_DATE.equals(property)
+						|| UIPreferences.GIT_PRIVACY_HISTORY_COLUMN_ORIGINAL_DATE
+								.equals(property)
+						|| UIPreferences.GIT_PRIVACY_COMMIT_MESSAGE_ORIGINAL_DATE
+								.equals(property))) {
+			prefetch();
+		}
+	}
+
+	private void prefetch() {
+		Job job = new Job(UIText.GitPrivacy_deriveKeyJobName) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				getCrypto();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setUser(false);
+		job.schedule();
+	}
+
+	private static class KeyEntry {
+
+		private final String password;
+
+		private final String salt;
+
+		private Crypto crypto;
+
+		KeyEntry(String password, String salt) {
+			this.password = password;
+			this.salt = salt;
+		}
+
+		boolean matches(String otherPassword, String otherSalt) {
+			return password.equals(otherPassword) && salt.equals(otherSalt);
+		}
+
+		synchronized Crypto getCrypto() {
+			if (crypto == null) {
+				crypto = new Crypto(Crypto.deriveKey(password, salt));
+			}
+			return crypto;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.commit;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.annotations.Nullable;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ * A cache of the original commit dates decrypted from the
+ * {@code GitPrivacy:} lines of commit messages, keyed by commit id and kept
+ * per repository.
+ * <p>
+ * Entries are computed lazily on first access. Commits without an (decryptable)
+ * original date are cached, too, so that repeatedly painting the same rows
+ * does not scan the message or call into libsodium again. The whole cache is
+ * invalidated when the git-privacy key changes.
+ * </p>
+ */
+public class OriginalCommitDateCache {
+
+	/** The singleton instance of the {@link OriginalCommitDateCache}. */
+	public static final OriginalCommitDateCache INSTANCE = new OriginalCommitDateCache();
+
+	/** Maximum number of commits cached per repository. */
+	private static final int MAX_ENTRIES = 50_000;
+
+	private final Map<File, Map<ObjectId, Optional<DecodedDates>>> cache = new ConcurrentHashMap<>();
+
+	private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+
+	private final Runnable keyChangeListener = this::clear;
+
+	private volatile Map<ObjectId, Optional<DecodedDates>> unknownRepository = new ConcurrentHashMap<>();
+
+	private volatile int generation;
+
+	private final OriginalCommitDateEncoder encoder = GitPrivacyKeyCache.INSTANCE
+			.createEncoder();
+
+	private OriginalCommitDateCache() {
+		// No creation from outside
+	}
+
+	/**
+	 * Makes the cache listen to key changes.
+	 */
+	public void initialize() {
+		GitPrivacyKeyCache.INSTANCE.addKeyChangeListener(keyChangeListener);
+	}
+
+	/**
+	 * Stops listening to key changes and clears the cache.
+	 */
+	public void dispose() {
+		GitPrivacyKeyCache.INSTANCE.removeKeyChangeListener(keyChangeListener);
+		invalidationListeners.clear();
+		clear();
+	}
+
+	/**
+	 * Completely clears the cache and notifies the invalidation listeners.
+	 */
+	public void clear() {
+		generation++;
+		cache.clear();
+		unknownRepository = new ConcurrentHashMap<>();
+		for (Runnable listener : invalidationListeners) {
+			listener.run();
+		}
+	}
+
+	/**
+	 * Tells how often the cache has been cleared. Clients that keep decrypted
+	 * dates elsewhere can use this to detect that their values are stale.
+	 *
+	 * @return the current generation of the cache
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Clears all cached entries for the given {@link Repository}, for instance
+	 * when it is removed from the Repositories view.
+	 *
+	 * @param repository
+	 *            to remove cached items of
+	 */
+	public void clear(@NonNull Repository repository) {
+		cache.remove(repository.getDirectory());
+	}
+
+	/**
+	 * Registers a listener that is run after the cache has been cleared, for
+	 * instance because the key changed. Viewers showing original dates use
+	 * this to refresh themselves.
+	 *
+	 * @param listener
+	 *            to add
+	 */
+	public void addInvalidationListener(Runnable listener) {
+		invalidationListeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 *            to remove
+	 */
+	public void removeInvalidationListener(Runnable listener) {
+		invalidationListeners.remove(listener);
+	}
+
+	/**
+	 * Retrieves the original dates of a commit, decrypting them on first
+	 * access.
+	 *
+	 * @param repository
+	 *            the commit belongs to; may be {@code null} if unknown
+	 * @param commit
+	 *            to get the dates of; its body must have been parsed
+	 * @return the decoded dates, or {@link Optional#empty()} if the commit has
+	 *         no original date that could be decrypted with the current key
+	 */
+	public Optional<DecodedDates> getDates(@Nullable Repository repository,
+			@NonNull RevCommit commit) {
+		// Get the map before decrypting: if the key changes meanwhile, the
+		// result goes into a map that has already been dropped.
+		Map<ObjectId, Optional<DecodedDates>> items = getItems(repository);
+		Optional<DecodedDates> dates = items.get(commit);
+		if (dates == null) {
+			dates = encoder.decode(commit);
+			put(items, commit, dates);
+		}
+		return dates;
+	}
+
+	/**
+	 * Retrieves the original dates of a commit whose body need not have been
+	 * parsed, decrypting them on first access. The commit is then read through
+	 * the given reader without attaching its body to any {@link RevCommit}.
+	 *
+	 * @param repository
+	 *            the commit belongs to
+	 * @param commit
+	 *            id of the commit to get the dates of
+	 * @param reader
+	 *            to read the commit with if its dates are not cached
+	 * @return the decoded dates, or {@link Optional#empty()} if the commit has
+	 *         no original date that could be decrypted with the current key
+	 * @throws IOException
+	 *             if the commit cannot be read
+	 */
+	public Optional<DecodedDates> getDates(@NonNull Repository repository,
+			@NonNull AnyObjectId commit, @NonNull ObjectReader reader)
+			throws IOException {
+		Map<ObjectId, Optional<DecodedDates>> items = getItems(repository);
+		Optional<DecodedDates> dates = items.get(commit);
+		if (dates == null) {
+			dates = encoder.decodeRaw(
+					reader.open(commit, Constants.OBJ_COMMIT).getCachedBytes());
+			put(items, commit, dates);
+		}
+		return dates;
+	}
+
+	private static void put(Map<ObjectId, Optional<DecodedDates>> items,
+			AnyObjectId commit, Optional<DecodedDates> dates) {
+		if (items.size() >= MAX_ENTRIES) {
+			trim(items);
+		}
+		items.put(commit.copy(), dates);
+	}
+
+	private Map<ObjectId, Optional<DecodedDates>> getItems(
+			Repository repository) {
+		File gitDir = repository != null ? repository.getDirectory() : null;
+		if (gitDir == null) {
+			return unknownRepository;
+		}
+		return cache.computeIfAbsent(gitDir,
+				dir -> new ConcurrentHashMap<>());
+	}
+
+	private static void trim(Map<ObjectId, Optional<DecodedDates>> items) {
+		// No LRU bookkeeping on the hot path; just drop a quarter of the
+		// entries. Whatever is still visible will be recomputed on demand.
+		int toRemove = MAX_ENTRIES / 4;
+		Iterator<ObjectId> iterator = items.keySet().iterator();
+		while (toRemove-- > 0 && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+}
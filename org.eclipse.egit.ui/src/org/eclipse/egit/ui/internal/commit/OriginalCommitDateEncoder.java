@@ -10,20 +10,23 @@
  *******************************************************************************/
 package org.eclipse.egit.ui.internal.commit;
 
-import java.io.BufferedReader;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.eclipse.egit.ui.Activator;
-import org.eclipse.egit.ui.UIPreferences;
-import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.RawParseUtils;
 
 /**
  * Encodes and decodes the original commit date to a commit message.
@@ -36,34 +39,28 @@ public class OriginalCommitDateEncoder {
 	private static final Pattern pattern = Pattern
 			.compile("(?m)^" + PREFIX + "(\\S+)"); //$NON-NLS-1$ //$NON-NLS-2$
 
-	private IPreferenceStore preferenceStore;
+	private static final byte[] PREFIX_BYTES = Constants.encodeASCII(PREFIX);
 
-	private Crypto crypto;
+	private static final Pattern linePattern = Pattern
+			.compile("(?m)^" + PREFIX + ".*(\\R|\\z)"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final DateTimeFormatter ZONE_FORMAT = DateTimeFormatter
+			.ofPattern("xx"); //$NON-NLS-1$
+
+	private final Supplier<Crypto> crypto;
 
 	private SimpleDateFormat format;
 
 	/**
-	 * Initializes the crypto class for encoding and decoding. Adds a listener
-	 * to password and salt so the crypto class gets rebuilt when they change.
+	 * Creates a lightweight encoder. The key is not derived here but obtained
+	 * from the supplier on each use; see {@link GitPrivacyKeyCache}.
+	 *
+	 * @param crypto
+	 *            supplying the {@link Crypto} to use
 	 */
-	public OriginalCommitDateEncoder() {
-		preferenceStore = Activator.getDefault().getPreferenceStore();
-		crypto = new Crypto(
-				preferenceStore.getString(UIPreferences.GIT_PRIVACY_PASSWORD),
-				preferenceStore.getString(UIPreferences.GIT_PRIVACY_PASSWORD_SALT));
+	OriginalCommitDateEncoder(Supplier<Crypto> crypto) {
+		this.crypto = crypto;
 		format = new SimpleDateFormat("Z"); //$NON-NLS-1$
-
-		preferenceStore.addPropertyChangeListener(e -> {
-			if (UIPreferences.GIT_PRIVACY_PASSWORD.equals(e.getProperty())) {
-				crypto = new Crypto(
-						(String) e.getNewValue(),
-						preferenceStore.getString(UIPreferences.GIT_PRIVACY_PASSWORD_SALT));
-			} else if (UIPreferences.GIT_PRIVACY_PASSWORD_SALT.equals(e.getProperty())) {
-				crypto = new Crypto(
-						preferenceStore.getString(UIPreferences.GIT_PRIVACY_PASSWORD),
-						(String) e.getNewValue());
-			}
-		});
 	}
 
 	/**
@@ -88,10 +85,62 @@ public String encode(String commitMessage,
 		}
 	}
 
-	private boolean doesntAlreadyContainDate(String commitMessage) {
-		return !new BufferedReader(new StringReader(commitMessage))
-				.lines()
-				.anyMatch(line -> line.startsWith(PREFIX));
+	/**
+	 * Replaces the {@code GitPrivacy:} line of a commit message, if any, by
+	 * one holding the given original dates, encrypted with the current key.
+	 *
+	 * @param commitMessage
+	 *            message of a commit
+	 * @param authoredDate
+	 *            original authored date
+	 * @param committedDate
+	 *            original committed date
+	 * @return commit message with the original dates added in an encrypted
+	 *         form
+	 */
+	public String encode(String commitMessage, ZonedDateTime authoredDate,
+			ZonedDateTime committedDate) {
+		StringBuilder newCommitMessage = new StringBuilder(
+				strip(commitMessage));
+		return newCommitMessage.append(System.lineSeparator())
+				.append(System.lineSeparator())
+				.append(PREFIX)
+				.append(crypto.get().encrypt(toRawDateFormat(authoredDate)
+						+ ";" //$NON-NLS-1$
+						+ toRawDateFormat(committedDate)))
+				.toString();
+	}
+
+	/**
+	 * Removes all {@code GitPrivacy:} lines, and the whitespace that
+	 * separated them from the rest of the message, from a commit message.
+	 *
+	 * @param commitMessage
+	 *            message of a commit
+	 * @return the message without original dates
+	 */
+	public static String strip(String commitMessage) {
+		if (doesntAlreadyContainDate(commitMessage)) {
+			return commitMessage;
+		}
+		String stripped = linePattern.matcher(commitMessage).replaceAll(""); //$NON-NLS-1$
+		int end = stripped.length();
+		while (end > 0 && Character.isWhitespace(stripped.charAt(end - 1))) {
+			end--;
+		}
+		return stripped.substring(0, end);
+	}
+
+	private static boolean doesntAlreadyContainDate(String commitMessage) {
+		int index = commitMessage.indexOf(PREFIX);
+		while (index >= 0) {
+			if (index == 0 || commitMessage.charAt(index - 1) == '\n'
+					|| commitMessage.charAt(index - 1) == '\r') {
+				return false;
+			}
+			index = commitMessage.indexOf(PREFIX, index + 1);
+		}
+		return true;
 	}
 
 	private StringBuilder addEncodedOriginalCommitDate(
@@ -105,7 +154,7 @@ private StringBuilder addEncodedOriginalCommitDate(
 				.lineSeparator())
 				.append(System.lineSeparator())
 				.append(PREFIX)
-				.append(crypto.encrypt(toEncrypt));
+				.append(crypto.get().encrypt(toEncrypt));
 	}
 
 	/**
@@ -120,6 +169,10 @@ private String toRawDateFormat(Date originalCommitDate) {
 		return dateString;
 	}
 
+	private static String toRawDateFormat(ZonedDateTime date) {
+		return date.toEpochSecond() + " " + ZONE_FORMAT.format(date); //$NON-NLS-1$
+	}
+
 	/**
 	 * Extracts the encrypted original commit date from a commit message.
 	 *
@@ -129,35 +182,199 @@ private String toRawDateFormat(Date originalCommitDate) {
 	public Optional<DecodedDates> decode(String commitMessage) {
 		Matcher matcher = pattern.matcher(commitMessage);
 		if (matcher.find()) {
-			String decrypted = crypto.decrypt(matcher.group(matcher.groupCount()));
-			if (decrypted.isEmpty()) {
-				return Optional.empty();
-			}
-			return Optional.of(toDate(decrypted));
+			byte[] payload = matcher.group(matcher.groupCount())
+					.getBytes(StandardCharsets.US_ASCII);
+			return decode(payload, 0, payload.length);
 		}
 		return Optional.empty();
 	}
 
-	private DecodedDates toDate(String decrypted) {
-		String[] dates = decrypted.split(";"); //$NON-NLS-1$
-		String[] authored = dates[0].split(" "); //$NON-NLS-1$
-		String[] commited = dates[1].split(" "); //$NON-NLS-1$
-		ZonedDateTime authoredDateTime = zonedDateTime(authored);
-		ZonedDateTime committedDateTime = zonedDateTime(commited);
-		return new DecodedDates(authoredDateTime, committedDateTime);
+	/**
+	 * Extracts the encrypted original commit date from the raw buffer of a
+	 * commit. Unlike {@link #decode(String)} this neither decodes the commit
+	 * message nor runs a regular expression over it, so commits without a
+	 * {@code GitPrivacy:} line are rejected after a single scan over the
+	 * message bytes.
+	 *
+	 * @param commit
+	 *            with its body parsed
+	 * @return the decrypted original commit date, or {@link Optional#empty()}
+	 *         if the commit has none or it cannot be decrypted
+	 */
+	public Optional<DecodedDates> decode(@NonNull RevCommit commit) {
+		byte[] buffer = commit.getRawBuffer();
+		if (buffer == null) {
+			return Optional.empty();
+		}
+		return decodeRaw(buffer);
+	}
+
+	/**
+	 * Like {@link #decode(RevCommit)}, but for a raw commit buffer that need
+	 * not be attached to a {@link RevCommit}.
+	 *
+	 * @param buffer
+	 *            raw commit buffer, headers included
+	 * @return the decrypted original commit date, or {@link Optional#empty()}
+	 *         if the commit has none or it cannot be decrypted
+	 */
+	public Optional<DecodedDates> decodeRaw(byte[] buffer) {
+		int start = findPayload(buffer, 0, buffer.length);
+		if (start < 0) {
+			return Optional.empty();
+		}
+		return decode(buffer, start, payloadEnd(buffer, start, buffer.length));
 	}
 
-	private ZonedDateTime zonedDateTime(String[] authored) {
-		Instant instant = Instant
-				.ofEpochSecond(Long.valueOf(authored[0]).longValue());
-		ZoneOffset zoneOffset = ZoneOffset.of(authored[1]);
-		return ZonedDateTime.ofInstant(instant, zoneOffset);
+	/**
+	 * Finds the payload of the first {@code GitPrivacy:} line in the message
+	 * of a raw commit buffer. The payload ends at the next whitespace, see
+	 * {@link #payloadEnd(byte[], int, int)}.
+	 *
+	 * @param buffer
+	 *            raw commit buffer, headers included
+	 * @param start
+	 *            of the commit in the buffer
+	 * @param end
+	 *            of the commit in the buffer, exclusive
+	 * @return index of the first payload byte, or -1 if there is no
+	 *         {@code GitPrivacy:} line with a non-empty payload
+	 */
+	static int findPayload(byte[] buffer, int start, int end) {
+		int line = RawParseUtils.commitMessage(buffer, start);
+		if (line < 0) {
+			return -1;
+		}
+		int last = end - PREFIX_BYTES.length;
+		while (line < last) {
+			if (startsWithPrefix(buffer, line)
+					&& !isWhitespace(buffer[line + PREFIX_BYTES.length])) {
+				return line + PREFIX_BYTES.length;
+			}
+			line = RawParseUtils.nextLF(buffer, line);
+		}
+		return -1;
+	}
+
+	private static int payloadEnd(byte[] buffer, int start, int end) {
+		int i = start;
+		while (i < end && !isWhitespace(buffer[i])) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean startsWithPrefix(byte[] buffer, int offset) {
+		for (int i = 0; i < PREFIX_BYTES.length; i++) {
+			if (buffer[offset + i] != PREFIX_BYTES[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f'
+				|| b == 0x0B;
+	}
+
+	/**
+	 * Decrypts the original commit dates from the base64 encoded payload of a
+	 * {@code GitPrivacy:} line, given as a slice of a byte buffer such as the
+	 * raw buffer of a commit. Apart from the resulting {@link DecodedDates}
+	 * this does not allocate.
+	 *
+	 * @param buffer
+	 *            containing the payload
+	 * @param start
+	 *            of the payload, inclusive
+	 * @param end
+	 *            of the payload, exclusive
+	 * @return the decrypted original commit dates, or {@link Optional#empty()}
+	 *         if the payload cannot be decrypted with the current key
+	 */
+	public Optional<DecodedDates> decode(byte[] buffer, int start, int end) {
+		Crypto.PlainText plainText = crypto.get().decrypt(buffer,
+				start, end);
+		if (plainText == null) {
+			return Optional.empty();
+		}
+		return parseDates(plainText.getBytes(), 0, plainText.getLength());
+	}
+
+	/**
+	 * Parses {@code "<epoch> <tz>;<epoch> <tz>"}, the authored and the
+	 * committed date in git's raw format.
+	 */
+	static Optional<DecodedDates> parseDates(byte[] buffer, int start,
+			int end) {
+		int separator = start;
+		while (separator < end && buffer[separator] != ';') {
+			separator++;
+		}
+		if (separator == end) {
+			return Optional.empty();
+		}
+		ZonedDateTime authoredDateTime = parseDate(buffer, start, separator);
+		ZonedDateTime committedDateTime = parseDate(buffer, separator + 1,
+				end);
+		if (authoredDateTime == null || committedDateTime == null) {
+			return Optional.empty();
+		}
+		return Optional.of(
+				new DecodedDates(authoredDateTime, committedDateTime));
+	}
+
+	private static ZonedDateTime parseDate(byte[] buffer, int start,
+			int end) {
+		int i = start;
+		boolean negative = i < end && buffer[i] == '-';
+		if (negative) {
+			i++;
+		}
+		int digitsStart = i;
+		long seconds = 0;
+		for (; i < end && buffer[i] != ' '; i++) {
+			int digit = buffer[i] - '0';
+			if (digit < 0 || digit > 9) {
+				return null;
+			}
+			seconds = seconds * 10 + digit;
+		}
+		// Expect " +hhmm" or " -hhmm" after at least one digit.
+		if (i == digitsStart || end - i != 6) {
+			return null;
+		}
+		int sign = buffer[i + 1] == '+' ? 1 : buffer[i + 1] == '-' ? -1 : 0;
+		int hours = parseTwoDigits(buffer, i + 2);
+		int minutes = parseTwoDigits(buffer, i + 4);
+		if (sign == 0 || hours < 0 || minutes < 0) {
+			return null;
+		}
+		try {
+			ZoneOffset zoneOffset = ZoneOffset.ofHoursMinutes(sign * hours,
+					sign * minutes);
+			return ZonedDateTime.ofInstant(
+					Instant.ofEpochSecond(negative ? -seconds : seconds),
+					zoneOffset);
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	private static int parseTwoDigits(byte[] buffer, int offset) {
+		int tens = buffer[offset] - '0';
+		int ones = buffer[offset + 1] - '0';
+		if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+			return -1;
+		}
+		return tens * 10 + ones;
 	}
 
 	/**
 	 * Holds the original authored date and committed date of a commit.
 	 */
-	public class DecodedDates {
+	public static class DecodedDates {
 
 		private ZonedDateTime authoredDateTime;
 
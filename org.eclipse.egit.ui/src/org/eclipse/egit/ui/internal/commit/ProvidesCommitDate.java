@@ -11,7 +11,7 @@
 package org.eclipse.egit.ui.internal.commit;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 import org.eclipse.egit.ui.Activator;
@@ -42,8 +42,22 @@ public ProvidesCommitDate() {
 	 *         can be saved in an encrypted form.
 	 */
 	public CommitDateResult commitDate() {
-		LocalDateTime commitDate = LocalDateTime.now();
-		LocalDateTime originalCommitDate = commitDate;
+		ZonedDateTime originalCommitDate = ZonedDateTime.now();
+		return new CommitDateResult(Date.from(originalCommitDate.toInstant()),
+				Date.from(redate(originalCommitDate).toInstant()));
+	}
+
+	/**
+	 * Applies the redaction rules from {@link PrivacyPreferencePage} to an
+	 * arbitrary date, for instance the date of an existing commit.
+	 *
+	 * @param date
+	 *            to redate
+	 * @return the redated date in the same time zone; equal to {@code date}
+	 *         if redating is disabled
+	 */
+	public ZonedDateTime redate(ZonedDateTime date) {
+		LocalDateTime commitDate = date.toLocalDateTime();
 		int year = commitDate.getYear();
 		int month = commitDate.getMonthValue();
 		int dayOfMonth = commitDate.getDayOfMonth();
@@ -87,8 +101,7 @@ public CommitDateResult commitDate() {
 			}
 		}
 
-		return new CommitDateResult(Date.from(originalCommitDate.atZone(ZoneId.systemDefault()).toInstant()),
-				Date.from(commitDate.atZone(ZoneId.systemDefault()).toInstant()));
+		return commitDate.atZone(date.getZone());
 	}
 
 	/**
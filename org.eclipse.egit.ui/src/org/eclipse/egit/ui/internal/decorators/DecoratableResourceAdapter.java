@@ -36,6 +36,23 @@ class DecoratableResourceAdapter extends DecoratableResource {
 
 	public DecoratableResourceAdapter(@NonNull IndexDiffData indexDiffData,
 			@NonNull IResource resourceToWrap) {
+		this(indexDiffData, resourceToWrap,
+				RepositoryMapping.getMapping(resourceToWrap));
+	}
+
+	/**
+	 * Creates the decoratable resource for a resource whose
+	 * {@link RepositoryMapping} is known already.
+	 *
+	 * @param indexDiffData
+	 *            to compute the state from
+	 * @param resourceToWrap
+	 *            to compute the state of
+	 * @param mapping
+	 *            of the resource, or {@code null} if it has none
+	 */
+	public DecoratableResourceAdapter(@NonNull IndexDiffData indexDiffData,
+			@NonNull IResource resourceToWrap, RepositoryMapping mapping) {
 		super(resourceToWrap);
 		boolean trace = GitTraceLocation.DECORATION.isActive();
 		long start = 0;
@@ -46,8 +63,6 @@ public DecoratableResourceAdapter(@NonNull IndexDiffData indexDiffData,
 			start = System.nanoTime();
 		}
 		try {
-			RepositoryMapping mapping = RepositoryMapping
-					.getMapping(resourceToWrap);
 			if (mapping == null) {
 				return;
 			}
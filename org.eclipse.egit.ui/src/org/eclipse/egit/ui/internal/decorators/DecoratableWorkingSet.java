@@ -83,14 +83,13 @@ public DecoratableWorkingSet(ResourceMapping mapping) throws IOException {
 			}
 			repoRelative += "/"; //$NON-NLS-1$
 
-			Set<String> modified = diffData.getModified();
-			Set<String> conflicting = diffData.getConflicting();
+			int folderState = diffData.getFolderState(repoRelative);
 
 			// attention - never reset these to false (so don't use the return value of the methods!)
-			if(containsPrefix(modified, repoRelative))
+			if ((folderState & IndexDiffData.FOLDER_MODIFIED) != 0)
 				setDirty(true);
 
-			if(containsPrefix(conflicting, repoRelative))
+			if ((folderState & IndexDiffData.FOLDER_CONFLICTS) != 0)
 				setConflicts(true);
 
 			// collect repository
@@ -128,15 +127,4 @@ private String makeRepoRelative(Repository repository, IResource res) {
 		return stripWorkDir(repository.getWorkTree(), location.toFile());
 	}
 
-	private boolean containsPrefix(Set<String> collection, String prefix) {
-		// when prefix is empty we are handling repository root, therefore we
-		// should return true whenever collection isn't empty
-		if (prefix.length() == 1 && !collection.isEmpty())
-			return true;
-
-		for (String path : collection)
-			if (path.startsWith(prefix))
-				return true;
-		return false;
-	}
 }
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.decorators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.egit.core.internal.indexdiff.IndexDiffData;
+import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.egit.ui.internal.resources.ResourceStateFactory;
+import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Computes the {@link IDecoratableResource}s of the resources of a container
+ * in one go.
+ * <p>
+ * A viewer asks for the decorations of all children of a folder as soon as it
+ * is expanded. So when a resource is not known yet, all members of its parent
+ * are grouped by repository, the {@link RepositoryMapping} and the
+ * {@link IndexDiffData} are resolved once per repository, and the states are
+ * computed in parallel against that one snapshot. The decorations of the
+ * siblings requested next are then just looked up.
+ * </p>
+ * <p>
+ * A state is only handed out for the very {@link IndexDiffData} it was
+ * computed from. Since a new one is created on every change, a batch found
+ * computed from an older one is carried over if the paths changed in between
+ * are {@link IndexDiffData#getChangedPathsSince(IndexDiffData) known}: only
+ * the members at, above or below those paths are recomputed. Repository
+ * containers are always recomputed, their branch information being cached by
+ * the {@link DecoratorRepositoryStateCache} anyway.
+ * </p>
+ */
+final class DecorationBatch {
+
+	/** Number of most recently decorated containers kept. */
+	private static final int MAX_CONTAINERS = 64;
+
+	/** Number of resources per parallel chunk. */
+	private static final int CHUNK_SIZE = 64;
+
+	private final Map<IContainer, Map<IResource, Entry>> containers = new LinkedHashMap<IContainer, Map<IResource, Entry>>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<IContainer, Map<IResource, Entry>> eldest) {
+			return size() > MAX_CONTAINERS;
+		}
+	};
+
+	/**
+	 * Retrieves the decoratable resource for a resource, computing those of
+	 * all its siblings if it is not known yet.
+	 *
+	 * @param indexDiffData
+	 *            current snapshot of the repository of the resource
+	 * @param resource
+	 *            to decorate
+	 * @return the decoratable resource
+	 */
+	IDecoratableResource get(@NonNull IndexDiffData indexDiffData,
+			@NonNull IResource resource) {
+		IContainer parent = resource.getParent();
+		if (parent == null) {
+			return new DecoratableResourceAdapter(indexDiffData, resource);
+		}
+		Map<IResource, Entry> batch;
+		synchronized (containers) {
+			batch = containers.get(parent);
+		}
+		Entry entry = batch != null ? batch.get(resource) : null;
+		if (entry != null && entry.indexDiffData != indexDiffData) {
+			batch = update(batch, entry.indexDiffData, indexDiffData);
+			if (batch != null) {
+				synchronized (containers) {
+					containers.put(parent, batch);
+				}
+			}
+		}
+		IDecoratableResource result = lookup(batch, indexDiffData, resource);
+		if (result != null) {
+			return result;
+		}
+		batch = compute(parent);
+		if (batch != null) {
+			synchronized (containers) {
+				containers.put(parent, batch);
+			}
+			result = lookup(batch, indexDiffData, resource);
+			if (result != null) {
+				return result;
+			}
+		}
+		return new DecoratableResourceAdapter(indexDiffData, resource);
+	}
+
+	/**
+	 * Forgets all computed states.
+	 */
+	void clear() {
+		synchronized (containers) {
+			containers.clear();
+		}
+	}
+
+	private static IDecoratableResource lookup(Map<IResource, Entry> batch,
+			@NonNull IndexDiffData indexDiffData, @NonNull IResource resource) {
+		if (batch == null) {
+			return null;
+		}
+		Entry entry = batch.get(resource);
+		if (entry == null || entry.indexDiffData != indexDiffData) {
+			return null;
+		}
+		if (entry.resource.isRepositoryContainer()) {
+			return new DecoratableResourceAdapter(indexDiffData, resource,
+					entry.mapping);
+		}
+		return entry.resource;
+	}
+
+	/**
+	 * Carries the entries computed from one snapshot over to a newer one of
+	 * the same repository, recomputing those whose paths changed in between.
+	 *
+	 * @return the updated batch, or {@code null} if the changes are not known
+	 */
+	private static Map<IResource, Entry> update(Map<IResource, Entry> batch,
+			@NonNull IndexDiffData previous, @NonNull IndexDiffData current) {
+		Collection<String> changed = current.getChangedPathsSince(previous);
+		if (changed == null) {
+			return null;
+		}
+		Map<IResource, Entry> updated = new HashMap<>(batch);
+		for (Entry entry : batch.values()) {
+			if (entry.indexDiffData != previous) {
+				// Another repository, or computed from yet another snapshot
+				continue;
+			}
+			Entry carried = new Entry(entry.member, entry.mapping, entry.path,
+					current);
+			if (isAffected(entry, changed)) {
+				computeChunk(Collections.singletonList(carried), 0, 1);
+			} else {
+				carried.resource = entry.resource;
+			}
+			updated.put(entry.member, carried);
+		}
+		return updated;
+	}
+
+	private static boolean isAffected(Entry entry, Collection<String> changed) {
+		if (entry.path == null) {
+			return true;
+		}
+		boolean container = entry.member.getType() != IResource.FILE;
+		String folder = entry.path.isEmpty() ? "" : entry.path + '/'; //$NON-NLS-1$
+		for (String path : changed) {
+			if (path.equals(entry.path)
+					|| (path.endsWith("/") && folder.startsWith(path)) //$NON-NLS-1$
+					|| (container && path.startsWith(folder))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Map<IResource, Entry> compute(IContainer parent) {
+		IResource[] members;
+		try {
+			members = parent.members();
+		} catch (CoreException e) {
+			// Not accessible; decorate the resource on its own
+			return null;
+		}
+		// Resolve mapping and index diff once per repository
+		Map<Repository, IndexDiffData> snapshots = new HashMap<>();
+		List<Entry> entries = new ArrayList<>(members.length);
+		for (IResource member : members) {
+			if (!member.isAccessible()) {
+				continue;
+			}
+			RepositoryMapping mapping = RepositoryMapping.getMapping(member);
+			Repository repository = mapping != null ? mapping.getRepository()
+					: null;
+			if (repository == null) {
+				continue;
+			}
+			IndexDiffData indexDiffData = snapshots.computeIfAbsent(
+					repository, repo -> ResourceStateFactory.getInstance()
+							.getIndexDiffDataOrNull(repo));
+			if (indexDiffData != null) {
+				entries.add(new Entry(member, mapping,
+						mapping.getRepoRelativePath(member), indexDiffData));
+			}
+		}
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int from = CHUNK_SIZE; from < entries.size(); from += CHUNK_SIZE) {
+			int start = from;
+			int end = Math.min(from + CHUNK_SIZE, entries.size());
+			chunks.add(CompletableFuture
+					.runAsync(() -> computeChunk(entries, start, end)));
+		}
+		// The first chunk is done by the decorator thread itself
+		computeChunk(entries, 0, Math.min(CHUNK_SIZE, entries.size()));
+		for (CompletableFuture<Void> chunk : chunks) {
+			chunk.join();
+		}
+		Map<IResource, Entry> batch = new HashMap<>();
+		for (Entry entry : entries) {
+			batch.put(entry.member, entry);
+		}
+		return batch;
+	}
+
+	private static void computeChunk(List<Entry> entries, int from, int to) {
+		for (int i = from; i < to; i++) {
+			Entry entry = entries.get(i);
+			entry.resource = new DecoratableResourceAdapter(
+					entry.indexDiffData, entry.member, entry.mapping);
+		}
+	}
+
+	private static class Entry {
+
+		@NonNull
+		final IResource member;
+
+		final RepositoryMapping mapping;
+
+		/** Repository-relative path, {@code null} if unknown. */
+		final String path;
+
+		@NonNull
+		final IndexDiffData indexDiffData;
+
+		/** Set by one of the chunks; read after joining them. */
+		DecoratableResourceAdapter resource;
+
+		Entry(@NonNull IResource member, RepositoryMapping mapping,
+				String path, @NonNull IndexDiffData indexDiffData) {
+			this.member = member;
+			this.mapping = mapping;
+			this.path = path;
+			this.indexDiffData = indexDiffData;
+		}
+	}
+}
@@ -109,10 +109,13 @@ public class GitLightweightDecorator extends GitDecorator
 	private final DecorationHelper helper = new DecorationHelper(
 			Activator.getDefault().getPreferenceStore());
 
+	private final DecorationBatch batch = new DecorationBatch();
+
 	private RepositoryMappingChangeListener mappingChangeListener = new RepositoryMappingChangeListener() {
 
 		@Override
 		public void repositoryChanged(RepositoryMapping which) {
+			batch.clear();
 			fireLabelEvent();
 		}
 
@@ -170,6 +173,7 @@ public void dispose() {
 		Activator.removePropertyChangeListener(this);
 		GitProjectData.removeRepositoryChangeListener(mappingChangeListener);
 		mappingChangeListener = null;
+		batch.clear();
 	}
 
 	/**
@@ -224,8 +228,14 @@ private void decorateResource(@NonNull IResource resource,
 		if (indexDiffData == null) {
 			return;
 		}
-		IDecoratableResource decoratableResource = new DecoratableResourceAdapter(
-				indexDiffData, resource);
+		IDecoratableResource decoratableResource;
+		if (Activator.getDefault().getPreferenceStore()
+				.getBoolean(UIPreferences.DECORATOR_BATCH_DECORATION)) {
+			decoratableResource = batch.get(indexDiffData, resource);
+		} else {
+			decoratableResource = new DecoratableResourceAdapter(indexDiffData,
+					resource);
+		}
 		helper.decorate(decoration, decoratableResource);
 	}
 
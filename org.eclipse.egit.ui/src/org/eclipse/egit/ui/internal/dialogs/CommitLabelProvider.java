@@ -25,7 +25,7 @@
 import org.eclipse.egit.ui.Activator;
 import org.eclipse.egit.ui.UIPreferences;
 import org.eclipse.egit.ui.internal.PreferenceBasedDateFormatter;
-import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
 import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -34,6 +34,7 @@
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.util.GitDateFormatter;
 import org.eclipse.jgit.util.RelativeDateFormatter;
@@ -58,7 +59,10 @@ public class CommitLabelProvider extends BaseLabelProvider implements
 
 	private final IPreferenceStore store;
 
-	private OriginalCommitDateEncoder commitMessageEncoder = new OriginalCommitDateEncoder();
+	private final Runnable originalDatesListener = () -> fireLabelProviderChanged(
+			new LabelProviderChangedEvent(this));
+
+	private Repository repository;
 
 	/**
 	 * Default constructor
@@ -107,14 +111,30 @@ public void propertyChange(PropertyChangeEvent event) {
 		showEmail = canShowEmailAddresses && store
 				.getBoolean(UIPreferences.RESOURCEHISTORY_SHOW_EMAIL_ADDRESSES);
 		store.addPropertyChangeListener(uiPrefsListener);
+		OriginalCommitDateCache.INSTANCE
+				.addInvalidationListener(originalDatesListener);
 	}
 
 	@Override
 	public void dispose() {
 		store.removePropertyChangeListener(uiPrefsListener);
+		OriginalCommitDateCache.INSTANCE
+				.removeInvalidationListener(originalDatesListener);
 		super.dispose();
 	}
 
+	/**
+	 * Sets the repository the commits shown belong to, which determines the
+	 * {@link OriginalCommitDateCache} entries used for the original date
+	 * columns.
+	 *
+	 * @param repository
+	 *            of the commits, may be {@code null} if unknown
+	 */
+	public void setRepository(Repository repository) {
+		this.repository = repository;
+	}
+
 	@Override
 	public String getColumnText(final Object element, final int columnIndex) {
 		final RevCommit c = (RevCommit) element;
@@ -151,8 +171,7 @@ public String getColumnText(final Object element, final int columnIndex) {
 				}
 		}
 		if (columnIndex == 6 || columnIndex == 7) {
-			Optional<DecodedDates> datesOptional = commitMessageEncoder
-					.decode(c.getFullMessage());
+			Optional<DecodedDates> datesOptional = getOriginalDates(c);
 			if (datesOptional.isPresent()) {
 				ZonedDateTime committedDateTime = getDateTime(columnIndex,
 						datesOptional);
@@ -176,6 +195,17 @@ public String getColumnText(final Object element, final int columnIndex) {
 		return ""; //$NON-NLS-1$
 	}
 
+	/**
+	 * Retrieves the original dates of a commit for the original date columns.
+	 *
+	 * @param commit
+	 *            to get the original dates of
+	 * @return the dates, or {@link Optional#empty()} if there are none
+	 */
+	protected Optional<DecodedDates> getOriginalDates(RevCommit commit) {
+		return OriginalCommitDateCache.INSTANCE.getDates(repository, commit);
+	}
+
 	private ZonedDateTime getDateTime(final int columnIndex,
 			Optional<DecodedDates> datesOptional) {
 		ZonedDateTime committedDateTime = null;
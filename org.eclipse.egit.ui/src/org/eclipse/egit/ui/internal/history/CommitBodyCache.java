@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.history;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.swt.widgets.Table;
+
+/**
+ * Keeps the bodies of the commits around the visible rows of a
+ * {@link CommitGraphTable} loaded and drops the bodies of rows that have not
+ * been near the viewport for a while, so that a long history does not keep
+ * every message and identity in memory.
+ * <p>
+ * Rows are kept in an LRU map; each {@link #update(SWTCommit[], int)} loads
+ * the visible rows plus a margin above and below and marks them as recently
+ * used. Selected rows are never dropped. Only to be used in the UI thread.
+ * </p>
+ */
+class CommitBodyCache {
+
+	private static final int CAPACITY = 2048;
+
+	private final Table table;
+
+	private final LinkedHashMap<Integer, SWTCommit> rows = new LinkedHashMap<>(
+			CAPACITY, 0.75f, true);
+
+	private int lastTop = -1;
+
+	private int lastLength = -1;
+
+	CommitBodyCache(Table table) {
+		this.table = table;
+	}
+
+	/**
+	 * Forgets all rows without dropping their bodies, for instance because
+	 * the table got new input.
+	 */
+	void clear() {
+		rows.clear();
+		lastTop = -1;
+		lastLength = -1;
+	}
+
+	/**
+	 * Loads the bodies of the rows around the viewport if it has changed
+	 * since the last call, and drops the bodies of the least recently visible
+	 * rows beyond the capacity.
+	 *
+	 * @param commits
+	 *            of the table
+	 * @param length
+	 *            number of valid entries in {@code commits}
+	 */
+	void update(SWTCommit[] commits, int length) {
+		int top = table.getTopIndex();
+		if (commits == null || length == 0
+				|| (top == lastTop && length == lastLength)) {
+			return;
+		}
+		lastTop = top;
+		lastLength = length;
+		int itemHeight = Math.max(1, table.getItemHeight());
+		int visible = table.getClientArea().height / itemHeight + 1;
+		int from = Math.max(0, top - visible);
+		int to = Math.min(length, top + 2 * visible);
+		if (from >= to) {
+			return;
+		}
+		Repository repository = commits[from].getRepository();
+		if (repository == null) {
+			return;
+		}
+		try (RevWalk walk = new RevWalk(repository)) {
+			for (int i = from; i < to; i++) {
+				SWTCommit commit = commits[i];
+				commit.parseBody(walk);
+				rows.put(Integer.valueOf(i), commit);
+			}
+		} catch (IOException e) {
+			Activator.logError("Error parsing body", e); //$NON-NLS-1$
+		}
+		int capacity = Math.max(CAPACITY, 4 * (to - from));
+		Iterator<Map.Entry<Integer, SWTCommit>> eldest = rows.entrySet()
+				.iterator();
+		while (rows.size() > capacity && eldest.hasNext()) {
+			Map.Entry<Integer, SWTCommit> entry = eldest.next();
+			if (!table.isSelected(entry.getKey().intValue())) {
+				entry.getValue().disposeBodyIfUnpinned();
+			}
+			eldest.remove();
+		}
+	}
+}
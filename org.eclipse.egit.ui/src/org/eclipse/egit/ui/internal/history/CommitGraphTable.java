@@ -58,6 +58,7 @@
 import org.eclipse.jface.viewers.ColumnLayoutData;
 import org.eclipse.jface.viewers.ColumnPixelData;
 import org.eclipse.jface.viewers.ColumnWeightData;
+import org.eclipse.jface.viewers.IBaseLabelProvider;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.IOpenListener;
 import org.eclipse.jface.viewers.ISelection;
@@ -168,6 +169,10 @@ static Font highlightFont() {
 
 	private boolean enableAntialias = true;
 
+	private final OriginalDateDecryptor originalDateDecryptor;
+
+	private final CommitBodyCache bodyCache;
+
 	CommitGraphTable(Composite parent, TableLoader loader,
 			ResourceManager resources, boolean canShowEmailAddresses) {
 		this(parent, loader, resources, canShowEmailAddresses, false);
@@ -205,6 +210,13 @@ public void handleEvent(Event event) {
 		tableLayout = new CommitGraphTableLayout();
 		tableContainer.setLayout(tableLayout);
 
+		if (Activator.getDefault().getPreferenceStore().getBoolean(
+				UIPreferences.RESOURCEHISTORY_LAZY_COMMIT_BODIES)) {
+			bodyCache = new CommitBodyCache(rawTable);
+		} else {
+			bodyCache = null;
+		}
+
 		createColumns(rawTable);
 		createPaintListener(rawTable);
 
@@ -265,6 +277,9 @@ public void labelProviderChanged(LabelProviderChangedEvent event) {
 				table.refresh();
 			}
 		});
+		originalDateDecryptor = new OriginalDateDecryptor(
+				this::refreshCommits);
+		graphLabelProvider.setOriginalDateDecryptor(originalDateDecryptor);
 		table.setLabelProvider(graphLabelProvider);
 		table.setContentProvider(new GraphContentProvider());
 		renderer = new SWTPlotRenderer(rawTable.getDisplay(), resources);
@@ -274,6 +289,7 @@ public void labelProviderChanged(LabelProviderChangedEvent event) {
 			@Override
 			public void widgetDisposed(final DisposeEvent e) {
 				clipboard.dispose();
+				originalDateDecryptor.dispose();
 				allCommitsArray = null;
 			}
 		});
@@ -440,8 +456,12 @@ void setInput(final RevFlag hFlag, final SWTCommitList list,
 		}
 		setHistoryPageInput(input);
 		final SWTCommitList oldList = allCommits;
+		if (bodyCache != null && oldList != list) {
+			bodyCache.clear();
+		}
 		highlight = hFlag;
 		allCommits = list;
+		renderer.setCommitList(list);
 		int newAllCommitsLength = asArray == null ? 0 : asArray.length;
 		int topIndex = -1;
 		if (newAllCommitsLength > 0) {
@@ -470,6 +490,33 @@ void setInput(final RevFlag hFlag, final SWTCommitList list,
 
 	void setHistoryPageInput(HistoryPageInput input) {
 		this.input = input;
+		IBaseLabelProvider labelProvider = table.getLabelProvider();
+		if (labelProvider instanceof GraphLabelProvider) {
+			((GraphLabelProvider) labelProvider).setRepository(
+					input != null ? input.getRepository() : null);
+		}
+	}
+
+	/**
+	 * Decrypts the original dates of the given commits in the background.
+	 *
+	 * @param commits
+	 *            to decrypt the original dates of
+	 */
+	void decryptOriginalDates(SWTCommit[] commits) {
+		originalDateDecryptor.decrypt(commits);
+	}
+
+	private void refreshCommits(SWTCommit[] commits) {
+		Control control = table.getControl();
+		if (control.isDisposed()) {
+			return;
+		}
+		control.getDisplay().asyncExec(() -> {
+			if (!control.isDisposed()) {
+				table.update(commits, null);
+			}
+		});
 	}
 
 	private int initCommitsMap(SWTCommit[] asArray, String topName) {
@@ -575,6 +622,9 @@ public void handleEvent(final Event event) {
 		rawTable.addListener(SWT.PaintItem, new Listener() {
 			@Override
 			public void handleEvent(final Event event) {
+				if (bodyCache != null) {
+					bodyCache.update(allCommitsArray, allCommitsLength);
+				}
 				if (event.index == 1) {
 					doPaint(event);
 				}
@@ -594,9 +644,12 @@ void doPaint(final Event event) {
 
 		final RevCommit c = (RevCommit) ((TableItem) event.item).getData();
 		if (c instanceof SWTCommit) {
-			final SWTLane lane = ((SWTCommit) c).getLane();
+			final SWTCommit commit = (SWTCommit) c;
+			final SWTLane lane = commit.getLane();
 			if (lane != null && lane.color.isDisposed())
 				return;
+			if (commit.list != null && commit.list.getLaneColor(0).isDisposed())
+				return;
 		}
 		if (highlight != null && c != null && c.has(highlight)) {
 			event.gc.setFont(hFont);
@@ -36,7 +36,7 @@
 import org.eclipse.egit.ui.internal.CommonUtils;
 import org.eclipse.egit.ui.internal.PreferenceBasedDateFormatter;
 import org.eclipse.egit.ui.internal.UIText;
-import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
 import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
 import org.eclipse.egit.ui.internal.history.FormatJob.FormatResult;
 import org.eclipse.egit.ui.internal.trace.GitTraceLocation;
@@ -75,8 +75,6 @@ public class CommitInfoBuilder {
 
 	private final PreferenceBasedDateFormatter dateFormatter;
 
-	private OriginalCommitDateEncoder originalCommitDateEncoder;
-
 	/**
 	 * @param db the repository
 	 * @param commit the commit the info should be shown for
@@ -90,7 +88,6 @@ public CommitInfoBuilder(Repository db, PlotCommit commit, boolean fill,
 		this.fill = fill;
 		this.allRefs = allRefs;
 		this.dateFormatter = PreferenceBasedDateFormatter.create();
-		this.originalCommitDateEncoder = new OriginalCommitDateEncoder();
 	}
 
 	/**
@@ -124,8 +121,8 @@ public FormatResult format(IProgressMonitor monitor) throws IOException {
 
 		if (preferenceStore.getBoolean(
 				UIPreferences.GIT_PRIVACY_COMMIT_MESSAGE_ORIGINAL_DATE)) {
-			Optional<DecodedDates> originalCommitDates = originalCommitDateEncoder
-					.decode(msg);
+			Optional<DecodedDates> originalCommitDates = OriginalCommitDateCache.INSTANCE
+					.getDates(db, commit);
 			if (originalCommitDates.isPresent()) {
 				ZonedDateTime committedDateTime = originalCommitDates.get()
 						.getCommittedDateTime();
@@ -152,9 +149,8 @@ public FormatResult format(IProgressMonitor monitor) throws IOException {
 					UIText.CommitMessageViewer_parent, hyperlinks);
 		}
 
-		for (int i = 0; i < commit.getChildCount(); i++) {
-			addCommit(d, (SWTCommit) commit.getChild(i),
-					UIText.CommitMessageViewer_child, hyperlinks);
+		for (SWTCommit child : ((SWTCommit) commit).getChildren()) {
+			addCommit(d, child, UIText.CommitMessageViewer_child, hyperlinks);
 		}
 
 		if(preferenceStore.getBoolean(
@@ -14,6 +14,14 @@
 package org.eclipse.egit.ui.internal.history;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -22,13 +30,25 @@
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.egit.ui.Activator;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.IntList;
+import org.eclipse.jgit.util.RawParseUtils;
 
 /**
  * This class executes the search function for the find toolbar. To avoid
  * consuming all the memory in the system, this class limits the maximum results
  * it stores.
+ * <p>
+ * The commits are searched in chunks on the common fork-join pool. Pure ASCII
+ * patterns are matched directly on the raw commit buffers. Bodies that are
+ * not loaded are read without attaching them to the commits.
+ * </p>
  *
  * @see FindToolbar
  * @see FindResults
@@ -37,6 +57,11 @@ public class FindToolbarJob extends Job {
 
 	private static final int MAX_RESULTS = 20000;
 
+	private static final int CHUNK_SIZE = 512;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef" //$NON-NLS-1$
+			.toCharArray();
+
 	private static final ISchedulingRule SINGLE_JOB_RULE = new ISchedulingRule() {
 
 		@Override
@@ -104,86 +129,255 @@ protected IStatus run(IProgressMonitor monitor) {
 		if (ignoreCase) {
 			findPattern = pattern.toLowerCase();
 		}
+		Needle needle = new Needle(findPattern, ignoreCase);
 
-		int totalRevisions = fileRevisions.length;
+		// Chunks are searched in parallel, but their matches are added in
+		// order so that FindResults stays sorted and numbering is correct.
+		SWTCommit[] revisions = fileRevisions;
+		int totalRevisions = revisions.length;
 		SubMonitor progress = SubMonitor.convert(monitor, totalRevisions);
-		for (int i = 0; i < totalRevisions; i++) {
-			if (progress.isCanceled()) {
-				return Status.CANCEL_STATUS;
-			}
-			if (findResults.size() >= MAX_RESULTS) {
-				findResults.setOverflow();
-				break;
+		AtomicBoolean stop = new AtomicBoolean();
+		List<CompletableFuture<IntList>> chunks = new ArrayList<>();
+		for (int from = 0; from < totalRevisions; from += CHUNK_SIZE) {
+			int start = from;
+			int end = Math.min(from + CHUNK_SIZE, totalRevisions);
+			chunks.add(CompletableFuture.supplyAsync(
+					() -> findInChunk(revisions, start, end, needle, stop)));
+		}
+		try {
+			for (int c = 0; c < chunks.size(); c++) {
+				IntList matches = await(chunks.get(c), progress);
+				if (matches == null) {
+					return Status.CANCEL_STATUS;
+				}
+				for (int k = 0; k < matches.size(); k++) {
+					if (findResults.size() >= MAX_RESULTS) {
+						findResults.setOverflow();
+						return Status.OK_STATUS;
+					}
+					int i = matches.get(k);
+					findResults.add(i, revisions[i]);
+				}
+				progress.worked(
+						Math.min(CHUNK_SIZE, totalRevisions - c * CHUNK_SIZE));
 			}
+		} finally {
+			stop.set(true);
+		}
+		return progress.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+	}
 
-			// Finds for the pattern in the revision history.
-			SWTCommit revision = fileRevisions[i];
+	private static IntList await(CompletableFuture<IntList> chunk,
+			IProgressMonitor monitor) {
+		while (!monitor.isCanceled()) {
 			try {
-				revision.parseBody();
-			} catch (IOException e) {
-				Activator.logError("Error parsing body", e); //$NON-NLS-1$
-				continue;
+				return chunk.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// Check for cancellation again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} catch (ExecutionException e) {
+				Activator.logError("Error searching history", e.getCause()); //$NON-NLS-1$
+				return new IntList(0);
 			}
+		}
+		return null;
+	}
 
-			if (findInCommitId
-					&& find(findPattern.trim(), revision.getId().name())) {
-				if (progress.isCanceled()) {
-					return Status.CANCEL_STATUS;
+	private IntList findInChunk(SWTCommit[] revisions, int from, int to,
+			Needle needle, AtomicBoolean stop) {
+		IntList matches = new IntList();
+		Repository repository = revisions[from].getRepository();
+		if (repository == null) {
+			// History has been reset meanwhile
+			return matches;
+		}
+		String idNeedle = needle.text.trim();
+		byte[] idBuffer = new byte[Constants.OBJECT_ID_LENGTH];
+		try (ObjectReader reader = repository.newObjectReader()) {
+			for (int i = from; i < to && !stop.get(); i++) {
+				SWTCommit revision = revisions[i];
+				byte[] raw = revision.getRawBuffer();
+				if (raw == null) {
+					// Don't attach the body to the commit; the history table
+					// may keep only the bodies around the visible rows.
+					try {
+						raw = reader.open(revision, Constants.OBJ_COMMIT)
+								.getCachedBytes();
+					} catch (IOException e) {
+						Activator.logError("Error parsing body", e); //$NON-NLS-1$
+						continue;
+					}
+				}
+				if (findInCommitId && containsId(revision, idNeedle, idBuffer)
+						|| matches(revision, raw, needle)) {
+					matches.add(i);
 				}
-				findResults.add(i, revision);
-				continue;
 			}
+		}
+		return matches;
+	}
+
+	private boolean matches(SWTCommit revision, byte[] raw, Needle needle) {
+		if (needle.isRaw() && isUtf8(raw)) {
+			if (findInComments) {
+				int message = RawParseUtils.commitMessage(raw, 0);
+				if (message >= 0 && needle.find(raw, message, raw.length)) {
+					return true;
+				}
+			}
+			if (findInAuthor
+					&& findInIdent(raw, RawParseUtils.author(raw, 0), needle)) {
+				return true;
+			}
+			if (findInCommitter && findInIdent(raw,
+					RawParseUtils.committer(raw, 0), needle)) {
+				return true;
+			}
+		} else {
+			RevCommit parsed = RevCommit.parse(raw);
 			if (findInComments
-					&& find(findPattern, revision.getFullMessage())) {
-				if (progress.isCanceled()) {
-					return Status.CANCEL_STATUS;
+					&& find(needle.text, parsed.getFullMessage())) {
+				return true;
+			}
+			if (findInAuthor
+					&& findInIdent(parsed.getAuthorIdent(), needle)) {
+				return true;
+			}
+			if (findInCommitter
+					&& findInIdent(parsed.getCommitterIdent(), needle)) {
+				return true;
+			}
+		}
+		if (findInReference) {
+			for (int j = 0; j < revision.getRefCount(); j++) {
+				Ref ref = revision.getRef(j);
+				String refName = ref.getName();
+				refName = Repository.shortenRefName(refName);
+				if (find(needle.text, refName)) {
+					return true;
 				}
-				findResults.add(i, revision);
-				continue;
 			}
+		}
+		return false;
+	}
 
-			if (findInAuthor && (find(findPattern,
-					revision.getAuthorIdent().getName())
-					|| find(findPattern,
-							revision.getAuthorIdent().getEmailAddress()))) {
-				if (progress.isCanceled()) {
-					return Status.CANCEL_STATUS;
+	private boolean findInIdent(PersonIdent ident, Needle needle) {
+		return ident != null && (find(needle.text, ident.getName())
+				|| find(needle.text, ident.getEmailAddress()));
+	}
+
+	/**
+	 * Matches the name and the e-mail address of a raw person identity like
+	 * "A U Thor <author@example.com> 1142878501 -0500" separately, like
+	 * {@link #findInIdent(PersonIdent, Needle)}.
+	 */
+	private static boolean findInIdent(byte[] raw, int start, Needle needle) {
+		if (start < 0) {
+			return false;
+		}
+		int end = RawParseUtils.nextLF(raw, start);
+		int lt = start;
+		while (lt < end && raw[lt] != '<') {
+			lt++;
+		}
+		if (lt == end) {
+			return false;
+		}
+		int nameEnd = lt;
+		while (nameEnd > start && raw[nameEnd - 1] == ' ') {
+			nameEnd--;
+		}
+		int gt = lt + 1;
+		while (gt < end && raw[gt] != '>') {
+			gt++;
+		}
+		return needle.find(raw, start, nameEnd)
+				|| needle.find(raw, lt + 1, gt);
+	}
+
+	private static boolean isUtf8(byte[] raw) {
+		return RawParseUtils.encoding(raw, 0) < 0
+				|| StandardCharsets.UTF_8.name().equalsIgnoreCase(
+						RawParseUtils.parseEncodingName(raw));
+	}
+
+	private static boolean containsId(AnyObjectId id, String needle,
+			byte[] buffer) {
+		int length = needle.length();
+		if (length > Constants.OBJECT_ID_STRING_LENGTH) {
+			return false;
+		}
+		id.copyRawTo(buffer, 0);
+		outer: for (int i = 0; i <= Constants.OBJECT_ID_STRING_LENGTH
+				- length; i++) {
+			for (int j = 0; j < length; j++) {
+				if (hexDigit(buffer, i + j) != needle.charAt(j)) {
+					continue outer;
 				}
-				findResults.add(i, revision);
-				continue;
 			}
+			return true;
+		}
+		return false;
+	}
 
-			if (findInCommitter && (find(findPattern,
-					revision.getCommitterIdent().getName())
-					|| find(findPattern,
-							revision.getCommitterIdent().getEmailAddress()))) {
-				if (progress.isCanceled()) {
-					return Status.CANCEL_STATUS;
+	private static char hexDigit(byte[] raw, int nibble) {
+		int b = raw[nibble >> 1];
+		return HEX_DIGITS[(nibble & 1) == 0 ? (b >> 4) & 0xF : b & 0xF];
+	}
+
+	/**
+	 * A search string that can be matched against the raw bytes of a UTF-8
+	 * encoded commit without decoding them, provided it is pure ASCII: in
+	 * UTF-8, bytes of non-ASCII characters never look like ASCII characters.
+	 */
+	private static final class Needle {
+
+		final String text;
+
+		private final byte[] bytes;
+
+		private final boolean ignoreCase;
+
+		Needle(String text, boolean ignoreCase) {
+			this.text = text;
+			this.ignoreCase = ignoreCase;
+			byte[] ascii = new byte[text.length()];
+			for (int i = 0; i < ascii.length; i++) {
+				char ch = text.charAt(i);
+				if (ch >= 0x80) {
+					ascii = null;
+					break;
 				}
-				findResults.add(i, revision);
-				continue;
+				ascii[i] = (byte) ch;
 			}
+			this.bytes = ascii;
+		}
 
-			if (findInReference) {
-				for (int j = 0; j < revision.getRefCount(); j++) {
-					if (progress.isCanceled()) {
-						return Status.CANCEL_STATUS;
-					}
-					Ref ref = revision.getRef(j);
-					String refName = ref.getName();
-					refName = Repository.shortenRefName(refName);
-					if (find(findPattern, refName)) {
-						if (progress.isCanceled()) {
-							return Status.CANCEL_STATUS;
-						}
-						findResults.add(i, revision);
-						break;
+		boolean isRaw() {
+			return bytes != null;
+		}
+
+		boolean find(byte[] raw, int from, int to) {
+			int last = to - bytes.length;
+			outer: for (int i = from; i <= last; i++) {
+				for (int j = 0; j < bytes.length; j++) {
+					if (fold(raw[i + j]) != bytes[j]) {
+						continue outer;
 					}
 				}
+				return true;
+			}
+			return false;
+		}
+
+		private byte fold(byte b) {
+			if (ignoreCase && b >= 'A' && b <= 'Z') {
+				return (byte) (b + ('a' - 'A'));
 			}
-			progress.worked(1);
+			return b;
 		}
-		return progress.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 	}
 
 }
@@ -58,9 +58,15 @@ protected IStatus run(IProgressMonitor monitor) {
 		}
 		FormatResult commitInfo;
 		CommitInfoBuilder builder;
+		SWTCommit commit;
+		synchronized (lock) {
+			commit = (SWTCommit) formatRequest.getCommit();
+		}
+		// The history table may drop the body of a commit scrolled out of
+		// view; keep it while formatting.
+		commit.pin();
 		try {
 			synchronized(lock) {
-				SWTCommit commit = (SWTCommit)formatRequest.getCommit();
 				commit.parseBody();
 				builder = new CommitInfoBuilder(formatRequest.getRepository(),
 						commit, formatRequest.isFill(),
@@ -69,6 +75,8 @@ protected IStatus run(IProgressMonitor monitor) {
 			commitInfo = builder.format(monitor);
 		} catch (IOException e) {
 			return Activator.createErrorStatus(e.getMessage(), e);
+		} finally {
+			commit.unpin();
 		}
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
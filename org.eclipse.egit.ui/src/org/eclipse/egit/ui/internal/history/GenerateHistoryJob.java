@@ -55,6 +55,8 @@ class GenerateHistoryJob extends Job {
 
 	private int forcedRedrawsAfterListIsCompleted = 0;
 
+	private int decryptedUpTo;
+
 	GenerateHistoryJob(final GitHistoryPage ghp, @NonNull RevWalk walk,
 			ResourceManager resources) {
 		super(NLS.bind(UIText.HistoryPage_refreshJob, Activator.getDefault()
@@ -63,7 +65,9 @@ class GenerateHistoryJob extends Job {
 		page = ghp;
 		this.walk = walk;
 		highlightFlag = walk.newFlag("highlight"); //$NON-NLS-1$
-		loadedCommits = new SWTCommitList(resources);
+		loadedCommits = new SWTCommitList(resources,
+				Activator.getDefault().getPreferenceStore().getBoolean(
+						UIPreferences.RESOURCEHISTORY_COMPACT_GRAPH));
 		loadedCommits.source(walk);
 		trace = GitTraceLocation.HISTORYVIEW.isActive();
 	}
@@ -82,6 +86,9 @@ protected IStatus run(final IProgressMonitor monitor) {
 			final boolean loadIncrementally = !Activator.getDefault()
 					.getPreferenceStore()
 					.getBoolean(UIPreferences.RESOURCEHISTORY_SHOW_FINDTOOLBAR);
+			final boolean decryptOriginalDates = Activator.getDefault()
+					.getPreferenceStore().getBoolean(
+							UIPreferences.GIT_PRIVACY_HISTORY_COLUMN_ORIGINAL_DATE);
 			int initialSize = loadedCommits.size();
 			try {
 				for (int oldsz = initialSize;;) {
@@ -108,6 +115,9 @@ protected IStatus run(final IProgressMonitor monitor) {
 							break;
 						}
 					}
+					if (decryptOriginalDates) {
+						decryptNewCommits();
+					}
 					if (monitor.isCanceled())
 						return Status.CANCEL_STATUS;
 					if (loadedCommits.size() > itemToLoad + (BATCH_SIZE / 2) + 1 && loadIncrementally)
@@ -149,6 +159,19 @@ protected IStatus run(final IProgressMonitor monitor) {
 		return status;
 	}
 
+	private void decryptNewCommits() {
+		int size = loadedCommits.size();
+		if (size <= decryptedUpTo) {
+			return;
+		}
+		SWTCommit[] batch = new SWTCommit[size - decryptedUpTo];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = (SWTCommit) loadedCommits.get(decryptedUpTo + i);
+		}
+		decryptedUpTo = size;
+		page.decryptOriginalDates(this, batch);
+	}
+
 	private void updateUI(boolean incomplete) {
 		if (trace)
 			GitTraceLocation.getTrace().traceEntry(
@@ -54,6 +54,7 @@
 import org.eclipse.egit.core.AdapterUtils;
 import org.eclipse.egit.core.RepositoryUtil;
 import org.eclipse.egit.core.UnitOfWork;
+import org.eclipse.egit.core.internal.graph.ChangedPathFilter;
 import org.eclipse.egit.core.internal.util.ResourceUtil;
 import org.eclipse.egit.core.project.RepositoryMapping;
 import org.eclipse.egit.ui.Activator;
@@ -134,9 +135,7 @@
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
-import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
@@ -2354,6 +2353,22 @@ public void run() {
 		});
 	}
 
+	/**
+	 * Hands freshly loaded commits to the table for decrypting their original
+	 * dates in the background.
+	 *
+	 * @param j
+	 *            the job that loaded the commits
+	 * @param commits
+	 *            to decrypt
+	 */
+	void decryptOriginalDates(Job j, SWTCommit[] commits) {
+		if (job != j || graph.getControl().isDisposed()) {
+			return;
+		}
+		graph.decryptOriginalDates(commits);
+	}
+
 	@SuppressWarnings("boxing")
 	void showCommitList(final Job j, final SWTCommitList list,
 			final SWTCommit[] asArray, final RevCommit toSelect, final boolean incomplete, final RevFlag highlightFlag) {
@@ -2870,8 +2885,7 @@ && allRegularFiles(paths)) {
 			for (FilterPath p : paths)
 				stringPaths.add(p.getPath());
 
-			walk.setTreeFilter(AndTreeFilter.create(PathFilterGroup
-					.createFromStrings(stringPaths), TreeFilter.ANY_DIFF));
+			walk.setTreeFilter(ChangedPathFilter.create(db, stringPaths));
 			fileViewerInterestingPaths = new HashSet<>(stringPaths);
 		} else {
 			pathFilters = null;
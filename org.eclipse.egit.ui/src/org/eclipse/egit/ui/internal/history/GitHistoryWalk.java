@@ -14,6 +14,7 @@
 import java.text.MessageFormat;
 import java.util.Set;
 
+import org.eclipse.egit.core.internal.graph.CommitGraphRepository;
 import org.eclipse.egit.ui.Activator;
 import org.eclipse.egit.ui.UIPreferences;
 import org.eclipse.egit.ui.internal.UIText;
@@ -34,6 +35,11 @@
  * depending on the git history preferences. The point of doing so is to be sure
  * that potentially expensive operations are done in the GerenrateHistoryJob and
  * not in the UI thread.
+ * <p>
+ * If enabled in the preferences, commit headers are parsed from the commit
+ * graph of the repository as last updated instead of being read from the
+ * repository, and the graph is brought up to date in the background.
+ * </p>
  */
 class GitHistoryWalk extends SWTWalk {
 
@@ -41,8 +47,16 @@ class GitHistoryWalk extends SWTWalk {
 
 	private final ObjectId toShow;
 
+	private final CommitGraphRepository graphRepository;
+
 	GitHistoryWalk(@NonNull Repository repository, ObjectId toShow) {
-		super(repository);
+		this(repository, new CommitGraphRepository(repository), toShow);
+	}
+
+	private GitHistoryWalk(@NonNull Repository repository,
+			@NonNull CommitGraphRepository graphRepository, ObjectId toShow) {
+		super(repository, graphRepository);
+		this.graphRepository = graphRepository;
 		this.toShow = toShow;
 	}
 
@@ -69,6 +83,15 @@ protected void reset(int retainFlags) {
 	 */
 	private void initialize() throws IOException {
 		IPreferenceStore store = Activator.getDefault().getPreferenceStore();
+		if (store.getBoolean(UIPreferences.RESOURCEHISTORY_COMMIT_GRAPH)) {
+			try {
+				graphRepository.useGraph();
+			} catch (IOException e) {
+				// Walk without the graph; all headers are read from the
+				// repository then
+				Activator.logError(e.getMessage(), e);
+			}
+		}
 		RefDatabase db = getRepository().getRefDatabase();
 		try {
 			markStartAllRefs(new RefFilterHelper(getRepository())
@@ -15,15 +15,21 @@
 package org.eclipse.egit.ui.internal.history;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
 import org.eclipse.egit.ui.internal.dialogs.CommitLabelProvider;
+import org.eclipse.jgit.revwalk.RevCommit;
 
 /**
  * A Label Provider for Commits
  */
 class GraphLabelProvider extends CommitLabelProvider {
 
+	private OriginalDateDecryptor decryptor;
+
 	public GraphLabelProvider() {
 		super();
 	}
@@ -46,4 +52,24 @@ public String getColumnText(Object element, int columnIndex) {
 		}
 		return super.getColumnText(c, columnIndex);
 	}
+
+	void setOriginalDateDecryptor(OriginalDateDecryptor decryptor) {
+		this.decryptor = decryptor;
+	}
+
+	@Override
+	protected Optional<DecodedDates> getOriginalDates(RevCommit commit) {
+		if (decryptor == null) {
+			return super.getOriginalDates(commit);
+		}
+		// Never decrypt in the UI thread; show nothing until the decryptor
+		// has done its work, which will update the row.
+		SWTCommit c = (SWTCommit) commit;
+		if (!c.hasOriginalDates(
+				OriginalCommitDateCache.INSTANCE.getGeneration())) {
+			decryptor.request(c);
+			return Optional.empty();
+		}
+		return c.getOriginalDates();
+	}
 }
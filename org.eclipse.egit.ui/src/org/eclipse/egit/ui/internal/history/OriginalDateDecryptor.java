@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.history;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.JobFamilies;
+import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Decrypts the original commit dates of {@link SWTCommit}s in background jobs
+ * and stores them on the commits, so that the label provider of the history
+ * table never has to decrypt anything in the UI thread.
+ * <p>
+ * Batches of freshly loaded commits are split into chunks that are decrypted
+ * in parallel. Single commits that the label provider finds without dates
+ * (for instance after the key changed) are queued and decrypted by one
+ * additional job. Whenever a chunk is done, the callback is invoked with the
+ * commits that got new dates.
+ * </p>
+ */
+class OriginalDateDecryptor {
+
+	private static final int CHUNK_SIZE = 64;
+
+	private final JobGroup group;
+
+	private final Consumer<SWTCommit[]> decrypted;
+
+	private final Queue<SWTCommit> requested = new ConcurrentLinkedQueue<>();
+
+	private final Job requestedJob;
+
+	private volatile boolean disposed;
+
+	/**
+	 * @param decrypted
+	 *            called from a background job with the commits whose dates
+	 *            have been decrypted
+	 */
+	OriginalDateDecryptor(Consumer<SWTCommit[]> decrypted) {
+		this.decrypted = decrypted;
+		group = new JobGroup(UIText.OriginalDateDecryptor_JobName,
+				Runtime.getRuntime().availableProcessors(), 0);
+		requestedJob = new DecryptJob(null, 0, 0);
+	}
+
+	/**
+	 * Schedules decryption of the given commits.
+	 *
+	 * @param commits
+	 *            to decrypt the original dates of; {@code null} elements are
+	 *            skipped
+	 */
+	void decrypt(SWTCommit[] commits) {
+		if (disposed) {
+			return;
+		}
+		for (int start = 0; start < commits.length; start += CHUNK_SIZE) {
+			int end = Math.min(commits.length, start + CHUNK_SIZE);
+			for (int i = start; i < end; i++) {
+				if (commits[i] != null) {
+					commits[i].setOriginalDatesRequested(true);
+				}
+			}
+			Job job = new DecryptJob(commits, start, end);
+			job.setJobGroup(group);
+			job.schedule();
+		}
+	}
+
+	/**
+	 * Queues a single commit for decryption unless it is already queued.
+	 *
+	 * @param commit
+	 *            to decrypt the original dates of
+	 */
+	void request(SWTCommit commit) {
+		if (disposed || commit.isOriginalDatesRequested()) {
+			return;
+		}
+		commit.setOriginalDatesRequested(true);
+		requested.add(commit);
+		requestedJob.schedule();
+	}
+
+	/**
+	 * Cancels all pending decryptions; the decryptor cannot be used anymore
+	 * afterwards.
+	 */
+	void dispose() {
+		disposed = true;
+		requested.clear();
+		requestedJob.cancel();
+		group.cancel();
+	}
+
+	private class DecryptJob extends Job {
+
+		private final SWTCommit[] commits;
+
+		private final int start;
+
+		private final int end;
+
+		/**
+		 * @param commits
+		 *            to process, or {@code null} to drain the queue of
+		 *            requested commits
+		 * @param start
+		 *            inclusive
+		 * @param end
+		 *            exclusive
+		 */
+		DecryptJob(SWTCommit[] commits, int start, int end) {
+			super(UIText.OriginalDateDecryptor_JobName);
+			this.commits = commits;
+			this.start = start;
+			this.end = end;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			OriginalCommitDateCache cache = OriginalCommitDateCache.INSTANCE;
+			int generation = cache.getGeneration();
+			List<SWTCommit> done = new ArrayList<>();
+			// One reader for the whole chunk; commits are read through it
+			// without attaching their bodies, which the history table keeps
+			// only around the visible rows.
+			Repository repository = null;
+			ObjectReader reader = null;
+			try {
+				int i = start;
+				for (;;) {
+					SWTCommit commit;
+					if (commits != null) {
+						if (i >= end) {
+							break;
+						}
+						commit = commits[i++];
+						if (commit == null) {
+							continue;
+						}
+					} else {
+						commit = requested.poll();
+						if (commit == null) {
+							break;
+						}
+					}
+					if (monitor.isCanceled() || disposed) {
+						return Status.CANCEL_STATUS;
+					}
+					Repository commitRepository = commit.getRepository();
+					if (commitRepository != null
+							&& commitRepository != repository) {
+						if (reader != null) {
+							reader.close();
+						}
+						repository = commitRepository;
+						reader = repository.newObjectReader();
+					}
+					if (decrypt(cache, commit, reader, generation)) {
+						done.add(commit);
+					}
+				}
+			} finally {
+				if (reader != null) {
+					reader.close();
+				}
+				if (!done.isEmpty() && !disposed
+						&& generation == cache.getGeneration()) {
+					decrypted.accept(done.toArray(new SWTCommit[0]));
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		private boolean decrypt(OriginalCommitDateCache cache,
+				SWTCommit commit, ObjectReader reader, int generation) {
+			try {
+				Repository repository = commit.getRepository();
+				if (commit.hasOriginalDates(generation)
+						|| repository == null) {
+					return false;
+				}
+				Optional<DecodedDates> dates = cache.getDates(repository, commit,
+						reader);
+				if (generation != cache.getGeneration()) {
+					// Key changed meanwhile; the label provider will request
+					// the commit again.
+					return false;
+				}
+				commit.setOriginalDates(dates, generation);
+				return dates.isPresent();
+			} catch (IOException | RuntimeException e) {
+				Activator.logError(e.getMessage(), e);
+				return false;
+			} finally {
+				commit.setOriginalDatesRequested(false);
+			}
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return JobFamilies.GENERATE_HISTORY.equals(family)
+					|| super.belongsTo(family);
+		}
+	}
+}
@@ -15,9 +15,11 @@
 package org.eclipse.egit.ui.internal.history;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.egit.core.internal.IRepositoryCommit;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder.DecodedDates;
 import org.eclipse.jgit.lib.AnyObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
@@ -32,6 +34,24 @@ class SWTCommit extends PlotCommit<SWTCommitList.SWTLane>
 
 	private SWTWalk walk;
 
+	private volatile Optional<DecodedDates> originalDates = Optional.empty();
+
+	/** -1 while {@link #originalDates} have not been decrypted. */
+	private volatile int originalDatesGeneration = -1;
+
+	private volatile boolean originalDatesRequested;
+
+	private int pins;
+
+	/**
+	 * The list whose {@link SWTCommitList#getCompactGraph()} has the lanes of
+	 * this commit, or {@code null} if the lanes are in the commit.
+	 */
+	SWTCommitList list;
+
+	/** Row of this commit in the compact graph of the {@link #list}. */
+	int row = -1;
+
 	SWTCommit(final AnyObjectId id, SWTWalk walk) {
 		super(id);
 		this.walk = walk;
@@ -41,6 +61,11 @@ class SWTCommit extends PlotCommit<SWTCommitList.SWTLane>
 	public void reset() {
 		widget = null;
 		walk = null;
+		originalDatesGeneration = -1;
+		originalDates = Optional.empty();
+		originalDatesRequested = false;
+		list = null;
+		row = -1;
 		super.reset();
 	}
 
@@ -48,19 +73,115 @@ public void parseBody() throws IOException {
 		if (getRawBuffer() == null) {
 			Repository repo = walk.getRepository();
 			try (RevWalk w = new RevWalk(repo)) {
-				// We *know* that the commit has had its headers parsed, so all
-				// this does is add the cached bytes. Thus using a different
-				// walk than the one that created this commit is fine. We
-				// mustn't use "walk" since this may be called from different
-				// threads: the UI thread, the FormatJob, and the
-				// FindToolbarJob.
-				//
-				// Additionally the GitHistoryJob may still be using the walk.
-				w.parseBody(this);
+				parseBody(w);
 			}
 		}
 	}
 
+	/**
+	 * Like {@link #parseBody()}, but using the given walk, so that callers
+	 * parsing many commits can share one.
+	 *
+	 * @param w
+	 *            to load the body with; must not be the walk that created
+	 *            this commit
+	 * @throws IOException
+	 *             if the body cannot be loaded
+	 */
+	void parseBody(RevWalk w) throws IOException {
+		if (getRawBuffer() == null) {
+			// We *know* that the commit has had its headers parsed, so all
+			// this does is add the cached bytes. Thus using a different
+			// walk than the one that created this commit is fine. We
+			// mustn't use "walk" since this may be called from different
+			// threads: the UI thread, the FormatJob, and the
+			// FindToolbarJob.
+			//
+			// Additionally the GitHistoryJob may still be using the walk.
+			w.parseBody(this);
+		}
+	}
+
+	/**
+	 * @return the children of this commit, from the compact graph if the
+	 *         commit has been laid out in one
+	 */
+	SWTCommit[] getChildren() {
+		SWTCommitList compactList = list;
+		if (compactList != null) {
+			return compactList.getChildren(this);
+		}
+		SWTCommit[] children = new SWTCommit[getChildCount()];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = (SWTCommit) getChild(i);
+		}
+		return children;
+	}
+
+	/**
+	 * Keeps {@link #disposeBodyIfUnpinned()} from dropping the body while the
+	 * commit is used outside of the UI thread. Must be balanced by
+	 * {@link #unpin()}.
+	 */
+	synchronized void pin() {
+		pins++;
+	}
+
+	synchronized void unpin() {
+		pins--;
+	}
+
+	/**
+	 * Drops the body unless the commit is pinned; {@link #parseBody()} loads
+	 * it again when needed.
+	 */
+	synchronized void disposeBodyIfUnpinned() {
+		if (pins == 0) {
+			disposeBody();
+		}
+	}
+
+	/**
+	 * Tells whether the {@link OriginalDateDecryptor} has decrypted the
+	 * original dates of this commit.
+	 *
+	 * @param generation
+	 *            of the
+	 *            {@link org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache
+	 *            OriginalCommitDateCache} the dates must have been computed in
+	 * @return {@code false} if the dates have not been decrypted yet or are
+	 *         stale
+	 */
+	boolean hasOriginalDates(int generation) {
+		return originalDatesGeneration == generation;
+	}
+
+	/**
+	 * Retrieves the original dates decrypted by the
+	 * {@link OriginalDateDecryptor}.
+	 *
+	 * @return the dates, or {@link Optional#empty()} if the commit has none or
+	 *         they have not been decrypted yet
+	 * @see #hasOriginalDates(int)
+	 */
+	Optional<DecodedDates> getOriginalDates() {
+		return originalDates;
+	}
+
+	void setOriginalDates(Optional<DecodedDates> dates, int generation) {
+		// Publish the dates before the generation readers check first
+		originalDates = dates;
+		originalDatesGeneration = generation;
+	}
+
+	boolean isOriginalDatesRequested() {
+		return originalDatesRequested;
+	}
+
+	void setOriginalDatesRequested(boolean requested) {
+		originalDatesRequested = requested;
+	}
+
 	/**
 	 * Retrieves the HEAD ref if it is symbolic.
 	 *
@@ -13,7 +13,9 @@
 import java.util.ArrayList;
 import java.util.LinkedList;
 
+import org.eclipse.egit.core.internal.graph.CompactCommitGraph;
 import org.eclipse.jface.resource.ResourceManager;
+import org.eclipse.jgit.revplot.PlotCommit;
 import org.eclipse.jgit.revplot.PlotCommitList;
 import org.eclipse.jgit.revplot.PlotLane;
 import org.eclipse.swt.graphics.Color;
@@ -38,7 +40,26 @@ class SWTCommitList extends PlotCommitList<SWTCommitList.SWTLane> {
 
 	private final LinkedList<Color> availableColors;
 
+	private final boolean compact;
+
+	private CompactCommitGraph graph;
+
 	SWTCommitList(final ResourceManager resources) {
+		this(resources, false);
+	}
+
+	/**
+	 * @param resources
+	 *            to create the lane colors with
+	 * @param compact
+	 *            whether to lay out the lanes in a {@link CompactCommitGraph}
+	 *            instead of in the commits
+	 */
+	SWTCommitList(final ResourceManager resources, boolean compact) {
+		this.compact = compact;
+		if (compact) {
+			graph = new CompactCommitGraph();
+		}
 		allColors = new ArrayList<>(COMMIT_RGB.length);
 		for (RGB rgb : COMMIT_RGB)
 			allColors.add(resources.createColor(rgb));
@@ -50,6 +71,61 @@ private void repackColors() {
 		availableColors.addAll(allColors);
 	}
 
+	@Override
+	public void clear() {
+		super.clear();
+		if (compact) {
+			graph = new CompactCommitGraph();
+		}
+	}
+
+	@Override
+	protected void enter(int index, PlotCommit<SWTLane> currCommit) {
+		if (!compact) {
+			super.enter(index, currCommit);
+			return;
+		}
+		SWTCommit commit = (SWTCommit) currCommit;
+		commit.list = this;
+		commit.row = graph.add(commit, commit.getRefCount() > 0
+				? CompactCommitGraph.FLAG_REFS : 0);
+	}
+
+	/**
+	 * @return the lane layout, or {@code null} if the lanes are laid out in
+	 *         the commits
+	 */
+	CompactCommitGraph getCompactGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param lane
+	 *            position of a lane in the {@link #getCompactGraph()}
+	 * @return the color to draw the lane with
+	 */
+	Color getLaneColor(int lane) {
+		return allColors.get(lane % allColors.size());
+	}
+
+	/**
+	 * @param commit
+	 *            in the {@link #getCompactGraph()}
+	 * @return the children of the commit
+	 */
+	SWTCommit[] getChildren(SWTCommit commit) {
+		CompactCommitGraph current = graph;
+		int row = commit.row;
+		if (current == null || row < 0 || row >= current.size()) {
+			return new SWTCommit[0];
+		}
+		SWTCommit[] children = new SWTCommit[current.getIncomingCount(row)];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = (SWTCommit) get(current.getChildRow(row, i));
+		}
+		return children;
+	}
+
 	@Override
 	protected SWTLane createLane() {
 		if (availableColors.isEmpty())
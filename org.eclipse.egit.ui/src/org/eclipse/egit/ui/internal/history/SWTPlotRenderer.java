@@ -18,6 +18,7 @@
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.egit.core.internal.graph.CompactCommitGraph;
 import org.eclipse.egit.ui.Activator;
 import org.eclipse.egit.ui.UIPreferences;
 import org.eclipse.egit.ui.internal.history.SWTCommitList.SWTLane;
@@ -59,6 +60,14 @@ class SWTPlotRenderer extends AbstractPlotRenderer<SWTLane, Color> {
 
 	private static final int MAX_LABEL_LENGTH = 18;
 
+	// Same geometry as in AbstractPlotRenderer
+
+	private static final int LANE_WIDTH = 14;
+
+	private static final int LINE_WIDTH = 2;
+
+	private static final int LEFT_PAD = 2;
+
 	private static final String ELLIPSIS = "\u2026"; // ellipsis "..." (in UTF-8) //$NON-NLS-1$
 
 	private final Color sys_black;
@@ -103,6 +112,8 @@ class SWTPlotRenderer extends AbstractPlotRenderer<SWTLane, Color> {
 	 */
 	private int tagCount = 0;
 
+	private SWTCommitList commitList;
+
 	SWTPlotRenderer(final Display d, final ResourceManager resources) {
 		this.resources = resources;
 		sys_black = d.getSystemColor(SWT.COLOR_BLACK);
@@ -132,7 +143,102 @@ void paint(final Event event) {
 			Activator.error("Error parsing body", e); //$NON-NLS-1$
 			return;
 		}
-		paintCommit(commit , event.height);
+		CompactCommitGraph graph = commitList != null
+				? commitList.getCompactGraph() : null;
+		if (graph != null && commit.list == commitList && commit.row >= 0
+				&& commit.row < graph.size()) {
+			paintCompact(graph, commit, event.height);
+		} else {
+			paintCommit(commit, event.height);
+		}
+	}
+
+	/**
+	 * @param list
+	 *            whose {@link SWTCommitList#getCompactGraph()} to draw the
+	 *            lanes from, if it has one
+	 */
+	void setCommitList(SWTCommitList list) {
+		commitList = list;
+	}
+
+	/**
+	 * Draws a row like {@link #paintCommit paintCommit()}, but takes the
+	 * lanes from a {@link CompactCommitGraph}.
+	 */
+	private void paintCompact(CompactCommitGraph graph, SWTCommit commit,
+			int h) {
+		int row = commit.row;
+		int dotSize = computeDotSize(h);
+		int myLane = graph.getLane(row);
+		int myLaneX = laneC(myLane);
+		Color myColor = commitList.getLaneColor(myLane);
+		int maxCenter = myLaneX;
+		for (int i = 0; i < graph.getPassingCount(row); i++) {
+			int lane = graph.getPassingLane(row, i);
+			int cx = laneC(lane);
+			drawLine(commitList.getLaneColor(lane), cx, 0, cx, h, LINE_WIDTH);
+			maxCenter = Math.max(maxCenter, cx);
+		}
+		int dotX = myLaneX - dotSize / 2 - 1;
+		int dotY = (h - dotSize) / 2;
+		for (int i = 0; i < graph.getOutgoingCount(row); i++) {
+			int lane = graph.getOutgoingLane(row, i);
+			if (lane == myLane) {
+				drawLine(myColor, myLaneX, h, myLaneX, (h + dotSize) / 2,
+						LINE_WIDTH);
+			} else {
+				drawEdge(lane, myLaneX, h / 2, h);
+				maxCenter = Math.max(maxCenter, laneC(lane));
+			}
+		}
+		for (int i = 0; i < graph.getIncomingCount(row); i++) {
+			int lane = graph.getIncomingLane(row, i);
+			if (lane == myLane) {
+				drawLine(myColor, myLaneX, 0, myLaneX, dotY, LINE_WIDTH);
+			} else {
+				drawEdge(lane, myLaneX, h / 2, 0);
+				maxCenter = Math.max(maxCenter, laneC(lane));
+			}
+		}
+		if ((graph.getFlags(row) & CompactCommitGraph.FLAG_BOUNDARY) != 0) {
+			drawBoundaryDot(dotX, dotY, dotSize, dotSize);
+		} else {
+			drawCommitDot(dotX, dotY, dotSize, dotSize);
+		}
+		int textx = Math.max(maxCenter + LANE_WIDTH / 2, dotX + dotSize) + 8;
+		if ((graph.getFlags(row) & CompactCommitGraph.FLAG_REFS) != 0) {
+			for (int i = 0; i < commit.getRefCount(); i++) {
+				textx += drawLabel(textx + dotSize, h / 2, commit.getRef(i));
+			}
+		}
+		drawText(commit.getShortMessage(), textx + dotSize, h);
+	}
+
+	/**
+	 * Draws an edge from the dot to the top or bottom of another lane, bent
+	 * horizontally first if the lane is not adjacent.
+	 */
+	private void drawEdge(int lane, int dotX, int dotY, int y) {
+		Color color = commitList.getLaneColor(lane);
+		int cx = laneC(lane);
+		if (Math.abs(dotX - cx) > LANE_WIDTH) {
+			int ix = dotX < cx ? cx - LANE_WIDTH / 2 : cx + LANE_WIDTH / 2;
+			drawLine(color, dotX, dotY, ix, dotY, LINE_WIDTH);
+			drawLine(color, ix, dotY, cx, y, LINE_WIDTH);
+		} else {
+			drawLine(color, dotX, dotY, cx, y, LINE_WIDTH);
+		}
+	}
+
+	private static int computeDotSize(int h) {
+		int d = (int) (Math.min(h, LANE_WIDTH) * 0.50f);
+		d += (d & 1);
+		return d;
+	}
+
+	private static int laneC(int lane) {
+		return LEFT_PAD + LANE_WIDTH * lane + LANE_WIDTH / 2;
 	}
 
 	@Override
@@ -15,6 +15,7 @@
 
 import java.io.IOException;
 
+import org.eclipse.egit.core.internal.graph.CommitGraphRepository;
 import org.eclipse.jgit.annotations.NonNull;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
@@ -39,6 +40,22 @@ class SWTWalk extends PlotWalk {
 		this.repo = repo;
 	}
 
+	/**
+	 * Creates a walk that parses commit headers from the commit graph of the
+	 * repository while it does not retain bodies.
+	 *
+	 * @param repo
+	 *            to walk
+	 * @param graphRepo
+	 *            wrapping {@code repo}
+	 */
+	SWTWalk(final @NonNull Repository repo,
+			final @NonNull CommitGraphRepository graphRepo) {
+		super(graphRepo);
+		this.repo = repo;
+		graphRepo.setWalk(this);
+	}
+
 	@NonNull
 	Repository getRepository() {
 		return repo;
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.repository.tree.command;
+
+import java.io.File;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.op.ExportOriginalCommitDatesOperation;
+import org.eclipse.egit.core.op.ExportOriginalCommitDatesOperation.Format;
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.egit.ui.internal.commit.GitPrivacyKeyCache;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder;
+import org.eclipse.egit.ui.internal.repository.tree.RepositoryNode;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
+import org.eclipse.ui.services.IServiceLocator;
+
+/**
+ * Command to export the original commit dates of all commits of a repository
+ * to a CSV or JSON file.
+ */
+public class ExportOriginalCommitDatesCommand
+		extends RepositoriesViewCommandHandler<RepositoryNode> {
+
+	/**
+	 * Command id
+	 */
+	public static final String ID = "org.eclipse.egit.ui.team.ExportOriginalCommitDates"; //$NON-NLS-1$
+
+	private static final String JSON_EXTENSION = ".json"; //$NON-NLS-1$
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		List<RepositoryNode> selectedNodes = getSelectedNodes(event);
+		if (selectedNodes.isEmpty()) {
+			return null;
+		}
+		Repository repository = selectedNodes.get(0).getRepository();
+
+		FileDialog dialog = new FileDialog(getShell(event),
+				SWT.PRIMARY_MODAL | SWT.SAVE);
+		dialog.setText(UIText.ExportOriginalCommitDatesCommand_DialogTitle);
+		dialog.setFilterExtensions(new String[] { "*.csv", "*.json" }); //$NON-NLS-1$ //$NON-NLS-2$
+		dialog.setFileName("original-dates.csv"); //$NON-NLS-1$
+		dialog.setOverwrite(true);
+		String path = dialog.open();
+		if (path == null) {
+			return null;
+		}
+		File target = new File(path);
+		Format format = target.getName().toLowerCase(Locale.ROOT)
+				.endsWith(JSON_EXTENSION) ? Format.JSON : Format.CSV;
+		String repositoryName = Activator.getDefault().getRepositoryUtil()
+				.getRepositoryName(repository);
+
+		Job job = new Job(NLS.bind(
+				UIText.ExportOriginalCommitDatesCommand_JobName,
+				repositoryName)) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				// Derives the key here rather than in the UI thread
+				OriginalCommitDateEncoder encoder = GitPrivacyKeyCache.INSTANCE
+						.createSnapshotEncoder();
+				ExportOriginalCommitDatesOperation op = new ExportOriginalCommitDatesOperation(
+						repository, target, format,
+						commit -> encoder.decode(commit)
+								.map(dates -> new ZonedDateTime[] {
+										dates.getAuthoredDateTime(),
+										dates.getCommittedDateTime() })
+								.orElse(null));
+				try {
+					op.execute(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException e) {
+					return Activator.createErrorStatus(NLS.bind(
+							UIText.ExportOriginalCommitDatesCommand_Failed,
+							repositoryName), e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setUser(true);
+		IServiceLocator serviceLocator = HandlerUtil.getActiveSite(event);
+		if (serviceLocator != null) {
+			IWorkbenchSiteProgressService service = serviceLocator
+					.getService(IWorkbenchSiteProgressService.class);
+			service.schedule(job);
+		} else {
+			job.schedule();
+		}
+		return null;
+	}
+}
@@ -43,6 +43,7 @@
 import org.eclipse.egit.ui.Activator;
 import org.eclipse.egit.ui.JobFamilies;
 import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.egit.ui.internal.commit.OriginalCommitDateCache;
 import org.eclipse.egit.ui.internal.groups.RepositoryGroups;
 import org.eclipse.egit.ui.internal.repository.tree.RepositoryNode;
 import org.eclipse.egit.ui.internal.repository.tree.RepositoryTreeNodeType;
@@ -169,6 +170,10 @@ public IStatus runInWorkspace(IProgressMonitor monitor) {
 						.collect(Collectors.toList());
 				repoDirs.stream().forEach(util::removeDir);
 				RepositoryGroups.getInstance().removeFromGroups(repoDirs);
+				for (RepositoryNode node : selectedNodes) {
+					OriginalCommitDateCache.INSTANCE
+							.clear(node.getRepository());
+				}
 
 				if (delete) {
 					try {
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.repository.tree.command;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.op.RewriteCommitDatesOperation;
+import org.eclipse.egit.ui.Activator;
+import org.eclipse.egit.ui.internal.UIText;
+import org.eclipse.egit.ui.internal.commit.CommitDateRewriter;
+import org.eclipse.egit.ui.internal.repository.tree.RepositoryNode;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
+import org.eclipse.ui.services.IServiceLocator;
+
+/**
+ * Command to redate the unpublished commits of the current branch according to
+ * the privacy preferences and to re-encrypt their original dates with the
+ * current key. Commits reachable from remote-tracking branches or tags are not
+ * rewritten.
+ */
+public class RewriteCommitDatesCommand
+		extends RepositoriesViewCommandHandler<RepositoryNode> {
+
+	/**
+	 * Command id
+	 */
+	public static final String ID = "org.eclipse.egit.ui.team.RewriteCommitDates"; //$NON-NLS-1$
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		List<RepositoryNode> selectedNodes = getSelectedNodes(event);
+		if (selectedNodes.isEmpty()) {
+			return null;
+		}
+		Repository repository = selectedNodes.get(0).getRepository();
+		String branch;
+		try {
+			branch = repository.getFullBranch();
+		} catch (IOException e) {
+			Activator.handleError(e.getMessage(), e, true);
+			return null;
+		}
+		if (branch == null || !branch.startsWith(Constants.R_HEADS)) {
+			MessageDialog.openInformation(getShell(event),
+					UIText.RewriteCommitDatesCommand_Title,
+					UIText.RewriteCommitDatesCommand_NoBranch);
+			return null;
+		}
+		String branchName = Repository.shortenRefName(branch);
+		if (!MessageDialog.openConfirm(getShell(event),
+				UIText.RewriteCommitDatesCommand_Title,
+				NLS.bind(UIText.RewriteCommitDatesCommand_Confirm,
+						branchName))) {
+			return null;
+		}
+
+		Job job = new Job(NLS.bind(UIText.RewriteCommitDatesCommand_JobName,
+				branchName)) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					RewriteCommitDatesOperation op = new RewriteCommitDatesOperation(
+							repository, branch, getPublishedCommits(repository),
+							new CommitDateRewriter());
+					op.execute(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException | IOException e) {
+					return Activator.createErrorStatus(NLS.bind(
+							UIText.RewriteCommitDatesCommand_Failed,
+							branchName), e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setUser(true);
+		IServiceLocator serviceLocator = HandlerUtil.getActiveSite(event);
+		if (serviceLocator != null) {
+			IWorkbenchSiteProgressService service = serviceLocator
+					.getService(IWorkbenchSiteProgressService.class);
+			service.schedule(job);
+		} else {
+			job.schedule();
+		}
+		return null;
+	}
+
+	private static List<ObjectId> getPublishedCommits(Repository repository)
+			throws IOException {
+		RefDatabase refDatabase = repository.getRefDatabase();
+		List<ObjectId> published = new ArrayList<>();
+		for (Ref ref : refDatabase.getRefsByPrefix(Constants.R_REMOTES,
+				Constants.R_TAGS)) {
+			Ref peeled = refDatabase.peel(ref);
+			ObjectId id = peeled.getPeeledObjectId();
+			if (id == null) {
+				id = peeled.getObjectId();
+			}
+			if (id != null) {
+				published.add(id);
+			}
+		}
+		return published;
+	}
+}
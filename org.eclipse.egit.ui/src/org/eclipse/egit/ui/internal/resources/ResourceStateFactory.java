@@ -30,7 +30,6 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
@@ -131,7 +130,7 @@ public IndexDiffData getIndexDiffDataOrNull(@Nullable File file) {
 	 * @return the IndexDiffData, or {@code null} if none.
 	 */
 	@Nullable
-	private IndexDiffData getIndexDiffDataOrNull(
+	public IndexDiffData getIndexDiffDataOrNull(
 			@Nullable Repository repository) {
 		if (repository == null) {
 			return null;
@@ -323,49 +322,36 @@ private IResourceState get(@NonNull IndexDiffData indexDiffData,
 
 		// containers are marked as staged whenever file was added, removed or
 		// changed
-		Set<String> changed = new HashSet<>(indexDiffData.getChanged());
-		changed.addAll(indexDiffData.getAdded());
-		changed.addAll(indexDiffData.getRemoved());
-		if (containsPrefix(changed, repoRelativePath)) {
+		int folderState = indexDiffData.getFolderState(repoRelativePath);
+		if ((folderState & IndexDiffData.FOLDER_STAGED) != 0) {
 			state.setStagingState(StagingState.MODIFIED);
 		} else {
 			state.setStagingState(StagingState.NOT_STAGED);
 		}
 		// conflicting
-		Set<String> conflicting = indexDiffData.getConflicting();
-		state.setConflicts(containsPrefix(conflicting, repoRelativePath));
+		state.setConflicts(
+				(folderState & IndexDiffData.FOLDER_CONFLICTS) != 0);
 
 		// locally modified / untracked
-		Set<String> modified = indexDiffData.getModified();
-		Set<String> untracked = indexDiffData.getUntracked();
-		Set<String> missing = indexDiffData.getMissing();
-		state.setDirty(containsPrefix(modified, repoRelativePath)
-				|| containsPrefix(untracked, repoRelativePath)
-				|| containsPrefix(missing, repoRelativePath));
+		state.setDirty((folderState & IndexDiffData.FOLDER_DIRTY) != 0);
 		return state;
 	}
 
-	private boolean containsPrefix(Set<String> collection, String prefix) {
-		// when prefix is empty we are handling repository root, therefore we
-		// should return true whenever collection isn't empty
-		if (prefix.length() == 1 && !collection.isEmpty())
-			return true;
-
-		for (String path : collection)
-			if (path.startsWith(prefix))
-				return true;
-		return false;
-	}
-
+	/**
+	 * Tells whether the collection contains the path or one of its parent
+	 * folders, with or without trailing slash. Looks up each parent instead of
+	 * testing every entry of the collection.
+	 */
 	private boolean containsPrefixPath(Set<String> collection, String path) {
-		for (String entry : collection) {
-			String entryPath;
-			if (entry.endsWith("/")) //$NON-NLS-1$
-				entryPath = entry;
-			else
-				entryPath = entry + "/"; //$NON-NLS-1$
-			if (path.startsWith(entryPath))
+		if (collection.isEmpty()) {
+			return false;
+		}
+		for (int slash = path.indexOf('/'); slash >= 0; slash = path
+				.indexOf('/', slash + 1)) {
+			if (collection.contains(path.substring(0, slash))
+					|| collection.contains(path.substring(0, slash + 1))) {
 				return true;
+			}
 		}
 		return false;
 	}
@@ -0,0 +1,395 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.egit.core.internal.graph.CommitGraph;
+import org.eclipse.egit.core.internal.graph.CommitGraphCache;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * Append-only store of the searchable fields of the commits of a repository,
+ * kept next to its {@link CommitGraphCache}, so that repeated searches
+ * neither have to inflate nor to parse commit objects.
+ * <p>
+ * Search patterns may be arbitrary regular expressions, so there is no token
+ * index; the store holds the decoded fields, which are scanned sequentially.
+ * Ids, trees and parents come from the {@link CommitGraph}, and the fields
+ * are stored in the order of the graph in two files:
+ * <ul>
+ * <li>{@value #TEXT}: per commit its id, author, committer and message in
+ * UTF-8,</li>
+ * <li>{@value #STATE}: the number of valid records, the valid length of the
+ * other file and the id of the last commit indexed.</li>
+ * </ul>
+ * If that last commit is not at the same position in the graph any more, the
+ * graph was built anew and so is the store. Data beyond the length recorded
+ * in the state file is left over from an interrupted update and is truncated
+ * by the next one. A store that cannot be read is built anew, too, and the
+ * search goes on after the commits already passed on.
+ * </p>
+ */
+final class CommitSearchIndex {
+
+	private static final int MAGIC = 0x45474353; // "EGCS"
+
+	private static final int VERSION = 2;
+
+	private static final String TEXT = "search"; //$NON-NLS-1$
+
+	private static final String STATE = "search-state"; //$NON-NLS-1$
+
+	private static final int FIELDS = 5;
+
+	private static final ConcurrentHashMap<File, Object> LOCKS = new ConcurrentHashMap<>();
+
+	private final class IndexedCommit implements SearchableCommit {
+
+		private final int ordinal;
+
+		private final String[] fields;
+
+		IndexedCommit(int ordinal, String[] fields) {
+			this.ordinal = ordinal;
+			this.fields = fields;
+		}
+
+		@Override
+		public AnyObjectId getId() {
+			return graph.getId(ordinal);
+		}
+
+		@Override
+		public String getName() {
+			return graph.getId(ordinal).name();
+		}
+
+		@Override
+		public String getTreeName() {
+			return graph.getTree(ordinal).name();
+		}
+
+		@Override
+		public String[] getParentNames() {
+			int count = graph.getParentCount(ordinal);
+			List<String> names = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				int parent = graph.getParent(ordinal, i);
+				if (parent >= 0) {
+					names.add(graph.getId(parent).name());
+				}
+			}
+			return names.toArray(new String[0]);
+		}
+
+		@Override
+		public String getAuthorName() {
+			return fields[0];
+		}
+
+		@Override
+		public String getAuthorEmail() {
+			return fields[1];
+		}
+
+		@Override
+		public String getCommitterName() {
+			return fields[2];
+		}
+
+		@Override
+		public String getCommitterEmail() {
+			return fields[3];
+		}
+
+		@Override
+		public String getMessage() {
+			return fields[4];
+		}
+	}
+
+	private final File directory;
+
+	private final CommitGraph graph;
+
+	private int commitCount;
+
+	private long textLength;
+
+	/** Ordinal of the first commit not passed on by a scan yet. */
+	private int next;
+
+	private CommitSearchIndex(File directory, CommitGraph graph) {
+		this.directory = directory;
+		this.graph = graph;
+	}
+
+	/**
+	 * Brings the commit graph and the index of a repository up to date and
+	 * passes all commits reachable from the given start commits to a
+	 * consumer, oldest first.
+	 *
+	 * @param repository
+	 *            to search
+	 * @param starts
+	 *            ids of the commits to start from
+	 * @param consumer
+	 *            to receive the commits
+	 * @param monitor
+	 *            to check for cancellation
+	 * @return {@code false} if a start commit is not in the commit graph, in
+	 *         which case no commits were passed on
+	 * @throws IOException
+	 *             if the repository or the index cannot be read, or the index
+	 *             cannot be written
+	 */
+	static boolean search(Repository repository,
+			Collection<? extends ObjectId> starts,
+			Consumer<SearchableCommit> consumer, IProgressMonitor monitor)
+			throws IOException {
+		CommitGraph graph = CommitGraphCache.get(repository).update(repository,
+				monitor);
+		int[] ordinals = new int[starts.size()];
+		int i = 0;
+		for (ObjectId start : starts) {
+			ordinals[i] = graph.find(start);
+			if (ordinals[i++] < 0) {
+				return false;
+			}
+		}
+		File directory = CommitGraphCache
+				.getDirectory(repository.getDirectory());
+		synchronized (LOCKS.computeIfAbsent(directory, d -> new Object())) {
+			CommitSearchIndex index = new CommitSearchIndex(directory, graph);
+			index.load();
+			index.update(repository, monitor);
+			BitSet selection = index.reachableFrom(ordinals);
+			try {
+				index.scan(selection, consumer, monitor);
+			} catch (IOException e) {
+				index.reset();
+				index.update(repository, monitor);
+				index.scan(selection, consumer, monitor);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Loads the state; a missing or damaged state just makes all commits be
+	 * indexed again.
+	 */
+	private void load() {
+		try (DataInputStream in = open(STATE)) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return;
+			}
+			commitCount = in.readInt();
+			textLength = in.readLong();
+			ObjectId last = CommitGraphCache.readId(in);
+			if (commitCount < 0 || textLength < 0) {
+				reset();
+			} else if (commitCount > 0 && commitCount <= graph.size()
+					&& !last.equals(graph.getId(commitCount - 1))) {
+				// Unless a concurrent search indexed a newer graph already
+				reset();
+			}
+		} catch (IOException e) {
+			reset();
+		}
+	}
+
+	private void reset() {
+		commitCount = 0;
+		textLength = 0;
+	}
+
+	private void update(Repository repository, IProgressMonitor monitor)
+			throws IOException {
+		if (commitCount >= graph.size()) {
+			return;
+		}
+		FileUtils.mkdirs(directory, true);
+		try (RevWalk walk = new RevWalk(repository);
+				FileChannel channel = FileChannel.open(
+						new File(directory, TEXT).toPath(),
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(textLength);
+			channel.position(textLength);
+			DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Channels.newOutputStream(channel)));
+			for (int i = commitCount; i < graph.size(); i++) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				RevCommit commit = walk.parseCommit(graph.getId(i));
+				append(commit, out);
+				commit.disposeBody();
+			}
+			out.flush();
+			channel.force(false);
+			textLength = channel.position();
+			commitCount = graph.size();
+		}
+		writeState();
+	}
+
+	private static void append(RevCommit commit, DataOutputStream out)
+			throws IOException {
+		PersonIdent author = commit.getAuthorIdent();
+		PersonIdent committer = commit.getCommitterIdent();
+		commit.copyRawTo(out);
+		writeString(out, author != null ? author.getName() : null);
+		writeString(out, author != null ? author.getEmailAddress() : null);
+		writeString(out, committer != null ? committer.getName() : null);
+		writeString(out,
+				committer != null ? committer.getEmailAddress() : null);
+		writeString(out, commit.getFullMessage());
+	}
+
+	private void writeState() throws IOException {
+		File file = new File(directory, STATE);
+		File tmp = File.createTempFile(STATE, null, directory);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(tmp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(commitCount);
+				out.writeLong(textLength);
+				graph.getId(commitCount - 1).copyRawTo(out);
+			}
+			FileUtils.rename(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private BitSet reachableFrom(int[] starts) {
+		BitSet reachable = new BitSet(graph.size());
+		for (int start : starts) {
+			reachable.set(start);
+		}
+		// Parents always have smaller ordinals than their children
+		for (int i = reachable.length() - 1; i >= 0; i = reachable
+				.previousSetBit(i - 1)) {
+			int count = graph.getParentCount(i);
+			for (int j = 0; j < count; j++) {
+				int parent = graph.getParent(i, j);
+				if (parent >= 0) {
+					reachable.set(parent);
+				}
+			}
+		}
+		return reachable;
+	}
+
+	private void scan(BitSet selection, Consumer<SearchableCommit> consumer,
+			IProgressMonitor monitor) throws IOException {
+		int end = selection.length();
+		if (end == 0) {
+			return;
+		}
+		try (DataInputStream in = open(TEXT)) {
+			byte[] buffer = new byte[1024];
+			for (int i = 0; i < end; i++) {
+				if ((i & 0x3FF) == 0 && monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (!CommitGraphCache.readId(in).equals(graph.getId(i))) {
+					throw new IOException("Invalid commit search index"); //$NON-NLS-1$
+				}
+				if (i < next || !selection.get(i)) {
+					for (int field = 0; field < FIELDS; field++) {
+						skip(in, readLength(in));
+					}
+					continue;
+				}
+				String[] fields = new String[FIELDS];
+				for (int field = 0; field < FIELDS; field++) {
+					int length = readLength(in);
+					if (length > buffer.length) {
+						buffer = new byte[Math.max(length, buffer.length * 2)];
+					}
+					in.readFully(buffer, 0, length);
+					fields[field] = new String(buffer, 0, length,
+							StandardCharsets.UTF_8);
+				}
+				next = i + 1;
+				consumer.accept(new IndexedCommit(i, fields));
+			}
+		}
+	}
+
+	private int readLength(DataInputStream in) throws IOException {
+		int length = CommitGraphCache.readVarInt(in);
+		if (length > textLength) {
+			throw new IOException("Invalid commit search index"); //$NON-NLS-1$
+		}
+		return length;
+	}
+
+	private DataInputStream open(String name) throws IOException {
+		return new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(new File(directory, name).toPath())));
+	}
+
+	private static void skip(DataInputStream in, int length)
+			throws IOException {
+		int remaining = length;
+		while (remaining > 0) {
+			int skipped = in.skipBytes(remaining);
+			if (skipped <= 0) {
+				throw new EOFException();
+			}
+			remaining -= skipped;
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value)
+			throws IOException {
+		if (value == null) {
+			CommitGraphCache.writeVarInt(out, 0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		CommitGraphCache.writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+}
@@ -128,6 +128,8 @@ public void setLayoutData(Object layoutData) {
 
 	private Button searchAllBranchesButton;
 
+	private Button useIndexButton;
+
 	private CLabel statusLabel;
 
 	private Group repositoryGroup;
@@ -150,6 +152,7 @@ private ISearchQuery newQuery() {
 		settings.setMatchTree(searchTreeButton.getSelection());
 		settings.setMatchParents(searchParentsButton.getSelection());
 		settings.setAllBranches(searchAllBranchesButton.getSelection());
+		settings.setUseIndex(useIndexButton.getSelection());
 		for (Object checked : repositoryViewer.getCheckedElements())
 			settings.addRepository(((RepositoryNode) checked).getRepository()
 					.getDirectory().getAbsolutePath());
@@ -368,6 +371,12 @@ public void widgetSelected(SelectionEvent e) {
 		GridDataFactory.swtDefaults().grab(true, false).span(2, 1)
 				.applyTo(this.searchAllBranchesButton);
 
+		this.useIndexButton = new Button(repositoryGroup, SWT.CHECK);
+		this.useIndexButton.setText(UIText.CommitSearchPage_UseIndex);
+		this.useIndexButton.setSelection(true);
+		GridDataFactory.swtDefaults().grab(true, false).span(2, 1)
+				.applyTo(this.useIndexButton);
+
 		repositoryGroup.setText(getRepositoryText());
 	}
 
@@ -473,6 +482,7 @@ private void handleWidgetSelected() {
 		searchParentsButton.setSelection(settings.isMatchParents());
 		searchTreeButton.setSelection(settings.isMatchTree());
 		searchAllBranchesButton.setSelection(settings.isAllBranches());
+		useIndexButton.setSelection(settings.isUseIndex());
 
 		List<RepositoryNode> repositories = new LinkedList<>();
 		for (String path : settings.getRepositories()) {
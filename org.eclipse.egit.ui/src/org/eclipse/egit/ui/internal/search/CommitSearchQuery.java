@@ -14,9 +14,20 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -28,11 +39,9 @@
 import org.eclipse.egit.ui.internal.commit.RepositoryCommit;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
-import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
@@ -40,13 +49,14 @@
 /**
  * Commit search query class that runs a {@link RevWalk} for all
  * {@link Repository} objects included in the {@link CommitSearchSettings} and
- * matches all {@link RevCommit} objects against the search settings.
+ * matches all {@link RevCommit} objects against the search settings. If
+ * enabled, commits are read from a {@link CommitSearchIndex} instead.
  */
 public class CommitSearchQuery implements ISearchQuery {
 
 	private abstract class SearchMatcher {
 
-		abstract boolean matches(Pattern pattern, RevCommit commit);
+		abstract boolean matches(Pattern pattern, SearchableCommit commit);
 
 		protected boolean matches(Pattern pattern, String input) {
 			return input != null && input.length() > 0
@@ -58,42 +68,34 @@ protected boolean matches(Pattern pattern, String input) {
 	private class AuthorMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			PersonIdent author = commit.getAuthorIdent();
-			if (author != null)
-				return matches(pattern, author.getName())
-						|| matches(pattern, author.getEmailAddress());
-			else
-				return false;
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			return matches(pattern, commit.getAuthorName())
+					|| matches(pattern, commit.getAuthorEmail());
 		}
 	}
 
 	private class CommitterMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			PersonIdent committer = commit.getCommitterIdent();
-			if (committer != null)
-				return matches(pattern, committer.getName())
-						|| matches(pattern, committer.getEmailAddress());
-			else
-				return false;
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			return matches(pattern, commit.getCommitterName())
+					|| matches(pattern, commit.getCommitterEmail());
 		}
 	}
 
 	private class MessageMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			return matches(pattern, commit.getFullMessage());
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			return matches(pattern, commit.getMessage());
 		}
 	}
 
 	private class CommitNameMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			return matches(pattern, commit.name());
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			return matches(pattern, commit.getName());
 		}
 
 	}
@@ -101,18 +103,17 @@ public boolean matches(Pattern pattern, RevCommit commit) {
 	private class TreeMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			RevTree tree = commit.getTree();
-			return tree != null ? matches(pattern, tree.name()) : false;
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			return matches(pattern, commit.getTreeName());
 		}
 	}
 
 	private class ParentMatcher extends SearchMatcher {
 
 		@Override
-		public boolean matches(Pattern pattern, RevCommit commit) {
-			for (RevCommit parent : commit.getParents())
-				if (matches(pattern, parent.name()))
+		public boolean matches(Pattern pattern, SearchableCommit commit) {
+			for (String parent : commit.getParentNames())
+				if (matches(pattern, parent))
 					return true;
 			return false;
 		}
@@ -166,6 +167,9 @@ private Repository getRepository(String name) throws IOException {
 	}
 
 	/**
+	 * Searches the repositories in parallel. Matching commits are added to the
+	 * result as soon as they are found.
+	 *
 	 * @see org.eclipse.search.ui.ISearchQuery#run(org.eclipse.core.runtime.IProgressMonitor)
 	 */
 	@Override
@@ -176,61 +180,139 @@ public IStatus run(IProgressMonitor monitor)
 		Pattern pattern = PatternUtils.createPattern(
 				this.settings.getTextPattern(),
 				this.settings.isCaseSensitive(), this.settings.isRegExSearch());
-		List<String> paths = settings.getRepositories();
+		Set<Repository> pending = new LinkedHashSet<>();
+		try {
+			for (String path : settings.getRepositories()) {
+				Repository repo = getRepository(path);
+				if (repo != null)
+					pending.add(repo);
+			}
+		} catch (IOException e) {
+			handleError(e);
+			return Status.OK_STATUS;
+		}
+		if (pending.isEmpty())
+			return Status.OK_STATUS;
+
+		monitor.beginTask(getLabel(), pending.size());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(
+				pending.size(), Runtime.getRuntime().availableProcessors()));
 		try {
-			for (String path : paths) {
+			CompletionService<Repository> completion = new ExecutorCompletionService<>(
+					executor);
+			for (Repository repo : pending)
+				completion.submit(() -> {
+					searchRepository(repo, pattern, monitor);
+					return repo;
+				});
+			setTaskName(monitor, pending);
+			int remaining = pending.size();
+			while (remaining > 0) {
 				if (monitor.isCanceled())
 					throw new OperationCanceledException();
-
-				Repository repo = getRepository(path);
-				if (repo == null)
+				Future<Repository> done = completion.poll(100,
+						TimeUnit.MILLISECONDS);
+				if (done == null)
 					continue;
-
-				monitor.setTaskName(MessageFormat.format(
-						UIText.CommitSearchQuery_TaskSearchCommits, repo
-								.getDirectory().getParentFile().getName()));
-				walkRepository(repo, pattern, monitor);
+				remaining--;
+				try {
+					pending.remove(done.get());
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof OperationCanceledException)
+						throw (OperationCanceledException) cause;
+					handleError(cause);
+				}
+				monitor.worked(1);
+				setTaskName(monitor, pending);
 			}
-		} catch (IOException e) {
-			org.eclipse.egit.ui.Activator.handleError(
-					"Error searching commits", e, true); //$NON-NLS-1$
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdown();
+			monitor.done();
 		}
 		return Status.OK_STATUS;
 	}
 
-	private void walkRepository(Repository repository, Pattern pattern,
+	private void setTaskName(IProgressMonitor monitor,
+			Set<Repository> pending) {
+		if (pending.isEmpty())
+			return;
+		monitor.setTaskName(MessageFormat.format(
+				UIText.CommitSearchQuery_TaskSearchCommits, pending.iterator()
+						.next().getDirectory().getParentFile().getName()));
+	}
+
+	private void handleError(Throwable e) {
+		org.eclipse.egit.ui.Activator.handleError(
+				"Error searching commits", e, true); //$NON-NLS-1$
+	}
+
+	private boolean matches(Pattern pattern, SearchableCommit commit) {
+		for (SearchMatcher matcher : this.matchers)
+			if (matcher.matches(pattern, commit))
+				return true;
+		return false;
+	}
+
+	private List<RevCommit> getStarts(Repository repository, RevWalk walk)
+			throws IOException {
+		List<RevCommit> commits = new ArrayList<>();
+		if (this.settings.isAllBranches()) {
+			for (Ref ref : repository.getRefDatabase()
+					.getRefsByPrefix(Constants.R_HEADS))
+				if (!ref.isSymbolic())
+					commits.add(walk.parseCommit(ref.getObjectId()));
+			for (Ref ref : repository.getRefDatabase()
+					.getRefsByPrefix(Constants.R_REMOTES))
+				if (!ref.isSymbolic())
+					commits.add(walk.parseCommit(ref.getObjectId()));
+		} else {
+			ObjectId headCommit = repository.resolve(Constants.HEAD);
+			if (headCommit != null)
+				commits.add(walk.parseCommit(headCommit));
+		}
+		return commits;
+	}
+
+	private void searchRepository(Repository repository, Pattern pattern,
 			IProgressMonitor monitor) throws IOException {
 		try (RevWalk walk = new RevWalk(repository)) {
 			walk.setRetainBody(true);
-			List<RevCommit> commits = new LinkedList<>();
-			if (this.settings.isAllBranches()) {
-				for (Ref ref : repository.getRefDatabase()
-						.getRefsByPrefix(Constants.R_HEADS))
-					if (!ref.isSymbolic())
-						commits.add(walk.parseCommit(ref.getObjectId()));
-				for (Ref ref : repository.getRefDatabase()
-						.getRefsByPrefix(Constants.R_REMOTES))
-					if (!ref.isSymbolic())
-						commits.add(walk.parseCommit(ref.getObjectId()));
-			} else {
-				ObjectId headCommit = repository.resolve(Constants.HEAD);
-				if (headCommit != null)
-					commits.add(walk.parseCommit(headCommit));
+			List<RevCommit> commits = getStarts(repository, walk);
+			if (commits.isEmpty())
+				return;
+			if (this.settings.isUseIndex()
+					&& searchIndex(repository, walk, commits, pattern, monitor))
+				return;
+			walk.markStart(commits);
+			for (RevCommit commit : walk) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				if (matches(pattern, SearchableCommit.of(commit)))
+					result.addResult(new RepositoryCommit(repository, commit));
 			}
+		}
+	}
 
-			if (!commits.isEmpty()) {
-				walk.markStart(commits);
-				for (RevCommit commit : walk) {
-					if (monitor.isCanceled())
-						throw new OperationCanceledException();
-					for (SearchMatcher matcher : this.matchers)
-						if (matcher.matches(pattern, commit)) {
-							result.addResult(new RepositoryCommit(repository,
-									commit));
-							break;
-						}
+	private boolean searchIndex(Repository repository, RevWalk walk,
+			List<RevCommit> commits, Pattern pattern, IProgressMonitor monitor)
+			throws IOException {
+		try {
+			return CommitSearchIndex.search(repository, commits, commit -> {
+				if (matches(pattern, commit)) {
+					try {
+						result.addResult(new RepositoryCommit(repository,
+								walk.parseCommit(commit.getId())));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
 				}
-			}
+			}, monitor);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
 		}
 	}
 
@@ -44,6 +44,8 @@ public class CommitSearchSettings {
 
 	private static final String ALL_BRANCHES = "allBranches"; //$NON-NLS-1$
 
+	private static final String NO_INDEX = "noIndex"; //$NON-NLS-1$
+
 	private static final String REPOSITORY_COUNT = "repositoryCount"; //$NON-NLS-1$
 
 	private static final String REPOSITORY = "repository"; //$NON-NLS-1$
@@ -69,6 +71,7 @@ public static CommitSearchSettings create(IDialogSettings settings) {
 			searchSettings.setMatchParents(section.getBoolean(MATCH_PARENTS));
 			searchSettings.setMatchTree(section.getBoolean(MATCH_TREE));
 			searchSettings.setAllBranches(section.getBoolean(ALL_BRANCHES));
+			searchSettings.setUseIndex(!section.getBoolean(NO_INDEX));
 			try {
 				int count = section.getInt(REPOSITORY_COUNT);
 				for (int i = 0; i < count; i++)
@@ -98,6 +101,8 @@ public static CommitSearchSettings create(IDialogSettings settings) {
 
 	private boolean isAllBranches = false;
 
+	private boolean isUseIndex = true;
+
 	private String textPattern = null;
 
 	private List<String> repositories = new LinkedList<>();
@@ -122,6 +127,7 @@ public void store(IDialogSettings settings) {
 		section.put(MATCH_PARENTS, isMatchParents);
 		section.put(MATCH_TREE, isMatchTree);
 		section.put(ALL_BRANCHES, isAllBranches);
+		section.put(NO_INDEX, !isUseIndex);
 
 		int count = 0;
 		for (String repo : this.repositories) {
@@ -241,4 +247,14 @@ public void setAllBranches(boolean isAllBranches) {
 		this.isAllBranches = isAllBranches;
 	}
 
+	/** @return isUseIndex */
+	public boolean isUseIndex() {
+		return this.isUseIndex;
+	}
+
+	/** @param isUseIndex */
+	public void setUseIndex(boolean isUseIndex) {
+		this.isUseIndex = isUseIndex;
+	}
+
 }
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.search;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ * The parts of a commit the {@link CommitSearchQuery} matches against, either
+ * taken from a {@link RevCommit} or from a {@link CommitSearchIndex}. Missing
+ * values are {@code null} or empty.
+ */
+interface SearchableCommit {
+
+	AnyObjectId getId();
+
+	String getName();
+
+	String getTreeName();
+
+	String[] getParentNames();
+
+	String getAuthorName();
+
+	String getAuthorEmail();
+
+	String getCommitterName();
+
+	String getCommitterEmail();
+
+	String getMessage();
+
+	/**
+	 * @param commit
+	 *            with its body parsed
+	 * @return a {@link SearchableCommit} reading from {@code commit}
+	 */
+	static SearchableCommit of(RevCommit commit) {
+		return new SearchableCommit() {
+
+			@Override
+			public AnyObjectId getId() {
+				return commit;
+			}
+
+			@Override
+			public String getName() {
+				return commit.name();
+			}
+
+			@Override
+			public String getTreeName() {
+				return commit.getTree() != null ? commit.getTree().name()
+						: null;
+			}
+
+			@Override
+			public String[] getParentNames() {
+				String[] names = new String[commit.getParentCount()];
+				for (int i = 0; i < names.length; i++) {
+					names[i] = commit.getParent(i).name();
+				}
+				return names;
+			}
+
+			@Override
+			public String getAuthorName() {
+				PersonIdent author = commit.getAuthorIdent();
+				return author != null ? author.getName() : null;
+			}
+
+			@Override
+			public String getAuthorEmail() {
+				PersonIdent author = commit.getAuthorIdent();
+				return author != null ? author.getEmailAddress() : null;
+			}
+
+			@Override
+			public String getCommitterName() {
+				PersonIdent committer = commit.getCommitterIdent();
+				return committer != null ? committer.getName() : null;
+			}
+
+			@Override
+			public String getCommitterEmail() {
+				PersonIdent committer = commit.getCommitterIdent();
+				return committer != null ? committer.getEmailAddress() : null;
+			}
+
+			@Override
+			public String getMessage() {
+				return commit.getFullMessage();
+			}
+		};
+	}
+}
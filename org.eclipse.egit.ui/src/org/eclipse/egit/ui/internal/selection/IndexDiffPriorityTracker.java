@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Contributors to the Eclipse Foundation
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.egit.ui.internal.selection;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.egit.core.internal.indexdiff.IndexDiffCache;
+import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.egit.ui.internal.staging.StagingView;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.ResourceUtil;
+
+/**
+ * Tells the {@link IndexDiffCache} which repositories the user is looking at,
+ * i.e. the repositories of the files in visible editors and the repository
+ * shown in a visible staging view, so that their index diffs are computed
+ * first.
+ */
+public class IndexDiffPriorityTracker {
+
+	/** The singleton instance of the {@link IndexDiffPriorityTracker}. */
+	public static final IndexDiffPriorityTracker INSTANCE = new IndexDiffPriorityTracker();
+
+	private final AtomicBoolean updateScheduled = new AtomicBoolean();
+
+	private final IPartListener2 partListener = new IPartListener2() {
+
+		@Override
+		public void partVisible(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partHidden(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partClosed(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+			// Visibility events suffice
+		}
+
+		@Override
+		public void partBroughtToTop(IWorkbenchPartReference partRef) {
+			// Visibility events suffice
+		}
+
+		@Override
+		public void partDeactivated(IWorkbenchPartReference partRef) {
+			// Visibility events suffice
+		}
+
+		@Override
+		public void partOpened(IWorkbenchPartReference partRef) {
+			// Visibility events suffice
+		}
+	};
+
+	private final IWindowListener windowListener = new IWindowListener() {
+
+		@Override
+		public void windowOpened(IWorkbenchWindow window) {
+			window.getPartService().addPartListener(partListener);
+			update();
+		}
+
+		@Override
+		public void windowClosed(IWorkbenchWindow window) {
+			window.getPartService().removePartListener(partListener);
+			update();
+		}
+
+		@Override
+		public void windowActivated(IWorkbenchWindow window) {
+			// Nothing to do
+		}
+
+		@Override
+		public void windowDeactivated(IWorkbenchWindow window) {
+			// Nothing to do
+		}
+	};
+
+	private volatile boolean stopped;
+
+	private IndexDiffPriorityTracker() {
+		// No creation from outside
+	}
+
+	/**
+	 * Starts tracking the visible editors and staging views.
+	 */
+	public void initialize() {
+		stopped = false;
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.addWindowListener(windowListener);
+		workbench.getDisplay().asyncExec(() -> {
+			if (stopped) {
+				return;
+			}
+			for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+				window.getPartService().addPartListener(partListener);
+			}
+			update();
+		});
+	}
+
+	/**
+	 * Stops tracking.
+	 */
+	public void dispose() {
+		stopped = true;
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.removeWindowListener(windowListener);
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			window.getPartService().removePartListener(partListener);
+		}
+	}
+
+	/**
+	 * Recomputes the preferred repositories asynchronously in the UI thread.
+	 * May be called from any thread; calls are coalesced.
+	 */
+	public void update() {
+		if (stopped || !PlatformUI.isWorkbenchRunning()
+				|| !updateScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		Display display = PlatformUI.getWorkbench().getDisplay();
+		if (display.isDisposed()) {
+			updateScheduled.set(false);
+			return;
+		}
+		display.asyncExec(() -> {
+			updateScheduled.set(false);
+			if (stopped || !PlatformUI.isWorkbenchRunning()) {
+				return;
+			}
+			IndexDiffCache cache = org.eclipse.egit.core.Activator.getDefault()
+					.getIndexDiffCache();
+			if (cache != null) {
+				cache.setPreferredRepositories(collectVisibleRepositories());
+			}
+		});
+	}
+
+	private Set<File> collectVisibleRepositories() {
+		Set<File> result = new HashSet<>();
+		for (IWorkbenchWindow window : PlatformUI.getWorkbench()
+				.getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				for (IEditorReference reference : page.getEditorReferences()) {
+					IEditorPart editor = reference.getEditor(false);
+					if (editor != null && page.isPartVisible(editor)) {
+						addRepository(result, ResourceUtil
+								.getResource(editor.getEditorInput()));
+					}
+				}
+				IViewPart view = page.findView(StagingView.VIEW_ID);
+				if (view instanceof StagingView && page.isPartVisible(view)) {
+					addRepository(result,
+							((StagingView) view).getCurrentRepository());
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void addRepository(Set<File> gitDirs, IResource resource) {
+		if (resource != null) {
+			RepositoryMapping mapping = RepositoryMapping.getMapping(resource);
+			if (mapping != null) {
+				addRepository(gitDirs, mapping.getRepository());
+			}
+		}
+	}
+
+	private static void addRepository(Set<File> gitDirs,
+			Repository repository) {
+		if (repository != null) {
+			gitDirs.add(repository.getDirectory());
+		}
+	}
+}
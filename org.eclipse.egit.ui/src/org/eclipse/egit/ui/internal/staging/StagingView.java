@@ -96,6 +96,7 @@
 import org.eclipse.egit.ui.internal.commit.CommitMessageHistory;
 import org.eclipse.egit.ui.internal.commit.CommitProposalProcessor;
 import org.eclipse.egit.ui.internal.commit.DiffViewer;
+import org.eclipse.egit.ui.internal.commit.GitPrivacyKeyCache;
 import org.eclipse.egit.ui.internal.commit.OriginalCommitDateEncoder;
 import org.eclipse.egit.ui.internal.commit.ProvidesCommitDate;
 import org.eclipse.egit.ui.internal.components.DropDownMenuAction;
@@ -116,6 +117,7 @@
 import org.eclipse.egit.ui.internal.repository.RepositoryTreeNodeLabelProvider;
 import org.eclipse.egit.ui.internal.repository.tree.RepositoryNode;
 import org.eclipse.egit.ui.internal.repository.tree.RepositoryTreeNode;
+import org.eclipse.egit.ui.internal.selection.IndexDiffPriorityTracker;
 import org.eclipse.egit.ui.internal.selection.MultiViewerSelectionProvider;
 import org.eclipse.egit.ui.internal.selection.RepositorySelectionProvider;
 import org.eclipse.jface.action.Action;
@@ -730,7 +732,8 @@ public void indexDiffChanged(Repository repository,
 
 	private boolean disposed;
 
-	private OriginalCommitDateEncoder originalCommitDateEncoder = new OriginalCommitDateEncoder();
+	private OriginalCommitDateEncoder originalCommitDateEncoder = GitPrivacyKeyCache.INSTANCE
+			.createEncoder();
 
 	private ProvidesCommitDate providesCommitDate = new ProvidesCommitDate();
 
@@ -3819,6 +3822,9 @@ public void reload(final Repository repository) {
 		final boolean repositoryChanged = currentRepository != repository;
 		realRepository = repository;
 		currentRepository = repository;
+		if (repositoryChanged) {
+			IndexDiffPriorityTracker.INSTANCE.update();
+		}
 
 		asyncUpdate(() -> {
 			if (isDisposed()) {